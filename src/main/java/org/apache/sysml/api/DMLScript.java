@@ -86,6 +86,8 @@ import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
 import org.apache.sysml.runtime.controlprogram.parfor.util.IDHandler;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContextPool;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.lineage.Lineage;
+import org.apache.sysml.runtime.lineage.LineageCache;
 import org.apache.sysml.runtime.matrix.CleanupMR;
 import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
@@ -94,6 +96,7 @@ import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.utils.Explain;
 import org.apache.sysml.utils.Explain.ExplainCounts;
 import org.apache.sysml.utils.Explain.ExplainType;
+import org.apache.sysml.utils.InstructionProfiler;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
 import org.apache.sysml.yarn.DMLYarnClientProxy;
@@ -127,6 +130,10 @@ public class DMLScript
 		public boolean              gpu           = false;            // Whether to use the GPU
 		public boolean              forceGPU      = false;            // Whether to ignore memory & estimates and always use the GPU
 		public boolean              debug         = false;            // to go into debug mode to be able to step through a program
+		public boolean              lineage       = false;            // whether to trace the lineage of intermediates
+		public boolean              lineageReuse  = false;            // whether to reuse intermediates via the lineage cache
+		public boolean              profile       = false;            // whether to profile instructions
+		public String               profileOutput = InstructionProfiler.DEFAULT_OUTPUT_PREFIX; // output prefix of profile reports
 		public ScriptType           scriptType    = ScriptType.DML;   // whether the script is a DML or PyDML script
 		public String               filePath      = null;             // path to script
 		public String               script        = null;             // the script itself
@@ -147,6 +154,10 @@ public class DMLScript
 							", gpu=" + gpu +
 							", forceGPU=" + forceGPU +
 							", debug=" + debug +
+							", lineage=" + lineage +
+							", lineageReuse=" + lineageReuse +
+							", profile=" + profile +
+							", profileOutput='" + profileOutput + '\'' +
 							", scriptType=" + scriptType +
 							", filePath='" + filePath + '\'' +
 							", script='" + script + '\'' +
@@ -174,6 +185,10 @@ public class DMLScript
 	
 	public static boolean           USE_ACCELERATOR     = DMLOptions.defaultOptions.gpu;
 	public static boolean           FORCE_ACCELERATOR   = DMLOptions.defaultOptions.forceGPU;
+	public static boolean           LINEAGE             = DMLOptions.defaultOptions.lineage;      // whether to trace lineage
+	public static boolean           LINEAGE_REUSE       = DMLOptions.defaultOptions.lineageReuse; // whether to reuse intermediates
+	public static boolean           PROFILE             = DMLOptions.defaultOptions.profile;      // whether to profile instructions
+	public static String            PROFILE_OUTPUT      = DMLOptions.defaultOptions.profileOutput; // output prefix of profile reports
 	// whether to synchronize GPU after every instruction
 	public static boolean           SYNCHRONIZE_GPU  	= true;
 	// whether to perform eager CUDA free on rmvar
@@ -271,6 +286,20 @@ public class DMLScript
 				}
 			}
 		}
+		dmlOptions.lineage = line.hasOption("lineage");
+		if (dmlOptions.lineage) {
+			String reuse = line.getOptionValue("lineage");
+			if (reuse != null) {
+				if (reuse.equalsIgnoreCase("reuse")) {
+					dmlOptions.lineageReuse = true;
+				} else {
+					throw new org.apache.commons.cli.ParseException("Invalid argument specified for -lineage option");
+				}
+			}
+		}
+		dmlOptions.profile = line.hasOption("profile");
+		if (dmlOptions.profile && line.getOptionValue("profile") != null)
+			dmlOptions.profileOutput = line.getOptionValue("profile");
 		if (line.hasOption("exec")){
 			String execMode = line.getOptionValue("exec");
 			if (execMode != null){
@@ -394,6 +423,15 @@ public class DMLScript
 						.withDescription("uses CUDA instructions when reasonable; set <force> option to skip conservative memory estimates and use GPU wherever possible; default off")
 						.hasOptionalArg()
 						.create("gpu");
+		Option lineageOpt = OptionBuilder.withArgName("reuse")
+						.withDescription("traces the lineage of intermediates; set <reuse> option to reuse intermediates of expensive operations; default off")
+						.hasOptionalArg()
+						.create("lineage");
+		Option profileOpt = OptionBuilder.withArgName("prefix")
+						.withDescription("profiles time, allocated bytes and buffer pool evictions per script line, function and instruction; "
+							+ "writes <prefix>.collapsed (flame graph) and <prefix>.json; <prefix> is '" + InstructionProfiler.DEFAULT_OUTPUT_PREFIX + "' unless overridden; default off")
+						.hasOptionalArg()
+						.create("profile");
 		Option debugOpt = OptionBuilder.withDescription("runs in debug mode; default off")
 						.create("debug");
 		Option pythonOpt = OptionBuilder.withDescription("parses Python-like DML")
@@ -428,6 +466,8 @@ public class DMLScript
 		options.addOption(explainOpt);
 		options.addOption(execOpt);
 		options.addOption(gpuOpt);
+		options.addOption(lineageOpt);
+		options.addOption(profileOpt);
 		options.addOption(debugOpt);
 		options.addOption(pythonOpt);
 		options.addOptionGroup(fileOrScriptOpt);
@@ -465,6 +505,10 @@ public class DMLScript
 			STATISTICS_COUNT  = dmlOptions.statsCount;
 			USE_ACCELERATOR   = dmlOptions.gpu;
 			FORCE_ACCELERATOR = dmlOptions.forceGPU;
+			LINEAGE           = dmlOptions.lineage;
+			LINEAGE_REUSE     = dmlOptions.lineageReuse;
+			PROFILE           = dmlOptions.profile;
+			PROFILE_OUTPUT    = dmlOptions.profileOutput;
 			EXPLAIN           = dmlOptions.explainType;
 			ENABLE_DEBUG_MODE = dmlOptions.debug;
 			SCRIPT_TYPE       = dmlOptions.scriptType;
@@ -539,9 +583,12 @@ public class DMLScript
 		}
 		finally
 		{
-			//reset runtime platform and visualize flag
+			//reset runtime platform, visualize and lineage flags
 			rtplatform = oldrtplatform;
 			EXPLAIN = oldexplain;
+			LINEAGE = false;
+			LINEAGE_REUSE = false;
+			PROFILE = false;
 		}
 		
 		return true;
@@ -749,6 +796,10 @@ public class DMLScript
 		finally {
 			if(ec != null && ec instanceof SparkExecutionContext)
 				((SparkExecutionContext) ec).close();
+			if( LINEAGE ) {
+				Lineage.resetLineage();
+				LineageCache.resetCache();
+			}
 			LOG.info("END DML run " + getDateTime() );
 			//cleanup scratch_space and all working dirs
 			cleanupHadoopExecution( dmlconf );
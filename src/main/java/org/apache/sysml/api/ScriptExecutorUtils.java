@@ -19,8 +19,11 @@
 
 package org.apache.sysml.api;
 
+import java.io.IOException;
 import java.util.List;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.api.mlcontext.ScriptExecutor;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.conf.DMLConfig;
@@ -30,10 +33,12 @@ import org.apache.sysml.runtime.controlprogram.Program;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContext;
 import org.apache.sysml.runtime.instructions.gpu.context.GPUContextPool;
+import org.apache.sysml.utils.InstructionProfiler;
 import org.apache.sysml.utils.NativeHelper;
 import org.apache.sysml.utils.Statistics;
 
 public class ScriptExecutorUtils {
+	private static final Log LOG = LogFactory.getLog(ScriptExecutorUtils.class.getName());
 
 	/**
 	 * Execute the runtime program. This involves execution of the program
@@ -87,6 +92,8 @@ public class ScriptExecutorUtils {
 
 		boolean exceptionThrown = false;
 
+		if( DMLScript.PROFILE )
+			InstructionProfiler.reset();
 		Statistics.startRunTimer();
 		try {
 			// run execute (w/ exception handling to ensure proper shutdown)
@@ -125,6 +132,18 @@ public class ScriptExecutorUtils {
 				else
 					System.err.println(Statistics.display());
 			}
+			
+			// display and export instruction profile (if enabled)
+			if( DMLScript.PROFILE ) {
+				System.out.println(InstructionProfiler.display(
+					statisticsMaxHeavyHitters > 0 ? statisticsMaxHeavyHitters : DMLScript.STATISTICS_COUNT));
+				try {
+					InstructionProfiler.writeReports(DMLScript.PROFILE_OUTPUT);
+				}
+				catch(IOException ex) {
+					LOG.warn("Failed to write instruction profile.", ex);
+				}
+			}
 		}
 	}
 
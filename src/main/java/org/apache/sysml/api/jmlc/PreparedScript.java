@@ -19,6 +19,8 @@
 
 package org.apache.sysml.api.jmlc;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -50,10 +52,12 @@ import org.apache.sysml.runtime.instructions.cp.DoubleObject;
 import org.apache.sysml.runtime.instructions.cp.IntObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
+import org.apache.sysml.runtime.io.MatrixRowBlockStream;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.LibMatrixStream;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.DataConverter;
@@ -443,6 +447,43 @@ public class PreparedScript
 		return rvars;
 	}
 	
+	/**
+	 * Executes the prepared script once per row block of the given stream, which
+	 * is bound to the given input variable, and concatenates the row-wise results
+	 * of the given output variable in order of row blocks. This allows scoring
+	 * with row-wise scripts (e.g., predict scripts) over inputs that do not fit
+	 * into memory. All other inputs need to be bound with reuse before.
+	 * 
+	 * @param varname input variable name
+	 * @param in row block stream
+	 * @param outname output variable name of row-wise results
+	 * @return concatenated results of all row blocks
+	 * @throws DMLException if DMLException occurs
+	 */
+	public MatrixBlock executeScriptOverRowBlocks(String varname, MatrixRowBlockStream in, String outname)
+		throws DMLException
+	{
+		if( !_outVarnames.contains(outname) )
+			throw new DMLException("Unspecified output variable: "+outname);
+		
+		try {
+			ArrayList<MatrixBlock> blocks = new ArrayList<>();
+			MatrixBlock blk = null;
+			while( (blk = in.next()) != null ) {
+				setMatrix(varname, blk, false);
+				MatrixBlock out = executeScript().getMatrixBlock(outname);
+				if( out.getNumRows() != blk.getNumRows() )
+					throw new DMLException("Output "+outname+" of row block with "+blk.getNumRows()
+						+" rows is not row-wise: "+out.getNumRows()+" rows.");
+				blocks.add(out);
+			}
+			return LibMatrixStream.rbind(blocks);
+		}
+		catch(IOException ex) {
+			throw new DMLException(ex);
+		}
+	}
+	
 	/**
 	 * Explain the DML/PyDML program and view result as a string.
 	 * 
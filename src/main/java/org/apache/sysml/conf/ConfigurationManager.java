@@ -177,6 +177,18 @@ public class ConfigurationManager
 		return getDMLConfig().getIntValue(DMLConfig.NUM_REDUCERS);
 	}
 	
+	public static int getTextWritePrecision() {
+		return getDMLConfig().getIntValue(DMLConfig.TEXT_WRITE_PRECISION);
+	}
+	
+	public static boolean isAsyncWriteEnabled() {
+		return getDMLConfig().getBooleanValue(DMLConfig.CP_ASYNC_WRITE);
+	}
+	
+	public static boolean isBinaryBlockIndexEnabled() {
+		return getDMLConfig().getBooleanValue(DMLConfig.BINARY_BLOCK_INDEX);
+	}
+	
 	public static boolean isDynamicRecompilation() {
 		return getCompilerConfigFlag(ConfigType.ALLOW_DYN_RECOMPILATION);
 	}
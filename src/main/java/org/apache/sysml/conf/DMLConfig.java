@@ -74,6 +74,9 @@ public class DMLConfig
 	public static final String YARN_APPQUEUE        = "sysml.yarn.app.queue"; 
 	public static final String CP_PARALLEL_OPS      = "sysml.cp.parallel.ops";
 	public static final String CP_PARALLEL_IO       = "sysml.cp.parallel.io";
+	public static final String CP_ASYNC_WRITE       = "sysml.cp.async.write"; //boolean
+	public static final String TEXT_WRITE_PRECISION = "sysml.io.text.precision"; //int, <=0 for shortest roundtrip
+	public static final String BINARY_BLOCK_INDEX   = "sysml.io.binary.blockindex"; //boolean
 	public static final String COMPRESSED_LINALG    = "sysml.compressed.linalg"; //auto, true, false
 	public static final String NATIVE_BLAS          = "sysml.native.blas";
 	public static final String NATIVE_BLAS_DIR      = "sysml.native.blas.directory";
@@ -124,6 +127,9 @@ public class DMLConfig
 		_defaultVals.put(YARN_APPQUEUE,    	     "default" );
 		_defaultVals.put(CP_PARALLEL_OPS,        "true" );
 		_defaultVals.put(CP_PARALLEL_IO,         "true" );
+		_defaultVals.put(CP_ASYNC_WRITE,         "false" );
+		_defaultVals.put(TEXT_WRITE_PRECISION,   "-1" );
+		_defaultVals.put(BINARY_BLOCK_INDEX,     "false" );
 		_defaultVals.put(COMPRESSED_LINALG,      Compression.CompressConfig.AUTO.name() );
 		_defaultVals.put(CODEGEN,                "false" );
 		_defaultVals.put(CODEGEN_COMPILER,       CompilerType.AUTO.name() );
@@ -417,7 +423,7 @@ public class DMLConfig
 				LOCAL_TMP_DIR,SCRATCH_SPACE,OPTIMIZATION_LEVEL,
 				NUM_REDUCERS, DEFAULT_BLOCK_SIZE,
 				YARN_APPMASTER, YARN_APPMASTERMEM, YARN_MAPREDUCEMEM, 
-				CP_PARALLEL_OPS, CP_PARALLEL_IO, NATIVE_BLAS, NATIVE_BLAS_DIR,
+				CP_PARALLEL_OPS, CP_PARALLEL_IO, CP_ASYNC_WRITE, TEXT_WRITE_PRECISION, BINARY_BLOCK_INDEX, NATIVE_BLAS, NATIVE_BLAS_DIR,
 				COMPRESSED_LINALG, 
 				CODEGEN, CODEGEN_COMPILER, CODEGEN_OPTIMIZER, CODEGEN_PLANCACHE, CODEGEN_LITERALS,
 				EXTRA_FINEGRAINED_STATS, STATS_MAX_WRAP_LEN,
@@ -456,7 +456,8 @@ public class DataOp extends Hop
 			checkAndSetForcedPlatform();
 
 			//additional check for write only
-			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR) )
+			if( getDataType()==DataType.SCALAR || (getDataType()==DataType.FRAME && REMOTE==ExecType.MR) 
+				|| (getDataType()==DataType.FRAME && _inFormat==FileFormatTypes.COLUMNAR) ) //columnar only in CP
 				_etypeForced = ExecType.CP;
 			
 			if( _etypeForced != null )
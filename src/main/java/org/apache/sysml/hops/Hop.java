@@ -325,6 +325,14 @@ public abstract class Hop implements ParseInfo
 					reblock = new CSVReBlock( input, getRowsInBlock(), getColsInBlock(), 
 							getDataType(), getValueType(), et);
 				}
+				else if( this instanceof DataOp  // LIBSVM (no MR reblock)
+					&& ((DataOp)this).getDataOpType() == DataOpTypes.PERSISTENTREAD
+					&& ((DataOp)this).getInputFormatType() == FileFormatTypes.LIBSVM
+					&& et == ExecType.MR )
+				{
+					throw new HopsException("Reading libsvm inputs is not supported in MR, "
+							+ "use the single_node/spark/hybrid_spark execution modes instead.");
+				}
 				else //TEXT / MM / BINARYBLOCK / BINARYCELL  
 				{
 					reblock = new ReBlock( input, getRowsInBlock(), getColsInBlock(), 
@@ -1133,7 +1141,7 @@ public abstract class Hop implements ParseInfo
 	}
 
 	public enum FileFormatTypes {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LIBSVM, COLUMNAR
 	}
 
 	public enum DataOpTypes {
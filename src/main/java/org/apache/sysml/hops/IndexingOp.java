@@ -190,6 +190,7 @@ public class IndexingOp extends Hop
 							input.constructLops(), getInput().get(1).constructLops(), getInput().get(2).constructLops(),
 							getInput().get(3).constructLops(), getInput().get(4).constructLops(), dummy, dummy,
 							getDataType(), getValueType(), et);
+					reindex.setRangeRead(et == ExecType.CP && isRangeReadIndexing());
 					
 					setOutputDimensions(reindex);
 					setLineNumbers(reindex);
@@ -206,6 +207,23 @@ public class IndexingOp extends Hop
 		return getLops();
 	}
 
+	/**
+	 * Indicates if this right indexing directly consumes a persistent read of a
+	 * binary block matrix, which is not used by any other operator. In this case,
+	 * the CP runtime reads only the blocks overlapping the index range instead
+	 * of the entire matrix. Since this check is done during lop construction, it
+	 * applies after all rewrites, including the indexing vectorization.
+	 * 
+	 * @return true if range read of the input matrix
+	 */
+	public boolean isRangeReadIndexing() {
+		Hop input = getInput().get(0);
+		return getDataType() == DataType.MATRIX
+			&& HopRewriteUtils.isData(input, DataOpTypes.PERSISTENTREAD)
+			&& ((DataOp)input).getInputFormatType() == FileFormatTypes.BINARY
+			&& input.getParent().size() == 1;
+	}
+	
 	@Override
 	public String getOpString() {
 		String s = new String("");
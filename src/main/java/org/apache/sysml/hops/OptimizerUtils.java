@@ -763,6 +763,8 @@ public class OptimizerUtils
 		long bsize = MatrixBlock.estimateSizeOnDisk(rows, cols, nnz);
 		if( oinfo == OutputInfo.TextCellOutputInfo || oinfo == OutputInfo.MatrixMarketOutputInfo )
 			return bsize * 3;
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo ) //no row indexes
+			return bsize * 2;
 		else if( oinfo == OutputInfo.CSVOutputInfo )
 			return bsize * 2;
 		
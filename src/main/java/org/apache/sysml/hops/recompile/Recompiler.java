@@ -1755,6 +1755,7 @@ public class Recompiler
 				if((   iimd.getInputInfo()==InputInfo.TextCellInputInfo
 					|| iimd.getInputInfo()==InputInfo.MatrixMarketInputInfo
 					|| iimd.getInputInfo()==InputInfo.CSVInputInfo
+					|| iimd.getInputInfo()==InputInfo.LIBSVMInputInfo
 					|| iimd.getInputInfo()==InputInfo.BinaryCellInputInfo)
 					&& !mo.isDirty() )
 				{
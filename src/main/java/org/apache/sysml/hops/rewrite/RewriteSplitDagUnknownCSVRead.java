@@ -159,12 +159,13 @@ public class RewriteSplitDagUnknownCSVRead extends StatementBlockRewriteRule
 		if( hop.isVisited() )
 			return;
 		
-		//collect persistent reads (of type csv, with unknown size)
+		//collect persistent reads (of type csv/libsvm, with unknown size)
 		if( hop instanceof DataOp )
 		{
 			DataOp dop = (DataOp) hop;
 			if(    dop.getDataOpType() == DataOpTypes.PERSISTENTREAD
-				&& dop.getInputFormatType() == FileFormatTypes.CSV
+				&& (dop.getInputFormatType() == FileFormatTypes.CSV
+					|| dop.getInputFormatType() == FileFormatTypes.LIBSVM)
 				&& !dop.dimsKnown()
 				&& !HopRewriteUtils.hasOnlyWriteParents(dop, true, false) )
 			{
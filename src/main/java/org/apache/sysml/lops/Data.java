@@ -193,6 +193,10 @@ public class Data extends Lop
 			this.outParams.setFormat(Format.MM);
 		else if (type == FileFormatTypes.CSV )
 			this.outParams.setFormat(Format.CSV);
+		else if (type == FileFormatTypes.LIBSVM )
+			this.outParams.setFormat(Format.LIBSVM);
+		else if (type == FileFormatTypes.COLUMNAR )
+			this.outParams.setFormat(Format.COLUMNAR);
 		else 
 			throw new LopsException("Unexpected format: " + type);
 		setLopProperties();
@@ -424,6 +428,10 @@ public class Data extends Lop
 					fmt = "textcell";
 				else if (oparams.getFormat() == Format.CSV)
 					fmt = "csv";
+				else if (oparams.getFormat() == Format.LIBSVM)
+					fmt = "libsvm";
+				else if (oparams.getFormat() == Format.COLUMNAR)
+					fmt = "columnar";
 				else if ( oparams.getFormat() == Format.BINARY ){
 					if ( oparams.getRowsInBlock() > 0 || oparams.getColsInBlock() > 0 )
 						fmt = "binaryblock"; 
@@ -519,6 +527,10 @@ public class Data extends Lop
 				fmt = "matrixmarket";
 			else if ( oparams.getFormat() == Format.CSV )
 				fmt = "csv";
+			else if ( oparams.getFormat() == Format.LIBSVM )
+				fmt = "libsvm";
+			else if ( oparams.getFormat() == Format.COLUMNAR )
+				fmt = "columnar";
 			else { //binary
 				fmt = ( getDataType() == DataType.FRAME || oparams.getRowsInBlock() > 0 
 					|| oparams.getColsInBlock() > 0 ) ? "binaryblock" : "binarycell";
@@ -35,6 +35,9 @@ public class RightIndex extends Lop
 
 	//optional attribute for spark exec type
 	private SparkAggType _aggtype = SparkAggType.MULTI_BLOCK;
+	
+	//optional attribute for cp exec type (range read of persistent binary block input)
+	private boolean _rangeRead = false;
 
 	public RightIndex(Lop input, Lop rowL, Lop rowU, Lop colL, Lop colU, Lop rowDim, Lop colDim, 
 			DataType dt, ValueType vt, ExecType et, boolean forleft)
@@ -99,6 +102,10 @@ public class RightIndex extends Lop
 		forLeftIndexing=forleft;
 	}
 	
+	public void setRangeRead(boolean flag) {
+		_rangeRead = flag;
+	}
+	
 	private String getOpcode() {
 		if(forLeftIndexing)
 			return OPCODE+"ForLeft";
@@ -151,6 +158,12 @@ public class RightIndex extends Lop
 			sb.append( _aggtype );	
 		}
 		
+		//in case of cp, we compile the optional range read flag into the instruction.
+		if( getExecType() == ExecType.CP && _rangeRead ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _rangeRead );
+		}
+		
 		return sb.toString();
 	}
 
@@ -2233,7 +2233,8 @@ public class Dag<N extends Lop>
 				}
 			}
 		} else {
-			if (oparams.getFormat() == Format.TEXT || oparams.getFormat() == Format.MM)
+			if (oparams.getFormat() == Format.TEXT || oparams.getFormat() == Format.MM
+				|| oparams.getFormat() == Format.LIBSVM)
 				oinfo = OutputInfo.TextCellOutputInfo;
 			else if ( oparams.getFormat() == Format.CSV ) {
 				oinfo = OutputInfo.CSVOutputInfo;
@@ -2574,7 +2575,7 @@ public class Dag<N extends Lop>
 							
 							out.addLastInstruction(tempInstr);
 						} 
-						else if (oparams.getFormat() == Format.MM )  {
+						else if (oparams.getFormat() == Format.MM || oparams.getFormat() == Format.LIBSVM )  {
 							
 							createvarInst= VariableCPInstruction.prepareCreateVariableInstruction(
 													oparams.getLabel(), 
@@ -35,6 +35,7 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
+import org.apache.sysml.runtime.controlprogram.caching.AsyncWriteBuffer;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.mqo.RuntimePiggybacking;
@@ -94,6 +95,10 @@ public class RunMRJobs
 		// Obtain references to all input matrices 
 		MatrixObject[] inputMatrices = inst.extractInputMatrices(ec);
 		
+		//wait for pending asynchronous writes of input files
+		for(MatrixObject m : inputMatrices)
+			AsyncWriteBuffer.join(m.getFileName());
+		
 		// export dirty matrices to HDFS
 		// note: for REBLOCK postponed until we know if necessary
 		if( !(inst.getJobType() == JobType.REBLOCK) )
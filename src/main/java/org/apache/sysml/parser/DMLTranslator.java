@@ -1180,10 +1180,16 @@ public class DMLTranslator
 					case TEXT:
 					case MM:
 					case CSV:
+					case LIBSVM:
 						// write output in textcell format
 						ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1, -1);
 						break;
 						
+					case COLUMNAR:
+						// write output in unblocked columnar frame format
+						ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1, -1);
+						break;
+						
 					case BINARY:
 						// write output in binary block format
 					    ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
@@ -72,6 +72,8 @@ public class DataExpression extends DataIdentifier
 	public static final String FORMAT_TYPE_VALUE_BINARY 		= "binary";
 	public static final String FORMAT_TYPE_VALUE_CSV			= "csv";
 	public static final String FORMAT_TYPE_VALUE_MATRIXMARKET	= "mm";
+	public static final String FORMAT_TYPE_VALUE_LIBSVM			= "libsvm";
+	public static final String FORMAT_TYPE_VALUE_COLUMNAR		= "columnar";
 	
 	public static final String ROWBLOCKCOUNTPARAM = "rows_in_block";
 	public static final String COLUMNBLOCKCOUNTPARAM = "cols_in_block";
@@ -829,6 +831,29 @@ public class DataExpression extends DataIdentifier
 					}
 				}		
 			} 
+			
+			boolean isLIBSVM = (formatTypeString != null && formatTypeString.equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM));
+			if (isLIBSVM) {
+				// Handle libsvm file format (label in last column, optional dimensions)
+				// only allow IO_FILENAME, READROWPARAM, READCOLPARAM, READNUMNONZEROPARAM
+				//		as ONLY valid parameters
+				if( !inferredFormatType ){
+					for (String key : _varParams.keySet()){
+						if (!  (key.equals(IO_FILENAME) || key.equals(FORMAT_TYPE) 
+								|| key.equals(READROWPARAM) || key.equals(READCOLPARAM)
+								|| key.equals(READNUMNONZEROPARAM) || key.equals(DATATYPEPARAM) || key.equals(VALUETYPEPARAM)) )
+						{
+							String msg = "Only parameters allowed are: " + IO_FILENAME + "," 
+									   + READROWPARAM + "," 
+									   + READCOLPARAM + ","
+									   + READNUMNONZEROPARAM;
+							
+							raiseValidateError("Invalid parameter " + key + " in read statement: " +
+									toString() + ". " + msg, conditional, LanguageErrorCodes.INVALID_PARAMETERS);
+						}
+					}
+				}
+			}
 	        dataTypeString = (getVarParam(DATATYPEPARAM) == null) ? null : getVarParam(DATATYPEPARAM).toString();
 			
 			if ( dataTypeString == null || dataTypeString.equalsIgnoreCase(Statement.MATRIX_DATA_TYPE) 
@@ -854,8 +879,8 @@ public class DataExpression extends DataIdentifier
 				// initialize size of target data identifier to UNKNOWN
 				getOutput().setDimensions(-1, -1);
 				
-				if ( !isCSV && ConfigurationManager.getCompilerConfig()
-						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv format / jmlc api
+				if ( !isCSV && !isLIBSVM && ConfigurationManager.getCompilerConfig()
+						.getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) //skip check for csv/libsvm format / jmlc api
 					&& (getVarParam(READROWPARAM) == null || getVarParam(READCOLPARAM) == null) ) {
 						raiseValidateError("Missing or incomplete dimension information in read statement: " 
 								+ mtdFileName, conditional, LanguageErrorCodes.INVALID_PARAMETERS);				
@@ -867,7 +892,7 @@ public class DataExpression extends DataIdentifier
 					// these are strings that are long values
 					Long dim1 = (getVarParam(READROWPARAM) == null) ? null : Long.valueOf( getVarParam(READROWPARAM).toString());
 					Long dim2 = (getVarParam(READCOLPARAM) == null) ? null : Long.valueOf( getVarParam(READCOLPARAM).toString());					
-					if ( !isCSV && (dim1 <= 0 || dim2 <= 0) && ConfigurationManager
+					if ( !isCSV && !isLIBSVM && (dim1 <= 0 || dim2 <= 0) && ConfigurationManager
 							.getCompilerConfig().getBool(ConfigType.REJECT_READ_WRITE_UNKNOWNS) ) {
 						raiseValidateError("Invalid dimension information in read statement", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
 					}
@@ -875,7 +900,7 @@ public class DataExpression extends DataIdentifier
 					// set dim1 and dim2 values 
 					if (dim1 != null && dim2 != null){
 						getOutput().setDimensions(dim1, dim2);
-					} else if (!isCSV && ((dim1 != null) || (dim2 != null))) {
+					} else if (!isCSV && !isLIBSVM && ((dim1 != null) || (dim2 != null))) {
 						raiseValidateError("Partial dimension information in read statement", conditional, LanguageErrorCodes.INVALID_PARAMETERS);
 					}	
 				}
@@ -902,6 +927,20 @@ public class DataExpression extends DataIdentifier
 				{
 					getOutput().setFormatType(FormatType.MM);
 					format = 1;
+				}
+				else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM) )
+				{
+					if( !isMatrix )
+						raiseValidateError("Format '" + fmt + "' is only supported for matrices: " + this.toString(), conditional);
+					getOutput().setFormatType(FormatType.LIBSVM);
+					format = 1;
+				}
+				else if ( fmt.equalsIgnoreCase(FORMAT_TYPE_VALUE_COLUMNAR) )
+				{
+					if( isMatrix )
+						raiseValidateError("Format '" + fmt + "' is only supported for frames: " + this.toString(), conditional);
+					getOutput().setFormatType(FormatType.COLUMNAR);
+					format = 2;
 				} else {
 					raiseValidateError("Invalid format '" + fmt+ "' in statement: " + this.toString(), conditional);
 				}
@@ -1014,6 +1053,9 @@ public class DataExpression extends DataIdentifier
 				getOutput().setBlockDimensions(ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize());
 			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_MATRIXMARKET) || (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_CSV)))
 				getOutput().setBlockDimensions(-1, -1);
+			else if (getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_LIBSVM)
+				|| getVarParam(FORMAT_TYPE).toString().equalsIgnoreCase(FORMAT_TYPE_VALUE_COLUMNAR))
+				getOutput().setBlockDimensions(-1, -1);
 			
 			else{
 				raiseValidateError("Invalid format " + getVarParam(FORMAT_TYPE) +  " in statement: " + this.toString(), conditional);
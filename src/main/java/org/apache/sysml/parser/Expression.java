@@ -192,7 +192,7 @@ public abstract class Expression implements ParseInfo
 	 * Format types (text, binary, matrix market, csv, unknown).
 	 */
 	public enum FormatType {
-		TEXT, BINARY, MM, CSV
+		TEXT, BINARY, MM, CSV, LIBSVM, COLUMNAR
 	}
 	
 	protected static final Log LOG = LogFactory.getLog(Expression.class.getName());
@@ -326,10 +326,11 @@ public abstract class Expression implements ParseInfo
 	/**
 	 * Convert string format type to {@code Hop.FileFormatTypes}.
 	 * 
-	 * @param format String format type ("text", "binary", "mm", "csv")
+	 * @param format String format type ("text", "binary", "mm", "csv", "libsvm", "columnar")
 	 * @return Format as {@code Hop.FileFormatTypes}. Can be
 	 * {@code FileFormatTypes.TEXT}, {@code FileFormatTypes.BINARY}, 
-	 * {@code FileFormatTypes.MM}, or {@code FileFormatTypes.CSV}. Unrecognized
+	 * {@code FileFormatTypes.MM}, {@code FileFormatTypes.CSV},
+	 * {@code FileFormatTypes.LIBSVM}, or {@code FileFormatTypes.COLUMNAR}. Unrecognized
 	 * type is set to {@code FileFormatTypes.TEXT}.
 	 */
 	public static FileFormatTypes convertFormatType(String format) {
@@ -347,6 +348,12 @@ public abstract class Expression implements ParseInfo
 		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV))  {
 			return FileFormatTypes.CSV;
 		}
+		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM))  {
+			return FileFormatTypes.LIBSVM;
+		}
+		if (format.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_COLUMNAR))  {
+			return FileFormatTypes.COLUMNAR;
+		}
 		// ToDo : throw parse exception for invalid / unsupported format type
 		return FileFormatTypes.TEXT;
 	}
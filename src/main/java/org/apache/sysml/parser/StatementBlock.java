@@ -176,8 +176,10 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 			Expression sourceExpr = null;
 			if (stmt instanceof AssignmentStatement) {
 				AssignmentStatement astmt = (AssignmentStatement)stmt;
-				// for now, ensure that an assignment statement containing a read from csv ends up in own statement block
-				if(astmt.getSource().toString().contains(DataExpression.FORMAT_TYPE + "=" + DataExpression.FORMAT_TYPE_VALUE_CSV) && astmt.getSource().toString().contains("read"))
+				// for now, ensure that an assignment statement containing a read from csv/libsvm ends up in own statement block
+				if( (astmt.getSource().toString().contains(DataExpression.FORMAT_TYPE + "=" + DataExpression.FORMAT_TYPE_VALUE_CSV)
+					|| astmt.getSource().toString().contains(DataExpression.FORMAT_TYPE + "=" + DataExpression.FORMAT_TYPE_VALUE_LIBSVM))
+					&& astmt.getSource().toString().contains("read"))
 					return false;
 				sourceExpr = astmt.getSource();
 			}
@@ -569,6 +571,11 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 				source.setOutput(target);
 				source.validateExpression(ids.getVariables(), currConstVars, conditional);
 				setStatementFormatType(os, conditional);
+				if( target.getFormatType() == FormatType.COLUMNAR
+					&& ids.getVariable(target.getName()).getDataType() != DataType.FRAME ) {
+					raiseValidateError("Format '" + DataExpression.FORMAT_TYPE_VALUE_COLUMNAR
+						+ "' is only supported for frames: " + os.toString(), conditional);
+				}
 				target.setDimensionValueProperties(ids.getVariable(target.getName()));
 			}
 			else if (current instanceof AssignmentStatement){
@@ -789,7 +796,7 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 	 		Expression formatTypeExpr = s.getExprParam(DataExpression.FORMAT_TYPE);
 			if (!(formatTypeExpr instanceof StringIdentifier)){
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE
-						+ " can only be a string with one of following values: binary, text, mm, csv.", false, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, libsvm, columnar.", false, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 			String ft = formatTypeExpr.toString();
 			if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_BINARY)){
@@ -800,9 +807,13 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 				s.getIdentifier().setFormatType(FormatType.MM);
 			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV)){
 				s.getIdentifier().setFormatType(FormatType.CSV);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM)){
+				s.getIdentifier().setFormatType(FormatType.LIBSVM);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_COLUMNAR)){
+				s.getIdentifier().setFormatType(FormatType.COLUMNAR);
 			} else{
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE
-						+ " can only be a string with one of following values: binary, text, mm, csv; invalid format: '"+ft+"'.", false, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, libsvm, columnar; invalid format: '"+ft+"'.", false, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 		}
 		//case of unspecified format parameter, use default
@@ -836,9 +847,13 @@ public class StatementBlock extends LiveVariableAnalysis implements ParseInfo
 				s.getTarget().setFormatType(FormatType.MM);
 			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_CSV)){
 				s.getTarget().setFormatType(FormatType.CSV);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_LIBSVM)){
+				s.getTarget().setFormatType(FormatType.LIBSVM);
+			} else if (ft.equalsIgnoreCase(DataExpression.FORMAT_TYPE_VALUE_COLUMNAR)){
+				s.getTarget().setFormatType(FormatType.COLUMNAR);
 			} else{
 				raiseValidateError("IO statement parameter " + DataExpression.FORMAT_TYPE
-						+ " can only be a string with one of following values: binary, text, mm, csv", conditionalValidate, LanguageErrorCodes.INVALID_PARAMETERS);
+						+ " can only be a string with one of following values: binary, text, mm, csv, libsvm, columnar", conditionalValidate, LanguageErrorCodes.INVALID_PARAMETERS);
 			}
 		} else {
 			dataExpr.addVarParam(DataExpression.FORMAT_TYPE,
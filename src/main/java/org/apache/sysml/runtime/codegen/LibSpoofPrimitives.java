@@ -25,6 +25,7 @@ import org.apache.commons.math3.util.FastMath;
 import org.apache.sysml.runtime.functionobjects.IntegerDivide;
 import org.apache.sysml.runtime.functionobjects.Modulus;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.VectorPrimitives;
 
 /**
  * This library contains all vector primitives that are used in 
@@ -38,6 +39,9 @@ public class LibSpoofPrimitives
 	private static IntegerDivide intDiv = IntegerDivide.getFnObject();
 	private static Modulus mod = Modulus.getFnObject();
 	
+	//optional SIMD primitives (null if the Java Vector API is unavailable)
+	private static final VectorPrimitives VECT_PRIMS = VectorPrimitives.getInstance();
+	
 	//global pool of reusable vectors, individual operations set up their own thread-local
 	//ring buffers of reusable vectors with specific number of vectors and vector sizes 
 	private static ThreadLocal<VectorBuffer> memPool = new ThreadLocal<VectorBuffer>() {
@@ -191,6 +195,10 @@ public class LibSpoofPrimitives
 	public static double[] vectMultWrite(double[] a, double[] b, int[] aix, int ai, int bi, int alen, int len) {
 		double[] c = allocVector(len, true);
 		if( a == null || b == null ) return c;
+		if( isVectorizable(alen) ) {
+			VECT_PRIMS.vectMultiplyWrite(a, b, c, aix, ai, bi, alen);
+			return c;
+		}
 		for( int j = ai; j < ai+alen; j++ )
 			c[aix[j]] = a[j] * b[bi+aix[j]];
 		return c;
@@ -350,6 +358,10 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectDivWrite(double[] a, double bval, int ai, int len) {
 		double[] c = allocVector(len, false);
+		if( isVectorizable(len) ) {
+			VECT_PRIMS.vectDivWrite(a, bval, c, ai, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++)
 			c[j] = a[ai+j] / bval;
 		return c;
@@ -357,6 +369,10 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectDivWrite(double bval, double[] a, int ai, int len) {
 		double[] c = allocVector(len, false);
+		if( isVectorizable(len) ) {
+			VECT_PRIMS.vectDivWrite(bval, a, c, ai, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++)
 			c[j] = bval / a[ai + j];
 		return c;
@@ -364,6 +380,10 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectDivWrite(double[] a, double[] b, int ai, int bi, int len) {
 		double[] c = allocVector(len, false);
+		if( isVectorizable(len) ) {
+			VECT_PRIMS.vectDivWrite(a, b, c, ai, bi, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++)
 			c[j] = a[ai + j] / b[bi + j];
 		return c;
@@ -437,6 +457,10 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectMinusWrite(double[] a, double bval, int ai, int len) {
 		double[] c = allocVector(len, false);
+		if( isVectorizable(len) ) {
+			VECT_PRIMS.vectMinusWrite(a, bval, c, ai, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++)
 			c[j] = a[ai + j] - bval;
 		return c;
@@ -444,6 +468,10 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectMinusWrite(double bval, double[] a, int ai, int len) {
 		double[] c = allocVector(len, false);
+		if( isVectorizable(len) ) {
+			VECT_PRIMS.vectMinusWrite(bval, a, c, ai, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++)
 			c[j] = bval - a[ai + j];
 		return c;
@@ -451,6 +479,10 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectMinusWrite(double[] a, double[] b, int ai, int bi, int len) {
 		double[] c = allocVector(len, false);
+		if( isVectorizable(len) ) {
+			VECT_PRIMS.vectMinusWrite(a, b, c, ai, bi, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++)
 			c[j] = a[ai + j] - b[bi + j];
 		return c;
@@ -510,6 +542,10 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectPlusWrite(double[] a, double bval, int ai, int len) {
 		double[] c = allocVector(len, false);
+		if( isVectorizable(len) ) {
+			VECT_PRIMS.vectPlusWrite(a, bval, c, ai, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++)
 			c[j] = a[ai + j] + bval;
 		return c;
@@ -521,6 +557,10 @@ public class LibSpoofPrimitives
 	
 	public static double[] vectPlusWrite(double[] a, double[] b, int ai, int bi, int len) {
 		double[] c = allocVector(len, false);
+		if( isVectorizable(len) ) {
+			VECT_PRIMS.vectPlusWrite(a, b, c, ai, bi, len);
+			return c;
+		}
 		for( int j = 0; j < len; j++)
 			c[j] = a[ai+j] + b[bi+j];
 		return c;
@@ -1830,6 +1870,10 @@ public class LibSpoofPrimitives
 		return (len1 > 64 * len2);
 	}
 	
+	private static boolean isVectorizable(int len) {
+		return VECT_PRIMS != null && len >= VectorPrimitives.MIN_VECTOR_LENGTH;
+	}
+	
 	//dynamic memory management
 	
 	public static void setupThreadLocalMemory(int numVectors, int len) {
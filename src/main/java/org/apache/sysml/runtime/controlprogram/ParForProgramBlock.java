@@ -60,6 +60,7 @@ import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteMR;
 import org.apache.sysml.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
 import org.apache.sysml.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysml.runtime.controlprogram.parfor.ProgramConverter;
 import org.apache.sysml.runtime.controlprogram.parfor.RemoteDPParForMR;
@@ -292,10 +293,11 @@ public class ParForProgramBlock extends ForProgramBlock
 	public static final boolean USE_PB_CACHE                = false; // reuse copied program blocks whenever possible, not there can be issues related to recompile
 	public static final boolean USE_RANGE_TASKS_IF_USEFUL   = true; // use range tasks whenever size>3, false, otherwise wrong split order in remote 
 	public static final boolean USE_STREAMING_TASK_CREATION = true; // start working while still creating tasks, prevents blocking due to too small task queue
+	public static       boolean USE_WORK_STEALING_TASK_QUEUE = false; // use worker-local deques w/ task stealing and adaptive task splitting for local parfor
 	public static final boolean ALLOW_NESTED_PARALLELISM	= true; // if not, transparently change parfor to for on program conversions (local,remote)
 	public static       boolean ALLOW_REUSE_MR_JVMS         = true; // potential benefits: less setup costs per task, NOTE> cannot be used MR4490 in Hadoop 1.0.3, still not fixed in 1.1.1
 	public static       boolean ALLOW_REUSE_MR_PAR_WORKER   = ALLOW_REUSE_MR_JVMS; //potential benefits: less initialization, reuse in-memory objects and result consolidation!
-	public static final boolean USE_PARALLEL_RESULT_MERGE   = false; // if result merge is run in parallel or serial 
+	public static final boolean USE_PARALLEL_RESULT_MERGE   = true; // if result merge is run in parallel or serial (local in-memory merge w/ partitioned output)
 	public static final boolean USE_PARALLEL_RESULT_MERGE_REMOTE = true; // if remote result merge should be run in parallel for multiple result vars
 	public static final boolean ALLOW_DATA_COLOCATION       = true;
 	public static final boolean CREATE_UNSCOPED_RESULTVARS  = true;
@@ -751,13 +753,15 @@ public class ParForProgramBlock extends ForProgramBlock
 		try
 		{
 			// Step 1) init parallel workers, task queue and threads
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			LocalTaskQueue<Task> queue = USE_WORK_STEALING_TASK_QUEUE ?
+				new LocalTaskQueueWorkStealing(_numThreads) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			for( int i=0; i<_numThreads; i++ ) {
 				//create parallel workers as (lazy) deep copies
 				//including preparation of update-in-place variables
 				workers[i] = createParallelWorker( _pwIDs[i], queue, ec, i);
+				workers[i].setTaskQueueIndex(i);
 				threads[i] = new Thread( workers[i] );
 				threads[i].setPriority(Thread.MAX_PRIORITY); 
 			}
@@ -804,6 +808,10 @@ public class ParForProgramBlock extends ForProgramBlock
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
 			
+			//account for additional tasks from adaptive task splitting
+			if( queue instanceof LocalTaskQueueWorkStealing )
+				numCreatedTasks += ((LocalTaskQueueWorkStealing)queue).getNumSplitTasks();
+			
 			// Step 4) collecting results from each parallel worker
 			//obtain results and cleanup other intermediates before result merge
 			LocalVariableMap [] localVariables = new LocalVariableMap [_numThreads]; 
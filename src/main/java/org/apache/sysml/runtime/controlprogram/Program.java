@@ -27,6 +27,7 @@ import org.apache.commons.lang.NotImplementedException;
 import org.apache.sysml.parser.DMLProgram;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.DMLScriptException;
+import org.apache.sysml.runtime.controlprogram.caching.AsyncWriteBuffer;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 
 public class Program 
@@ -117,6 +118,9 @@ public class Program
 				ec.updateDebugState(i);
 				_programBlocks.get(i).execute(ec);
 			}
+			
+			//join asynchronous writes (daemon threads)
+			AsyncWriteBuffer.joinAll();
 		}
 		catch(DMLScriptException e) {
 			throw e;
@@ -20,6 +20,8 @@
 package org.apache.sysml.runtime.controlprogram;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -38,14 +40,36 @@ import org.apache.sysml.runtime.DMLScriptException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.AggregateUnaryCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.BooleanObject;
+import org.apache.sysml.runtime.instructions.cp.BuiltinNaryCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.ConvolutionCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.cp.DoubleObject;
+import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.apache.sysml.runtime.instructions.cp.ParameterizedBuiltinCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.QuaternaryCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.instructions.cp.SpoofCPInstruction;
 import org.apache.sysml.runtime.instructions.cp.StringObject;
+import org.apache.sysml.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysml.runtime.instructions.spark.BuiltinNarySPInstruction;
+import org.apache.sysml.runtime.instructions.spark.ComputationSPInstruction;
+import org.apache.sysml.runtime.instructions.spark.ConvolutionSPInstruction;
+import org.apache.sysml.runtime.instructions.spark.ParameterizedBuiltinSPInstruction;
+import org.apache.sysml.runtime.instructions.spark.QuaternarySPInstruction;
+import org.apache.sysml.runtime.instructions.spark.SpoofSPInstruction;
+import org.apache.sysml.runtime.lineage.Lineage;
+import org.apache.sysml.runtime.lineage.LineageCache;
+import org.apache.sysml.runtime.lineage.LineageItem;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.utils.InstructionProfiler;
 import org.apache.sysml.utils.Statistics;
 import org.apache.sysml.yarn.DMLAppMasterUtils;
 
@@ -56,6 +80,7 @@ public class ProgramBlock implements ParseInfo
 	
 	protected static final Log LOG = LogFactory.getLog(ProgramBlock.class.getName());
 	private static final boolean CHECK_MATRIX_SPARSITY = false;
+	private static final int ASYNC_COLLECT_MAX_LOOKAHEAD = 64;
 
 	protected Program _prog;		// pointer to Program this ProgramBlock is part of
 	protected ArrayList<Instruction> _inst;
@@ -216,8 +241,109 @@ public class ProgramBlock implements ParseInfo
 			//execute instruction
 			ec.updateDebugState(i);
 			executeSingleInstruction(currInst, ec);
+			
+			//trigger async collect of spark outputs consumed by later CP instructions
+			if( ec instanceof SparkExecutionContext && SparkExecutionContext.ASYNC_SPARK_ACTIONS
+				&& currInst instanceof ComputationSPInstruction )
+				triggerAsyncCollect(inst, i, (SparkExecutionContext)ec);
 		}
 	}
+	
+	private static void triggerAsyncCollect(ArrayList<Instruction> inst, int pos, SparkExecutionContext sec)
+		throws DMLRuntimeException
+	{
+		//find the first consumer of the spark output (incl renames via cpvar/mvvar),
+		//and trigger the collect only if it is a CP instruction that is preceded by
+		//independent instructions, which can overlap with the spark job
+		//(bounded lookahead, and conservative abort on unknown instruction inputs)
+		String varname = ((ComputationSPInstruction)inst.get(pos)).getOutputVariableName();
+		HashSet<String> names = new HashSet<>();
+		names.add(varname);
+		boolean indep = false;
+		int end = Math.min(inst.size(), pos + 1 + ASYNC_COLLECT_MAX_LOOKAHEAD);
+		for( int i=pos+1; i<end; i++ ) {
+			Instruction tmp = inst.get(i);
+			List<String> inputs = getInputNames(tmp);
+			if( inputs == null )
+				return;
+			if( tmp instanceof VariableCPInstruction ) {
+				VariableCPInstruction vinst = (VariableCPInstruction) tmp;
+				String opcode = vinst.getOpcode();
+				if( vinst.isRemoveVariable() ) {
+					names.removeAll(inputs);
+					if( names.isEmpty() )
+						return;
+				}
+				else if( (opcode.equals("cpvar") || opcode.equals("mvvar"))
+					&& names.contains(vinst.getInput1().getName()) ) {
+					if( opcode.equals("mvvar") )
+						names.remove(vinst.getInput1().getName());
+					names.add(vinst.getInput2().getName());
+				}
+				else if( isConsumer(inputs, names) )
+					return; //e.g., write or cast
+				continue;
+			}
+			//meta data operations (e.g., nrow) never acquire the data
+			if( isConsumer(inputs, names) && !isMetaDataOperation(tmp) ) {
+				if( tmp instanceof CPInstruction && indep )
+					sec.triggerAsyncCollect(varname);
+				return;
+			}
+			indep = true;
+		}
+	}
+	
+	private static List<String> getInputNames(Instruction inst) {
+		//instructions with additional input operands beyond input1-input3 
+		//are treated as unknown, which conservatively stops the lookahead
+		List<String> ret = new ArrayList<>();
+		if( inst instanceof VariableCPInstruction )
+			addInputNames(ret, ((VariableCPInstruction)inst).getInputs().toArray(new CPOperand[0]));
+		else if( inst instanceof BuiltinNaryCPInstruction )
+			addInputNames(ret, ((BuiltinNaryCPInstruction)inst).getInputs());
+		else if( inst instanceof FunctionCallCPInstruction )
+			addInputNames(ret, ((FunctionCallCPInstruction)inst).getInputs());
+		else if( inst instanceof ParameterizedBuiltinCPInstruction )
+			ret.addAll(((ParameterizedBuiltinCPInstruction)inst).getParameterMap().values());
+		else if( inst instanceof ParameterizedBuiltinSPInstruction )
+			ret.addAll(((ParameterizedBuiltinSPInstruction)inst).getParams().values());
+		else if( inst instanceof QuaternaryCPInstruction || inst instanceof SpoofCPInstruction 
+			|| inst instanceof ConvolutionCPInstruction || inst instanceof QuaternarySPInstruction 
+			|| inst instanceof SpoofSPInstruction || inst instanceof ConvolutionSPInstruction
+			|| inst instanceof BuiltinNarySPInstruction )
+			return null;
+		else if( inst instanceof ComputationCPInstruction ) {
+			ComputationCPInstruction cinst = (ComputationCPInstruction) inst;
+			addInputNames(ret, cinst.input1, cinst.input2, cinst.input3);
+		}
+		else if( inst instanceof ComputationSPInstruction ) {
+			ComputationSPInstruction sinst = (ComputationSPInstruction) inst;
+			addInputNames(ret, sinst.input1, sinst.input2, sinst.input3);
+		}
+		else
+			return null;
+		return ret;
+	}
+	
+	private static void addInputNames(List<String> names, CPOperand... inputs) {
+		for( CPOperand in : inputs )
+			if( in != null && !in.isLiteral() )
+				names.add(in.getName());
+	}
+	
+	private static boolean isConsumer(List<String> inputs, HashSet<String> names) {
+		for( String in : inputs )
+			if( names.contains(in) )
+				return true;
+		return false;
+	}
+	
+	private static boolean isMetaDataOperation(Instruction inst) {
+		String opcode = inst.getOpcode();
+		return inst instanceof AggregateUnaryCPInstruction
+			&& (opcode.equals("nrow") || opcode.equals("ncol") || opcode.equals("length"));
+	}
 
 	protected ScalarObject executePredicateInstructions(ArrayList<Instruction> inst, ValueType retType, ExecutionContext ec)
 		throws DMLRuntimeException
@@ -257,11 +383,25 @@ public class ProgramBlock implements ParseInfo
 			long t0 = (DMLScript.STATISTICS || LOG.isTraceEnabled()) ?
 					System.nanoTime() : 0;
 
+			// start instruction-level profiling (optional)
+			long[] p0 = DMLScript.PROFILE ? InstructionProfiler.start() : null;
+
 			// pre-process instruction (debug state, inst patching, listeners)
 			Instruction tmp = currInst.preprocessInstruction( ec );
 
-			// process actual instruction
-			tmp.processInstruction( ec );
+			// process actual instruction (w/ optional lineage tracing and reuse)
+			if( DMLScript.LINEAGE ) {
+				LineageItem li = Lineage.createItem( tmp, ec );
+				if( !DMLScript.LINEAGE_REUSE || !LineageCache.reuse( tmp, li, ec ) ) {
+					long t1 = DMLScript.LINEAGE_REUSE ? System.nanoTime() : 0;
+					tmp.processInstruction( ec );
+					if( DMLScript.LINEAGE_REUSE )
+						LineageCache.put( tmp, li, ec, System.nanoTime()-t1 );
+				}
+				Lineage.setItem( tmp, li, ec );
+			}
+			else
+				tmp.processInstruction( ec );
 
 			// post-process instruction (debug)
 			tmp.postprocessInstruction( ec );
@@ -271,6 +411,8 @@ public class ProgramBlock implements ParseInfo
 				Statistics.maintainCPHeavyHitters(
 					tmp.getExtendedOpcode(), System.nanoTime()-t0);
 			}
+			if( DMLScript.PROFILE )
+				InstructionProfiler.stop( tmp, p0 );
 
 			// optional trace information (instruction and runtime)
 			if( LOG.isTraceEnabled() ) {
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Write-behind buffer for asynchronous persistent writes of the control program.
+ * Write tasks are executed by a pool of daemon threads and registered by their
+ * output file name until they are joined, either explicitly before the next read
+ * of the same file, or collectively at the end of the program. Subsequent writes
+ * of the same file are chained after the pending write. Errors of asynchronous
+ * writes are raised by the join.
+ *
+ * The caller is responsible for handing over a data snapshot that is not modified
+ * by subsequent operations (see {@link CacheableData#exportData}).
+ */
+public class AsyncWriteBuffer
+{
+	private static final Log LOG = LogFactory.getLog(AsyncWriteBuffer.class.getName());
+
+	private static final HashMap<String, Future<Void>> _pending = new HashMap<>();
+	private static ExecutorService _pool = null;
+
+	/**
+	 * Submits a write task of the given file. The task is chained after the
+	 * pending write of the same file (if any) in a single atomic step, which
+	 * preserves the write order for concurrent submissions (e.g., parfor workers)
+	 * and propagates a failure of the previous write to the registered future.
+	 *
+	 * @param fname output file name
+	 * @param task write task
+	 */
+	public static void submit(String fname, Callable<Void> task) {
+		synchronized( AsyncWriteBuffer.class ) {
+			final Future<Void> prev = _pending.get(fname);
+			_pending.put(fname, getPool().submit(() -> {
+				if( prev != null )
+					prev.get(); //wait for previous write, or fail with its error
+				return task.call();
+			}));
+		}
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Submitted asynchronous write of "+fname+".");
+	}
+
+	/**
+	 * Waits for the pending write of the given file, if any.
+	 *
+	 * @param fname file name
+	 * @throws CacheException if the pending write failed
+	 */
+	public static void join(String fname)
+		throws CacheException
+	{
+		Future<Void> future = null;
+		synchronized( AsyncWriteBuffer.class ) {
+			if( _pending.isEmpty() || fname == null )
+				return;
+			future = _pending.get(fname);
+		}
+		if( future != null )
+			join(fname, future);
+	}
+
+	/**
+	 * Waits for all pending writes, which is required at the end of
+	 * the program as the write threads do not block the shutdown.
+	 *
+	 * @throws CacheException if any pending write failed
+	 */
+	public static void joinAll()
+		throws CacheException
+	{
+		ArrayList<Entry<String, Future<Void>>> pending = null;
+		synchronized( AsyncWriteBuffer.class ) {
+			if( _pending.isEmpty() )
+				return;
+			pending = new ArrayList<>(_pending.entrySet());
+		}
+		CacheException err = null;
+		for( Entry<String, Future<Void>> e : pending ) {
+			try {
+				join(e.getKey(), e.getValue());
+			}
+			catch(CacheException ex) {
+				if( err == null )
+					err = ex;
+			}
+		}
+		if( err != null )
+			throw err;
+	}
+
+	public static synchronized int getNumPending() {
+		return _pending.size();
+	}
+
+	private static void join(String fname, Future<Void> future)
+		throws CacheException
+	{
+		try {
+			future.get();
+		}
+		catch(InterruptedException | ExecutionException ex) {
+			throw new CacheException("Asynchronous write of "+fname+" failed.", ex);
+		}
+		finally {
+			synchronized( AsyncWriteBuffer.class ) {
+				_pending.remove(fname, future);
+			}
+		}
+	}
+
+	private synchronized static ExecutorService getPool() {
+		if( _pool == null ) {
+			//daemon threads to never block the shutdown of the control program
+			_pool = Executors.newCachedThreadPool(r -> {
+				Thread t = new Thread(r, "sysml-async-write");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		return _pool;
+	}
+}
@@ -767,6 +767,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 
 		LOG.trace("Exporting " + this.getDebugName() + " to " + fName + " in format " + outputFormat);
 		
+		//wait for pending asynchronous write of the same file
+		AsyncWriteBuffer.join(fName);
+		
 		//TODO remove
         boolean copiedFromGPU = false;
         for (Map.Entry<GPUContext, GPUObject> kv : _gpuObjects.entrySet()) {
@@ -822,7 +825,17 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			try
 			{
 				writeMetaData( fName, outputFormat, formatProperties );
-				writeBlobToHDFS( fName, outputFormat, replication, formatProperties );
+				if( pWrite && ConfigurationManager.isAsyncWriteEnabled() ) {
+					//write-behind of data and meta data snapshot (joined on read or program end)
+					final T data = getWriteSnapshot();
+					final MetaDataFormat iimd = (MetaDataFormat) _metaData.clone();
+					AsyncWriteBuffer.submit(fName, () -> {
+						writeBlobToHDFS(data, iimd, fName, outputFormat, replication, formatProperties);
+						return null;
+					});
+				}
+				else
+					writeBlobToHDFS( _data, (MetaDataFormat) _metaData, fName, outputFormat, replication, formatProperties );
 				if ( !pWrite )
 					setDirty(false);
 			}
@@ -980,11 +993,33 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected abstract T readBlobFromHDFS(String fname, long rlen, long clen) 
 		throws IOException;
 
+	protected static void joinAsyncWrite(String fname) 
+		throws IOException
+	{
+		try {
+			AsyncWriteBuffer.join(fname);
+		}
+		catch(CacheException ex) {
+			throw new IOException(ex);
+		}
+	}
+
 	protected abstract T readBlobFromRDD(RDDObject rdd, MutableBoolean status)
 		throws IOException;
 
-	protected abstract void writeBlobToHDFS(String fname, String ofmt, int rep, FileFormatProperties fprop) 
+	protected abstract void writeBlobToHDFS(T data, MetaDataFormat iimd, String fname, String ofmt, int rep, FileFormatProperties fprop) 
 		throws IOException, DMLRuntimeException;
+	
+	/**
+	 * Returns the data to be written asynchronously, which must not be modified
+	 * by subsequent operations. By default, the data is returned as is because
+	 * operations create new outputs instead of modifying their inputs.
+	 * 
+	 * @return data snapshot
+	 */
+	protected T getWriteSnapshot() {
+		return _data;
+	}
 
 	protected abstract void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String ofmt) 
 		throws IOException, DMLRuntimeException;
@@ -1262,7 +1297,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		sizePinned.set( Math.max(size,0) );
 	}
 
-	protected long getPinnedSize() {
+	public long getPinnedSize() {
 		return sizePinned.get();
 	}
 	
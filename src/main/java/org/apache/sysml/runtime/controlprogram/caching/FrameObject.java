@@ -47,8 +47,13 @@ import org.apache.sysml.runtime.util.UtilFunctions;
 public class FrameObject extends CacheableData<FrameBlock>
 {
 	private static final long serialVersionUID = 1755082174281927785L;
+	
+	public static final String SCHEMA_AUTO = "auto";
 
 	private ValueType[] _schema = null;
+	
+	//infer value types on read of csv files (schema "auto")
+	private boolean _inferSchema = false;
 
 	protected FrameObject() {
 		super(DataType.FRAME, ValueType.STRING);
@@ -112,7 +117,11 @@ public class FrameObject extends CacheableData<FrameBlock>
 	} 
 	
 	public void setSchema(String schema) {
-		if( schema.equals("*") ) {
+		if( schema.equalsIgnoreCase(SCHEMA_AUTO) ) {
+			//value types inferred on read
+			_inferSchema = true;
+		}
+		else if( schema.equals("*") ) {
 			//populate default schema
 			int clen = (int) getNumColumns();
 			if( clen > 0 ) //known number of cols
@@ -169,9 +178,15 @@ public class FrameObject extends CacheableData<FrameBlock>
 		MetaDataFormat iimd = (MetaDataFormat) _metaData;
 		MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
 		
-		//handle missing schema if necessary
+		//wait for pending asynchronous write of the same file
+		joinAsyncWrite(fname);
+		
+		//handle missing schema if necessary (w/ value type inference for csv)
+		boolean infer = _schema==null && _inferSchema 
+			&& iimd.getInputInfo()==InputInfo.CSVInputInfo;
 		ValueType[] lschema = (_schema!=null) ? _schema : 
-			UtilFunctions.nCopies(clen>=1 ? (int)clen : 1, ValueType.STRING);
+			UtilFunctions.nCopies(clen>=1 ? (int)clen : 1, 
+			infer ? ValueType.UNKNOWN : ValueType.STRING);
 		
 		//read the frame block
 		FrameBlock data = null;
@@ -186,7 +201,11 @@ public class FrameObject extends CacheableData<FrameBlock>
 		//sanity check correct output
 		if( data == null )
 			throw new IOException("Unable to load frame from file: "+fname);
-						
+		
+		//keep inferred schema for subsequent operations
+		if( infer )
+			_schema = data.getSchema();
+		
 		return data;
 	}
 
@@ -232,12 +251,13 @@ public class FrameObject extends CacheableData<FrameBlock>
 	}
 
 	@Override
-	protected void writeBlobToHDFS(String fname, String ofmt, int rep, FileFormatProperties fprop) 
+	protected void writeBlobToHDFS(FrameBlock data, MetaDataFormat iimd, String fname, String ofmt, int rep, FileFormatProperties fprop) 
 		throws IOException, DMLRuntimeException 
 	{
+		MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
 		OutputInfo oinfo = OutputInfo.stringToOutputInfo(ofmt);
 		FrameWriter writer = FrameWriterFactory.createFrameWriter(oinfo, fprop);
-		writer.writeFrameToHDFS(_data, fname,  getNumRows(), getNumColumns());
+		writer.writeFrameToHDFS(data, fname, mc.getRows(), mc.getCols());
 	}
 
 	@Override
@@ -248,6 +268,14 @@ public class FrameObject extends CacheableData<FrameBlock>
 		MetaDataFormat iimd = (MetaDataFormat) _metaData;
 		OutputInfo oinfo = (ofmt != null ? OutputInfo.stringToOutputInfo (ofmt ) 
 				: InputInfo.getMatchingOutputInfo (iimd.getInputInfo ()));
+		
+		//columnar frames have no hadoop output format, hence collect and write in CP
+		if( oinfo == OutputInfo.ColumnarFrameOutputInfo ) {
+			FrameBlock fb = readBlobFromRDD(rdd, new MutableBoolean());
+			FrameWriter writer = FrameWriterFactory.createFrameWriter(oinfo);
+			writer.writeFrameToHDFS(fb, fname, fb.getNumRows(), fb.getNumColumns());
+			return;
+		}
 	    
 		//note: the write of an RDD to HDFS might trigger
 		//lazy evaluation of pending transformations.				
@@ -29,6 +29,7 @@ import java.util.concurrent.Executors;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.utils.InstructionProfiler;
 
 public class LazyWriteBuffer 
 {
@@ -107,6 +108,8 @@ public class LazyWriteBuffer
 				CacheStatistics.incrementFSBuffWrites();
 				CacheStatistics.incrementFSWrites(numEvicted);
 			}
+			if( DMLScript.PROFILE )
+				InstructionProfiler.incrementEvictions();
 		}
 		else
 		{
@@ -115,6 +118,8 @@ public class LazyWriteBuffer
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSWrites();
 			}
+			if( DMLScript.PROFILE )
+				InstructionProfiler.incrementEvictions();
 			numEvicted++;
 		}
 		
@@ -162,6 +167,9 @@ public class LazyWriteBuffer
 			}
 		}
 		
+		if( DMLScript.PROFILE )
+			InstructionProfiler.incrementRestores();
+		
 		//deserialize or read from FS if required
 		if( ldata != null )
 		{
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
 import java.lang.ref.SoftReference;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.lang.mutable.MutableBoolean;
 import org.apache.sysml.api.DMLScript;
@@ -34,6 +35,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.MetaData;
@@ -393,6 +395,61 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return sb.toString();
 	}	
 	
+	/**
+	 * Indicates if this matrix is not in memory (incl. cached or evicted data) but
+	 * backed by a binary block file, which allows reading index ranges via
+	 * {@link #readMatrixRange(IndexRange)} without reading the entire matrix.
+	 * 
+	 * @return true if the matrix allows range reads
+	 */
+	public synchronized boolean isRangeReadable() {
+		MetaDataFormat iimd = (MetaDataFormat) _metaData;
+		MatrixCharacteristics mc = (iimd != null) ? iimd.getMatrixCharacteristics() : null;
+		return _data == null && isEmpty(false) && getRDDHandle() == null
+			&& !_partitioned && _hdfsFileName != null
+			&& (_gpuObjects == null || _gpuObjects.isEmpty())
+			&& iimd != null && iimd.getInputInfo() == InputInfo.BinaryBlockInputInfo
+			&& mc.dimsKnown() && mc.getRowsPerBlock() > 0 && mc.getColsPerBlock() > 0;
+	}
+	
+	/**
+	 * Reads the given index range directly from the binary block file, where only
+	 * the overlapping blocks are read. In contrast to acquireRead, the read range
+	 * is not cached and the status of this matrix object remains unchanged.
+	 * 
+	 * @param ixrange 0-based index range (inclusive)
+	 * @return matrix block of the index range
+	 * @throws CacheException if CacheException occurs
+	 */
+	public synchronized MatrixBlock readMatrixRange( IndexRange ixrange ) 
+		throws CacheException
+	{
+		if( LOG.isTraceEnabled() )
+			LOG.trace("Read range "+hashCode()+" "+ixrange);
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		
+		if( !isRangeReadable() )
+			throw new CacheException ("MatrixObject not available to range read.");
+		
+		MatrixBlock mb = null;
+		try {
+			joinAsyncWrite(_hdfsFileName);
+			MatrixCharacteristics mc = ((MetaDataFormat) _metaData).getMatrixCharacteristics();
+			mb = new ReaderBinaryBlock(false).readMatrixRangeFromHDFS(_hdfsFileName, mc.getRows(),
+				mc.getCols(), mc.getRowsPerBlock(), mc.getColsPerBlock(), mc.getNonZeros(), ixrange);
+		}
+		catch(Exception ex) {
+			throw new CacheException("Reading of range "+ixrange.add(1)+" of "+_hdfsFileName+" failed.", ex);
+		}
+		
+		if( DMLScript.STATISTICS ){
+			CacheStatistics.incrementHDFSHits();
+			CacheStatistics.incrementAcquireRTime(System.nanoTime()-t0);
+		}
+		
+		return mb;
+	}
+	
 	
 
 	// *********************************************
@@ -423,6 +480,9 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		MatrixCharacteristics mc = iimd.getMatrixCharacteristics();
 		long begin = 0;
 		
+		//wait for pending asynchronous write of the same file
+		joinAsyncWrite(fname);
+		
 		if( LOG.isTraceEnabled() ) {
 			LOG.trace("Reading matrix from HDFS...  " + hashCode() + "  Path: " + fname 
 					+ ", dimensions: [" + mc.getRows() + ", " + mc.getCols() + ", " + mc.getNonZeros() + "]");
@@ -474,9 +534,22 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			int bclen = (int)mc.getColsPerBlock();
 			long nnz = mc.getNonZeros();
 			
+			//obtain matrix block from asynchronously triggered collect
+			if( rdd.getAsyncCollect() != null ) {
+				try {
+					mb = (MatrixBlock) rdd.getAsyncCollect().get();
+				}
+				catch(InterruptedException | ExecutionException ex) {
+					throw new IOException(ex);
+				}
+				finally {
+					SparkExecutionContext.releaseAsyncCollect(rdd, false);
+				}
+			}
 			//guarded rdd collect 
-			if( ii == InputInfo.BinaryBlockInputInfo && //guarded collect not for binary cell
-				!OptimizerUtils.checkSparkCollectMemoryBudget(mc, getPinnedSize()+getBroadcastSize()) ) {
+			else if( ii == InputInfo.BinaryBlockInputInfo && //guarded collect not for binary cell
+				!OptimizerUtils.checkSparkCollectMemoryBudget(mc, getPinnedSize()+getBroadcastSize()
+					+SparkExecutionContext.getAsyncCollectSize()) ) {
 				//write RDD to hdfs and read to prevent invalid collect mem consumption 
 				//note: lazy, partition-at-a-time collect (toLocalIterator) was significantly slower
 				if( !MapReduceTool.existsFileOnHDFS(_hdfsFileName) ) { //prevent overwrite existing file
@@ -514,7 +587,7 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	 * Writes in-memory matrix to HDFS in a specified format.
 	 */
 	@Override
-	protected void writeBlobToHDFS(String fname, String ofmt, int rep, FileFormatProperties fprop)
+	protected void writeBlobToHDFS(MatrixBlock data, MetaDataFormat iimd, String fname, String ofmt, int rep, FileFormatProperties fprop)
 		throws IOException, DMLRuntimeException
 	{
 		long begin = 0;
@@ -523,10 +596,8 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 						(ofmt != null ? ofmt : "inferred from metadata"));
 			begin = System.currentTimeMillis();
 		}
-		
-		MetaDataFormat iimd = (MetaDataFormat) _metaData;
 
-		if (_data != null)
+		if (data != null)
 		{
 			// Get the dimension information from the metadata stored within MatrixObject
 			MatrixCharacteristics mc = iimd.getMatrixCharacteristics ();
@@ -539,23 +610,30 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			if ( oinfo == OutputInfo.BinaryBlockOutputInfo && DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE &&
 				(mc.getRowsPerBlock() != ConfigurationManager.getBlocksize() || mc.getColsPerBlock() != ConfigurationManager.getBlocksize()) ) 
 			{
-				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, new MatrixCharacteristics(mc.getRows(), mc.getCols(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros()), rep, fprop);
+				DataConverter.writeMatrixToHDFS(data, fname, oinfo, new MatrixCharacteristics(mc.getRows(), mc.getCols(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros()), rep, fprop);
 			}
 			else {
-				DataConverter.writeMatrixToHDFS(_data, fname, oinfo, mc, rep, fprop);
+				DataConverter.writeMatrixToHDFS(data, fname, oinfo, mc, rep, fprop);
 			}
 
 			if( LOG.isTraceEnabled() )
 				LOG.trace("Writing matrix to HDFS ("+fname+") - COMPLETED... " + (System.currentTimeMillis()-begin) + " msec.");
 		}
 		else if( LOG.isTraceEnabled() ) {
-			LOG.trace ("Writing matrix to HDFS ("+fname+") - NOTHING TO WRITE (_data == null).");
+			LOG.trace ("Writing matrix to HDFS ("+fname+") - NOTHING TO WRITE (data == null).");
 		}
 		
 		if( DMLScript.STATISTICS )
 			CacheStatistics.incrementHDFSWrites();
 	}
 	
+	@Override
+	protected MatrixBlock getWriteSnapshot() {
+		//deep copy of blocks that are subject to subsequent in-place updates
+		return (_data != null && getUpdateType().isInPlace()) ?
+			new MatrixBlock(_data) : _data;
+	}
+	
 	@Override
 	protected void writeBlobFromRDDtoHDFS(RDDObject rdd, String fname, String outputFormat) 
 	    throws IOException, DMLRuntimeException
@@ -20,9 +20,18 @@
 package org.apache.sysml.runtime.controlprogram.context;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -48,6 +57,7 @@ import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.controlprogram.Program;
+import org.apache.sysml.runtime.controlprogram.caching.AsyncWriteBuffer;
 import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
@@ -57,16 +67,19 @@ import org.apache.sysml.runtime.instructions.spark.data.BroadcastObject;
 import org.apache.sysml.runtime.instructions.spark.data.LineageObject;
 import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
 import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast.PartitionLayout;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
 import org.apache.sysml.runtime.instructions.spark.functions.ComputeBinaryBlockNnzFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBinaryCellFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyFrameBlockPairFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyTextInputFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CreateSparseBlockFunction;
+import org.apache.sysml.runtime.instructions.spark.functions.PipelinedBlockFunction;
 import org.apache.sysml.runtime.instructions.spark.utils.FrameRDDConverterUtils.LongFrameToLongWritableFrameFunction;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -75,6 +88,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
+import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.sysml.utils.MLContextProxy;
@@ -106,6 +120,30 @@ public class SparkExecutionContext extends ExecutionContext
 	//TODO unify memory management for CP, par RDDs, and potentially broadcasts
 	private static MemoryManagerParRDDs _parRDDs = new MemoryManagerParRDDs(0.1);
 
+	//cache of partitioned broadcasts by data identity, which keeps broadcasts
+	//of loop-invariant matrices alive beyond the lifetime of individual variables
+	//(e.g., on rmvar or evicted handles) and bounds their memory to a fraction 
+	//of the broadcast memory budget (with LRU eviction)
+	public static boolean USE_BROADCAST_CACHE = true;
+	private static BroadcastCache _bcCache = new BroadcastCache(0.5);
+
+	//pipelining of chains of block-local, element-wise operations into a single
+	//mapValues per chain (bounded length to limit the size of serialized functions)
+	public static boolean PIPELINE_BLOCK_OPERATIONS = true;
+	private static final int PIPELINE_MAX_LENGTH = 64;
+
+	//asynchronous collect of pending rdds that are consumed by subsequent CP 
+	//instructions, which overlaps the spark job with independent CP instructions
+	//(collected blocks are accounted as pinned memory until consumed or cleaned up)
+	public static boolean ASYNC_SPARK_ACTIONS = false;
+	private static ExecutorService _asyncPool = null;
+	private static final AtomicLong _asyncCollectSize = new AtomicLong(0);
+
+	//skew-aware partitioning of sparse reblock and cpmm shuffles according to
+	//sampled nnz per row/column block, in order to balance nnz per partition
+	//(the sample of entire partitions is evaluated by a synchronous spark job)
+	public static boolean SKEW_AWARE_PARTITIONING = false;
+
 	static {
 		// for internal debugging only
 		if( LDEBUG ) {
@@ -168,7 +206,11 @@ public class SparkExecutionContext extends ExecutionContext
 			if( _spctx != null )
 			{
 				//stop the spark context if existing
+				if( _asyncPool != null )
+					_asyncPool.shutdownNow();
+				_asyncPool = null;
 				_spctx.stop();
+				_bcCache.clear();
 
 				//make sure stopped context is never used again
 				_spctx = null;
@@ -218,6 +260,7 @@ public class SparkExecutionContext extends ExecutionContext
 			}
 
 			_parRDDs.clear();
+			_bcCache.clear();
 		}
 
 		// Set warning if spark.driver.maxResultSize is not set. It needs to be set before starting Spark Context for CP collect
@@ -385,6 +428,9 @@ public class SparkExecutionContext extends ExecutionContext
 		//CASE 3: non-dirty (file exists on HDFS)
 		else
 		{
+			//wait for pending asynchronous write of the same file
+			AsyncWriteBuffer.join(mo.getFileName());
+			
 			// parallelize hdfs-resident file
 			// For binary block, these are: SequenceFileInputFormat.class, MatrixIndexes.class, MatrixBlock.class
 			if(inputInfo == InputInfo.BinaryBlockInputInfo) {
@@ -393,7 +439,8 @@ public class SparkExecutionContext extends ExecutionContext
 				//recordreader returns; the javadoc explicitly recommend to copy all key/value pairs
 				rdd = SparkUtils.copyBinaryBlockMatrix((JavaPairRDD<MatrixIndexes, MatrixBlock>)rdd); //cp is workaround for read bug
 			}
-			else if(inputInfo == InputInfo.TextCellInputInfo || inputInfo == InputInfo.CSVInputInfo || inputInfo == InputInfo.MatrixMarketInputInfo) {
+			else if(inputInfo == InputInfo.TextCellInputInfo || inputInfo == InputInfo.CSVInputInfo 
+				|| inputInfo == InputInfo.MatrixMarketInputInfo || inputInfo == InputInfo.LIBSVMInputInfo) {
 				rdd = sc.hadoopFile( mo.getFileName(), inputInfo.inputFormatClass, inputInfo.inputKeyClass, inputInfo.inputValueClass);
 				rdd = ((JavaPairRDD<LongWritable, Text>)rdd).mapToPair( new CopyTextInputFunction() ); //cp is workaround for read bug
 			}
@@ -447,14 +494,16 @@ public class SparkExecutionContext extends ExecutionContext
 			rdd = fo.getRDDHandle().getRDD();
 		}
 		//CASE 2: dirty in memory data or cached result of rdd operations
-		else if( fo.isDirty() || fo.isCached(false) )
+		//(incl columnar frames, which have no input format and are always read in CP)
+		else if( fo.isDirty() || fo.isCached(false) || inputInfo2 == InputInfo.ColumnarFrameInputInfo )
 		{
 			//get in-memory matrix block and parallelize it
 			//w/ guarded parallelize (fallback to export, rdd from file if too large)
 			MatrixCharacteristics mc = fo.getMatrixCharacteristics();
 			boolean fromFile = false;
-			if( !OptimizerUtils.checkSparkCollectMemoryBudget(mc, 0) || !_parRDDs.reserve(
-					OptimizerUtils.estimatePartitionedSizeExactSparsity(mc)) ) {
+			if( inputInfo2 != InputInfo.ColumnarFrameInputInfo
+				&& (!OptimizerUtils.checkSparkCollectMemoryBudget(mc, 0) || !_parRDDs.reserve(
+					OptimizerUtils.estimatePartitionedSizeExactSparsity(mc))) ) {
 				if( fo.isDirty() ) { //write only if necessary
 					fo.exportData();
 				}
@@ -477,6 +526,9 @@ public class SparkExecutionContext extends ExecutionContext
 		//CASE 3: non-dirty (file exists on HDFS)
 		else
 		{
+			//wait for pending asynchronous write of the same file
+			AsyncWriteBuffer.join(fo.getFileName());
+			
 			// parallelize hdfs-resident file
 			// For binary block, these are: SequenceFileInputFormat.class, MatrixIndexes.class, MatrixBlock.class
 			if(inputInfo2 == InputInfo.BinaryBlockFrameInputInfo) {
@@ -505,9 +557,25 @@ public class SparkExecutionContext extends ExecutionContext
 		return rdd;
 	}
 	
-	@SuppressWarnings("unchecked")
 	public PartitionedBroadcast<MatrixBlock> getBroadcastForVariable( String varname )
 		throws DMLRuntimeException
+	{
+		return getBroadcastForVariable(varname, PartitionLayout.DEFAULT);
+	}
+
+	/**
+	 * Obtains the partitioned broadcast of the given matrix variable. The partition
+	 * layout applies only to newly created broadcasts, while existing or cached 
+	 * broadcasts are reused as is (any layout provides access to all blocks).
+	 *
+	 * @param varname variable name
+	 * @param layout partition layout of new broadcasts
+	 * @return partitioned broadcast
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	@SuppressWarnings("unchecked")
+	public PartitionedBroadcast<MatrixBlock> getBroadcastForVariable( String varname, PartitionLayout layout )
+		throws DMLRuntimeException
 	{
 		//NOTE: The memory consumption of this method is the in-memory size of the 
 		//matrix object plus the partitioned size in 1k-1k blocks. Since the call
@@ -540,39 +608,36 @@ public class SparkExecutionContext extends ExecutionContext
 			//obtain meta data for matrix
 			int brlen = (int) mo.getNumRowsPerBlock();
 			int bclen = (int) mo.getNumColumnsPerBlock();
+			long size = OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getMatrixCharacteristics());
 
-			//create partitioned matrix block and release memory consumed by input
+			//probe broadcast cache by data identity (except for update in-place, 
+			//where the matrix block might be modified after broadcast creation)
 			MatrixBlock mb = mo.acquireRead();
+			boolean cacheable = USE_BROADCAST_CACHE && !mo.getUpdateType().isInPlace();
+			bret = cacheable ? _bcCache.get(mb, brlen, bclen) : null;
+			if( bret != null ) {
+				mo.release();
+				BroadcastObject<MatrixBlock> bchandle = new BroadcastObject<>(bret, size);
+				mo.setBroadcastHandle(bchandle);
+				CacheableData.addBroadcastSize(bchandle.getSize());
+				if (DMLScript.STATISTICS) {
+					Statistics.accSparkBroadCastTime(System.nanoTime() - t0);
+					Statistics.incSparkBroadcastCacheHits();
+				}
+				return bret;
+			}
+
+			//create partitioned matrix block and release memory consumed by input
 			PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<>(mb, brlen, bclen);
 			mo.release();
 
-			//determine coarse-grained partitioning
-			int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(mo.getNumRows(), mo.getNumColumns(), brlen, bclen);
-			int numParts = (int) Math.ceil((double)pmb.getNumRowBlocks()*pmb.getNumColumnBlocks() / numPerPart);
-			Broadcast<PartitionedBlock<MatrixBlock>>[] ret = new Broadcast[numParts];
-
 			//create coarse-grained partitioned broadcasts
-			if( numParts > 1 ) {
-				for( int i=0; i<numParts; i++ ) {
-					int offset = i * numPerPart;
-					int numBlks = Math.min(numPerPart, pmb.getNumRowBlocks()*pmb.getNumColumnBlocks()-offset);
-					PartitionedBlock<MatrixBlock> tmp = pmb.createPartition(offset, numBlks, new MatrixBlock());
-					ret[i] = getSparkContext().broadcast(tmp);
-					if( !isLocalMaster() )
-						tmp.clearBlocks();
-				}
-			}
-			else { //single partition
-				ret[0] = getSparkContext().broadcast(pmb);
-				if( !isLocalMaster() )
-					pmb.clearBlocks();
-			}
-			
-			bret = new PartitionedBroadcast<>(ret);
-			BroadcastObject<MatrixBlock> bchandle = new BroadcastObject<>(bret,
-					OptimizerUtils.estimatePartitionedSizeExactSparsity(mo.getMatrixCharacteristics()));
+			bret = createPartitionedBroadcast(pmb, layout);
+			BroadcastObject<MatrixBlock> bchandle = new BroadcastObject<>(bret, size);
 			mo.setBroadcastHandle(bchandle);
 			CacheableData.addBroadcastSize(bchandle.getSize());
+			if( cacheable )
+				_bcCache.put(mb, brlen, bclen, bret, size);
 		}
 
 		if (DMLScript.STATISTICS) {
@@ -638,7 +703,7 @@ public class SparkExecutionContext extends ExecutionContext
 					pmb.clearBlocks();
 			}
 
-			bret = new PartitionedBroadcast<>(ret);
+			bret = new PartitionedBroadcast<>(ret, fo.getNumRows(), fo.getNumColumns(), brlen, bclen, numPerPart, false);
 			BroadcastObject<FrameBlock> bchandle = new BroadcastObject<>(bret,
 					OptimizerUtils.estimatePartitionedSizeExactSparsity(fo.getMatrixCharacteristics()));
 			fo.setBroadcastHandle(bchandle);
@@ -653,6 +718,46 @@ public class SparkExecutionContext extends ExecutionContext
 		return bret;
 	}
 
+	/**
+	 * Creates coarse-grained partitioned broadcasts of the given partitioned matrix
+	 * block according to the given layout. Note that we explicitly clear the in-memory
+	 * blocks of created partitions (other than in local mode).
+	 *
+	 * @param pmb partitioned matrix block
+	 * @param layout partition layout
+	 * @return partitioned broadcast
+	 */
+	@SuppressWarnings("unchecked")
+	public PartitionedBroadcast<MatrixBlock> createPartitionedBroadcast( PartitionedBlock<MatrixBlock> pmb, PartitionLayout layout )
+	{
+		//determine coarse-grained partitioning
+		int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(pmb.getNumRows(), 
+			pmb.getNumCols(), pmb.getNumRowsPerBlock(), pmb.getNumColumnsPerBlock(), layout);
+		int numBlks = pmb.getNumRowBlocks()*pmb.getNumColumnBlocks();
+		int numParts = (int) Math.ceil((double)numBlks / numPerPart);
+		Broadcast<PartitionedBlock<MatrixBlock>>[] ret = new Broadcast[numParts];
+
+		//create coarse-grained partitioned broadcasts
+		if( numParts > 1 ) {
+			for( int i=0; i<numParts; i++ ) {
+				int offset = i * numPerPart;
+				int numBlks2 = Math.min(numPerPart, numBlks-offset);
+				PartitionedBlock<MatrixBlock> tmp = pmb.createPartition(offset, numBlks2, layout.isColumnMajor());
+				ret[i] = getSparkContext().broadcast(tmp);
+				if( !isLocalMaster() )
+					tmp.clearBlocks();
+			}
+		}
+		else { //single partition (any layout)
+			ret[0] = getSparkContext().broadcast(pmb);
+			if( !isLocalMaster() )
+				pmb.clearBlocks();
+		}
+
+		return new PartitionedBroadcast<>(ret, pmb.getNumRows(), pmb.getNumCols(), 
+			(int)pmb.getNumRowsPerBlock(), (int)pmb.getNumColumnsPerBlock(), numPerPart, layout.isColumnMajor());
+	}
+
 	/**
 	 * Keep the output rdd of spark rdd operations as meta data of matrix/frame
 	 * objects in the symbol table.
@@ -669,6 +774,124 @@ public class SparkExecutionContext extends ExecutionContext
 		obj.setRDDHandle( rddhandle );
 	}
 
+	/**
+	 * Sets the output RDD of a block-local, element-wise operation (matrix-scalar or
+	 * unary builtin) over the given input RDD. If the input RDD is itself the pending
+	 * output of such an operation, both are fused into a single mapValues over the
+	 * input of the existing chain, which avoids materializing the intermediate block
+	 * per operation. The lineage of the input variable is kept as is, which ensures
+	 * the base RDD of the chain is not cleaned up while the output is alive.
+	 *
+	 * @param varname output variable name
+	 * @param varnameIn input variable name
+	 * @param in input rdd handle (as obtained for the input variable)
+	 * @param op scalar or unary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	@SuppressWarnings("unchecked")
+	public void setPipelinedRDDHandleForVariable(String varname, String varnameIn, JavaPairRDD<MatrixIndexes,MatrixBlock> in, Operator op)
+		throws DMLRuntimeException
+	{
+		if( !PipelinedBlockFunction.isSupportedOperator(op) )
+			throw new DMLRuntimeException("Unsupported operator for pipelined block operations: " + op.getClass().getSimpleName());
+		
+		//append to the existing chain, if the input rdd is a (non-checkpointed) 
+		//pipelined rdd that has not been replaced by a parallelized in-memory block
+		RDDObject rddIn = getCacheableData(varnameIn).getRDDHandle();
+		JavaPairRDD<MatrixIndexes,MatrixBlock> base = in;
+		PipelinedBlockFunction fn = null;
+		if( rddIn != null && rddIn.getRDD() == in && rddIn.isPipelined() && !rddIn.isCheckpointRDD()
+			&& rddIn.getPipelineFunction().getNumOperations() < PIPELINE_MAX_LENGTH ) {
+			base = (JavaPairRDD<MatrixIndexes,MatrixBlock>) rddIn.getPipelineBase();
+			fn = rddIn.getPipelineFunction().append(op);
+		}
+		else
+			fn = new PipelinedBlockFunction(op);
+		
+		//create output rdd and keep pipeline meta data for subsequent operations
+		setRDDHandleForVariable(varname, base.mapValues(fn));
+		getCacheableData(varname).getRDDHandle().setPipeline(base, fn);
+	}
+
+	/**
+	 * Triggers the asynchronous collect of the pending RDD of the given matrix 
+	 * variable, which allows the driver to continue with independent instructions 
+	 * until the matrix is acquired for read. The collect is only triggered if the 
+	 * matrix is not yet in memory and fits into the driver memory budget, given
+	 * the pinned and broadcast memory as well as other pending async collects.
+	 *
+	 * @param varname variable name
+	 * @return true if the asynchronous collect has been triggered
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public boolean triggerAsyncCollect(String varname)
+		throws DMLRuntimeException
+	{
+		Data dat = getVariable(varname);
+		if( !(dat instanceof MatrixObject) )
+			return false;
+		MatrixObject mo = (MatrixObject) dat;
+		RDDObject rdd = mo.getRDDHandle();
+		MatrixCharacteristics mc = mo.getMatrixCharacteristics();
+		InputInfo ii = ((MetaDataFormat)mo.getMetaData()).getInputInfo();
+		if( rdd == null || !rdd.isPending() || rdd.isHDFSFile() || rdd.getAsyncCollect() != null
+			|| mo.isCached(false) || ii != InputInfo.BinaryBlockInputInfo || !mc.dimsKnown() )
+			return false;
+		long memPinned = mo.getPinnedSize() + CacheableData.getBroadcastSize() + getAsyncCollectSize();
+		if( !OptimizerUtils.checkSparkCollectMemoryBudget(mc, memPinned) )
+			return false;
+
+		//prevent unnecessary collect through rdd checkpoint
+		final RDDObject lrdd = rdd.allowsShortCircuitCollect() ?
+			(RDDObject)rdd.getLineageChilds().get(0) : rdd;
+		final int rlen = (int)mc.getRows();
+		final int clen = (int)mc.getCols();
+		final int brlen = (int)mc.getRowsPerBlock();
+		final int bclen = (int)mc.getColsPerBlock();
+		final long nnz = mc.getNonZeros();
+		long size = OptimizerUtils.estimateSizeExactSparsity(mc);
+		_asyncCollectSize.addAndGet(size);
+		rdd.setAsyncCollect(getAsyncPool().submit(
+			() -> toMatrixBlock(lrdd, rlen, clen, brlen, bclen, nnz)), size);
+		if( DMLScript.STATISTICS )
+			Statistics.incSparkAsyncCollectCount();
+		return true;
+	}
+	
+	/**
+	 * Releases the asynchronous collect of the given RDD, once its result has
+	 * been consumed or on cleanup of the RDD (with cancel), and removes its
+	 * size from the memory of pending async collects.
+	 *
+	 * @param rdd rdd object
+	 * @param cancel if true, cancel the collect if still running
+	 */
+	public static void releaseAsyncCollect(RDDObject rdd, boolean cancel) {
+		Future<?> future = rdd.getAsyncCollect();
+		if( future == null )
+			return;
+		if( cancel )
+			future.cancel(true);
+		_asyncCollectSize.addAndGet(-rdd.getAsyncCollectSize());
+		rdd.setAsyncCollect(null, 0);
+	}
+	
+	public static long getAsyncCollectSize() {
+		return _asyncCollectSize.get();
+	}
+
+	private synchronized static ExecutorService getAsyncPool() {
+		if( _asyncPool == null ) {
+			//daemon threads to never block the shutdown of the driver
+			_asyncPool = Executors.newCachedThreadPool(r -> {
+				Thread t = new Thread(r, "sysml-async-collect");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		return _asyncPool;
+	}
+
 	/**
 	 * Utility method for creating an RDD out of an in-memory matrix block.
 	 *
@@ -1161,12 +1384,12 @@ public class SparkExecutionContext extends ExecutionContext
 			}
 			if( rdd.isParallelizedRDD() )
 				_parRDDs.deregisterRDD(rddID);
+			releaseAsyncCollect(rdd, true); //unconsumed async collect
 		}
 		else if( lob instanceof BroadcastObject ) {
 			PartitionedBroadcast pbm = ((BroadcastObject)lob).getBroadcast();
-			if( pbm != null ) //robustness for evictions
-				for( Broadcast<PartitionedBlock> bc : pbm.getBroadcasts() )
-					cleanupBroadcastVariable(bc);
+			if( pbm != null && !_bcCache.release(pbm) ) //robustness for evictions
+				cleanupPartitionedBroadcast(pbm);
 			CacheableData.addBroadcastSize(-((BroadcastObject)lob).getSize());
 		}
 
@@ -1177,6 +1400,12 @@ public class SparkExecutionContext extends ExecutionContext
 		}
 	}
 
+	@SuppressWarnings({ "rawtypes" })
+	private static void cleanupPartitionedBroadcast(PartitionedBroadcast pbm) {
+		for( Broadcast<PartitionedBlock> bc : pbm.getBroadcasts() )
+			cleanupBroadcastVariable(bc);
+	}
+
 	/**
 	 * This call destroys a broadcast variable at all executors and the driver.
 	 * Hence, it is intended to be used on rmvar only. Depending on the
@@ -1607,4 +1836,174 @@ public class SparkExecutionContext extends ExecutionContext
 			_rdds.clear();
 		}
 	}
+
+	/**
+	 * LRU cache of partitioned broadcasts, keyed by the identity of the broadcast
+	 * matrix block (weak reference) and its block sizes. Cached broadcasts are
+	 * reference-counted by their broadcast handles: on cleanup of a handle, the
+	 * broadcast is kept alive if still cached, and broadcasts evicted from the
+	 * cache are only destroyed once they are no longer referenced by any handle.
+	 */
+	public static class BroadcastCache
+	{
+		private final double _fraction;
+		private final LinkedHashMap<BroadcastKey, BroadcastEntry> _cache;
+		private final IdentityHashMap<PartitionedBroadcast<?>, BroadcastEntry> _entries;
+		private long _size;
+
+		public BroadcastCache(double fractionBC) {
+			_fraction = fractionBC;
+			_cache = new LinkedHashMap<>(16, 0.75f, true); //access order
+			_entries = new IdentityHashMap<>();
+			_size = 0;
+		}
+
+		public synchronized PartitionedBroadcast<MatrixBlock> get(MatrixBlock mb, int brlen, int bclen) {
+			expungeStaleEntries();
+			BroadcastEntry e = _cache.get(new BroadcastKey(mb, brlen, bclen));
+			if( e == null )
+				return null;
+			if( !e.isValid() ) { //e.g., destroyed by other components
+				remove(e);
+				return null;
+			}
+			e._numRefs++;
+			return e._bc;
+		}
+
+		public synchronized void put(MatrixBlock mb, int brlen, int bclen, PartitionedBroadcast<MatrixBlock> bc, long size) {
+			long limit = getMemoryLimit();
+			if( size > limit )
+				return;
+			expungeStaleEntries();
+			//evict least recently used entries if necessary
+			Iterator<Entry<BroadcastKey, BroadcastEntry>> iter = _cache.entrySet().iterator();
+			while( _size + size > limit && iter.hasNext() ) {
+				BroadcastEntry e = iter.next().getValue();
+				iter.remove();
+				evict(e);
+			}
+			BroadcastEntry e = new BroadcastEntry(new BroadcastKey(mb, brlen, bclen), bc, size);
+			_cache.put(e._key, e);
+			_entries.put(bc, e);
+			_size += size;
+		}
+
+		/**
+		 * Releases a reference to the given broadcast.
+		 *
+		 * @param bc partitioned broadcast
+		 * @return true if the broadcast is owned by the cache and must not be destroyed
+		 */
+		public synchronized boolean release(PartitionedBroadcast<?> bc) {
+			BroadcastEntry e = _entries.get(bc);
+			if( e == null )
+				return false;
+			e._numRefs--;
+			if( e._evicted && e._numRefs <= 0 ) {
+				_entries.remove(bc);
+				return false;
+			}
+			return true;
+		}
+
+		public synchronized void clear() {
+			_cache.clear();
+			_entries.clear();
+			_size = 0;
+		}
+
+		public synchronized int getNumEntries() {
+			return _cache.size();
+		}
+
+		public synchronized long getSize() {
+			return _size;
+		}
+
+		protected long getMemoryLimit() {
+			return (long)(_fraction * getBroadcastMemoryBudget());
+		}
+
+		private void remove(BroadcastEntry e) {
+			_cache.remove(e._key);
+			evict(e);
+		}
+
+		private void evict(BroadcastEntry e) {
+			_size -= e._size;
+			e._evicted = true;
+			if( e._numRefs <= 0 ) {
+				_entries.remove(e._bc);
+				if( e.isValid() )
+					cleanupPartitionedBroadcast(e._bc);
+			}
+		}
+
+		private void expungeStaleEntries() {
+			//remove entries whose matrix blocks have been garbage collected
+			Iterator<Entry<BroadcastKey, BroadcastEntry>> iter = _cache.entrySet().iterator();
+			while( iter.hasNext() ) {
+				BroadcastEntry e = iter.next().getValue();
+				if( e._key._mb.get() == null ) {
+					iter.remove();
+					evict(e);
+				}
+			}
+		}
+	}
+
+	private static class BroadcastKey
+	{
+		private final WeakReference<MatrixBlock> _mb;
+		private final int _hash;
+		private final int _brlen;
+		private final int _bclen;
+
+		public BroadcastKey(MatrixBlock mb, int brlen, int bclen) {
+			_mb = new WeakReference<>(mb);
+			_hash = System.identityHashCode(mb) * 31 + brlen * 7 + bclen;
+			_brlen = brlen;
+			_bclen = bclen;
+		}
+
+		@Override
+		public int hashCode() {
+			return _hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if( !(o instanceof BroadcastKey) )
+				return false;
+			BroadcastKey that = (BroadcastKey) o;
+			MatrixBlock mb = _mb.get();
+			return mb != null && mb == that._mb.get()
+				&& _brlen == that._brlen && _bclen == that._bclen;
+		}
+	}
+
+	private static class BroadcastEntry
+	{
+		private final BroadcastKey _key;
+		private final PartitionedBroadcast<MatrixBlock> _bc;
+		private final long _size;
+		private int _numRefs;
+		private boolean _evicted;
+
+		public BroadcastEntry(BroadcastKey key, PartitionedBroadcast<MatrixBlock> bc, long size) {
+			_key = key;
+			_bc = bc;
+			_size = size;
+			_numRefs = 1;
+			_evicted = false;
+		}
+
+		public boolean isValid() {
+			for( Broadcast<?> bc : _bc.getBroadcasts() )
+				if( !bc.isValid() )
+					return false;
+			return true;
+		}
+	}
 }
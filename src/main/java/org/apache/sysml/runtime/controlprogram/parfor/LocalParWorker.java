@@ -48,6 +48,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 	protected CompilerConfig _cconf  = null;
 	protected boolean   _stopped     = false;
 	protected int 		_max_retry   = -1;
+	protected int       _queueIx     = 0;
 	
 	public LocalParWorker( long ID, LocalTaskQueue<Task> q, ParForBody body, CompilerConfig cconf, int max_retry, boolean monitor )	
 	{
@@ -68,6 +69,16 @@ public class LocalParWorker extends ParWorker implements Runnable
 		return _fnNames;
 	}
 	
+	/**
+	 * Sets the index of this worker within the task queue, which is
+	 * used for worker-local deques of work-stealing task queues.
+	 * 
+	 * @param ix worker index
+	 */
+	public void setTaskQueueIndex(int ix) {
+		_queueIx = ix;
+	}
+	
 	@Override
 	public void run() 
 	{
@@ -104,7 +115,7 @@ public class LocalParWorker extends ParWorker implements Runnable
 			//dequeue the next task (abort on NO_MORE_TASKS or error)
 			try
 			{
-				lTask = _taskQueue.dequeueTask();
+				lTask = _taskQueue.dequeueTask(_queueIx);
 				
 				if( lTask == LocalTaskQueue.NO_MORE_TASKS ) // task queue closed (no more tasks)
 					break; //normal end of parallel worker
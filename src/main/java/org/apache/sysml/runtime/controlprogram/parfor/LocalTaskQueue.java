@@ -96,7 +96,22 @@ public class LocalTaskQueue<T>
 		
 		return t;
 	}
-	
+
+	/**
+	 * Read and delete of a task on behalf of a specific worker. Since the FIFO
+	 * queue is shared by all workers, the worker index is ignored here but allows
+	 * for worker-local queues in subclasses (see LocalTaskQueueWorkStealing).
+	 *
+	 * @param workerIx worker index
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	public T dequeueTask( int workerIx )
+		throws InterruptedException
+	{
+		return dequeueTask();
+	}
+
 	/**
 	 * Synchronized (logical) insert of a NO_MORE_TASKS symbol at the end of the FIFO queue in order to
 	 * mark that no more tasks will be inserted into the queue.
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.controlprogram.parfor;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+
+/**
+ * Work-stealing variant of the local task queue for parfor LOCAL execution. Instead
+ * of a single synchronized FIFO queue shared by all workers, every worker owns a
+ * lock-free deque. New tasks are distributed round-robin over these deques; workers
+ * take tasks from the head of their own deque and, if it runs empty, steal tasks from
+ * the tail of other workers' deques.
+ *
+ * Furthermore, tasks are adaptively split in order to handle skew in iteration costs:
+ * once the task input is closed and less tasks are queued than workers exist, a worker
+ * keeps the first half of a dequeued multi-iteration task and pushes the second half
+ * back to its deque, where it can be stolen by idle workers. The number of split tasks
+ * is maintained for the consistency check of executed tasks.
+ *
+ * Workers are required to dequeue with their worker index via {@link #dequeueTask(int)}.
+ */
+public class LocalTaskQueueWorkStealing extends LocalTaskQueue<Task>
+{
+	//max wait time of idle workers, which bounds the effect of lost notifications
+	private static final long IDLE_WAIT_MS = 1;
+
+	private final ConcurrentLinkedDeque<Task>[] _deques;
+	private final AtomicInteger _size;     //number of queued tasks
+	private final AtomicInteger _numIdle;  //number of workers waiting for tasks
+	private final AtomicInteger _pos;      //round-robin position of writers
+	private final AtomicLong _numSplits;   //number of tasks created by splitting
+	private volatile boolean _closedInput;
+
+	@SuppressWarnings("unchecked")
+	public LocalTaskQueueWorkStealing(int numWorkers)
+	{
+		_deques = new ConcurrentLinkedDeque[numWorkers];
+		for( int i=0; i<numWorkers; i++ )
+			_deques[i] = new ConcurrentLinkedDeque<>();
+		_size = new AtomicInteger(0);
+		_numIdle = new AtomicInteger(0);
+		_pos = new AtomicInteger(0);
+		_numSplits = new AtomicLong(0);
+		_closedInput = false;
+	}
+
+	/**
+	 * Insert of a new task to the end of the next worker deque (round-robin).
+	 *
+	 * @param t task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public void enqueueTask( Task t )
+		throws InterruptedException
+	{
+		//main memory constraint (blocking only on the slow path)
+		if( _size.get() + 1 > MAX_SIZE ) {
+			synchronized( this ) {
+				while( _size.get() + 1 > MAX_SIZE )
+					wait(IDLE_WAIT_MS);
+			}
+		}
+
+		//note: the size is incremented after the task is visible, which avoids
+		//idle workers spinning on a positive size with empty deques
+		int ix = (_pos.getAndIncrement() & Integer.MAX_VALUE) % _deques.length;
+		_deques[ix].offerLast(t);
+		_size.incrementAndGet();
+
+		signalIdleWorkers();
+	}
+
+	/**
+	 * Dequeue without worker index, which is only supported for
+	 * compatibility and always starts at the first deque.
+	 *
+	 * @return task
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public Task dequeueTask()
+		throws InterruptedException
+	{
+		return dequeueTask(0);
+	}
+
+	/**
+	 * Read and delete from the head of the worker's own deque or (if empty)
+	 * from the tail of the other deques. This call blocks until a task is
+	 * available or all tasks have been consumed after closing the input.
+	 *
+	 * @param workerIx worker index
+	 * @return task or NO_MORE_TASKS
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public Task dequeueTask( int workerIx )
+		throws InterruptedException
+	{
+		int ix = workerIx % _deques.length;
+		while( true )
+		{
+			//own deque (FIFO order for locality of consecutive tasks)
+			Task t = _deques[ix].pollFirst();
+
+			//steal from other deques, starting at a random victim
+			if( t == null && _deques.length > 1 ) {
+				int off = ThreadLocalRandom.current().nextInt(_deques.length);
+				for( int i=0; i<_deques.length && t==null; i++ ) {
+					int vix = (off + i) % _deques.length;
+					if( vix != ix )
+						t = _deques[vix].pollLast();
+				}
+			}
+
+			if( t != null )
+				return splitAndDecrement(ix, t);
+			if( _closedInput && _size.get() == 0 )
+				return (Task)NO_MORE_TASKS;
+
+			//wait for writers or splitting workers
+			_numIdle.incrementAndGet();
+			try {
+				synchronized( this ) {
+					if( _size.get() == 0 && !_closedInput )
+						wait(IDLE_WAIT_MS);
+				}
+			}
+			finally {
+				_numIdle.decrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	public void closeInput()
+	{
+		_closedInput = true;
+		synchronized( this ) {
+			notifyAll(); //notify all waiting readers
+		}
+	}
+
+	/**
+	 * Gets the number of additional tasks that have been created
+	 * by adaptive splitting of tasks.
+	 *
+	 * @return number of split tasks
+	 */
+	public long getNumSplitTasks() {
+		return _numSplits.get();
+	}
+
+	private Task splitAndDecrement( int ix, Task t )
+	{
+		Task ret = t;
+
+		//split task if the input is closed and there is not enough
+		//queued work to keep all workers busy (note: the second half is
+		//queued before the size is decremented to avoid premature NO_MORE_TASKS)
+		if( _closedInput && _size.get() <= _deques.length && getNumIterations(t) > 1 ) {
+			Task[] parts = splitTask(t);
+			_deques[ix].offerLast(parts[1]);
+			_size.incrementAndGet();
+			_numSplits.incrementAndGet();
+			ret = parts[0];
+			signalIdleWorkers();
+		}
+
+		_size.decrementAndGet();
+		return ret;
+	}
+
+	private void signalIdleWorkers() {
+		if( _numIdle.get() > 0 ) {
+			synchronized( this ) {
+				notifyAll();
+			}
+		}
+	}
+
+	private static long getNumIterations( Task t ) {
+		List<IntObject> iters = t.getIterations();
+		if( t.getType() == TaskType.RANGE ) {
+			long from = iters.get(0).getLongValue();
+			long to = iters.get(1).getLongValue();
+			long incr = iters.get(2).getLongValue();
+			return (to - from) / incr + 1;
+		}
+		return iters.size();
+	}
+
+	private static Task[] splitTask( Task t )
+	{
+		Task t1 = new Task(t.getVarName(), t.getType());
+		Task t2 = new Task(t.getVarName(), t.getType());
+		List<IntObject> iters = t.getIterations();
+
+		if( t.getType() == TaskType.RANGE ) {
+			long from = iters.get(0).getLongValue();
+			long to = iters.get(1).getLongValue();
+			long incr = iters.get(2).getLongValue();
+			long mid = from + ((to - from) / incr + 1) / 2 * incr;
+			t1.addIteration(new IntObject(from));
+			t1.addIteration(new IntObject(mid - incr));
+			t1.addIteration(new IntObject(incr));
+			t2.addIteration(new IntObject(mid));
+			t2.addIteration(new IntObject(to));
+			t2.addIteration(new IntObject(incr));
+		}
+		else { //SET
+			int len = iters.size();
+			int i = 0;
+			for( IntObject iter : iters )
+				(i++ < len/2 ? t1 : t2).addIteration(iter);
+		}
+
+		return new Task[]{t1, t2};
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (size=");
+		sb.append(_size.get());
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(",splits=");
+		sb.append(_numSplits.get());
+		sb.append(")\n");
+		for( int i=0; i<_deques.length; i++ ) {
+			sb.append("  DEQUE #");
+			sb.append(i);
+			sb.append(": ");
+			sb.append(_deques[i].size());
+			sb.append(" tasks\n");
+		}
+		return sb.toString();
+	}
+}
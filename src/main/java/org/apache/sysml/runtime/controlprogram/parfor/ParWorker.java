@@ -28,6 +28,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysml.runtime.controlprogram.ProgramBlock;
+import org.apache.sysml.runtime.controlprogram.caching.AsyncWriteBuffer;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.Stat;
@@ -139,6 +140,9 @@ public abstract class ParWorker
 				executeRangeTask( task );
 				break;		
 		}
+		
+		//join asynchronous writes before result merge or termination of remote workers
+		AsyncWriteBuffer.joinAll();
 	}	
 
 	private void executeSetTask( Task task ) 
@@ -149,6 +149,34 @@ public abstract class ResultMerge
 		}	
 	}
 
+	/**
+	 * Range-restricted variant of merge with compare, which directly writes into the
+	 * dense output block without maintaining the number of non-zeros. Hence, disjoint
+	 * ranges of the same output can be merged in parallel without synchronization.
+	 * 
+	 * @param out dense output matrix block
+	 * @param in input matrix block
+	 * @param compare compare matrix
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @param cl column lower bound (inclusive)
+	 * @param cu column upper bound (exclusive)
+	 */
+	protected void mergeWithComp( MatrixBlock out, MatrixBlock in, double[][] compare, int rl, int ru, int cl, int cu )
+	{
+		double[] a = out.getDenseBlock();
+		int n = out.getNumColumns();
+		for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+			for( int j=cl; j<cu; j++ ) {
+				double value = in.quickGetValue(i, j); //input value
+				if(   (value != compare[i][j] && !Double.isNaN(value) )     //for new values only (div)
+					|| Double.isNaN(value) != Double.isNaN(compare[i][j]) ) //NaN awareness
+				{
+					a[aix+j] = value;
+				}
+			}
+	}
+
 	protected long computeNonZeros( MatrixObject out, List<MatrixObject> in )
 	{
 		MatrixCharacteristics mc = out.getMatrixCharacteristics();
@@ -67,7 +67,9 @@ public class ResultMergeLocalAutomatic extends ResultMerge
 		long rows = mc.getRows();
 		long cols = mc.getCols();
 		
-		if( OptimizerRuleBased.isInMemoryResultMerge(par * rows, cols, OptimizerUtils.getLocalMemBudget()) )
+		//note: the in-memory merge itself degrades to a serial merge if
+		//the output and all pinned inputs do not fit into the memory budget
+		if( OptimizerRuleBased.isInMemoryResultMerge(rows, cols, OptimizerUtils.getLocalMemBudget()) )
 			_rm = new ResultMergeLocalMemory( _output, _inputs, _outputFName );
 		else
 			_rm = new ResultMergeLocalFile( _output, _inputs, _outputFName );
@@ -20,7 +20,13 @@
 package org.apache.sysml.runtime.controlprogram.parfor;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
@@ -30,6 +36,7 @@ import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.DataConverter;
 
 /**
@@ -42,6 +49,9 @@ import org.apache.sysml.runtime.util.DataConverter;
 public class ResultMergeLocalMemory extends ResultMerge
 {	
 	
+	//minimum number of output cells for parallel merge
+	private static final long PAR_MERGE_MIN_CELLS = 64 * 1024;
+	
 	//internal comparison matrix
 	private double[][]        _compare     = null;
 	
@@ -147,79 +157,105 @@ public class ResultMergeLocalMemory extends ResultMerge
 	{		
 		MatrixObject moNew = null; //always create new matrix object (required for nested parallelism)
 		
+		//collect all non-empty inputs (no iterations executed)
+		ArrayList<MatrixObject> inMO = new ArrayList<>();
+		for( MatrixObject in : _inputs )
+			if( in != null && in != _output ) 
+				inMO.add( in );
+		
+		//graceful degradation to serial merge for small or single inputs, 
+		//or if the output and all inputs do not fit pinned into memory
+		int k = Math.min(par, InfrastructureAnalyzer.getLocalParallelism()); //robustness remote exec
+		long rows = _output.getNumRows();
+		long cols = _output.getNumColumns();
+		if( k <= 1 || inMO.size() <= 1 || rows * cols < PAR_MERGE_MIN_CELLS 
+			|| !isParallelMergeInMemory(inMO) )
+			return executeSerialMerge();
+		
 		if( LOG.isTraceEnabled() )
-			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+par+") "
+			LOG.trace("ResultMerge (local, in-memory): Execute parallel (par="+k+") "
 				+ "merge for output "+_output.hashCode()+" (fname="+_output.getFileName()+")");
 		
 		try
 		{
-			//get matrix blocks through caching 
+			//get old output matrix from cache for compare
 			MatrixBlock outMB = _output.acquireRead();
-			ArrayList<MatrixObject> inMO = new ArrayList<>();
-			for( MatrixObject in : _inputs ) {
-				//check for empty inputs (no iterations executed)
-				if( in !=null && in != _output ) 
-					inMO.add( in );
+			
+			//create compare matrix if required (existing data in result)
+			_compare = createCompareMatrix(outMB);
+			
+			//create output matrix in the format of the estimated number of non-zeros, 
+			//but always dense in case of compare (populated with the original state)
+			long estnnz = (_compare != null) ? rows * cols : getOutputNnzEstimate();
+			MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, estnnz).allocateBlock();
+			if( _compare != null ) {
+				double[] c = outMBNew.getDenseBlock();
+				for( int i=0; i<rows; i++ )
+					System.arraycopy(_compare[i], 0, c, i*(int)cols, (int)cols);
 			}
 			
-			if( !inMO.isEmpty() ) //if there exist something to merge
-			{
-				//get old output matrix from cache for compare
-				//NOTE: always in dense representation in order to allow for parallel unsynchronized access 
-				long rows = outMB.getNumRows();
-				long cols = outMB.getNumColumns();
-				MatrixBlock outMBNew = new MatrixBlock((int)rows, (int)cols, false);
-				outMBNew.allocateDenseBlockUnsafe((int)rows, (int)cols);
-				
-				//create compare matrix if required (existing data in result)
-				_compare = createCompareMatrix(outMB);
-				if( _compare != null )
-					outMBNew.copy(outMB);
-				
-				//parallel merge of all inputs
-
-				int numThreads = Math.min(par, inMO.size()); //number of inputs can be lower than par
-				numThreads = Math.min(numThreads, InfrastructureAnalyzer.getLocalParallelism()); //ensure robustness for remote exec
-				Thread[] threads = new Thread[ numThreads ];
-				for( int k=0; k<inMO.size(); k+=numThreads ) //multiple waves if necessary
-				{
-					//create and start threads
-					for( int i=0; i<threads.length; i++ )
-					{
-						ResultMergeWorker rmw = new ResultMergeWorker(inMO.get(k+i), outMBNew);
-						threads[i] = new Thread(rmw);
-						threads[i].setPriority(Thread.MAX_PRIORITY);
-						threads[i].start(); // start execution
-					}	
-					//wait for all workers to finish
-					for( int i=0; i<threads.length; i++ )
-					{
-						threads[i].join();
-					}
-				}
-				
-				//create new output matrix 
-				//(e.g., to prevent potential export<->read file access conflict in specific cases of 
-				// local-remote nested parfor))
-				moNew = createNewMatrixObject( outMBNew );	
+			//read/pin all inputs (incl. implicit read from HDFS)
+			MatrixBlock[] inMB = new MatrixBlock[inMO.size()];
+			for( int i=0; i<inMB.length; i++ ) {
+				if( LOG.isTraceEnabled() )
+					LOG.trace("ResultMerge (local, in-memory): Merge input "+inMO.get(i).hashCode()+" (fname="+inMO.get(i).getFileName()+")");
+				inMB[i] = inMO.get(i).acquireRead();
 			}
-			else
-			{
-				moNew = _output; //return old matrix, to prevent copy
+			
+			//parallel merge of disjoint output partitions, where each task merges all inputs
+			//into its partition; sparse outputs are partitioned into row blocks in order to 
+			//modify independent sparse rows, dense outputs into row or column blocks (if there 
+			//are less rows than threads, e.g., for column-wise results of per-feature loops)
+			boolean colPart = !outMBNew.isInSparseFormat() && rows < k;
+			long len = colPart ? cols : rows;
+			int blklen = (int)(Math.ceil((double)len/k));
+			ArrayList<ResultMergeTask> tasks = new ArrayList<>();
+			for( int i=0; i<k && i*blklen<len; i++ ) {
+				int lb = i*blklen, ub = (int)Math.min((i+1)*blklen, len);
+				tasks.add( colPart ?
+					new ResultMergeTask(outMBNew, inMB, 0, (int)rows, lb, ub) :
+					new ResultMergeTask(outMBNew, inMB, lb, ub, 0, (int)cols) );
 			}
+			ExecutorService pool = Executors.newFixedThreadPool( tasks.size() );
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			long nnz = 0;
+			for( Future<Long> task : taskret )
+				nnz += task.get();
+			outMBNew.setNonZeros(nnz);
 			
-			//release old output, and all inputs
+			//unpin and clear in-memory inputs
+			for( MatrixObject in : inMO ) {
+				in.release();
+				in.clearData();
+			}
+			
+			//create new output matrix 
+			//(e.g., to prevent potential export<->read file access conflict in specific cases of 
+			// local-remote nested parfor))
+			moNew = createNewMatrixObject( outMBNew );	
+			
+			//release old output
 			_output.release();
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
 		}
 		
-		//LOG.trace("ResultMerge (local, in-memory): Executed parallel (par="+par+") merge for output "+_output.getVarName()+" (fname="+_output.getFileName()+") in "+time.stop()+"ms");
-
 		return moNew;
 	}
 
+	private boolean isParallelMergeInMemory( ArrayList<MatrixObject> inMO ) {
+		//output, compare matrix, and all pinned inputs
+		long rows = _output.getNumRows();
+		long cols = _output.getNumColumns();
+		double mem = 2 * MatrixBlock.estimateSizeInMemory(rows, cols, 1.0);
+		for( MatrixObject in : inMO )
+			mem += MatrixBlock.estimateSizeInMemory(rows, cols, 
+				(in.getNnz() >= 0) ? (double)in.getNnz()/rows/cols : 1.0);
+		return mem < OptimizerUtils.getLocalMemBudget();
+	}
+
 	private static double[][] createCompareMatrix( MatrixBlock output ) {
 		//create compare matrix only if required
 		if( output.getNonZeros() > 0 )
@@ -296,37 +332,92 @@ public class ResultMergeLocalMemory extends ResultMerge
 	
 	
 	/**
-	 * NOTE: only used if matrix in dense
+	 * Merges all inputs into a disjoint row or column block of the output, 
+	 * which allows for parallel merge without synchronization. 
 	 */
-	private class ResultMergeWorker implements Runnable
+	private class ResultMergeTask implements Callable<Long>
 	{
-		private MatrixObject _inMO  = null;
-		private MatrixBlock  _outMB = null;
+		private final MatrixBlock _out;
+		private final MatrixBlock[] _in;
+		private final int _rl, _ru, _cl, _cu;
 		
-		public ResultMergeWorker(MatrixObject inMO, MatrixBlock outMB)
-		{
-			_inMO  = inMO;
-			_outMB = outMB;
+		public ResultMergeTask(MatrixBlock out, MatrixBlock[] in, int rl, int ru, int cl, int cu) {
+			_out = out;
+			_in = in;
+			_rl = rl; _ru = ru;
+			_cl = cl; _cu = cu;
 		}
 
 		@Override
-		public void run() 
-		{
-			//read each input if required
-			try
-			{
-				LOG.trace("ResultMerge (local, in-memory): Merge input "+_inMO.hashCode()+" (fname="+_inMO.getFileName()+")");
-				
-				MatrixBlock inMB = _inMO.acquireRead(); //incl. implicit read from HDFS
-				merge( _outMB, inMB, false );
-				_inMO.release();
-				_inMO.clearData();
+		public Long call() throws DMLRuntimeException {
+			for( MatrixBlock in : _in ) {
+				if( _compare != null )
+					mergeWithComp(_out, in, _compare, _rl, _ru, _cl, _cu);
+				else if( _out.isInSparseFormat() )
+					mergeIntoSparse(_out.getSparseBlock(), in);
+				else
+					mergeIntoDense(_out.getDenseBlock(), in);
 			}
-			catch(Exception ex)
-			{
-				throw new RuntimeException("Failed to parallel merge result.", ex);
+			
+			//sort sparse rows due to append of multiple inputs
+			if( _out.isInSparseFormat() )
+				_out.sortSparseRows(_rl, _ru);
+			
+			return _out.recomputeNonZeros(_rl, _ru-1, _cl, _cu-1);
+		}
+		
+		private void mergeIntoDense(double[] a, MatrixBlock in) {
+			if( in.isEmptyBlock(false) )
+				return;
+			int n = in.getNumColumns();
+			if( in.isInSparseFormat() ) { //DENSE <- SPARSE
+				SparseBlock b = in.getSparseBlock();
+				for( int i=_rl, aix=_rl*n; i<_ru; i++, aix+=n ) {
+					if( b.isEmpty(i) ) continue;
+					int bpos = b.pos(i);
+					int blen = b.size(i);
+					int[] bix = b.indexes(i);
+					double[] bval = b.values(i);
+					//note: no position search because it might modify shared input rows
+					for( int j=bpos; j<bpos+blen; j++ )
+						if( bval[j] != 0 && bix[j] >= _cl && bix[j] < _cu )
+							a[aix+bix[j]] = bval[j];
+				}
+			}
+			else { //DENSE <- DENSE
+				double[] b = in.getDenseBlock();
+				for( int i=_rl, aix=_rl*n; i<_ru; i++, aix+=n )
+					for( int j=_cl; j<_cu; j++ )
+						if( b[aix+j] != 0 )
+							a[aix+j] = b[aix+j];
 			}
 		}
 		
+		private void mergeIntoSparse(SparseBlock a, MatrixBlock in) {
+			//note: row partitioning over all columns
+			if( in.isEmptyBlock(false) )
+				return;
+			if( in.isInSparseFormat() ) { //SPARSE <- SPARSE
+				SparseBlock b = in.getSparseBlock();
+				for( int i=_rl; i<_ru; i++ ) {
+					if( b.isEmpty(i) ) continue;
+					int bpos = b.pos(i);
+					int blen = b.size(i);
+					int[] bix = b.indexes(i);
+					double[] bval = b.values(i);
+					for( int j=bpos; j<bpos+blen; j++ )
+						if( bval[j] != 0 )
+							a.append(i, bix[j], bval[j]);
+				}
+			}
+			else { //SPARSE <- DENSE
+				double[] b = in.getDenseBlock();
+				int n = in.getNumColumns();
+				for( int i=_rl, bix=_rl*n; i<_ru; i++, bix+=n )
+					for( int j=0; j<n; j++ )
+						if( b[bix+j] != 0 )
+							a.append(i, j, b[bix+j]);
+			}
+		}
 	}
 }
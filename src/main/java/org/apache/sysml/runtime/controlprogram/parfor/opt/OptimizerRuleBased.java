@@ -2416,13 +2416,9 @@ public class OptimizerRuleBased extends Optimizer
 
 	public static boolean isInMemoryResultMerge( long rows, long cols, double memBudget )
 	{
-		if( !ParForProgramBlock.USE_PARALLEL_RESULT_MERGE )
-		{
-			//1/4 mem budget because: 2xout (incl sparse-dense change), 1xin, 1xcompare  
-			return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/4 );
-		}
-		else
-			return ( rows>=0 && cols>=0 && rows*cols < Math.pow(Hop.CPThreshold, 2) );
+		//1/4 mem budget because: 2xout (incl sparse-dense change), 1xin, 1xcompare  
+		//(the parallel in-memory merge falls back to serial merge if all pinned inputs do not fit)
+		return ( rows>=0 && cols>=0 && MatrixBlock.estimateSizeInMemory(rows, cols, 1.0) < memBudget/4 );
 	}
 
 	
@@ -46,6 +46,10 @@ public abstract class BuiltinNaryCPInstruction extends CPInstruction
 		this.output = output;
 		this.inputs = inputs;
 	}
+	
+	public CPOperand[] getInputs() {
+		return inputs;
+	}
 
 	public static BuiltinNaryCPInstruction parseInstruction(String str) throws DMLRuntimeException {
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(str);
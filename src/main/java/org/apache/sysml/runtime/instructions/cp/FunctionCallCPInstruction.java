@@ -37,6 +37,7 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.utils.InstructionProfiler;
 
 public class FunctionCallCPInstruction extends CPInstruction {
 	private final String _functionName;
@@ -63,6 +64,10 @@ public class FunctionCallCPInstruction extends CPInstruction {
 		return _namespace;
 	}
 	
+	public CPOperand[] getInputs() {
+		return _boundInputs;
+	}
+	
 	public static FunctionCallCPInstruction parseInstruction(String str) 
 		throws DMLRuntimeException 
 	{
@@ -157,6 +162,8 @@ public class FunctionCallCPInstruction extends CPInstruction {
 		}
 		fn_ec.setVariables(functionVariables);
 		// execute the function block
+		if( DMLScript.PROFILE )
+			InstructionProfiler.pushFunction(DMLProgram.constructFunctionKey(_namespace, _functionName));
 		try {
 			fpb._functionName = this._functionName;
 			fpb._namespace = this._namespace;
@@ -169,6 +176,10 @@ public class FunctionCallCPInstruction extends CPInstruction {
 			String fname = DMLProgram.constructFunctionKey(_namespace, _functionName);
 			throw new DMLRuntimeException("error executing function " + fname, e);
 		}
+		finally {
+			if( DMLScript.PROFILE )
+				InstructionProfiler.popFunction();
+		}
 		
 		// cleanup all returned variables w/o binding 
 		HashSet<String> expectRetVars = new HashSet<>();
@@ -65,7 +65,7 @@ public abstract class IndexingCPInstruction extends UnaryCPInstruction {
 		String opcode = parts[0];
 		
 		if ( opcode.equalsIgnoreCase(RightIndex.OPCODE) ) {
-			if ( parts.length == 7 ) {
+			if ( parts.length == 7 || parts.length == 8 ) {
 				CPOperand in, rl, ru, cl, cu, out;
 				in = new CPOperand(parts[1]);
 				rl = new CPOperand(parts[2]);
@@ -73,8 +73,9 @@ public abstract class IndexingCPInstruction extends UnaryCPInstruction {
 				cl = new CPOperand(parts[4]);
 				cu = new CPOperand(parts[5]);
 				out = new CPOperand(parts[6]);
+				boolean rangeRead = (parts.length == 8) && Boolean.parseBoolean(parts[7]);
 				if( in.getDataType()==DataType.MATRIX )
-					return new MatrixIndexingCPInstruction(new SimpleOperator(null), in, rl, ru, cl, cu, out, opcode, str);
+					return new MatrixIndexingCPInstruction(new SimpleOperator(null), in, rl, ru, cl, cu, out, rangeRead, opcode, str);
 				else if (in.getDataType() == DataType.FRAME)
 					return new FrameIndexingCPInstruction(new SimpleOperator(null), in, rl, ru, cl, cu, out, opcode, str);
 				else 
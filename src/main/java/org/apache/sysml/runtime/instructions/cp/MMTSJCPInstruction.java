@@ -74,4 +74,9 @@ public class MMTSJCPInstruction extends UnaryCPInstruction {
 	{
 		return _type;
 	}
+	
+	public int getNumThreads()
+	{
+		return _numThreads;
+	}
 }
@@ -35,14 +35,24 @@ import org.apache.sysml.utils.Statistics;
 
 public final class MatrixIndexingCPInstruction extends IndexingCPInstruction {
 
+	//range read of a persistent binary block input, not used by other operators
+	private final boolean _rangeRead;
+	
 	protected MatrixIndexingCPInstruction(Operator op, CPOperand in, CPOperand rl, CPOperand ru, CPOperand cl,
 			CPOperand cu, CPOperand out, String opcode, String istr) {
+		this(op, in, rl, ru, cl, cu, out, false, opcode, istr);
+	}
+
+	protected MatrixIndexingCPInstruction(Operator op, CPOperand in, CPOperand rl, CPOperand ru, CPOperand cl,
+			CPOperand cu, CPOperand out, boolean rangeRead, String opcode, String istr) {
 		super(op, in, rl, ru, cl, cu, out, opcode, istr);
+		_rangeRead = rangeRead;
 	}
 
 	protected MatrixIndexingCPInstruction(Operator op, CPOperand lhsInput, CPOperand rhsInput, CPOperand rl,
 			CPOperand ru, CPOperand cl, CPOperand cu, CPOperand out, String opcode, String istr) {
 		super(op, lhsInput, rhsInput, rl, ru, cl, cu, out, opcode, istr);
+		_rangeRead = false;
 	}
 
 	@Override
@@ -60,7 +70,9 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction {
 		{
 			MatrixBlock resultBlock = null;
 			
-			if( mo.isPartitioned() ) //via data partitioning
+			if( _rangeRead && mo.isRangeReadable() ) //via range read of overlapping blocks
+				resultBlock = mo.readMatrixRange(ixrange);
+			else if( mo.isPartitioned() ) //via data partitioning
 				resultBlock = mo.readMatrixPartition(ixrange.add(1));
 			else //via slicing the in-memory matrix
 			{
@@ -178,12 +178,13 @@ public abstract class BinarySPInstruction extends ComputationSPInstruction {
 		ScalarOperator sc_op = (ScalarOperator) _optr;
 		sc_op = sc_op.setConstant(constant.getDoubleValue());
 		
-		//execute scalar matrix arithmetic instruction
-		JavaPairRDD<MatrixIndexes,MatrixBlock> out = in1.mapValues( new MatrixScalarUnaryFunction(sc_op) );
-			
-		//put output RDD handle into symbol table
+		//execute scalar matrix arithmetic instruction and put output RDD 
+		//handle into symbol table (w/ pipelining of block-local operations)
 		updateUnaryOutputMatrixCharacteristics(sec, rddVar, output.getName());
-		sec.setRDDHandleForVariable(output.getName(), out);
+		if( SparkExecutionContext.PIPELINE_BLOCK_OPERATIONS )
+			sec.setPipelinedRDDHandleForVariable(output.getName(), rddVar, in1, sc_op);
+		else
+			sec.setRDDHandleForVariable(output.getName(), in1.mapValues(new MatrixScalarUnaryFunction(sc_op)));
 		sec.addLineageRDD(output.getName(), rddVar);
 	}
 
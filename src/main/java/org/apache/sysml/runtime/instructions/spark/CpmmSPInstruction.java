@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.instructions.spark;
 
+import org.apache.spark.Partitioner;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.function.PairFunction;
 
@@ -33,6 +34,8 @@ import org.apache.sysml.runtime.functionobjects.Plus;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
@@ -94,8 +97,9 @@ public class CpmmSPInstruction extends BinarySPInstruction {
 		//process core cpmm matrix multiply 
 		JavaPairRDD<Long, IndexedMatrixValue> tmp1 = in1.mapToPair(new CpmmIndexFunction(true));
 		JavaPairRDD<Long, IndexedMatrixValue> tmp2 = in2.mapToPair(new CpmmIndexFunction(false));
-		JavaPairRDD<MatrixIndexes,MatrixBlock> out = tmp1
-				   .join(tmp2)                              // join over common dimension
+		Partitioner part = getSkewAwarePartitioner(sec, in1, in2);
+		JavaPairRDD<MatrixIndexes,MatrixBlock> out = ((part != null) ?
+				   tmp1.join(tmp2, part) : tmp1.join(tmp2)) // join over common dimension
 				   .mapToPair(new CpmmMultiplyFunction());  // compute block multiplications
 				   
 		//process cpmm aggregation and handle outputs				
@@ -121,6 +125,26 @@ public class CpmmSPInstruction extends BinarySPInstruction {
 		}
 	}
 
+	private Partitioner getSkewAwarePartitioner(SparkExecutionContext sec, 
+		JavaPairRDD<MatrixIndexes,MatrixBlock> in1, JavaPairRDD<MatrixIndexes,MatrixBlock> in2)
+		throws DMLRuntimeException
+	{
+		//balance the multiply-adds per partition of the common dimension for skewed
+		//sparse inputs (w/ the default number of join partitions as upper bound)
+		MatrixCharacteristics mc1 = sec.getMatrixCharacteristics(input1.getName());
+		MatrixCharacteristics mc2 = sec.getMatrixCharacteristics(input2.getName());
+		if( !mc1.dimsKnown(true) || !mc2.dimsKnown(true) )
+			return null;
+		int numParts = (int) Math.min(Math.max(in1.getNumPartitions(), 
+			in2.getNumPartitions()), mc1.getNumColBlocks());
+		if( !SparkUtils.isSkewAwarePartitioningApplicable(mc1, numParts)
+			&& !SparkUtils.isSkewAwarePartitioningApplicable(mc2, numParts) )
+			return null;
+		return SparkUtils.getNnzWeightedMMPartitioner(
+			SparkUtils.samplePartitions(in1, mc1.getNumBlocks()), mc1,
+			SparkUtils.samplePartitions(in2, mc2.getNumBlocks()), mc2, numParts);
+	}
+
 	private static class CpmmIndexFunction implements PairFunction<Tuple2<MatrixIndexes, MatrixBlock>, Long, IndexedMatrixValue>  
 	{
 		private static final long serialVersionUID = -1187183128301671162L;
@@ -45,6 +45,7 @@ import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.spark.data.LazyIterableIterator;
 import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast.PartitionLayout;
 import org.apache.sysml.runtime.instructions.spark.functions.FilterNonEmptyBlocksFunction;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
@@ -126,8 +127,10 @@ public class MapmmSPInstruction extends BinarySPInstruction {
 			}
 		}
 		
-		//get inputs
-		PartitionedBroadcast<MatrixBlock> in2 = sec.getBroadcastForVariable(bcastVar); 
+		//get inputs (broadcast partitioned into panels, which are lazily fetched per 
+		//task, i.e., row panels of right and column panels of left broadcasts)
+		PartitionedBroadcast<MatrixBlock> in2 = sec.getBroadcastForVariable(bcastVar, 
+			type.isRight() ? PartitionLayout.ROW_PANELS : PartitionLayout.COL_PANELS); 
 		
 		//empty input block filter
 		if( !_outputEmpty )
@@ -25,6 +25,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
+import org.apache.sysml.runtime.instructions.spark.functions.PipelinedBlockFunction;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.operators.Operator;
@@ -45,13 +46,14 @@ public class MatrixBuiltinSPInstruction extends BuiltinUnarySPInstruction {
 		//get input
 		JavaPairRDD<MatrixIndexes,MatrixBlock> in = sec.getBinaryBlockRDDHandleForVariable( input1.getName() );
 		
-		//execute unary builtin operation
+		//execute unary builtin operation and set output RDD
+		//(w/ pipelining of block-local operations)
 		UnaryOperator uop = (UnaryOperator) _optr;
-		JavaPairRDD<MatrixIndexes,MatrixBlock> out = in.mapValues(new RDDMatrixBuiltinUnaryOp(uop));
-		
-		//set output RDD
 		updateUnaryOutputMatrixCharacteristics(sec);
-		sec.setRDDHandleForVariable(output.getName(), out);	
+		if( SparkExecutionContext.PIPELINE_BLOCK_OPERATIONS && PipelinedBlockFunction.isSupportedOperator(uop) )
+			sec.setPipelinedRDDHandleForVariable(output.getName(), input1.getName(), in, uop);
+		else
+			sec.setRDDHandleForVariable(output.getName(), in.mapValues(new RDDMatrixBuiltinUnaryOp(uop)));
 		sec.addLineageRDD(output.getName(), input1.getName());
 	}
 
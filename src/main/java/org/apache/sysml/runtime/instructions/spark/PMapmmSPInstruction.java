@@ -40,6 +40,8 @@ import org.apache.sysml.runtime.functionobjects.Plus;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.CPOperand;
 import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast.PartitionLayout;
 import org.apache.sysml.runtime.instructions.spark.functions.IsBlockInRange;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
@@ -112,7 +114,10 @@ public class PMapmmSPInstruction extends BinarySPInstruction {
 			
 			int rlen = (int)Math.min(mc1.getRows()-i, NUM_ROWBLOCKS*mc1.getRowsPerBlock());
 			PartitionedBlock<MatrixBlock> pmb = SparkExecutionContext.toPartitionedMatrixBlock(rdd, rlen, (int)mc1.getCols(), mc1.getRowsPerBlock(), mc1.getColsPerBlock(), -1L);
-			Broadcast<PartitionedBlock<MatrixBlock>> bpmb = sec.getSparkContext().broadcast(pmb);
+			
+			//broadcast partitioned into column panels, of which tasks only fetch the 
+			//panel that matches the row index of their right-hand-side block
+			PartitionedBroadcast<MatrixBlock> bpmb = sec.createPartitionedBroadcast(pmb, PartitionLayout.COL_PANELS);
 			
 			//matrix multiplication
 			JavaPairRDD<MatrixIndexes,MatrixBlock> rdd2 = in2
@@ -120,7 +125,8 @@ public class PMapmmSPInstruction extends BinarySPInstruction {
 			rdd2 = RDDAggregateUtils.sumByKeyStable(rdd2, false);
 			rdd2.persist(pmapmmStorageLevel)
 			    .count();
-			bpmb.unpersist(false);
+			for( Broadcast<PartitionedBlock<MatrixBlock>> bc : bpmb.getBroadcasts() )
+				bc.unpersist(false);
 			
 			if( out == null )
 				out = rdd2;
@@ -166,10 +172,10 @@ public class PMapmmSPInstruction extends BinarySPInstruction {
 		private static final long serialVersionUID = -4520080421816885321L;
 
 		private AggregateBinaryOperator _op = null;
-		private Broadcast<PartitionedBlock<MatrixBlock>> _pbc = null;
+		private PartitionedBroadcast<MatrixBlock> _pbc = null;
 		private long _offset = -1;
 		
-		public PMapMMFunction( Broadcast<PartitionedBlock<MatrixBlock>> binput, long offset )
+		public PMapMMFunction( PartitionedBroadcast<MatrixBlock> binput, long offset )
 		{
 			_pbc = binput;
 			_offset = offset;
@@ -183,19 +189,16 @@ public class PMapmmSPInstruction extends BinarySPInstruction {
 		public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call(Tuple2<MatrixIndexes, MatrixBlock> arg0)
 			throws Exception 
 		{
-			PartitionedBlock<MatrixBlock> pm = _pbc.value();
-			
 			MatrixIndexes ixIn = arg0._1();
 			MatrixBlock blkIn = arg0._2();
-
-			MatrixIndexes ixOut = new MatrixIndexes();
-			MatrixBlock blkOut = new MatrixBlock();
 			
 			ArrayList<Tuple2<MatrixIndexes, MatrixBlock>> ret = new ArrayList<>();
 			
 			//get the right hand side matrix
-			for( int i=1; i<=pm.getNumRowBlocks(); i++ ) {
-				MatrixBlock left = pm.getBlock(i, (int)ixIn.getRowIndex());
+			for( int i=1; i<=_pbc.getNumRowBlocks(); i++ ) {
+				MatrixBlock left = _pbc.getBlock(i, (int)ixIn.getRowIndex());
+				MatrixIndexes ixOut = new MatrixIndexes();
+				MatrixBlock blkOut = new MatrixBlock();
 			
 				//execute matrix-vector mult
 				OperationsOnMatrixValues.performAggregateBinary( 
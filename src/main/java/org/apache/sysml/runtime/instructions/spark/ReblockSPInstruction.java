@@ -36,6 +36,7 @@ import org.apache.sysml.runtime.instructions.spark.functions.ExtractBlockForBina
 import org.apache.sysml.runtime.instructions.spark.utils.FrameRDDConverterUtils;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDAggregateUtils;
 import org.apache.sysml.runtime.instructions.spark.utils.RDDConverterUtils;
+import org.apache.sysml.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MetaDataFormat;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
@@ -160,6 +161,20 @@ public class ReblockSPInstruction extends UnarySPInstruction {
 			csvInstruction.processInstruction(sec);
 			return;
 		}
+		else if(iinfo == InputInfo.LIBSVMInputInfo) 
+		{
+			//get the input libsvm rdd
+			JavaPairRDD<LongWritable, Text> lines = (JavaPairRDD<LongWritable, Text>) 
+					sec.getRDDHandleForVariable(input1.getName(), iinfo);
+			
+			//convert libsvm to binary block (w/ analysis pass if unknown dims)
+			JavaPairRDD<MatrixIndexes, MatrixBlock> out = 
+					RDDConverterUtils.libsvmToBinaryBlock(sec.getSparkContext(), lines, mcOut);
+			
+			//put output RDD handle into symbol table
+			sec.setRDDHandleForVariable(output.getName(), out);
+			sec.addLineageRDD(output.getName(), input1.getName());
+		}
 		else if(iinfo == InputInfo.BinaryCellInputInfo) 
 		{
 			JavaPairRDD<MatrixIndexes, MatrixCell> binaryCells = (JavaPairRDD<MatrixIndexes, MatrixCell>) sec.getRDDHandleForVariable(input1.getName(), iinfo);
@@ -180,8 +195,13 @@ public class ReblockSPInstruction extends UnarySPInstruction {
 			
 			JavaPairRDD<MatrixIndexes, MatrixBlock> out = in1
 				.flatMapToPair(new ExtractBlockForBinaryReblock(mc, mcOut));
-			if( !shuffleFreeReblock )
-				out = RDDAggregateUtils.mergeByKey(out, false);
+			if( !shuffleFreeReblock ) {
+				//merge partial blocks (w/ skew-aware partitioning for sparse inputs)
+				JavaPairRDD<MatrixIndexes, MatrixBlock> sample = SparkUtils
+					.samplePartitions(in1, mc.getNumBlocks())
+					.flatMapToPair(new ExtractBlockForBinaryReblock(mc, mcOut));
+				out = RDDAggregateUtils.mergeByKey(out, sample, mcOut, out.getNumPartitions());
+			}
 			
 			//put output RDD handle into symbol table
 			sec.setRDDHandleForVariable(output.getName(), out);
@@ -206,6 +206,23 @@ public class WriteSPInstruction extends SPInstruction {
 			if( !mc.nnzKnown() )
 				mc.setNonZeros((long)aNnz.value().longValue());
 		}
+		else if( oi == OutputInfo.LIBSVMOutputInfo ) 
+		{
+			LongAccumulator aNnz = null;
+			
+			//piggyback nnz computation on actual write
+			if( !mc.nnzKnown() ) {
+				aNnz = sec.getSparkContext().sc().longAccumulator("nnz");
+				in1 = in1.mapValues(new ComputeBinaryBlockNnzFunction(aNnz));
+			}
+			
+			//write rows in order (libsvm has no row indexes)
+			JavaRDD<String> out = RDDConverterUtils.binaryBlockToLibsvm(in1, mc, true);
+			customSaveTextFile(out, fname, false);
+			
+			if( !mc.nnzKnown() )
+				mc.setNonZeros((long)aNnz.value().longValue());
+		}
 		else if( oi == OutputInfo.BinaryBlockOutputInfo ) {
 			//piggyback nnz computation on actual write
 			LongAccumulator aNnz = null;
@@ -54,6 +54,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 	protected int _brlen = -1;
 	protected int _bclen = -1;
 	protected int _offset = 0;
+	protected boolean _colMajor = false;
 	
 	public PartitionedBlock() {
 		//do nothing (required for Externalizable)
@@ -116,11 +117,45 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		ret._bclen = _bclen;
 		ret._partBlocks = new CacheBlock[numBlks];
 		ret._offset = offset;
+		ret._colMajor = _colMajor;
 		System.arraycopy(_partBlocks, offset, ret._partBlocks, 0, numBlks);
 		
 		return ret;
 	}
 	
+	/**
+	 * Creates a partition of the blocks with linear indexes [offset, offset+numBlks)
+	 * in row-major or column-major order, where the latter allows partitions of 
+	 * complete column panels. 
+	 * 
+	 * @param offset linear index of the first block
+	 * @param numBlks number of blocks
+	 * @param colMajor true if column-major order
+	 * @return partitioned block
+	 */
+	public PartitionedBlock<T> createPartition( int offset, int numBlks, boolean colMajor )
+	{
+		PartitionedBlock<T> ret = new PartitionedBlock<>();
+		ret._rlen = _rlen;
+		ret._clen = _clen;
+		ret._brlen = _brlen;
+		ret._bclen = _bclen;
+		ret._partBlocks = new CacheBlock[numBlks];
+		ret._offset = offset;
+		ret._colMajor = colMajor;
+		
+		int nrblks = getNumRowBlocks();
+		int ncblks = getNumColumnBlocks();
+		for( int i=0; i<numBlks; i++ ) {
+			int ix = offset + i;
+			int rix = colMajor ? ix % nrblks : ix / ncblks;
+			int cix = colMajor ? ix / nrblks : ix % ncblks;
+			ret._partBlocks[i] = _partBlocks[getLinearIndex(rix, cix) - _offset];
+		}
+		
+		return ret;
+	}
+	
 	public long getNumRows() {
 		return _rlen;
 	}
@@ -145,6 +180,16 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		return (int)Math.ceil((double)_clen/_bclen);
 	}
 
+	public boolean isColumnMajor() {
+		return _colMajor;
+	}
+	
+	private int getLinearIndex(int rix, int cix) {
+		return _colMajor ? 
+			cix*getNumRowBlocks()+rix : 
+			rix*getNumColumnBlocks()+cix;
+	}
+
 	@SuppressWarnings("unchecked")
 	public T getBlock(int rowIndex, int colIndex) 
 		throws DMLRuntimeException 
@@ -159,7 +204,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		//get the requested frame/matrix block
 		int rix = rowIndex - 1;
 		int cix = colIndex - 1;
-		int ix = rix*ncblks+cix - _offset;
+		int ix = getLinearIndex(rix, cix) - _offset;
 		return (T)_partBlocks[ix];
 	}
 
@@ -176,7 +221,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		//get the requested matrix block
 		int rix = rowIndex - 1;
 		int cix = colIndex - 1;
-		int ix = rix*ncblks+cix - _offset;
+		int ix = getLinearIndex(rix, cix) - _offset;
 		_partBlocks[ ix ] = block;	
 	}
 
@@ -312,6 +357,7 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		dos.writeInt(_brlen);
 		dos.writeInt(_bclen);
 		dos.writeInt(_offset);
+		dos.writeBoolean(_colMajor);
 		dos.writeInt(_partBlocks.length);
 		dos.writeByte(CacheBlockFactory.getCode(_partBlocks[0]));
 		
@@ -326,7 +372,8 @@ public class PartitionedBlock<T extends CacheBlock> implements Externalizable
 		_clen = dis.readLong();
 		_brlen = dis.readInt();
 		_bclen = dis.readInt();
-		_offset = dis.readInt();		
+		_offset = dis.readInt();
+		_colMajor = dis.readBoolean();
 		int len = dis.readInt();
 		int code = dis.readByte();
 		
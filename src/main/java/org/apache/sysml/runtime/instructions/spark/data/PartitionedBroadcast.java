@@ -39,16 +39,49 @@ public class PartitionedBroadcast<T extends CacheBlock> implements Serializable
 	private static final long serialVersionUID = 7041959166079438401L;
 
 	protected static final long BROADCAST_PARTSIZE = 200L*1024*1024; //200M cells ~ 1.6GB 
+	protected static final long BROADCAST_PANEL_PARTSIZE = 16L*1024*1024; //16M cells ~ 128MB
+	
+	/**
+	 * Layouts of partitioned broadcasts. Since Spark fetches each broadcast lazily
+	 * on first access, partitions of complete row or column panels allow tasks to
+	 * fetch only the panels they access (e.g., a row panel of the right-hand-side 
+	 * per left-hand-side block in mapmm), which reduces executor memory and network
+	 * volume for large broadcasts.
+	 */
+	public enum PartitionLayout {
+		DEFAULT,    //row-major order, partitions of max size
+		ROW_PANELS, //row-major order, partitions of complete row panels
+		COL_PANELS; //column-major order, partitions of complete column panels
+		
+		public boolean isColumnMajor() {
+			return this == COL_PANELS;
+		}
+	}
 	
 	private Broadcast<PartitionedBlock<T>>[] _pbc = null;
 	
+	//meta data to avoid fetching broadcasts for index computation
+	private long _rlen = -1;
+	private long _clen = -1;
+	private int _brlen = -1;
+	private int _bclen = -1;
+	private int _numPerPart = -1;
+	private boolean _colMajor = false;
+	
 	public PartitionedBroadcast() {
 		//do nothing (required for Externalizable)
 	}
 	
-	public PartitionedBroadcast(Broadcast<PartitionedBlock<T>>[] broadcasts)
+	public PartitionedBroadcast(Broadcast<PartitionedBlock<T>>[] broadcasts, long rlen, long clen, 
+		int brlen, int bclen, int numPerPart, boolean colMajor)
 	{
 		_pbc = broadcasts;
+		_rlen = rlen;
+		_clen = clen;
+		_brlen = brlen;
+		_bclen = bclen;
+		_numPerPart = numPerPart;
+		_colMajor = colMajor;
 	}
 	
 	public Broadcast<PartitionedBlock<T>>[] getBroadcasts() {
@@ -56,25 +89,39 @@ public class PartitionedBroadcast<T extends CacheBlock> implements Serializable
 	}
 	
 	public long getNumRows() {
-		return _pbc[0].value().getNumRows();
+		return _rlen;
 	}
 	
 	public long getNumCols() {
-		return _pbc[0].value().getNumCols();
+		return _clen;
 	}
 
 	public int getNumRowBlocks() {
-		return _pbc[0].value().getNumRowBlocks();
+		return (int)Math.ceil((double)_rlen/_brlen);
 	}
 	
 	public int getNumColumnBlocks() {
-		return _pbc[0].value().getNumColumnBlocks();
+		return (int)Math.ceil((double)_clen/_bclen);
 	}
 
 	public static int computeBlocksPerPartition(long rlen, long clen, long brlen, long bclen) {
 		return (int) Math.floor( BROADCAST_PARTSIZE /  
 				Math.min(rlen, brlen) / Math.min(clen, bclen));
 	}
+	
+	public static int computeBlocksPerPartition(long rlen, long clen, long brlen, long bclen, PartitionLayout layout) {
+		int maxPerPart = computeBlocksPerPartition(rlen, clen, brlen, bclen);
+		if( layout == PartitionLayout.DEFAULT )
+			return maxPerPart;
+		
+		//partitions of complete panels up to the panel partition size 
+		//(or max partition size if a single panel exceeds this size)
+		long blkCells = Math.min(rlen, brlen) * Math.min(clen, bclen);
+		long panelBlks = layout.isColumnMajor() ? 
+			(long)Math.ceil((double)rlen/brlen) : (long)Math.ceil((double)clen/bclen);
+		long numPanels = Math.max(1, BROADCAST_PANEL_PARTSIZE / (panelBlks * blkCells));
+		return (int) Math.max(1, Math.min(maxPerPart, numPanels * panelBlks));
+	}
 
 	public T getBlock(int rowIndex, int colIndex) 
 		throws DMLRuntimeException 
@@ -83,11 +130,12 @@ public class PartitionedBroadcast<T extends CacheBlock> implements Serializable
 		
 		if( _pbc.length > 1 ) { 
 			//compute partition index
-			PartitionedBlock<T> tmp = _pbc[0].value();
-			int numPerPart = computeBlocksPerPartition(tmp.getNumRows(), tmp.getNumCols(), 
-					tmp.getNumRowsPerBlock(), tmp.getNumColumnsPerBlock());
-			int ix = (rowIndex-1)*tmp.getNumColumnBlocks()+(colIndex-1);
-			pix = ix / numPerPart;
+			int rix = rowIndex - 1;
+			int cix = colIndex - 1;
+			int ix = _colMajor ? 
+				cix*getNumRowBlocks()+rix : 
+				rix*getNumColumnBlocks()+cix;
+			pix = ix / _numPerPart;
 		}
 			
 		return _pbc[pix].value().getBlock(rowIndex, colIndex);
@@ -19,7 +19,10 @@
 
 package org.apache.sysml.runtime.instructions.spark.data;
 
+import java.util.concurrent.Future;
+
 import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.sysml.runtime.instructions.spark.functions.PipelinedBlockFunction;
 
 public class RDDObject extends LineageObject
 {
@@ -32,6 +35,14 @@ public class RDDObject extends LineageObject
 	private boolean _parRDD = false;       //is a parallelized rdd at driver
 	private boolean _pending = true;       //is a pending rdd operation
 	
+	//meta data on pipelined block operations (base rdd and fused function)
+	private JavaPairRDD<?,?> _pipeBase = null;
+	private PipelinedBlockFunction _pipeFn = null;
+	
+	//pending asynchronous collect of the rdd (if triggered) and its size estimate
+	private Future<?> _asyncCollect = null;
+	private long _asyncCollectSize = 0;
+	
 	public RDDObject( JavaPairRDD<?,?> rddvar) {
 		super();
 		_rddHandle = rddvar;
@@ -81,6 +92,36 @@ public class RDDObject extends LineageObject
 		return _pending;
 	}
 	
+	public void setPipeline(JavaPairRDD<?,?> base, PipelinedBlockFunction fn) {
+		_pipeBase = base;
+		_pipeFn = fn;
+	}
+	
+	public boolean isPipelined() {
+		return _pipeFn != null;
+	}
+	
+	public JavaPairRDD<?,?> getPipelineBase() {
+		return _pipeBase;
+	}
+	
+	public PipelinedBlockFunction getPipelineFunction() {
+		return _pipeFn;
+	}
+	
+	public void setAsyncCollect(Future<?> future, long size) {
+		_asyncCollect = future;
+		_asyncCollectSize = size;
+	}
+	
+	public Future<?> getAsyncCollect() {
+		return _asyncCollect;
+	}
+	
+	public long getAsyncCollectSize() {
+		return _asyncCollectSize;
+	}
+	
 
 	/**
 	 * Indicates if rdd is an hdfs file or a checkpoint over an hdfs file;
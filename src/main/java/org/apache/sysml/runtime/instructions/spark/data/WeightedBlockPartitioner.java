@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.data;
+
+import java.util.Arrays;
+
+import org.apache.spark.Partitioner;
+
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Skew-aware partitioner for binary block rdd operations, which assigns
+ * contiguous ranges of blocks (in row-major order) to partitions such that
+ * every partition covers roughly the same weight (e.g., number of non-zeros)
+ * instead of the same number of blocks. The block weights are given as row
+ * and column block marginals (e.g., obtained via sampling), where the weight
+ * of block (i,j) is approximated by rweights[i] * cweights[j] / sum(cweights).
+ *
+ * Besides matrix indexes, the partitioner also supports long keys of 1-based
+ * block indexes (e.g., the common dimension of cpmm), which are treated as
+ * row block indexes of a single column of blocks.
+ *
+ * Only the partition boundaries are kept after construction, which keeps the
+ * serialized partitioner small independent of the number of blocks.
+ */
+public class WeightedBlockPartitioner extends Partitioner
+{
+	private static final long serialVersionUID = -3428917318622386624L;
+
+	//minimum ratio of max to mean marginal weight considered as skew
+	public static final double SKEW_THRESHOLD = 2.0;
+
+	private final int _numParts;
+	private final long _ncblks;
+	private final long[] _bounds; //exclusive upper bounds of linear block indexes
+
+	public WeightedBlockPartitioner(double[] rweights, int numParts) {
+		this(rweights, new double[]{1}, numParts);
+	}
+
+	public WeightedBlockPartitioner(double[] rweights, double[] cweights, int numParts)
+	{
+		//sanity check valid weights
+		if( rweights == null || cweights == null || rweights.length < 1
+			|| cweights.length < 1 || numParts < 1 ) {
+			throw new RuntimeException("Invalid block weights or number of partitions.");
+		}
+
+		//prefix sums of column block weights
+		int ncblks = cweights.length;
+		double[] cprefix = new double[ncblks+1];
+		boolean cempty = !(Arrays.stream(cweights).max().getAsDouble() > 0);
+		for( int j=0; j<ncblks; j++ ) //uniform if all zero
+			cprefix[j+1] = cprefix[j] + (cempty ? 1 : Math.max(cweights[j], 0));
+		double csum = cprefix[ncblks];
+		double rsum = 0;
+		for( double w : rweights )
+			rsum += Math.max(w, 0);
+
+		//compute partition boundaries in a single pass, where every partition is
+		//closed at the block boundary closest to its target weight, and the target
+		//is adapted to the remaining weight (to avoid empty partitions after heavy
+		//blocks); rows that fit entirely into the current partition are skipped
+		_bounds = new long[numParts-1];
+		double remaining = rsum;
+		double target = remaining / numParts;
+		double cum = 0;
+		int p = 0;
+		for( int i=0; i<rweights.length && p<numParts-1; i++ ) {
+			double rw = Math.max(rweights[i], 0);
+			if( cum + rw < target ) {
+				cum += rw;
+				continue;
+			}
+			for( int j=0; j<ncblks && p<numParts-1; j++ ) {
+				double bw = rw * (cprefix[j+1]-cprefix[j]) / csum;
+				if( cum > 0 && cum + bw > target && target - cum < cum + bw - target ) {
+					//close partition before the current block
+					_bounds[p++] = (long)i * ncblks + j;
+					remaining -= cum;
+					target = remaining / (numParts-p);
+					cum = 0;
+				}
+				cum += bw;
+				if( p < numParts-1 && cum >= target ) {
+					//close partition after the current block
+					_bounds[p++] = (long)i * ncblks + j + 1;
+					remaining -= cum;
+					target = remaining / (numParts-p);
+					cum = 0;
+				}
+			}
+		}
+		for( ; p<numParts-1; p++ ) //remaining (empty) partitions
+			_bounds[p] = (long)rweights.length * ncblks;
+
+		_numParts = numParts;
+		_ncblks = ncblks;
+	}
+
+	/**
+	 * Indicates if the given marginal weights are skewed, i.e., if the maximum
+	 * weight exceeds the mean weight by more than the skew threshold.
+	 *
+	 * @param weights marginal weights
+	 * @return true if skewed
+	 */
+	public static boolean isSkewed(double[] weights) {
+		if( weights == null || weights.length <= 1 )
+			return false;
+		double sum = 0, max = 0;
+		for( double w : weights ) {
+			sum += w;
+			max = Math.max(max, w);
+		}
+		return sum > 0 && max > SKEW_THRESHOLD * sum / weights.length;
+	}
+
+	@Override
+	public int getPartition(Object arg0)
+	{
+		//compute linear block index
+		long ix = -1;
+		if( arg0 instanceof MatrixIndexes ) {
+			MatrixIndexes mix = (MatrixIndexes) arg0;
+			ix = (mix.getRowIndex()-1) * _ncblks + (mix.getColumnIndex()-1);
+		}
+		else if( arg0 instanceof Long ) {
+			ix = (Long)arg0 - 1;
+		}
+		else {
+			throw new RuntimeException("Unsupported key class "
+				+ "(expected MatrixIndexes or Long): "+arg0.getClass().getName());
+		}
+
+		//find partition via exclusive upper bounds
+		int pos = Arrays.binarySearch(_bounds, ix);
+		int id = (pos >= 0) ? pos + 1 : -pos - 1;
+
+		//handle duplicate bounds of empty partitions
+		while( pos >= 0 && id < _bounds.length && _bounds[id] == ix )
+			id++;
+		return id;
+	}
+
+	@Override
+	public int numPartitions() {
+		return _numParts;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(_bounds) + Long.hashCode(_ncblks);
+	}
+
+	@Override
+	public boolean equals(Object obj)
+	{
+		if( !(obj instanceof WeightedBlockPartitioner) )
+			return false;
+
+		WeightedBlockPartitioner that = (WeightedBlockPartitioner) obj;
+		return _numParts == that._numParts
+			&& _ncblks == that._ncblks
+			&& Arrays.equals(_bounds, that._bounds);
+	}
+}
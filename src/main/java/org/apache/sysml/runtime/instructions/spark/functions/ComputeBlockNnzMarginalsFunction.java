@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.instructions.spark.functions;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.apache.spark.api.java.function.PairFlatMapFunction;
+
+import scala.Tuple2;
+
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Computes the nnz of a block as contributions to its row and column block
+ * marginals, where row block indexes are emitted as positive and column block
+ * indexes as negative keys, which allows a single reduce by key.
+ */
+public class ComputeBlockNnzMarginalsFunction implements PairFlatMapFunction<Tuple2<MatrixIndexes,MatrixBlock>, Long, Long>
+{
+	private static final long serialVersionUID = 4617532936158276491L;
+
+	@Override
+	public Iterator<Tuple2<Long, Long>> call(Tuple2<MatrixIndexes, MatrixBlock> arg0)
+		throws Exception
+	{
+		MatrixIndexes ix = arg0._1();
+		long nnz = arg0._2().getNonZeros();
+		return Arrays.asList(
+			new Tuple2<>(ix.getRowIndex(), nnz),
+			new Tuple2<>(-ix.getColumnIndex(), nnz)).iterator();
+	}
+}
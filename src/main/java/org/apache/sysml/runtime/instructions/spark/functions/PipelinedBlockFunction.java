@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.instructions.spark.functions;
+
+import java.util.Arrays;
+
+import org.apache.spark.api.java.function.Function;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+
+/**
+ * Fused function of a chain of block-local, element-wise operations (matrix-scalar
+ * and unary builtin operations), which are applied in sequence to each block within
+ * a single mapValues. Instead of allocating a new output block per operation, the
+ * intermediates alternate between two output buffers, i.e., a chain of arbitrary
+ * length allocates at most two blocks per input block. The input block itself is
+ * never modified, as it might be shared with cached RDDs or other consumers.
+ */
+public class PipelinedBlockFunction implements Function<MatrixBlock,MatrixBlock> 
+{
+	private static final long serialVersionUID = -2954374937916405843L;
+	
+	private final Operator[] _ops;
+	
+	public PipelinedBlockFunction(Operator op) {
+		this(new Operator[]{op});
+	}
+	
+	private PipelinedBlockFunction(Operator[] ops) {
+		_ops = ops;
+	}
+	
+	/**
+	 * Creates a new function that applies the given operation
+	 * after all operations of this function.
+	 * 
+	 * @param op scalar or unary operator
+	 * @return new pipelined function
+	 */
+	public PipelinedBlockFunction append(Operator op) {
+		Operator[] ops = Arrays.copyOf(_ops, _ops.length+1);
+		ops[_ops.length] = op;
+		return new PipelinedBlockFunction(ops);
+	}
+	
+	public int getNumOperations() {
+		return _ops.length;
+	}
+	
+	/**
+	 * Indicates if the given operator is block-local and 
+	 * element-wise, and hence, can be pipelined.
+	 * 
+	 * @param op operator
+	 * @return true if the operator is supported
+	 */
+	public static boolean isSupportedOperator(Operator op) {
+		return op instanceof ScalarOperator
+			|| (op instanceof UnaryOperator //w/o cumulative aggregates
+				&& !LibMatrixAgg.isSupportedUnaryOperator((UnaryOperator)op));
+	}
+
+	@Override
+	public MatrixBlock call(MatrixBlock arg0) 
+		throws Exception 
+	{
+		MatrixBlock in = arg0;
+		MatrixBlock buff = null;
+		for( Operator op : _ops ) {
+			MatrixBlock out = execute(op, in, buff);
+			//reuse the input as output buffer of the next operation,
+			//unless it is the original input block
+			buff = (in != arg0) ? in : null;
+			in = out;
+		}
+		return in;
+	}
+	
+	private static MatrixBlock execute(Operator op, MatrixBlock in, MatrixBlock ret) 
+		throws DMLRuntimeException
+	{
+		if( op instanceof ScalarOperator )
+			return (MatrixBlock) in.scalarOperations((ScalarOperator)op, 
+				(ret != null) ? ret : new MatrixBlock());
+		else
+			return (MatrixBlock) in.unaryOperations((UnaryOperator)op, 
+				(ret != null) ? ret : new MatrixBlock());
+	}
+}
@@ -19,6 +19,7 @@
 
 package org.apache.sysml.runtime.instructions.spark.utils;
 
+import org.apache.spark.Partitioner;
 import org.apache.spark.api.java.JavaPairRDD;
 import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.function.Function;
@@ -29,6 +30,7 @@ import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.spark.data.CorrMatrixBlock;
 import org.apache.sysml.runtime.instructions.spark.data.RowMatrixBlock;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.OperationsOnMatrixValues;
@@ -216,6 +218,50 @@ public class RDDAggregateUtils
 			    new MergeBlocksFunction(false), numPartitions );
 	}
 	
+	/**
+	 * Merges disjoint data of all blocks per key, using the given partitioner
+	 * (e.g., a skew-aware partitioner for balanced nnz per partition).
+	 * 
+	 * Note: The behavior of this method is undefined for both sparse and dense data if the 
+	 * assumption of disjoint data is violated.
+	 * 
+	 * @param in matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 * @param partitioner output partitioner
+	 * @param deepCopyCombiner indicator if the createCombiner functions needs to deep copy the input block
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 */
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> mergeByKey( JavaPairRDD<MatrixIndexes, MatrixBlock> in, 
+			Partitioner partitioner, boolean deepCopyCombiner )
+	{
+		return in.combineByKey( 
+			new CreateBlockCombinerFunction(deepCopyCombiner), 
+			new MergeBlocksFunction(false), 
+			new MergeBlocksFunction(false), partitioner );
+	}
+	
+	/**
+	 * Merges disjoint data of all blocks per key, where skewed sparse matrices are
+	 * partitioned according to the nnz of the given sample of (partial) blocks in
+	 * order to balance the nnz instead of the number of blocks per partition.
+	 * 
+	 * Note: The behavior of this method is undefined for both sparse and dense data if the 
+	 * assumption of disjoint data is violated.
+	 * 
+	 * @param in matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 * @param sample sample of the input (only evaluated if skew-aware partitioning is applicable)
+	 * @param mc matrix characteristics
+	 * @param numPartitions number of output partitions
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 */
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> mergeByKey( JavaPairRDD<MatrixIndexes, MatrixBlock> in, 
+			JavaPairRDD<MatrixIndexes, MatrixBlock> sample, MatrixCharacteristics mc, int numPartitions )
+	{
+		Partitioner partitioner = SparkUtils.isSkewAwarePartitioningApplicable(mc, numPartitions) ?
+			SparkUtils.getNnzWeightedPartitioner(sample, mc, numPartitions) : null;
+		return (partitioner != null) ? mergeByKey(in, partitioner, false) :
+			mergeByKey(in, numPartitions, false);
+	}
+	
 	/**
 	 * Merges disjoint data of all blocks per key.
 	 * 
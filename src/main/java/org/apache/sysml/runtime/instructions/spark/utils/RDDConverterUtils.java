@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.instructions.spark.utils;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -58,16 +59,19 @@ import org.apache.sysml.runtime.instructions.spark.data.SerLongWritable;
 import org.apache.sysml.runtime.instructions.spark.data.SerText;
 import org.apache.sysml.runtime.instructions.spark.functions.ConvertMatrixBlockToIJVLines;
 import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.WriterTextLIBSVM;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.mapred.ReblockBuffer;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.FastStringTokenizer;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -91,8 +95,11 @@ public class RDDConverterUtils
 				SparkUtils.getEmptyBlockRDD(sc, mcOut) );
 		}
 		
-		//aggregate partial matrix blocks
-		out = RDDAggregateUtils.mergeByKey(out, false); 
+		//aggregate partial matrix blocks (w/ skew-aware partitioning for sparse inputs)
+		JavaPairRDD<MatrixIndexes, MatrixBlock> sample = SparkUtils
+			.samplePartitions(input.values(), mcOut.getNonZeros())
+			.mapPartitionsToPair(new TextToBinaryBlockFunction(mcOut));
+		out = RDDAggregateUtils.mergeByKey(out, sample, mcOut, out.getNumPartitions()); 
 		
 		return out;
 	}
@@ -111,8 +118,11 @@ public class RDDConverterUtils
 				SparkUtils.getEmptyBlockRDD(sc, mcOut) );
 		}
 		
-		//aggregate partial matrix blocks
-		out = RDDAggregateUtils.mergeByKey(out, false); 
+		//aggregate partial matrix blocks (w/ skew-aware partitioning for sparse inputs)
+		JavaPairRDD<MatrixIndexes, MatrixBlock> sample = SparkUtils
+			.samplePartitions(input, mcOut.getNonZeros())
+			.mapPartitionsToPair(new BinaryCellToBinaryBlockFunction(mcOut));
+		out = RDDAggregateUtils.mergeByKey(out, sample, mcOut, out.getNumPartitions()); 
 		
 		return out;
 	}
@@ -192,9 +202,14 @@ public class RDDConverterUtils
 		
 		//aggregate partial matrix blocks (w/ preferred number of output 
 		//partitions as the data is likely smaller in binary block format,
-		//but also to bound the size of partitions for compressed inputs)
+		//but also to bound the size of partitions for compressed inputs;
+		//and w/ skew-aware partitioning according to a sample of rows)
 		int parts = SparkUtils.getNumPreferredPartitions(mc, out);
-		return RDDAggregateUtils.mergeByKey(out, parts, false); 
+		JavaPairRDD<MatrixIndexes, MatrixBlock> sample = SparkUtils
+			.samplePartitions(prepinput, mc.getRows())
+			.mapPartitionsToPair(new CSVToBinaryBlockFunction(
+				mc, sparse, hasHeader, delim, fill, fillValue));
+		return RDDAggregateUtils.mergeByKey(out, sample, mc, parts); 
 	}
 	
 	/**
@@ -371,6 +386,79 @@ public class RDDConverterUtils
 		}
 	}
 	
+	/**
+	 * Converts an rdd of libsvm lines (label followed by 1-based index:value
+	 * pairs) into a binary block matrix, where the label of every row is
+	 * stored in the last column. In contrast to the file-based conversion
+	 * above, the lines are parsed directly into sparse blocks without the
+	 * detour over labeled points, and unknown dimensions (i.e., number of
+	 * rows and columns) are determined via an additional analysis pass.
+	 * 
+	 * @param sc java spark context
+	 * @param input rdd of libsvm lines
+	 * @param mc matrix characteristics of the output (incl label column)
+	 * @return matrix as {@code JavaPairRDD<MatrixIndexes, MatrixBlock>}
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static JavaPairRDD<MatrixIndexes, MatrixBlock> libsvmToBinaryBlock(JavaSparkContext sc,
+			JavaPairRDD<LongWritable, Text> input, MatrixCharacteristics mc) 
+		throws DMLRuntimeException 
+	{
+		//determine unknown dimensions and sparsity if required
+		if( !mc.dimsKnown(true) ) {
+			long[] stats = new long[]{0, -1, 0};
+			for( long[] pstats : input.values()
+				.mapPartitions(new LIBSVMAnalysisFunction()).collect() ) {
+				stats[0] += pstats[0];
+				stats[1] = Math.max(stats[1], pstats[1]);
+				stats[2] += pstats[2];
+			}
+			long rlen = (mc.getRows() > 0) ? mc.getRows() : stats[0];
+			long clen = (mc.getCols() > 0) ? mc.getCols() : stats[1] + 2;
+			mc.set(rlen, clen, mc.getRowsPerBlock(), mc.getColsPerBlock(), stats[2]);
+		}
+		
+		//prepare libsvm w/ row indexes (sorted by filenames, w/o empty lines)
+		JavaPairRDD<Text,Long> prepinput = input.values()
+				.filter(new LIBSVMNonEmptyLineFunction())
+				.zipWithIndex(); //zip row index
+		
+		//convert libsvm rdd to binary block rdd (w/ partial blocks)
+		JavaPairRDD<MatrixIndexes, MatrixBlock> out = 
+				prepinput.mapPartitionsToPair(new LIBSVMToBinaryBlockFunction(mc));
+		
+		//aggregate partial matrix blocks (w/ preferred number of output 
+		//partitions and skew-aware partitioning according to a sample of rows)
+		int parts = SparkUtils.getNumPreferredPartitions(mc, out);
+		JavaPairRDD<MatrixIndexes, MatrixBlock> sample = SparkUtils
+			.samplePartitions(prepinput, mc.getRows())
+			.mapPartitionsToPair(new LIBSVMToBinaryBlockFunction(mc));
+		return RDDAggregateUtils.mergeByKey(out, sample, mc, parts); 
+	}
+	
+	public static JavaRDD<String> binaryBlockToLibsvm(JavaPairRDD<MatrixIndexes,MatrixBlock> in, MatrixCharacteristics mcIn, boolean strict)
+	{
+		JavaPairRDD<MatrixIndexes,MatrixBlock> input = in;
+		
+		//fast path without, general case with shuffle
+		if( mcIn.getCols()>mcIn.getColsPerBlock() ) {
+			//create row partitioned matrix
+			input = input
+					.flatMapToPair(new SliceBinaryBlockToRowsFunction(mcIn.getRowsPerBlock()))
+					.groupByKey()
+					.mapToPair(new ConcatenateBlocksFunction(mcIn.getCols(), mcIn.getColsPerBlock()));	
+		}
+		
+		//sort if required (on blocks/rows)
+		if( strict ) {
+			input = input.sortByKey(true);
+		}
+		
+		//convert binary block to libsvm (from blocks/rows)
+		return input.values()
+				.flatMap(new BinaryBlockToLIBSVMFunction());
+	}
+	
 	public static JavaPairRDD<LongWritable, Text> stringToSerializableText(JavaPairRDD<Long,String> in)
 	{
 		return in.mapToPair(new TextToSerTextFunction());
@@ -993,6 +1081,164 @@ public class RDDConverterUtils
 		}
 	}
 
+	/////////////////////////////////
+	// LIBSVM-SPECIFIC FUNCTIONS
+
+	private static class LIBSVMNonEmptyLineFunction implements Function<Text,Boolean> 
+	{
+		private static final long serialVersionUID = -2196442585474498591L;
+
+		@Override
+		public Boolean call(Text v1) throws Exception {
+			return !isEmptyLine(v1);
+		}
+	}
+	
+	private static class LIBSVMAnalysisFunction implements FlatMapFunction<Iterator<Text>,long[]> 
+	{
+		private static final long serialVersionUID = 4813870926512094876L;
+
+		@Override
+		public Iterator<long[]> call(Iterator<Text> arg0) 
+			throws Exception 
+		{
+			//compute number of rows, max feature index, and nnz per partition
+			SparseRowVector vect = new SparseRowVector(64);
+			long[] ret = new long[]{0, -1, 0};
+			while( arg0.hasNext() ) {
+				Text line = arg0.next();
+				if( isEmptyLine(line) )
+					continue;
+				double label = IOUtilFunctions.parseLibsvmRow(
+					line.getBytes(), 0, line.getLength(), vect);
+				ret[0]++;
+				if( vect.size() > 0 )
+					ret[1] = Math.max(ret[1], vect.indexes()[vect.size()-1]);
+				ret[2] += vect.size() + (label != 0 ? 1 : 0);
+			}
+			return Collections.singletonList(ret).iterator();
+		}
+	}
+	
+	/**
+	 * This functions allows to map rdd partitions of libsvm rows into a set of partial binary blocks.
+	 * Similar to the csv to binary block function, we keep state of all column blocks of the current 
+	 * row block, but since libsvm is a sparse format, all blocks are created in sparse representation
+	 * and the parsed (sorted) features are directly appended to the respective column blocks.
+	 */
+	private static class LIBSVMToBinaryBlockFunction implements PairFlatMapFunction<Iterator<Tuple2<Text,Long>>,MatrixIndexes,MatrixBlock> 
+	{
+		private static final long serialVersionUID = -2716342158632197340L;
+		
+		private long _rlen = -1;
+		private long _clen = -1;
+		private int _brlen = -1;
+		private int _bclen = -1;
+		
+		public LIBSVMToBinaryBlockFunction(MatrixCharacteristics mc) {
+			_rlen = mc.getRows();
+			_clen = mc.getCols();
+			_brlen = mc.getRowsPerBlock();
+			_bclen = mc.getColsPerBlock();
+		}
+
+		@Override
+		public Iterator<Tuple2<MatrixIndexes, MatrixBlock>> call(Iterator<Tuple2<Text,Long>> arg0) 
+			throws Exception 
+		{
+			ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret = new ArrayList<>();
+			SparseRowVector vect = new SparseRowVector(64);
+			
+			int ncblks = (int)Math.ceil((double)_clen/_bclen);
+			MatrixIndexes[] ix = new MatrixIndexes[ncblks];
+			MatrixBlock[] mb = new MatrixBlock[ncblks];
+			
+			while( arg0.hasNext() )
+			{
+				Tuple2<Text,Long> tmp = arg0.next();
+				long rowix = tmp._2() + 1;
+				long rix = UtilFunctions.computeBlockIndex(rowix, _brlen);
+				int pos = UtilFunctions.computeCellInBlock(rowix, _brlen);
+				
+				//create new blocks for entire row
+				if( ix[0] == null || ix[0].getRowIndex() != rix ) {
+					if( ix[0] !=null )
+						flushBlocksToList(ix, mb, ret);
+					long len = UtilFunctions.computeBlockSize(_rlen, rix, _brlen);
+					createBlocks(rix, (int)len, ix, mb);
+				}
+				
+				//parse row and append features in sorted order, and label as last column
+				Text line = tmp._1();
+				double label = IOUtilFunctions.parseLibsvmRow(
+					line.getBytes(), 0, line.getLength(), vect);
+				int[] cix = vect.indexes();
+				double[] vals = vect.values();
+				int len = vect.size();
+				if( len > 0 && cix[len-1] >= _clen-1 ) {
+					throw new DMLRuntimeException("Invalid libsvm feature index "+(cix[len-1]+1)
+						+ " for matrix with "+_clen+" columns (incl label).");
+				}
+				for( int k=0; k<len; k++ )
+					mb[cix[k]/_bclen].appendValue(pos, cix[k]%_bclen, vals[k]);
+				mb[ncblks-1].appendValue(pos, (int)((_clen-1)%_bclen), label);
+			}
+			
+			//flush last blocks
+			flushBlocksToList(ix, mb, ret);
+			
+			return ret.iterator();
+		}
+		
+		// Creates new state of empty column blocks for current row block index.
+		private void createBlocks(long rix, int lrlen, MatrixIndexes[] ix, MatrixBlock[] mb)
+		{
+			for( int cix=1; cix<=ix.length; cix++ ) {
+				int lclen = (int)UtilFunctions.computeBlockSize(_clen, cix, _bclen);
+				ix[cix-1] = new MatrixIndexes(rix, cix);
+				mb[cix-1] = new MatrixBlock(lrlen, lclen, true);
+			}
+		}
+		
+		// Flushes current state of filled column blocks to output list.
+		private static void flushBlocksToList( MatrixIndexes[] ix, MatrixBlock[] mb, ArrayList<Tuple2<MatrixIndexes,MatrixBlock>> ret ) 
+			throws DMLRuntimeException
+		{
+			for( int i=0; i<ix.length; i++ )
+				if( mb[i] != null ) {
+					ret.add(new Tuple2<>(ix[i],mb[i]));
+					mb[i].examSparsity(); //ensure right representation
+				}
+		}
+	}
+	
+	private static class BinaryBlockToLIBSVMFunction implements FlatMapFunction<MatrixBlock,String> 
+	{
+		private static final long serialVersionUID = 6210942856329374529L;
+
+		@Override
+		public Iterator<String> call(MatrixBlock arg0)
+			throws Exception 
+		{
+			ArrayList<String> ret = new ArrayList<>();
+			FastTextBuffer sb = IOUtilFunctions.createTextBuffer(1024);
+			for( int i=0; i<arg0.getNumRows(); i++ ) {
+				WriterTextLIBSVM.appendLibsvmRow(arg0, i, sb);
+				ret.add(sb.toString());
+				sb.reset();
+			}
+			return ret.iterator();
+		}
+	}
+	
+	private static boolean isEmptyLine(Text line) {
+		byte[] buf = line.getBytes();
+		for( int i=0; i<line.getLength(); i++ )
+			if( (buf[i] & 0xff) > ' ' )
+				return false;
+		return true;
+	}
+
 	/////////////////////////////////
 	// DATAFRAME-SPECIFIC FUNCTIONS
 
@@ -20,24 +20,33 @@
 
 package org.apache.sysml.runtime.instructions.spark.utils;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import org.apache.spark.HashPartitioner;
+import org.apache.spark.Partitioner;
 import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaRDD;
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.spark.api.java.function.Function;
 import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
+import org.apache.spark.rdd.PartitionPruningRDD;
 import org.apache.spark.storage.StorageLevel;
 import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.lops.Checkpoint;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.instructions.spark.data.WeightedBlockPartitioner;
+import org.apache.sysml.runtime.instructions.spark.functions.ComputeBlockNnzMarginalsFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBinaryCellFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBlockFunction;
 import org.apache.sysml.runtime.instructions.spark.functions.CopyBlockPairFunction;
@@ -51,11 +60,17 @@ import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 import scala.Tuple2;
+import scala.runtime.AbstractFunction1;
 
 public class SparkUtils 
 {	
 	//internal configuration
 	public static final StorageLevel DEFAULT_TMP = Checkpoint.DEFAULT_STORAGE_LEVEL;
+	
+	//sample size and base weight per block for skew-aware partitioning
+	private static final long SKEW_SAMPLE_SIZE = 100000;
+	private static final double SKEW_SAMPLE_FRACTION_MIN = 0.01;
+	private static final double SKEW_BASE_WEIGHT = 0.1;
 
 	public static IndexedMatrixValue toIndexedMatrixBlock( Tuple2<MatrixIndexes,MatrixBlock> in ) {
 		return new IndexedMatrixValue(in._1(), in._2());
@@ -135,6 +150,138 @@ public class SparkUtils
 		return (int) Math.max(Math.ceil(matrixPSize/hdfsBlockSize), 1);
 	}
 	
+	/**
+	 * Indicates if a skew-aware partitioning according to sampled nnz is applicable,
+	 * i.e., for sparse matrices of known size and sparsity with more blocks than
+	 * partitions (where imbalanced nnz per partition causes straggler tasks).
+	 * 
+	 * @param mc matrix characteristics
+	 * @param numParts number of partitions
+	 * @return true if skew-aware partitioning is applicable
+	 */
+	public static boolean isSkewAwarePartitioningApplicable(MatrixCharacteristics mc, int numParts) {
+		return SparkExecutionContext.SKEW_AWARE_PARTITIONING
+			&& numParts > 1 && mc.dimsKnown(true) && mc.getNumBlocks() > numParts
+			&& MatrixBlock.evalSparseFormatInMemory(mc.getRows(), mc.getCols(), mc.getNonZeros());
+	}
+	
+	/**
+	 * Obtains a sample for skew-aware partitioning, which consists of entire input
+	 * partitions instead of individual items, in order to read only a bounded subset
+	 * of partitions. The number of partitions is determined by the sample fraction, 
+	 * and the partitions are evenly spaced over the input.
+	 * 
+	 * @param in input rdd
+	 * @param n number of items (e.g., rows or blocks)
+	 * @param <T> item type
+	 * @return sample rdd over the selected partitions
+	 */
+	public static <T> JavaRDD<T> samplePartitions(JavaRDD<T> in, long n) {
+		PartitionPruningRDD<T> ppRDD = PartitionPruningRDD.create(in.rdd(),
+			new SamplePartitionsFunction(getSamplePartitions(in.getNumPartitions(), n)));
+		return new JavaRDD<>(ppRDD, in.classTag());
+	}
+	
+	/**
+	 * Obtains a sample of entire input partitions for skew-aware partitioning,
+	 * see {@link #samplePartitions(JavaRDD, long)}.
+	 * 
+	 * @param in input pair rdd
+	 * @param n number of items (e.g., rows or blocks)
+	 * @param <K> key type
+	 * @param <V> value type
+	 * @return sample pair rdd over the selected partitions
+	 */
+	public static <K,V> JavaPairRDD<K,V> samplePartitions(JavaPairRDD<K,V> in, long n) {
+		PartitionPruningRDD<Tuple2<K,V>> ppRDD = PartitionPruningRDD.create(in.rdd(),
+			new SamplePartitionsFunction(getSamplePartitions(in.getNumPartitions(), n)));
+		return new JavaPairRDD<>(ppRDD, in.kClassTag(), in.vClassTag());
+	}
+	
+	private static HashSet<Integer> getSamplePartitions(int numParts, long n) {
+		//sample fraction w/ bounded absolute sample size for large inputs,
+		//but minimum fraction for robustness
+		double frac = Math.min(1, Math.max(SKEW_SAMPLE_FRACTION_MIN, (double)SKEW_SAMPLE_SIZE/n));
+		int k = (int) Math.min(numParts, Math.max(1, Math.ceil(frac * numParts)));
+		HashSet<Integer> ret = new HashSet<>();
+		for( int i=0; i<k; i++ )
+			ret.add((int)((long)i * numParts / k));
+		return ret;
+	}
+	
+	/**
+	 * Creates a partitioner that balances the nnz per partition according to the
+	 * row and column block marginals of the given sample of (partial) blocks. 
+	 * 
+	 * @param sample sample of partial or complete blocks
+	 * @param mc matrix characteristics
+	 * @param numParts number of partitions
+	 * @return weighted block partitioner, or null if the sample shows no skew
+	 */
+	public static Partitioner getNnzWeightedPartitioner(JavaPairRDD<MatrixIndexes,MatrixBlock> sample,
+		MatrixCharacteristics mc, int numParts)
+	{
+		double[][] w = computeNnzMarginals(sample, mc);
+		if( !WeightedBlockPartitioner.isSkewed(w[0]) && !WeightedBlockPartitioner.isSkewed(w[1]) )
+			return null;
+		return new WeightedBlockPartitioner(smoothWeights(w[0]), smoothWeights(w[1]), numParts);
+	}
+	
+	/**
+	 * Creates a partitioner for long keys of the common dimension of a matrix 
+	 * multiplication (e.g., cpmm), which balances the nnz products of the column
+	 * blocks of the left and row blocks of the right input, i.e., the number of
+	 * multiply-adds per key.
+	 * 
+	 * @param sample1 sample of left input blocks
+	 * @param mc1 matrix characteristics of left input
+	 * @param sample2 sample of right input blocks
+	 * @param mc2 matrix characteristics of right input
+	 * @param numParts number of partitions
+	 * @return weighted block partitioner, or null if the sample shows no skew
+	 */
+	public static Partitioner getNnzWeightedMMPartitioner(JavaPairRDD<MatrixIndexes,MatrixBlock> sample1,
+		MatrixCharacteristics mc1, JavaPairRDD<MatrixIndexes,MatrixBlock> sample2, MatrixCharacteristics mc2, int numParts)
+	{
+		double[] w1 = computeNnzMarginals(sample1, mc1)[1];
+		double[] w2 = computeNnzMarginals(sample2, mc2)[0];
+		double[] w = new double[Math.min(w1.length, w2.length)];
+		for( int i=0; i<w.length; i++ )
+			w[i] = (w1[i] + 1) * (w2[i] + 1);
+		return WeightedBlockPartitioner.isSkewed(w) ?
+			new WeightedBlockPartitioner(smoothWeights(w), numParts) : null;
+	}
+	
+	private static double[][] computeNnzMarginals(JavaPairRDD<MatrixIndexes,MatrixBlock> sample, MatrixCharacteristics mc) {
+		//aggregate sampled nnz per row and column block in a single pass
+		Map<Long,Long> tmp = sample
+			.flatMapToPair(new ComputeBlockNnzMarginalsFunction())
+			.reduceByKey(new SumLongFunction())
+			.collectAsMap();
+		double[][] ret = new double[][] {
+			new double[(int)mc.getNumRowBlocks()], new double[(int)mc.getNumColBlocks()]};
+		for( Entry<Long,Long> e : tmp.entrySet() ) {
+			int ix = (int)Math.abs(e.getKey()) - 1;
+			double[] w = ret[(e.getKey() > 0) ? 0 : 1];
+			if( ix < w.length )
+				w[ix] += e.getValue();
+		}
+		return ret;
+	}
+	
+	private static double[] smoothWeights(double[] w) {
+		//add a base weight per block, which accounts for per-block
+		//overheads and blocks that have not been sampled at all
+		double sum = 0;
+		for( double v : w )
+			sum += v;
+		double base = Math.max(SKEW_BASE_WEIGHT * sum / w.length, 1);
+		double[] ret = new double[w.length];
+		for( int i=0; i<w.length; i++ )
+			ret[i] = w[i] + base;
+		return ret;
+	}
+	
 	/**
 	 * Creates a partitioning-preserving deep copy of the input matrix RDD, where 
 	 * the indexes and values are copied.
@@ -265,6 +412,32 @@ public class SparkUtils
 		}	
 	}
 	
+	private static class SamplePartitionsFunction extends AbstractFunction1<Object,Object> implements Serializable
+	{
+		private static final long serialVersionUID = 2383517839183618262L;
+		
+		private final HashSet<Integer> _parts;
+		
+		public SamplePartitionsFunction(HashSet<Integer> parts) {
+			_parts = parts;
+		}
+		
+		@Override
+		public Boolean apply(Object partIndex) {
+			return _parts.contains((Integer)partIndex);
+		}
+	}
+	
+	private static class SumLongFunction implements Function2<Long, Long, Long> 
+	{
+		private static final long serialVersionUID = -3167520184382460513L;
+
+		@Override
+		public Long call(Long arg0, Long arg1) throws Exception {
+			return arg0 + arg1;
+		}
+	}
+	
 	private static class GenerateEmptyBlocks implements PairFlatMapFunction<Long, MatrixIndexes, MatrixBlock> 
 	{
 		private static final long serialVersionUID = 630129586089106855L;
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+/**
+ * Block index of a binary block matrix, which maps the block indexes of all
+ * blocks to their part file and byte offset. The index is written by the CP
+ * binary block writers into a file with suffix {@link #FILE_SUFFIX} next to the
+ * matrix file (similar to the metadata file), and allows reading individual blocks
+ * via direct seeks instead of scanning the entire file.
+ *
+ * The index stores the names and lengths of all indexed part files. On read, the
+ * index is only used if these part files still match the files on disk, which
+ * prevents the use of stale indexes after the matrix has been overwritten or
+ * appended by writers that do not maintain the index.
+ *
+ */
+public class BinaryBlockIndex
+{
+	private static final Log LOG = LogFactory.getLog(BinaryBlockIndex.class.getName());
+
+	public static final String FILE_SUFFIX = ".blkidx";
+	private static final int VERSION = 1;
+
+	private final ArrayList<FileIndex> _files = new ArrayList<>();
+
+	/**
+	 * Creates and registers the index of a new part file. This method is thread-safe
+	 * and can be called by concurrent write tasks.
+	 *
+	 * @param file part file path
+	 * @return file index
+	 */
+	public synchronized FileIndex createFileIndex(Path file) {
+		FileIndex ret = new FileIndex(file);
+		_files.add(ret);
+		return ret;
+	}
+
+	public List<FileIndex> getFileIndexes() {
+		return _files;
+	}
+
+	public static Path getIndexPath(Path path) {
+		return new Path(path.toString() + FILE_SUFFIX);
+	}
+
+	/**
+	 * Writes the block index of the matrix at the given path, including the
+	 * lengths of all indexed (and already closed) part files.
+	 *
+	 * @param fs file system
+	 * @param path matrix file or directory path
+	 * @throws IOException if IOException occurs
+	 */
+	public void write(FileSystem fs, Path path)
+		throws IOException
+	{
+		Path ipath = getIndexPath(path);
+		DataOutputStream out = fs.create(ipath, true);
+		try {
+			out.writeInt(VERSION);
+			out.writeInt(_files.size());
+			for( FileIndex findex : _files ) {
+				out.writeUTF(findex._file.equals(path) ? "" : findex._file.getName());
+				out.writeLong(fs.getFileStatus(findex._file).getLen());
+				out.writeInt(findex._size);
+				for( int i=0; i<findex._size; i++ ) {
+					out.writeLong(findex._rix[i]);
+					out.writeLong(findex._cix[i]);
+					out.writeLong(findex._offsets[i]);
+				}
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(out);
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, ipath);
+	}
+
+	/**
+	 * Reads the block index of the matrix at the given path.
+	 *
+	 * @param fs file system
+	 * @param path matrix file or directory path
+	 * @return block index, or null if no index exists or the index does not
+	 *   match the current part files of the matrix
+	 * @throws IOException if IOException occurs
+	 */
+	public static BinaryBlockIndex read(FileSystem fs, Path path)
+		throws IOException
+	{
+		Path ipath = getIndexPath(path);
+		if( !fs.exists(ipath) )
+			return null;
+
+		BinaryBlockIndex ret = new BinaryBlockIndex();
+		DataInputStream in = fs.open(ipath);
+		try {
+			if( in.readInt() != VERSION )
+				return null;
+			int nfiles = in.readInt();
+			for( int k=0; k<nfiles; k++ ) {
+				String name = in.readUTF();
+				FileIndex findex = ret.createFileIndex(name.isEmpty() ? path : new Path(path, name));
+				findex._length = in.readLong();
+				int size = in.readInt();
+				findex.ensureCapacity(size);
+				for( int i=0; i<size; i++ )
+					findex.add(in.readLong(), in.readLong(), in.readLong());
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+
+		//validate indexed part files against existing part files
+		HashSet<Path> files = new HashSet<>();
+		for( Path file : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+			files.add(fs.makeQualified(file));
+		boolean valid = (files.size() == ret._files.size());
+		for( FileIndex findex : ret._files )
+			valid &= files.contains(fs.makeQualified(findex._file))
+				&& fs.getFileStatus(findex._file).getLen() == findex._length;
+		if( !valid ) {
+			LOG.warn("Ignoring stale block index of "+path+".");
+			return null;
+		}
+
+		return ret;
+	}
+
+	public static void delete(FileSystem fs, Path path)
+		throws IOException
+	{
+		Path ipath = getIndexPath(path);
+		if( fs.exists(ipath) ) {
+			fs.delete(ipath, false);
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, ipath);
+		}
+	}
+
+	/**
+	 * Index of a single part file, i.e., the 1-based block indexes and byte offsets
+	 * of all blocks in the order of their occurrence in the file.
+	 */
+	public static class FileIndex
+	{
+		private final Path _file;
+		private long _length = -1;
+		private long[] _rix = new long[16];
+		private long[] _cix = new long[16];
+		private long[] _offsets = new long[16];
+		private int _size = 0;
+
+		private FileIndex(Path file) {
+			_file = file;
+		}
+
+		public Path getFile() {
+			return _file;
+		}
+
+		public void add(long rix, long cix, long offset) {
+			ensureCapacity(_size + 1);
+			_rix[_size] = rix;
+			_cix[_size] = cix;
+			_offsets[_size] = offset;
+			_size++;
+		}
+
+		/**
+		 * Returns the byte offsets of all blocks within the given range
+		 * of 1-based row and column block indexes (inclusive) in
+		 * ascending order.
+		 *
+		 * @param rbl row block lower index
+		 * @param rbu row block upper index
+		 * @param cbl column block lower index
+		 * @param cbu column block upper index
+		 * @return sorted byte offsets
+		 */
+		public long[] getOffsets(long rbl, long rbu, long cbl, long cbu) {
+			long[] ret = new long[_size];
+			int len = 0;
+			for( int i=0; i<_size; i++ )
+				if( _rix[i] >= rbl && _rix[i] <= rbu && _cix[i] >= cbl && _cix[i] <= cbu )
+					ret[len++] = _offsets[i];
+			ret = Arrays.copyOf(ret, len);
+			Arrays.sort(ret);
+			return ret;
+		}
+
+		private void ensureCapacity(int size) {
+			if( size > _offsets.length ) {
+				int newlen = Math.max(size, 2*_offsets.length);
+				_rix = Arrays.copyOf(_rix, newlen);
+				_cix = Arrays.copyOf(_cix, newlen);
+				_offsets = Arrays.copyOf(_offsets, newlen);
+			}
+		}
+	}
+}
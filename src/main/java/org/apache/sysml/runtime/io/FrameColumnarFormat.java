@@ -0,0 +1,598 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map.Entry;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysml.parser.Expression.ValueType;
+
+/**
+ * Columnar binary file format for frames. Every part file holds a contiguous
+ * range of rows, which is split into chunks of rows. Each chunk stores its
+ * columns separately (i.e., column chunks), which allows reading only a subset
+ * of columns and skipping entire chunks according to their statistics.
+ *
+ * The layout of a part file is as follows:
+ * <pre>
+ * MAGIC | column chunks (chunk-major, column-minor) | footer | footer offset | MAGIC
+ * footer: version, row offset, #rows, #cols, per column (value type, name,
+ *         #distinct, missing value), #chunks, per chunk (#rows, per column
+ *         (offset, length, statistics))
+ * </pre>
+ *
+ * Column chunks are encoded by value type: strings with a chunk-local dictionary
+ * and bit-packed codes (or plain if the number of distinct values is large),
+ * booleans as bit vectors, integers as bit-packed deltas to the chunk minimum
+ * (or plain if the value range is too large), and doubles plain. The statistics
+ * comprise the number of nulls and min/max values per column chunk.
+ */
+public class FrameColumnarFormat
+{
+	public static final int MAGIC = 0x53434F4C; //"SCOL"
+	public static final byte VERSION = 1;
+
+	/** Default number of rows per chunk (granularity of chunk skipping). */
+	public static final int DEFAULT_CHUNK_SIZE = 16 * 1024;
+
+	//encodings of column chunks
+	private static final byte ENC_PLAIN = 0;
+	private static final byte ENC_DICT = 1;
+	private static final byte ENC_BITPACKED = 2;
+
+	private static final int FOOTER_TAIL_SIZE = 8 + 4; //footer offset, magic
+
+	/**
+	 * Footer of a columnar part file, comprising the schema and column
+	 * meta data as well as the index and statistics of all column chunks.
+	 */
+	public static class FileFooter
+	{
+		public long rowOffset;
+		public int nrow;
+		public ValueType[] schema;
+		public String[] names;
+		public long[] ndistinct;
+		public String[] mvvalues;
+		public ChunkInfo[] chunks;
+
+		public int getNumColumns() {
+			return schema.length;
+		}
+	}
+
+	/**
+	 * Index entry of a single chunk of rows, with byte offsets, lengths,
+	 * and statistics of all its column chunks.
+	 */
+	public static class ChunkInfo
+	{
+		public int nrow;
+		public long[] offsets;
+		public int[] lengths;
+		public ColumnStats[] stats;
+
+		public ChunkInfo(int ncol) {
+			offsets = new long[ncol];
+			lengths = new int[ncol];
+			stats = new ColumnStats[ncol];
+		}
+	}
+
+	/**
+	 * Statistics of a column chunk: number of nulls and min/max values, where
+	 * min/max are kept as doubles for numeric and boolean columns and as strings
+	 * (in lexicographical order) for string columns. Min/max of column chunks
+	 * without non-null (or non-NaN) values are undefined, i.e., min > max.
+	 */
+	public static class ColumnStats
+	{
+		public int numNulls = 0;
+		public double min = Double.POSITIVE_INFINITY;
+		public double max = Double.NEGATIVE_INFINITY;
+		public String minStr = null;
+		public String maxStr = null;
+
+		public boolean isEmpty(ValueType vt) {
+			return (vt == ValueType.STRING) ?
+				(minStr == null) : (min > max);
+		}
+	}
+
+	/**
+	 * Inclusive range predicate on a single column, which is evaluated against
+	 * column chunk statistics in order to skip chunks that cannot contain any
+	 * qualifying row. Numeric bounds apply to int, double, and boolean (0/1)
+	 * columns, string bounds (lexicographical order) to string columns; null
+	 * bounds are unbounded. Note that chunk skipping is conservative, i.e., the
+	 * read rows of non-skipped chunks might not satisfy the predicate.
+	 */
+	public static class ColumnRangePredicate
+	{
+		private final int _col;
+		private final Double _lower;
+		private final Double _upper;
+		private final String _lowerStr;
+		private final String _upperStr;
+
+		public ColumnRangePredicate(int col, Double lower, Double upper) {
+			_col = col;
+			_lower = lower;
+			_upper = upper;
+			_lowerStr = null;
+			_upperStr = null;
+		}
+
+		public ColumnRangePredicate(int col, String lower, String upper) {
+			_col = col;
+			_lower = null;
+			_upper = null;
+			_lowerStr = lower;
+			_upperStr = upper;
+		}
+
+		/**
+		 * Gets the 0-based column index of this predicate.
+		 *
+		 * @return column index
+		 */
+		public int getColumn() {
+			return _col;
+		}
+
+		/**
+		 * Indicates if the given column chunk might contain qualifying rows.
+		 *
+		 * @param vt value type of the column
+		 * @param stats column chunk statistics
+		 * @return false if the column chunk can be skipped
+		 */
+		public boolean mayMatch(ValueType vt, ColumnStats stats) {
+			if( stats.isEmpty(vt) )
+				return false; //only nulls/NaNs, never qualifying
+			if( vt == ValueType.STRING )
+				return (_lowerStr == null || stats.maxStr.compareTo(_lowerStr) >= 0)
+					&& (_upperStr == null || stats.minStr.compareTo(_upperStr) <= 0);
+			return (_lower == null || stats.max >= _lower)
+				&& (_upper == null || stats.min <= _upper);
+		}
+	}
+
+	////////
+	// encoding of column chunks
+
+	/**
+	 * Encodes the given row range of a column into the given output and returns
+	 * the statistics of the encoded column chunk.
+	 *
+	 * @param vt value type of the column
+	 * @param coldata column data (String[], boolean[], long[], or double[])
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 * @param out data output
+	 * @return statistics of the column chunk
+	 * @throws IOException if IOException occurs
+	 */
+	public static ColumnStats encodeColumnChunk(ValueType vt, Object coldata, int rl, int ru, DataOutput out)
+		throws IOException
+	{
+		switch( vt ) {
+			case STRING:  return encodeStringChunk((String[])coldata, rl, ru, out);
+			case BOOLEAN: return encodeBooleanChunk((boolean[])coldata, rl, ru, out);
+			case INT:     return encodeLongChunk((long[])coldata, rl, ru, out);
+			case DOUBLE:  return encodeDoubleChunk((double[])coldata, rl, ru, out);
+			default: throw new IOException("Unsupported value type: "+vt);
+		}
+	}
+
+	private static ColumnStats encodeStringChunk(String[] data, int rl, int ru, DataOutput out)
+		throws IOException
+	{
+		ColumnStats stats = new ColumnStats();
+		int n = ru - rl;
+
+		//build chunk-local dictionary (codes 1..d, 0 for null) and stats
+		HashMap<String,Integer> dict = new HashMap<>();
+		long[] codes = new long[n];
+		for( int i=rl; i<ru; i++ ) {
+			String val = data[i];
+			if( val == null ) {
+				stats.numNulls++;
+				continue;
+			}
+			Integer code = dict.get(val);
+			if( code == null ) {
+				code = dict.size() + 1;
+				dict.put(val, code);
+				if( stats.minStr == null || val.compareTo(stats.minStr) < 0 )
+					stats.minStr = val;
+				if( stats.maxStr == null || val.compareTo(stats.maxStr) > 0 )
+					stats.maxStr = val;
+			}
+			codes[i-rl] = code;
+		}
+
+		if( 2L * dict.size() <= n ) { //DICTIONARY
+			String[] entries = new String[dict.size()];
+			for( Entry<String,Integer> e : dict.entrySet() )
+				entries[e.getValue()-1] = e.getKey();
+			out.writeByte(ENC_DICT);
+			out.writeInt(entries.length);
+			for( String entry : entries )
+				writeString(out, entry);
+			writePacked(out, codes, n, bitWidth(entries.length));
+		}
+		else { //PLAIN
+			out.writeByte(ENC_PLAIN);
+			for( int i=rl; i<ru; i++ )
+				writeString(out, data[i]);
+		}
+		return stats;
+	}
+
+	private static ColumnStats encodeBooleanChunk(boolean[] data, int rl, int ru, DataOutput out)
+		throws IOException
+	{
+		ColumnStats stats = new ColumnStats();
+		int n = ru - rl;
+		long[] bits = new long[n];
+		for( int i=rl; i<ru; i++ ) {
+			double val = data[i] ? 1 : 0;
+			stats.min = Math.min(stats.min, val);
+			stats.max = Math.max(stats.max, val);
+			bits[i-rl] = (long) val;
+		}
+		out.writeByte(ENC_BITPACKED);
+		writePacked(out, bits, n, 1);
+		return stats;
+	}
+
+	private static ColumnStats encodeLongChunk(long[] data, int rl, int ru, DataOutput out)
+		throws IOException
+	{
+		ColumnStats stats = new ColumnStats();
+		int n = ru - rl;
+		long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+		for( int i=rl; i<ru; i++ ) {
+			min = Math.min(min, data[i]);
+			max = Math.max(max, data[i]);
+		}
+		if( n > 0 ) {
+			stats.min = min;
+			stats.max = max;
+		}
+
+		//bit-packed deltas if the value range does not overflow
+		long range = max - min;
+		if( n > 0 && range >= 0 && bitWidth(range) < 64 ) { //BITPACKED
+			long[] deltas = new long[n];
+			for( int i=rl; i<ru; i++ )
+				deltas[i-rl] = data[i] - min;
+			out.writeByte(ENC_BITPACKED);
+			out.writeLong(min);
+			writePacked(out, deltas, n, bitWidth(range));
+		}
+		else { //PLAIN
+			out.writeByte(ENC_PLAIN);
+			for( int i=rl; i<ru; i++ )
+				out.writeLong(data[i]);
+		}
+		return stats;
+	}
+
+	private static ColumnStats encodeDoubleChunk(double[] data, int rl, int ru, DataOutput out)
+		throws IOException
+	{
+		ColumnStats stats = new ColumnStats();
+		out.writeByte(ENC_PLAIN);
+		for( int i=rl; i<ru; i++ ) {
+			double val = data[i];
+			if( !Double.isNaN(val) ) {
+				stats.min = Math.min(stats.min, val);
+				stats.max = Math.max(stats.max, val);
+			}
+			out.writeDouble(val);
+		}
+		return stats;
+	}
+
+	////////
+	// decoding of column chunks
+
+	/**
+	 * Decodes the given column chunk into the given output column, starting
+	 * at the given row offset. Disjoint row ranges can be decoded concurrently.
+	 *
+	 * @param vt value type of the column
+	 * @param buff encoded column chunk
+	 * @param n number of rows of the column chunk
+	 * @param coldata output column data (String[], boolean[], long[], or double[])
+	 * @param off row offset in the output column
+	 * @throws IOException if the column chunk is corrupted
+	 */
+	public static void decodeColumnChunk(ValueType vt, ByteBuffer buff, int n, Object coldata, int off)
+		throws IOException
+	{
+		try {
+			byte enc = buff.get();
+			switch( vt ) {
+				case STRING: {
+					String[] data = (String[]) coldata;
+					if( enc == ENC_DICT ) {
+						String[] entries = new String[buff.getInt()+1];
+						for( int k=1; k<entries.length; k++ )
+							entries[k] = readString(buff);
+						long[] codes = readPacked(buff, n, bitWidth(entries.length-1));
+						for( int i=0; i<n; i++ )
+							data[off+i] = entries[(int)codes[i]];
+					}
+					else {
+						for( int i=0; i<n; i++ )
+							data[off+i] = readString(buff);
+					}
+					break;
+				}
+				case BOOLEAN: {
+					boolean[] data = (boolean[]) coldata;
+					long[] bits = readPacked(buff, n, 1);
+					for( int i=0; i<n; i++ )
+						data[off+i] = (bits[i] != 0);
+					break;
+				}
+				case INT: {
+					long[] data = (long[]) coldata;
+					if( enc == ENC_BITPACKED ) {
+						long min = buff.getLong();
+						long[] deltas = readPacked(buff, n, -1);
+						for( int i=0; i<n; i++ )
+							data[off+i] = min + deltas[i];
+					}
+					else {
+						for( int i=0; i<n; i++ )
+							data[off+i] = buff.getLong();
+					}
+					break;
+				}
+				case DOUBLE: {
+					double[] data = (double[]) coldata;
+					for( int i=0; i<n; i++ )
+						data[off+i] = buff.getDouble();
+					break;
+				}
+				default:
+					throw new IOException("Unsupported value type: "+vt);
+			}
+		}
+		catch(BufferUnderflowException | IndexOutOfBoundsException ex) {
+			throw new IOException("Corrupted column chunk of value type "+vt+".", ex);
+		}
+	}
+
+	////////
+	// footer serialization
+
+	public static void writeFooter(DataOutput out, FileFooter footer)
+		throws IOException
+	{
+		int ncol = footer.getNumColumns();
+		out.writeByte(VERSION);
+		out.writeLong(footer.rowOffset);
+		out.writeInt(footer.nrow);
+		out.writeInt(ncol);
+		for( int j=0; j<ncol; j++ ) {
+			out.writeByte(footer.schema[j].ordinal());
+			writeString(out, footer.names[j]);
+			out.writeLong(footer.ndistinct[j]);
+			writeString(out, footer.mvvalues[j]);
+		}
+		out.writeInt(footer.chunks.length);
+		for( ChunkInfo chunk : footer.chunks ) {
+			out.writeInt(chunk.nrow);
+			for( int j=0; j<ncol; j++ ) {
+				ColumnStats stats = chunk.stats[j];
+				out.writeLong(chunk.offsets[j]);
+				out.writeInt(chunk.lengths[j]);
+				out.writeInt(stats.numNulls);
+				if( footer.schema[j] == ValueType.STRING ) {
+					writeString(out, stats.minStr);
+					writeString(out, stats.maxStr);
+				}
+				else {
+					out.writeDouble(stats.min);
+					out.writeDouble(stats.max);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the footer of the given columnar part file.
+	 *
+	 * @param fs file system
+	 * @param path path of the part file
+	 * @return file footer
+	 * @throws IOException if the file is not a valid columnar frame file
+	 */
+	public static FileFooter readFooter(FileSystem fs, Path path)
+		throws IOException
+	{
+		long len = fs.getFileStatus(path).getLen();
+		if( len < 4 + FOOTER_TAIL_SIZE )
+			throw new IOException("Invalid columnar frame file (too small): "+path.toString());
+
+		try( FSDataInputStream in = fs.open(path) ) {
+			//read footer offset and validate magic numbers
+			byte[] tail = new byte[FOOTER_TAIL_SIZE];
+			in.readFully(len - FOOTER_TAIL_SIZE, tail, 0, FOOTER_TAIL_SIZE);
+			ByteBuffer tbuff = ByteBuffer.wrap(tail);
+			long foff = tbuff.getLong();
+			if( tbuff.getInt() != MAGIC || in.readInt() != MAGIC || foff < 4 || foff > len - FOOTER_TAIL_SIZE )
+				throw new IOException("Invalid columnar frame file (magic number mismatch): "+path.toString());
+
+			//read and parse footer
+			byte[] fbuff = new byte[(int)(len - FOOTER_TAIL_SIZE - foff)];
+			in.readFully(foff, fbuff, 0, fbuff.length);
+			return parseFooter(ByteBuffer.wrap(fbuff), path);
+		}
+	}
+
+	private static FileFooter parseFooter(ByteBuffer buff, Path path)
+		throws IOException
+	{
+		try {
+			byte version = buff.get();
+			if( version != VERSION )
+				throw new IOException("Unsupported version "+version+" of columnar frame file: "+path.toString());
+			FileFooter footer = new FileFooter();
+			footer.rowOffset = buff.getLong();
+			footer.nrow = buff.getInt();
+			int ncol = buff.getInt();
+			footer.schema = new ValueType[ncol];
+			footer.names = new String[ncol];
+			footer.ndistinct = new long[ncol];
+			footer.mvvalues = new String[ncol];
+			for( int j=0; j<ncol; j++ ) {
+				footer.schema[j] = ValueType.values()[buff.get()];
+				footer.names[j] = readString(buff);
+				footer.ndistinct[j] = buff.getLong();
+				footer.mvvalues[j] = readString(buff);
+			}
+			footer.chunks = new ChunkInfo[buff.getInt()];
+			for( int k=0; k<footer.chunks.length; k++ ) {
+				ChunkInfo chunk = new ChunkInfo(ncol);
+				chunk.nrow = buff.getInt();
+				for( int j=0; j<ncol; j++ ) {
+					ColumnStats stats = new ColumnStats();
+					chunk.offsets[j] = buff.getLong();
+					chunk.lengths[j] = buff.getInt();
+					stats.numNulls = buff.getInt();
+					if( footer.schema[j] == ValueType.STRING ) {
+						stats.minStr = readString(buff);
+						stats.maxStr = readString(buff);
+					}
+					else {
+						stats.min = buff.getDouble();
+						stats.max = buff.getDouble();
+					}
+					chunk.stats[j] = stats;
+				}
+				footer.chunks[k] = chunk;
+			}
+			return footer;
+		}
+		catch(BufferUnderflowException | IndexOutOfBoundsException ex) {
+			throw new IOException("Corrupted footer of columnar frame file: "+path.toString(), ex);
+		}
+	}
+
+	////////
+	// primitives for strings and bit-packed values
+
+	private static void writeString(DataOutput out, String val)
+		throws IOException
+	{
+		//note: length-prefixed utf-8 w/o the 64KB limit of writeUTF
+		if( val == null ) {
+			out.writeInt(-1);
+			return;
+		}
+		byte[] bytes = val.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(ByteBuffer buff) {
+		int len = buff.getInt();
+		if( len < 0 )
+			return null;
+		String ret = new String(buff.array(),
+			buff.arrayOffset() + buff.position(), len, StandardCharsets.UTF_8);
+		buff.position(buff.position() + len);
+		return ret;
+	}
+
+	/**
+	 * Gets the number of bits required to represent values in [0, maxval].
+	 *
+	 * @param maxval maximum non-negative value
+	 * @return number of bits (at least 1)
+	 */
+	protected static int bitWidth(long maxval) {
+		return Math.max(64 - Long.numberOfLeadingZeros(maxval), 1);
+	}
+
+	private static void writePacked(DataOutput out, long[] vals, int n, int width)
+		throws IOException
+	{
+		out.writeByte(width);
+		long word = 0;
+		int used = 0; //bits used in current word
+		for( int i=0; i<n; i++ ) {
+			long val = vals[i];
+			word |= val << used;
+			used += width;
+			if( used >= 64 ) {
+				out.writeLong(word);
+				used -= 64;
+				//carry the remaining high bits of the current value
+				word = (used > 0) ? val >>> (width - used) : 0;
+			}
+		}
+		if( used > 0 )
+			out.writeLong(word);
+	}
+
+	private static long[] readPacked(ByteBuffer buff, int n, int expectedWidth)
+		throws IOException
+	{
+		//note: expected width -1 for data-dependent widths
+		int width = buff.get();
+		if( (expectedWidth > 0 && width != expectedWidth) || width < 1 || width > 63 )
+			throw new IOException("Invalid bit width "+width+" (expected "+expectedWidth+").");
+		long mask = (1L << width) - 1;
+		long[] ret = new long[n];
+		long word = 0;
+		int avail = 0; //remaining bits in current word
+		for( int i=0; i<n; i++ ) {
+			if( avail >= width ) {
+				ret[i] = word & mask;
+				word >>>= width;
+				avail -= width;
+			}
+			else {
+				//combine remaining low bits w/ bits of the next word
+				long next = buff.getLong();
+				long val = word | (next << avail);
+				ret[i] = val & mask;
+				word = next >>> (width - avail);
+				avail = 64 - (width - avail);
+			}
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.ChunkInfo;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.ColumnRangePredicate;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.FileFooter;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.FrameBlock.ColumnMetadata;
+
+/**
+ * Single-threaded frame reader for the columnar binary format (see
+ * {@link FrameColumnarFormat}). Besides full reads, this reader supports
+ * column projection (i.e., reading only the column chunks of selected
+ * columns) and chunk skipping according to range predicates over the
+ * column chunk statistics. The schema and column names are taken from
+ * the file footers.
+ *
+ */
+public class FrameReaderColumnar extends FrameReader
+{
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//read all columns and chunks
+		return readFrameFromHDFS(fname, rlen, clen, null, null);
+	}
+
+	/**
+	 * Reads the selected columns of a columnar frame, where chunks of rows that
+	 * cannot satisfy all given predicates are skipped. Note that the predicates
+	 * are only evaluated against chunk statistics, i.e., the output might still
+	 * contain rows that do not satisfy the predicates.
+	 *
+	 * @param fname file name
+	 * @param rlen number of rows, or -1 if unknown
+	 * @param clen number of columns, or -1 if unknown
+	 * @param cols 0-based indexes of columns to read, or null for all columns
+	 * @param preds range predicates for chunk skipping, or null
+	 * @return frame block with the selected columns
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public final FrameBlock readFrameFromHDFS(String fname, long rlen, long clen, int[] cols, List<ColumnRangePredicate> preds)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//read footers of all part files (in order of row offsets)
+		Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		if( files.length == 0 )
+			throw new IOException("No part files found for columnar frame: "+fname);
+		FileFooter[] footers = new FileFooter[files.length];
+		for( int i=0; i<files.length; i++ )
+			footers[i] = FrameColumnarFormat.readFooter(fs, files[i]);
+		Integer[] order = sortByRowOffset(footers);
+
+		//check consistency of part files and meta data
+		FileFooter first = footers[order[0]];
+		int ncol = first.getNumColumns();
+		long nrow = 0;
+		for( FileFooter footer : footers ) {
+			if( !Arrays.equals(footer.schema, first.schema) )
+				throw new IOException("Inconsistent schema of columnar part files: "+fname);
+			nrow += footer.nrow;
+		}
+		if( (rlen > 0 && rlen != nrow) || (clen > 0 && clen != ncol) )
+			throw new IOException("Read frame inconsistent with given meta data: "
+				+ "expected "+rlen+"x"+clen+", real "+nrow+"x"+ncol+".");
+		int[] lcols = (cols != null) ? cols : seq(ncol);
+		for( int c : lcols )
+			if( c < 0 || c >= ncol )
+				throw new IOException("Invalid column index "+c+" for frame with "+ncol+" columns.");
+		for( int i=0; preds!=null && i<preds.size(); i++ )
+			if( preds.get(i).getColumn() < 0 || preds.get(i).getColumn() >= ncol )
+				throw new IOException("Invalid predicate column "+preds.get(i).getColumn()
+					+" for frame with "+ncol+" columns.");
+
+		//collect qualifying chunks and compute output row offsets
+		ArrayList<ChunkRef> refs = new ArrayList<>();
+		int rpos = 0;
+		for( Integer i : order ) {
+			for( ChunkInfo chunk : footers[i].chunks ) {
+				if( !mayMatch(first.schema, chunk, preds) )
+					continue;
+				refs.add(new ChunkRef(files[i], chunk, rpos));
+				rpos += chunk.nrow;
+			}
+		}
+
+		//allocate output frame block w/ projected schema and meta data
+		ValueType[] lschema = new ValueType[lcols.length];
+		String[] lnames = new String[lcols.length];
+		for( int j=0; j<lcols.length; j++ ) {
+			lschema[j] = first.schema[lcols[j]];
+			lnames[j] = first.names[lcols[j]];
+		}
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rpos);
+		for( int j=0; j<lcols.length; j++ )
+			ret.setColumnMetadata(j, new ColumnMetadata(
+				first.ndistinct[lcols[j]], first.mvvalues[lcols[j]]));
+
+		//core read of qualifying column chunks (sequential/parallel)
+		readColumnarFrameFromHDFS(fs, refs, lcols, ret);
+
+		return ret;
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+
+	protected void readColumnarFrameFromHDFS( FileSystem fs, List<ChunkRef> refs, int[] cols, FrameBlock dest )
+		throws IOException, DMLRuntimeException
+	{
+		//sequential read of all chunks
+		readColumnChunks(fs, refs, cols, dest);
+	}
+
+	/**
+	 * Internal primitive to read the selected column chunks of the given chunks
+	 * into disjoint row ranges of the output, which is used for both single- and
+	 * multi-threaded readers.
+	 *
+	 * @param fs file system
+	 * @param refs chunks with output row offsets, ordered by files
+	 * @param cols 0-based indexes of columns to read
+	 * @param dest output frame block
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void readColumnChunks( FileSystem fs, List<ChunkRef> refs, int[] cols, FrameBlock dest )
+		throws IOException
+	{
+		ValueType[] schema = dest.getSchema();
+		byte[] buff = new byte[0];
+		FSDataInputStream in = null;
+		Path current = null;
+		try {
+			for( ChunkRef ref : refs ) {
+				//open part file on change (refs ordered by files)
+				if( !ref.path.equals(current) ) {
+					IOUtilFunctions.closeSilently(in);
+					in = fs.open(ref.path);
+					current = ref.path;
+				}
+				//read and decode the selected column chunks
+				for( int j=0; j<cols.length; j++ ) {
+					int len = ref.chunk.lengths[cols[j]];
+					if( buff.length < len )
+						buff = new byte[len];
+					in.readFully(ref.chunk.offsets[cols[j]], buff, 0, len);
+					FrameColumnarFormat.decodeColumnChunk(schema[j], ByteBuffer.wrap(buff, 0, len),
+						ref.chunk.nrow, dest.getColumnData(j), ref.rowOffset);
+				}
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+	}
+
+	private static boolean mayMatch(ValueType[] schema, ChunkInfo chunk, List<ColumnRangePredicate> preds) {
+		for( int i=0; preds!=null && i<preds.size(); i++ ) {
+			ColumnRangePredicate pred = preds.get(i);
+			if( !pred.mayMatch(schema[pred.getColumn()], chunk.stats[pred.getColumn()]) )
+				return false;
+		}
+		return true;
+	}
+
+	private static Integer[] sortByRowOffset(final FileFooter[] footers) {
+		Integer[] ret = new Integer[footers.length];
+		for( int i=0; i<footers.length; i++ )
+			ret[i] = i;
+		Arrays.sort(ret, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return Long.compare(footers[o1].rowOffset, footers[o2].rowOffset);
+			}
+		});
+		return ret;
+	}
+
+	private static int[] seq(int n) {
+		int[] ret = new int[n];
+		for( int i=0; i<n; i++ )
+			ret[i] = i;
+		return ret;
+	}
+
+	/**
+	 * Reference to a qualifying chunk of a part file and its row offset in the output.
+	 */
+	protected static class ChunkRef
+	{
+		protected final Path path;
+		protected final ChunkInfo chunk;
+		protected final int rowOffset;
+
+		public ChunkRef(Path path, ChunkInfo chunk, int rowOffset) {
+			this.path = path;
+			this.chunk = chunk;
+			this.rowOffset = rowOffset;
+		}
+	}
+}
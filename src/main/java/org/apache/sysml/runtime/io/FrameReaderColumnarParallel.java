@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+
+/**
+ * Multi-threaded frame reader for the columnar binary format, which decodes
+ * contiguous groups of qualifying chunks into disjoint row ranges of the output.
+ *
+ */
+public class FrameReaderColumnarParallel extends FrameReaderColumnar
+{
+	@Override
+	protected void readColumnarFrameFromHDFS( FileSystem fs, List<ChunkRef> refs, int[] cols, FrameBlock dest )
+		throws IOException, DMLRuntimeException
+	{
+		int numThreads = Math.min(OptimizerUtils.getParallelBinaryReadParallelism(), refs.size());
+
+		//fall back to sequential read for small inputs
+		if( numThreads <= 1 ) {
+			super.readColumnarFrameFromHDFS(fs, refs, cols, dest);
+			return;
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try
+		{
+			//create read tasks for contiguous groups of chunks
+			ArrayList<ReadChunksTask> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)refs.size() / numThreads);
+			for( int i=0; i<numThreads & i*blklen<refs.size(); i++ )
+				tasks.add(new ReadChunksTask(fs, refs.subList(i*blklen,
+					Math.min((i+1)*blklen, refs.size())), cols, dest));
+
+			//wait until all tasks have been executed
+			List<Future<Object>> rt = pool.invokeAll(tasks);
+
+			//check for exceptions
+			for( Future<Object> task : rt )
+				task.get();
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of columnar frame.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static class ReadChunksTask implements Callable<Object>
+	{
+		private final FileSystem _fs;
+		private final List<ChunkRef> _refs;
+		private final int[] _cols;
+		private final FrameBlock _dest;
+
+		public ReadChunksTask(FileSystem fs, List<ChunkRef> refs, int[] cols, FrameBlock dest) {
+			_fs = fs;
+			_refs = refs;
+			_cols = cols;
+			_dest = dest;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			readColumnChunks(_fs, _refs, _cols, _dest);
+			return null;
+		}
+	}
+}
@@ -63,6 +63,12 @@ public class FrameReaderFactory
 			else
 				reader = new FrameReaderBinaryBlock();
 		}
+		else if( iinfo == InputInfo.ColumnarFrameInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) )
+				reader = new FrameReaderColumnarParallel();
+			else
+				reader = new FrameReaderColumnar();
+		}
 		else {
 			throw new DMLRuntimeException("Failed to create frame reader for unknown input info: "
 				+ InputInfo.inputInfoToString(iinfo));
@@ -22,6 +22,7 @@ package org.apache.sysml.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 
+import org.apache.commons.lang.ArrayUtils;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
@@ -44,11 +45,16 @@ import org.apache.sysml.runtime.util.InputStreamInputFormat;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
- * Single-threaded frame text csv reader.
+ * Single-threaded frame text csv reader. Columns of value type UNKNOWN
+ * are parsed into typed columns according to value types inferred from
+ * a sample of rows (see {@link #inferValueType(String)}).
  * 
  */
 public class FrameReaderTextCSV extends FrameReader
 {
+	//number of rows per split for value type inference
+	protected static final int SCHEMA_SAMPLE_ROWS = 1024;
+	
 	protected CSVFileFormatProperties _props = null;
 	
 	public FrameReaderTextCSV(CSVFileFormatProperties props) {
@@ -76,13 +82,29 @@ public class FrameReaderTextCSV extends FrameReader
 			clen = size.getValue();
 		}
 		
-		//allocate output frame block
+		//infer unknown value types from a sample of rows
 		ValueType[] lschema = createOutputSchema(schema, clen);
 		String[] lnames = createOutputNames(names, clen);
+		InferredSchema ischema = null;
+		if( ArrayUtils.contains(lschema, ValueType.UNKNOWN) ) {
+			ischema = inferCSVSchema(path, job, fs, lschema);
+			lschema = ischema.getSchema();
+		}
+		
+		//allocate output frame block
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
 	
 		//core read (sequential/parallel) 
-		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
+		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen, ischema);
+		
+		//re-read with generalized value types if values outside
+		//the sample do not match the inferred value types
+		while( ischema != null && ischema.hasMismatch() ) {
+			ischema = ischema.generalize();
+			lschema = ischema.getSchema();
+			ret = createOutputFrameBlock(lschema, lnames, rlen);
+			readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen, ischema);
+		}
 		
 		return ret;
 	}
@@ -92,21 +114,27 @@ public class FrameReaderTextCSV extends FrameReader
 			long rlen, long clen)
 		throws IOException, DMLRuntimeException 
 	{
-		//allocate output frame block
+		//allocate output frame block (no inference, unknown value types read as strings)
 		ValueType[] lschema = createOutputSchema(schema, clen);
+		if( ArrayUtils.contains(lschema, ValueType.UNKNOWN) ) {
+			lschema = lschema.clone();
+			for( int j=0; j<lschema.length; j++ )
+				if( lschema[j] == ValueType.UNKNOWN )
+					lschema[j] = ValueType.STRING;
+		}
 		String[] lnames = createOutputNames(names, clen);
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
 	
 		//core read (sequential/parallel) 
 		InputStreamInputFormat informat = new InputStreamInputFormat(is);
 		InputSplit split = informat.getSplits(null, 1)[0];
-		readCSVFrameFromInputSplit(split, informat, null, ret, schema, names, rlen, clen, 0, true);
+		readCSVFrameFromInputSplit(split, informat, null, ret, lschema, names, rlen, clen, 0, true, null);
 		
 		return ret;
 	}
 
 	protected void readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
-			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen) 
+			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen, InferredSchema ischema) 
 		throws IOException
 	{
 		TextInputFormat informat = new TextInputFormat();
@@ -115,11 +143,11 @@ public class FrameReaderTextCSV extends FrameReader
 		splits = IOUtilFunctions.sortInputSplits(splits);
 		for( int i=0, rpos=0; i<splits.length; i++ )
 			rpos = readCSVFrameFromInputSplit(splits[i], informat,
-				job, dest, schema, names, rlen, clen, rpos, i==0);
+				job, dest, schema, names, rlen, clen, rpos, i==0, ischema);
 	}
 
 	protected final int readCSVFrameFromInputSplit( InputSplit split, InputFormat<LongWritable,Text> informat, JobConf job, 
-			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen, int rl, boolean first)
+			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen, int rl, boolean first, InferredSchema ischema)
 		throws IOException
 	{
 		boolean hasHeader = _props.hasHeader();
@@ -170,6 +198,11 @@ public class FrameReaderTextCSV extends FrameReader
 							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
 						emptyValuesFound = true;
 					}
+					else if( ischema != null && ischema.isInferred(col) ) {
+						//parse into typed column, record mismatches for re-read
+						if( !parseAndSet(dest, schema[col], row, col, part) )
+							ischema.addMismatch(col, part);
+					}
 					else {
 						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
 					}
@@ -189,6 +222,18 @@ public class FrameReaderTextCSV extends FrameReader
 		return row;
 	}
 
+	private static boolean parseAndSet(FrameBlock dest, ValueType vt, int row, int col, String part) {
+		if( vt == ValueType.BOOLEAN && inferValueType(part) != ValueType.BOOLEAN )
+			return false;
+		try {
+			dest.parseAndSet(row, col, part);
+			return true;
+		}
+		catch(NumberFormatException ex) {
+			return false;
+		}
+	}
+
 	protected Pair<Integer,Integer> computeCSVSize( Path path, JobConf job, FileSystem fs) 
 		throws IOException 
 	{	
@@ -227,4 +272,192 @@ public class FrameReaderTextCSV extends FrameReader
 		}
 		return new Pair<>(nrow, ncol);
 	}
+
+	protected InferredSchema inferCSVSchema( Path path, JobConf job, FileSystem fs, ValueType[] schema) 
+		throws IOException 
+	{
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, 1);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		//infer value types from the first rows of all splits
+		ValueType[] types = new ValueType[schema.length];
+		for( int i=0; i<splits.length; i++ )
+			mergeValueTypes(types, inferCSVSchemaFromInputSplit(
+				splits[i], informat, job, schema.length, i==0));
+		return new InferredSchema(schema, types);
+	}
+	
+	/**
+	 * Infers the value types of all columns from the first 
+	 * {@link #SCHEMA_SAMPLE_ROWS} rows of the given split.
+	 * 
+	 * @param split input split
+	 * @param informat input format
+	 * @param job job configuration
+	 * @param clen number of columns
+	 * @param first true if first split (with header if existing)
+	 * @return value types per column, null for columns w/o non-empty values
+	 * @throws IOException if IOException occurs
+	 */
+	protected final ValueType[] inferCSVSchemaFromInputSplit( InputSplit split, InputFormat<LongWritable,Text> informat, 
+			JobConf job, int clen, boolean first)
+		throws IOException
+	{
+		String delim = _props.getDelim();
+		ValueType[] ret = new ValueType[clen];
+		
+		RecordReader<LongWritable, Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
+		LongWritable key = new LongWritable();
+		Text value = new Text();
+		try
+		{
+			//ignore header of first split
+			if( first && _props.hasHeader() )
+				reader.next(key, value);
+			
+			for( int i=0; i<SCHEMA_SAMPLE_ROWS && reader.next(key, value); ) {
+				String cellStr = value.toString().trim();
+				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
+				if( parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX) )
+					continue; //ignore meta data
+				for( int j=0; j<Math.min(parts.length, clen); j++ ) {
+					String part = parts[j].trim();
+					if( !part.isEmpty() )
+						ret[j] = mergeValueTypes(ret[j], inferValueType(part));
+				}
+				i++;
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		
+		return ret;
+	}
+	
+	/**
+	 * Infers the most specific value type of the given non-empty string,
+	 * where integers with leading zeros (e.g., identifiers) and numbers with
+	 * Java-specific type suffixes (e.g., 1d) are kept as strings.
+	 * 
+	 * @param val non-empty string value
+	 * @return value type
+	 */
+	protected static ValueType inferValueType(String val) {
+		int len = val.length();
+		
+		//boolean values (case-insensitive, as in Boolean.parseBoolean)
+		if( val.equalsIgnoreCase("true") || val.equalsIgnoreCase("false") )
+			return ValueType.BOOLEAN;
+		
+		//integer values
+		int pos = (val.charAt(0)=='-' || val.charAt(0)=='+') ? 1 : 0;
+		int i = pos;
+		while( i<len && Character.isDigit(val.charAt(i)) )
+			i++;
+		if( i == len && len > pos ) {
+			if( val.charAt(pos)=='0' && len-pos > 1 )
+				return ValueType.STRING;
+			if( len-pos <= 18 ) //always in long range
+				return ValueType.INT;
+			try {
+				Long.parseLong(val);
+				return ValueType.INT;
+			}
+			catch(NumberFormatException ex) {
+				return ValueType.STRING;
+			}
+		}
+		
+		//double values
+		char last = val.charAt(len-1);
+		if( Character.isDigit(last) || last=='.' || val.equals("NaN") || val.endsWith("Infinity") ) {
+			try {
+				Double.parseDouble(val);
+				return ValueType.DOUBLE;
+			}
+			catch(NumberFormatException ex) {
+				//fall through to string
+			}
+		}
+		
+		return ValueType.STRING;
+	}
+	
+	protected static ValueType mergeValueTypes(ValueType vt1, ValueType vt2) {
+		if( vt1 == null || vt1 == vt2 )
+			return vt2;
+		else if( vt2 == null )
+			return vt1;
+		else if( (vt1==ValueType.INT && vt2==ValueType.DOUBLE)
+			|| (vt1==ValueType.DOUBLE && vt2==ValueType.INT) )
+			return ValueType.DOUBLE;
+		return ValueType.STRING;
+	}
+	
+	protected static void mergeValueTypes(ValueType[] vt1, ValueType[] vt2) {
+		for( int j=0; j<vt1.length; j++ )
+			vt1[j] = mergeValueTypes(vt1[j], vt2[j]);
+	}
+	
+	/**
+	 * Schema of a csv input with value types inferred for all columns of
+	 * unknown value type. Values outside the sample that do not match the
+	 * inferred value type are recorded by concurrent read tasks, which
+	 * allows a re-read with generalized value types.
+	 */
+	protected static class InferredSchema
+	{
+		private final boolean[] _inferred;
+		private final ValueType[] _schema;
+		private final ValueType[] _mismatch;
+		private boolean _hasMismatch = false;
+		
+		public InferredSchema(ValueType[] schema, ValueType[] types) {
+			_inferred = new boolean[schema.length];
+			_schema = new ValueType[schema.length];
+			_mismatch = new ValueType[schema.length];
+			for( int j=0; j<schema.length; j++ ) {
+				_inferred[j] = (schema[j] == ValueType.UNKNOWN);
+				_schema[j] = !_inferred[j] ? schema[j] :
+					(types[j] != null) ? types[j] : ValueType.STRING;
+			}
+		}
+		
+		public ValueType[] getSchema() {
+			return _schema;
+		}
+		
+		public boolean isInferred(int col) {
+			return _inferred[col];
+		}
+		
+		public synchronized void addMismatch(int col, String val) {
+			_mismatch[col] = mergeValueTypes(
+				mergeValueTypes(_mismatch[col], _schema[col]), inferValueType(val));
+			_hasMismatch = true;
+		}
+		
+		public synchronized boolean hasMismatch() {
+			return _hasMismatch;
+		}
+		
+		/**
+		 * Creates a new inferred schema, where all columns with mismatches
+		 * are generalized to value types that cover the mismatching values.
+		 * 
+		 * @return generalized inferred schema
+		 */
+		public synchronized InferredSchema generalize() {
+			ValueType[] schema = new ValueType[_schema.length];
+			ValueType[] types = new ValueType[_schema.length];
+			for( int j=0; j<_schema.length; j++ ) {
+				schema[j] = _inferred[j] ? ValueType.UNKNOWN : _schema[j];
+				types[j] = (_mismatch[j] != null) ? _mismatch[j] : _schema[j];
+			}
+			return new InferredSchema(schema, types);
+		}
+	}
 }
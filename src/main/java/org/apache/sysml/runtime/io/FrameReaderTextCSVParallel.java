@@ -44,7 +44,8 @@ import org.apache.sysml.runtime.matrix.data.Pair;
 import org.apache.sysml.runtime.transform.TfUtils;
 
 /**
- * Multi-threaded frame text csv reader.
+ * Multi-threaded frame text csv reader, which reads and infers value types
+ * from all splits (e.g., part files of a directory) concurrently.
  * 
  */
 public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
@@ -55,7 +56,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 
 	@Override
 	protected void readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
-			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen) 
+			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen, InferredSchema ischema) 
 		throws IOException
 	{
 		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
@@ -87,7 +88,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 			//read individual splits
 			ArrayList<ReadRowsTask> tasks2 = new ArrayList<>();
 			for( int i=0; i<splits.length; i++ )
-				tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, offsets.get(i).intValue(), i==0));
+				tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, offsets.get(i).intValue(), i==0, ischema));
 			List<Future<Object>> rret = pool.invokeAll(tasks2);
 			pool.shutdown();
 			
@@ -133,6 +134,37 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		return new Pair<>(nrow, ncol);
 	}
 
+	@Override
+	protected InferredSchema inferCSVSchema( Path path, JobConf job, FileSystem fs, ValueType[] schema) 
+		throws IOException 
+	{
+		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
+		
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+		
+		//infer value types from the first rows of all splits (e.g., part files)
+		ValueType[] types = new ValueType[schema.length];
+		ExecutorService pool = Executors.newFixedThreadPool(
+			Math.min(numThreads, splits.length));
+		try {
+			ArrayList<InferSchemaTask> tasks = new ArrayList<>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new InferSchemaTask(splits[i], informat, job, schema.length, i==0));
+			for( Future<ValueType[]> ret : pool.invokeAll(tasks) )
+				mergeValueTypes(types, ret.get());
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel schema inference of text csv input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return new InferredSchema(schema, types);
+	}
+
 	private static class CountRowsTask implements Callable<Long> 
 	{
 		private InputSplit _split = null;
@@ -184,10 +216,10 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		private FrameBlock _dest = null;
 		private int _offset = -1;
 		private boolean _isFirstSplit = false;
-		
+		private InferredSchema _ischema = null;
 		
 		public ReadRowsTask(InputSplit split, TextInputFormat informat, JobConf job, 
-				FrameBlock dest, int offset, boolean first) 
+				FrameBlock dest, int offset, boolean first, InferredSchema ischema) 
 		{
 			_split = split;
 			_informat = informat;
@@ -195,6 +227,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 			_dest = dest;
 			_offset = offset;
 			_isFirstSplit = first;
+			_ischema = ischema;
 		}
 
 		@Override
@@ -202,8 +235,32 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 			throws Exception 
 		{
 			readCSVFrameFromInputSplit(_split, _informat, _job, _dest, _dest.getSchema(), 
-					_dest.getColumnNames(), _dest.getNumRows(), _dest.getNumColumns(), _offset, _isFirstSplit);
+					_dest.getColumnNames(), _dest.getNumRows(), _dest.getNumColumns(), _offset, _isFirstSplit, _ischema);
 			return null;
 		}
 	}
+	
+	private class InferSchemaTask implements Callable<ValueType[]> 
+	{
+		private InputSplit _split = null;
+		private TextInputFormat _informat = null;
+		private JobConf _job = null;
+		private int _clen = -1;
+		private boolean _isFirstSplit = false;
+		
+		public InferSchemaTask(InputSplit split, TextInputFormat informat, JobConf job, int clen, boolean first) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_clen = clen;
+			_isFirstSplit = first;
+		}
+
+		@Override
+		public ValueType[] call() 
+			throws Exception 
+		{
+			return inferCSVSchemaFromInputSplit(_split, _informat, _job, _clen, _isFirstSplit);
+		}
+	}
 }
@@ -24,6 +24,7 @@ import java.io.IOException;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 
 /**
  * Base class for all format-specific frame writers. Every writer is required to implement the basic 
@@ -50,4 +51,30 @@ public abstract class FrameWriter
 	{
 		return blocks[ 0 ];
 	}
+
+	/**
+	 * Appends the value of row i of the given column data (see FrameBlock.getColumnData)
+	 * to the text buffer, without intermediate string conversion of primitive values.
+	 * 
+	 * @param buff text buffer
+	 * @param vt value type of the column
+	 * @param coldata column data
+	 * @param i row index
+	 * @return false if the value is null and nothing was appended, true otherwise
+	 */
+	protected static boolean appendFrameValue( FastTextBuffer buff, ValueType vt, Object coldata, int i )
+	{
+		switch( vt ) {
+			case STRING: {
+				String val = ((String[])coldata)[i];
+				if( val != null )
+					buff.append(val);
+				return (val != null);
+			}
+			case BOOLEAN: buff.append(((boolean[])coldata)[i] ? "true" : "false"); return true;
+			case INT:     buff.append(((long[])coldata)[i]); return true;
+			case DOUBLE:  buff.append(((double[])coldata)[i]); return true;
+			default:      return false;
+		}
+	}
 }
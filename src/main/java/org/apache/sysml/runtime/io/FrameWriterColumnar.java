@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.ChunkInfo;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.FileFooter;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Single-threaded frame writer for the columnar binary format
+ * (see {@link FrameColumnarFormat}).
+ *
+ */
+public class FrameWriterColumnar extends FrameWriter
+{
+	protected final int _chunkSize;
+
+	public FrameWriterColumnar() {
+		this(FrameColumnarFormat.DEFAULT_CHUNK_SIZE);
+	}
+
+	public FrameWriterColumnar(int chunkSize) {
+		_chunkSize = chunkSize;
+	}
+
+	@Override
+	public final void writeFrameToHDFS( FrameBlock src, String fname, long rlen, long clen )
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Frame block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+					              "out of overall frame range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		//write columnar frame to hdfs (sequential/parallel)
+		writeColumnarFrameToHDFS( path, job, src );
+	}
+
+	protected void writeColumnarFrameToHDFS( Path path, JobConf job, FrameBlock src )
+		throws IOException, DMLRuntimeException
+	{
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//sequential write to single file
+		writeColumnarFrameToFile(path, fs, src, 0, src.getNumRows(), _chunkSize);
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	/**
+	 * Internal primitive to write a row range of a frame to a single columnar
+	 * part file, which is used for both single- and multi-threaded writers.
+	 *
+	 * @param path file path
+	 * @param fs file system
+	 * @param src frame block
+	 * @param rl lower row (inclusive)
+	 * @param ru upper row (exclusive)
+	 * @param chunkSize number of rows per chunk
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void writeColumnarFrameToFile( Path path, FileSystem fs, FrameBlock src, int rl, int ru, int chunkSize )
+		throws IOException
+	{
+		int ncol = src.getNumColumns();
+		ValueType[] schema = src.getSchema();
+		int nchunks = (ru - rl + chunkSize - 1) / chunkSize;
+
+		//prepare footer w/ schema and column meta data
+		FileFooter footer = new FileFooter();
+		footer.rowOffset = rl;
+		footer.nrow = ru - rl;
+		footer.schema = schema;
+		footer.names = src.getColumnNames();
+		footer.ndistinct = new long[ncol];
+		footer.mvvalues = new String[ncol];
+		for( int j=0; j<ncol; j++ ) {
+			footer.ndistinct[j] = src.getColumnMetadata(j).getNumDistinct();
+			footer.mvvalues[j] = src.getColumnMetadata(j).getMvValue();
+		}
+		footer.chunks = new ChunkInfo[nchunks];
+
+		try( FSDataOutputStream out = fs.create(path, true) )
+		{
+			out.writeInt(FrameColumnarFormat.MAGIC);
+
+			//write column chunks (w/ buffer reuse across column chunks)
+			ByteArrayOutputStream buff = new ByteArrayOutputStream(8 * Math.min(chunkSize, ru-rl) + 64);
+			DataOutputStream dbuff = new DataOutputStream(buff);
+			for( int k=0, bi=rl; bi<ru; k++, bi+=chunkSize ) {
+				int bu = Math.min(bi + chunkSize, ru);
+				ChunkInfo chunk = new ChunkInfo(ncol);
+				chunk.nrow = bu - bi;
+				for( int j=0; j<ncol; j++ ) {
+					buff.reset();
+					chunk.stats[j] = FrameColumnarFormat.encodeColumnChunk(
+						schema[j], src.getColumnData(j), bi, bu, dbuff);
+					dbuff.flush();
+					chunk.offsets[j] = out.getPos();
+					chunk.lengths[j] = buff.size();
+					buff.writeTo(out);
+				}
+				footer.chunks[k] = chunk;
+			}
+
+			//write footer and footer offset
+			long foff = out.getPos();
+			FrameColumnarFormat.writeFooter(out, footer);
+			out.writeLong(foff);
+			out.writeInt(FrameColumnarFormat.MAGIC);
+		}
+	}
+}
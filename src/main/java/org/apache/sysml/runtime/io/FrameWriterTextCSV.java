@@ -19,19 +19,19 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.util.Iterator;
+import java.io.OutputStream;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 /**
@@ -40,10 +40,6 @@ import org.apache.sysml.runtime.util.MapReduceTool;
  */
 public class FrameWriterTextCSV extends FrameWriter
 {
-	//blocksize for string concatenation in order to prevent write OOM 
-	//(can be set to very large value to disable blocking)
-	public static final int BLOCKSIZE_J = 32; //32 cells (typically ~512B, should be less than write buffer of 1KB)
-	
 	protected CSVFileFormatProperties _props = null;
 	
 	public FrameWriterTextCSV( CSVFileFormatProperties props ) {
@@ -84,14 +80,13 @@ public class FrameWriterTextCSV extends FrameWriter
 	protected static void writeCSVFrameToFile( Path path, JobConf job, FileSystem fs, FrameBlock src, int rl, int ru, CSVFileFormatProperties props )
 		throws IOException
 	{
-    	//create buffered writer
-		BufferedWriter br=new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
-    	int cols = src.getNumColumns();
+		int cols = src.getNumColumns();
 	
-		try
+		try( OutputStream out = fs.create(path,true) )
 		{
 			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
+			//(buffer flushed in chunks to prevent OOM on large number of columns)
+			FastTextBuffer buff = IOUtilFunctions.createTextBuffer(FastTextBuffer.FLUSH_SIZE);
 			
 			props = (props==null)? new CSVFileFormatProperties() : props;
 			String delim = props.getDelim();
@@ -101,50 +96,41 @@ public class FrameWriterTextCSV extends FrameWriter
 				//append column names if header requested
 				if( props.hasHeader() ) {
 					for( int j=0; j<cols; j++ ) {
-						sb.append(src.getColumnNames()[j]);
+						buff.append(src.getColumnNames()[j]);
 						if ( j < cols-1 )
-							sb.append(delim);
+							buff.append(delim);
 					}
-					sb.append('\n');
+					buff.append('\n');
 				}
 				//append meta data
 				if( !src.isColumnMetadataDefault() ) {
-					sb.append(TfUtils.TXMTD_MVPREFIX + delim);
+					buff.append(TfUtils.TXMTD_MVPREFIX + delim);
 					for( int j=0; j<cols; j++ )
-						sb.append(src.getColumnMetadata(j).getMvValue() + ((j<cols-1)?delim:""));
-					sb.append("\n");
-					sb.append(TfUtils.TXMTD_NDPREFIX + delim);
+						buff.append(src.getColumnMetadata(j).getMvValue() + ((j<cols-1)?delim:""));
+					buff.append('\n');
+					buff.append(TfUtils.TXMTD_NDPREFIX + delim);
 					for( int j=0; j<cols; j++ )
-						sb.append(src.getColumnMetadata(j).getNumDistinct() + ((j<cols-1)?delim:""));
-					sb.append("\n");
+						buff.append(src.getColumnMetadata(j).getNumDistinct() + ((j<cols-1)?delim:""));
+					buff.append('\n');
 				}
-				br.write( sb.toString() );
-	            sb.setLength(0);
 			}
 			
-			// Write data lines
-			Iterator<String[]> iter = src.getStringRowIterator(rl, ru);
-			while( iter.hasNext() ) {
-				//write row chunk-wise to prevent OOM on large number of columns
-				String[] row = iter.next();
-				for( int bj=0; bj<cols; bj+=BLOCKSIZE_J ) {
-					for( int j=bj; j<Math.min(cols,bj+BLOCKSIZE_J); j++ ) {
-						if(row[j] != null)
-							sb.append(row[j]);					
-						if( j != cols-1 )
-							sb.append(delim);
-					}
-					br.write( sb.toString() );
-		            sb.setLength(0);
+			// Write data lines (directly from column data w/o string conversion)
+			ValueType[] schema = src.getSchema();
+			Object[] coldata = new Object[cols];
+			for( int j=0; j<cols && rl<ru; j++ )
+				coldata[j] = src.getColumnData(j);
+			for( int i=rl; i<ru; i++ ) {
+				for( int j=0; j<cols; j++ ) {
+					appendFrameValue(buff, schema[j], coldata[j], i);
+					if( j != cols-1 )
+						buff.append(delim);
+					buff.flushTo(out);
 				}
-				
-				sb.append('\n');
-				br.write( sb.toString() );
-				sb.setLength(0); 
+				buff.append('\n');
 			}
-		}
-		finally {
-			IOUtilFunctions.closeSilently(br);
+			
+			buff.writeTo(out);
 		}
 	}
 }
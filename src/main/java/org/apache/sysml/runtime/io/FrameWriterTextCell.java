@@ -19,17 +19,17 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.util.Iterator;
+import java.io.OutputStream;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 /**
@@ -86,54 +86,48 @@ public class FrameWriterTextCell extends FrameWriter
 		throws IOException
 	{
 		boolean entriesWritten = false;
-    	int cols = src.getNumColumns();
+		int cols = src.getNumColumns();
 
-    	//create buffered writer 
-    	BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
-
-		try
+		try( OutputStream out = fs.create(path,true) )
 		{
 			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
+			FastTextBuffer buff = IOUtilFunctions.createTextBuffer(FastTextBuffer.FLUSH_SIZE);
 			
 			//write frame meta data
 			if( rl == 0 ) {
 				for( int j=0; j<cols; j++ )
 					if( !src.isColumnMetadataDefault(j) ) {
-						sb.append("-1 " + (j+1) + " " + src.getColumnMetadata(j).getNumDistinct() + "\n");
-						sb.append("-2 " + (j+1) + " " + src.getColumnMetadata(j).getMvValue() + "\n");
-						br.write( sb.toString() );
-						sb.setLength(0);
+						buff.append("-1 ").append(j+1).append(' ')
+							.append(src.getColumnMetadata(j).getNumDistinct()).append('\n');
+						buff.append("-2 ").append(j+1).append(' ')
+							.append(String.valueOf(src.getColumnMetadata(j).getMvValue())).append('\n');
 					}
 			}
 			
-			//write frame row range to output
-			Iterator<String[]> iter = src.getStringRowIterator(rl, ru);
-			for( int i=rl; iter.hasNext(); i++ ) { //for all rows
-				String rowIndex = Integer.toString(i+1);
-				String[] row = iter.next();
+			//write frame row range to output (directly from column data)
+			ValueType[] schema = src.getSchema();
+			Object[] coldata = new Object[cols];
+			for( int j=0; j<cols && rl<ru; j++ )
+				coldata[j] = src.getColumnData(j);
+			for( int i=rl; i<ru; i++ ) { //for all rows
 				for( int j=0; j<cols; j++ ) {
-					if( row[j] != null ) {
-						sb.append( rowIndex );
-						sb.append(' ');
-						sb.append( j+1 );
-						sb.append(' ');
-						sb.append( row[j] );
-						sb.append('\n');
-						br.write( sb.toString() );
-						sb.setLength(0); 
+					int pos = buff.length();
+					buff.append(i+1).append(' ').append(j+1).append(' ');
+					if( appendFrameValue(buff, schema[j], coldata[j], i) ) {
+						buff.append('\n');
 						entriesWritten = true;
 					}
+					else //null value
+						buff.setLength(pos);
+					buff.flushTo(out);
 				}
 			}
 	
 			//handle empty result
 			if ( !entriesWritten ) {
-				br.write("1 1 0\n");
+				buff.append("1 1 0\n");
 			}
+			buff.writeTo(out);
 		}
-		finally {
-			IOUtilFunctions.closeSilently(br);
-		}		
 	}
 }
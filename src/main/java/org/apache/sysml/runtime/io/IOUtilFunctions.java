@@ -24,8 +24,10 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedList;
 
@@ -47,7 +49,10 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
 import org.apache.sysml.runtime.transform.TfUtils;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
@@ -92,6 +97,28 @@ public class IOUtilFunctions
 		return String.format("0-m-%05d", pos);
 	}
 	
+	/**
+	 * Creates a reusable text output buffer for the text writers, which
+	 * formats doubles according to the configured text write precision.
+	 * 
+	 * @param size initial buffer size in bytes
+	 * @return text output buffer
+	 */
+	public static FastTextBuffer createTextBuffer(int size) {
+		return new FastTextBuffer(size, ConfigurationManager.getTextWritePrecision());
+	}
+	
+	//max number of significant digits for exact double mantissas (< 2^53)
+	private static final int MAX_FAST_DIGITS = 15;
+	
+	//exactly representable powers of ten for fast double parsing
+	private static final double[] POW10 = new double[23];
+	static {
+		POW10[0] = 1;
+		for( int i=1; i<POW10.length; i++ )
+			POW10[i] = POW10[i-1] * 10;
+	}
+	
 	public static void closeSilently( Closeable io ) {
 		try {
 			if( io != null )
@@ -119,6 +146,154 @@ public class IOUtilFunctions
 		return Double.parseDouble(str);
 	}
 
+	/**
+	 * Parses a double from the given byte range of ASCII characters without
+	 * intermediate string allocation. Plain decimal numbers with at most 15
+	 * significant digits and small exponents (the common case for text exports)
+	 * are parsed via a single exact multiplication or division by a power of ten, 
+	 * which yields the correctly rounded result; all other numbers (e.g., long 
+	 * mantissas, large exponents, NaN, Infinity) fall back to Double.parseDouble.
+	 * 
+	 * @param buf byte buffer
+	 * @param start start position (inclusive), without leading whitespace
+	 * @param end end position (exclusive), without trailing whitespace
+	 * @return parsed double value
+	 * @throws NumberFormatException if the byte range is not a valid number
+	 */
+	public static double parseDouble(byte[] buf, int start, int end) 
+	{
+		int i = start;
+		boolean neg = false;
+		if( i < end && (buf[i] == '-' || buf[i] == '+') )
+			neg = (buf[i++] == '-');
+		
+		//parse integer and fraction digits into long mantissa
+		long mant = 0;
+		int ndigits = 0, exp = 0, c = 0;
+		boolean digits = false;
+		for( ; i < end && (c = buf[i] - '0') >= 0 && c <= 9; i++ ) {
+			if( (mant > 0 || c > 0) && ++ndigits > MAX_FAST_DIGITS )
+				return parseDoubleFallback(buf, start, end);
+			mant = mant * 10 + c;
+			digits = true;
+		}
+		if( i < end && buf[i] == '.' ) {
+			for( i++; i < end && (c = buf[i] - '0') >= 0 && c <= 9; i++ ) {
+				if( (mant > 0 || c > 0) && ++ndigits > MAX_FAST_DIGITS )
+					return parseDoubleFallback(buf, start, end);
+				mant = mant * 10 + c;
+				exp--;
+				digits = true;
+			}
+		}
+		
+		//parse optional exponent
+		if( digits && i < end && (buf[i] == 'e' || buf[i] == 'E') ) {
+			i++;
+			boolean eneg = false;
+			if( i < end && (buf[i] == '-' || buf[i] == '+') )
+				eneg = (buf[i++] == '-');
+			int lexp = 0;
+			boolean edigits = false;
+			for( ; i < end && (c = buf[i] - '0') >= 0 && c <= 9; i++ ) {
+				lexp = Math.min(lexp * 10 + c, 100000);
+				edigits = true;
+			}
+			if( !edigits )
+				return parseDoubleFallback(buf, start, end);
+			exp += eneg ? -lexp : lexp;
+		}
+		
+		//fallback for non-plain numbers (e.g., NaN, Infinity, suffixes)
+		if( !digits || i != end )
+			return parseDoubleFallback(buf, start, end);
+		
+		//fast path with exact mantissa and power of ten (single rounding)
+		double ret;
+		if( mant == 0 )
+			ret = 0;
+		else if( exp >= 0 && exp <= 22 )
+			ret = mant * POW10[exp];
+		else if( exp < 0 && exp >= -22 )
+			ret = mant / POW10[-exp];
+		else if( exp > 22 && ndigits + exp - 22 <= MAX_FAST_DIGITS )
+			ret = (mant * (long)POW10[exp - 22]) * POW10[22];
+		else
+			return parseDoubleFallback(buf, start, end);
+		return neg ? -ret : ret;
+	}
+	
+	private static double parseDoubleFallback(byte[] buf, int start, int end) {
+		return Double.parseDouble(new String(buf, start, end - start, StandardCharsets.ISO_8859_1));
+	}
+
+	/**
+	 * Parses a single line in libsvm format, i.e., a label followed by
+	 * whitespace-separated pairs of 1-based feature indexes and values
+	 * ({@code <label> <index1>:<value1> <index2>:<value2> ...}), directly
+	 * from the given bytes. The non-zero features are appended with 0-based
+	 * column indexes to the given (reset) sparse row, which is sorted if the
+	 * indexes are not given in ascending order (and checked for duplicates).
+	 *
+	 * @param buf byte buffer
+	 * @param start start position (inclusive)
+	 * @param end end position (exclusive), without line terminators
+	 * @param vect sparse row buffer for the features
+	 * @return label of the parsed line
+	 * @throws IOException if the line is not a valid libsvm line
+	 */
+	public static double parseLibsvmRow(byte[] buf, int start, int end, SparseRowVector vect)
+		throws IOException
+	{
+		vect.setSize(0);
+
+		//parse label (first token)
+		int pos = skipWhitespace(buf, start, end);
+		int tend = nextWhitespace(buf, pos, end);
+		if( pos >= end )
+			throw new IOException("Missing label in libsvm line.");
+		double label = parseDouble(buf, pos, tend);
+
+		//parse index:value pairs
+		boolean sorted = true;
+		int last = -1;
+		for( pos = skipWhitespace(buf, tend, end); pos < end; pos = skipWhitespace(buf, tend, end) ) {
+			tend = nextWhitespace(buf, pos, end);
+			int sep = pos;
+			long ix = 0;
+			for( int c = 0; sep < tend && (c = buf[sep] - '0') >= 0 && c <= 9; sep++ )
+				ix = Math.min(ix * 10 + c, Integer.MAX_VALUE + 1L);
+			if( sep == pos || sep >= tend - 1 || buf[sep] != ':' || ix < 1 || ix > Integer.MAX_VALUE ) {
+				throw new IOException("Invalid libsvm index:value pair '"
+					+ new String(buf, pos, tend - pos, StandardCharsets.UTF_8) + "'.");
+			}
+			sorted &= (ix - 1 > last);
+			last = (int) ix - 1;
+			vect.append(last, parseDouble(buf, sep + 1, tend));
+		}
+		if( !sorted ) {
+			vect.sort();
+			int[] ix = vect.indexes();
+			for( int i=1; i<vect.size(); i++ )
+				if( ix[i-1] == ix[i] )
+					throw new IOException("Duplicate libsvm feature index "+(ix[i]+1)+".");
+		}
+
+		return label;
+	}
+
+	private static int skipWhitespace(byte[] buf, int pos, int end) {
+		while( pos < end && (buf[pos] & 0xff) <= ' ' )
+			pos++;
+		return pos;
+	}
+
+	private static int nextWhitespace(byte[] buf, int pos, int end) {
+		while( pos < end && (buf[pos] & 0xff) > ' ' )
+			pos++;
+		return pos;
+	}
+
 	public static void checkAndRaiseErrorCSVEmptyField(String row, boolean fill, boolean emptyFound) 
 		throws IOException
 	{
@@ -459,7 +634,7 @@ public class IOUtilFunctions
 		//only emulate a file system, the directory of a multi-part file does not
 		//exist physically and hence the isDirectory call returns false. Furthermore,
 		//listStatus call returns all files with the given directory as prefix, which
-		//includes the mtd file which needs to be ignored accordingly.
+		//includes the mtd and block index files which need to be ignored accordingly.
 		
 		if( fs.isDirectory(file) 
 			|| IOUtilFunctions.isObjectStoreFileScheme(file) )
@@ -468,7 +643,8 @@ public class IOUtilFunctions
 			FileStatus[] dStatus = fs.listStatus(file);
 			for( FileStatus fdStatus : dStatus )
 				if( !fdStatus.getPath().getName().startsWith("_") //skip internal files
-					&& !fdStatus.getPath().toString().equals(file.toString()+".mtd") ) //mtd file
+					&& !fdStatus.getPath().toString().equals(file.toString()+".mtd") //mtd file
+					&& !fdStatus.getPath().toString().equals(file.toString()+BinaryBlockIndex.FILE_SUFFIX) ) //block index
 					tmp.add(fdStatus.getPath());
 			ret = tmp.toArray(new Path[0]);
 		}
@@ -479,6 +655,30 @@ public class IOUtilFunctions
 		return ret;
 	}
 	
+	/**
+	 * Returns the non-hidden files of the given file or directory in
+	 * alphanumeric order, which defines the row order of text formats.
+	 * 
+	 * @param fs file system
+	 * @param file file or directory path
+	 * @return sorted file paths
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("unchecked")
+	public static Path[] getSortedTextFilePaths( FileSystem fs, Path file ) 
+		throws IOException
+	{
+		ArrayList<Path> files = new ArrayList<>();
+		if( fs.isDirectory(file) ) {
+			for( FileStatus stat : fs.listStatus(file, CSVReblockMR.hiddenFileFilter) )
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(file);
+		return files.toArray(new Path[0]);
+	}
+	
 	/**
 	 * Delete the CRC files from the local file system associated with a
 	 * particular file and its metadata file.
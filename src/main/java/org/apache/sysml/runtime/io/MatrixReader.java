@@ -56,6 +56,29 @@ public abstract class MatrixReader
 	public abstract MatrixBlock readMatrixFromInputStream( InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz )
 			throws IOException, DMLRuntimeException;
 	
+	/**
+	 * Opens a sequential stream over the row blocks of the given matrix, where every
+	 * row block (except the last) has brlen rows. Row-oriented formats override this
+	 * method to read the row blocks incrementally; by default, the entire matrix is read
+	 * into memory and the stream returns slices of it.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows, or -1 if unknown
+	 * @param clen number of columns
+	 * @param brlen number of rows in a block
+	 * @param bclen number of columns in a block
+	 * @param estnnz estimated number of non-zeros
+	 * @return row block stream
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixRowBlockStream openRowBlockStream( String fname, long rlen, long clen, int brlen, int bclen, long estnnz )
+		throws IOException, DMLRuntimeException
+	{
+		MatrixBlock mb = readMatrixFromHDFS(fname, rlen, clen, brlen, bclen, estnnz);
+		return new SliceRowBlockStream(mb, brlen);
+	}
+	
 	/**
 	 * NOTE: mallocDense controls if the output matrix blocks is fully allocated, this can be redundant
 	 * if binary block read and single block. 
@@ -131,6 +154,33 @@ public abstract class MatrixReader
 			task.get(); //error handling
 	}
 	
+	/**
+	 * Default row block stream over row slices of an in-memory matrix.
+	 */
+	private static class SliceRowBlockStream extends MatrixRowBlockStream
+	{
+		private MatrixBlock _mb = null;
+		
+		public SliceRowBlockStream(MatrixBlock mb, int blen) {
+			super(mb.getNumRows(), mb.getNumColumns(), blen);
+			_mb = mb;
+		}
+		
+		@Override
+		protected MatrixBlock readNextRowBlock() throws DMLRuntimeException {
+			int rl = (int)getRowPosition();
+			if( _mb == null || rl >= _rlen )
+				return null;
+			int ru = (int)Math.min(rl+_blen, _rlen);
+			return _mb.sliceOperations(rl, ru-1, 0, (int)_clen-1, new MatrixBlock());
+		}
+		
+		@Override
+		public void close() {
+			_mb = null;
+		}
+	}
+	
 	/**
 	 * Utility task for sorting sparse rows as potentially required
 	 * by different parallel readers.
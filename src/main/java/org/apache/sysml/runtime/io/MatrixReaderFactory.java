@@ -49,11 +49,17 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV(new CSVFileFormatProperties());
 		}
+		else if( iinfo == InputInfo.LIBSVMInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) )
+				reader = new ReaderTextLIBSVMParallel();
+			else
+				reader = new ReaderTextLIBSVM();
+		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
-				reader = new ReaderBinaryBlockParallel( false );
+				reader = new ReaderBinaryBlockMapped( false );
 			else
 				reader = new ReaderBinaryBlock( false );
 		}
@@ -87,11 +93,17 @@ public class MatrixReaderFactory
 			else
 				reader = new ReaderTextCSV( props.formatProperties!=null ? (CSVFileFormatProperties)props.formatProperties : new CSVFileFormatProperties());
 		}
+		else if( iinfo == InputInfo.LIBSVMInputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_TEXTFORMATS) )
+				reader = new ReaderTextLIBSVMParallel();
+			else
+				reader = new ReaderTextLIBSVM();
+		}
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
 			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
-				reader = new ReaderBinaryBlockParallel( props.localFS );
+				reader = new ReaderBinaryBlockMapped( props.localFS );
 			else
 				reader = new ReaderBinaryBlock( props.localFS );
 		}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Sequential stream over the row blocks of a matrix, which allows single-pass
+ * processing of matrices larger than the available memory. Row blocks are
+ * returned in order of rows, where all row blocks except the last have the
+ * row block size (by default, the configured block size) and cover all
+ * columns. Streams are obtained via {@link MatrixReader#openRowBlockStream}
+ * and need to be closed by the caller.
+ *
+ */
+public abstract class MatrixRowBlockStream implements Closeable
+{
+	protected final long _rlen; //-1 if unknown
+	protected final long _clen;
+	protected final int _blen;
+
+	//number of rows returned so far
+	private long _rpos = 0;
+
+	protected MatrixRowBlockStream(long rlen, long clen, int blen) {
+		_rlen = rlen;
+		_clen = clen;
+		_blen = (blen > 0) ? blen : ConfigurationManager.getBlocksize();
+	}
+
+	public long getNumRows() {
+		return _rlen;
+	}
+
+	public long getNumColumns() {
+		return _clen;
+	}
+
+	public int getRowBlockSize() {
+		return _blen;
+	}
+
+	/**
+	 * Returns the 0-based row offset of the next row block, i.e.,
+	 * the number of rows returned so far.
+	 *
+	 * @return row offset of the next row block
+	 */
+	public long getRowPosition() {
+		return _rpos;
+	}
+
+	/**
+	 * Reads the next row block of the stream.
+	 *
+	 * @return next row block, or null if all rows have been returned
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public final MatrixBlock next()
+		throws IOException, DMLRuntimeException
+	{
+		MatrixBlock ret = readNextRowBlock();
+
+		//check consistency with meta data
+		if( ret != null && ret.getNumColumns() != _clen )
+			throw new IOException("Read matrix inconsistent with given meta data: "
+				+ "expected ncol="+ _clen + ", real ncol=" + ret.getNumColumns());
+		if( ret == null && _rlen > 0 && _rpos != _rlen )
+			throw new IOException("Read matrix inconsistent with given meta data: "
+				+ "expected nrow="+ _rlen + ", real nrow=" + _rpos);
+
+		if( ret != null )
+			_rpos += ret.getNumRows();
+		return ret;
+	}
+
+	/**
+	 * Format-specific read of the next row block of at most row block size
+	 * rows, where the returned block should be in its final sparse/dense
+	 * representation with maintained number of non-zeros.
+	 *
+	 * @return next row block, or null if there are no further rows
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected abstract MatrixBlock readNextRowBlock()
+		throws IOException, DMLRuntimeException;
+}
@@ -47,13 +47,11 @@ public class MatrixWriterFactory
 				writer = new WriterTextCell();
 		}
 		else if( oinfo == OutputInfo.MatrixMarketOutputInfo ) {
-			//note: disabled parallel cp write of matrix market in order to ensure the
-			//requirement of writing out a single file
-			
-			//if( OptimizerUtils.PARALLEL_CP_WRITE_TEXTFORMATS )
-			//	writer = new WriterMatrixMarketParallel();
-			
-			writer = new WriterMatrixMarket();
+			//note: parallel write still creates a single file (w/ positional writes)
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_TEXTFORMATS) )
+				writer = new WriterMatrixMarketParallel();
+			else
+				writer = new WriterMatrixMarket();
 		}
 		else if( oinfo == OutputInfo.CSVOutputInfo ) {
 			if( props!=null && !(props instanceof CSVFileFormatProperties) )
@@ -63,6 +61,12 @@ public class MatrixWriterFactory
 			else
 				writer = new WriterTextCSV((CSVFileFormatProperties)props);
 		}
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo ) {
+			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_TEXTFORMATS) )
+				writer = new WriterTextLIBSVMParallel();
+			else
+				writer = new WriterTextLIBSVM();
+		}
 		else if( oinfo == OutputInfo.BinaryCellOutputInfo ) {
 			writer = new WriterBinaryCell();
 		}
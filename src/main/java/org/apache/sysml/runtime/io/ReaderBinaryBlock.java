@@ -22,7 +22,9 @@ package org.apache.sysml.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -36,6 +38,7 @@ import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.mapred.IndexedMatrixValue;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
+import org.apache.sysml.runtime.util.IndexRange;
 
 public class ReaderBinaryBlock extends MatrixReader
 {
@@ -83,6 +86,29 @@ public class ReaderBinaryBlock extends MatrixReader
 		throw new DMLRuntimeException("Not implemented yet.");
 	}
 
+	@Override
+	public MatrixRowBlockStream openRowBlockStream(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//set up preferred custom serialization framework for binary block format
+		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
+			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
+		
+		//part files in order of names, which are ordered by rows for CP/MR/Spark writes
+		Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		Arrays.sort(files);
+		
+		return new BinaryBlockRowBlockStream(job, files, rlen, clen, brlen, bclen, estnnz);
+	}
+	
 	public ArrayList<IndexedMatrixValue> readIndexedMatrixBlocksFromHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
 		throws IOException, DMLRuntimeException 
 	{
@@ -103,6 +129,67 @@ public class ReaderBinaryBlock extends MatrixReader
 		return ret;
 	}
 	
+	/**
+	 * Reads the given index range of a binary block matrix. If a valid block index
+	 * exists (see {@link BinaryBlockIndex}), only the blocks overlapping the index range
+	 * are read via direct seeks into the part files. Otherwise, all part files are
+	 * scanned but only the overlapping blocks are deserialized.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows of the entire matrix
+	 * @param clen number of columns of the entire matrix
+	 * @param brlen number of rows in block
+	 * @param bclen number of columns in block
+	 * @param estnnz estimated number of non-zeros of the entire matrix
+	 * @param ixrange 0-based index range (inclusive)
+	 * @return matrix block of the index range
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public MatrixBlock readMatrixRangeFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz, IndexRange ixrange) 
+		throws IOException, DMLRuntimeException 
+	{
+		if( ixrange.rowStart < 0 || ixrange.rowStart > ixrange.rowEnd || ixrange.rowEnd >= rlen
+			|| ixrange.colStart < 0 || ixrange.colStart > ixrange.colEnd || ixrange.colEnd >= clen ) {
+			throw new DMLRuntimeException("Invalid index range "+ixrange.add(1)+" for range read "
+				+ "of matrix with dimensions [1:"+rlen+",1:"+clen+"].");
+		}
+		
+		//allocate output matrix block (w/ nnz estimate scaled to the range)
+		long rows = ixrange.rowEnd - ixrange.rowStart + 1;
+		long cols = ixrange.colEnd - ixrange.colStart + 1;
+		long lestnnz = (estnnz < 0) ? rows * cols :
+			(long)Math.ceil((double)estnnz / rlen / clen * rows * cols);
+		MatrixBlock ret = createOutputMatrixBlock(rows, cols, brlen, bclen, lestnnz, false, false);
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//set up preferred custom serialization framework for binary block format
+		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
+			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
+		
+		//core read via block index or filtered scan
+		BinaryBlockIndex index = BinaryBlockIndex.read(fs, path);
+		if( index != null )
+			readBinaryBlockRangeWithIndex(index, job, ret, brlen, bclen, ixrange);
+		else
+			readBinaryBlockRangeWithScan(path, job, fs, ret, brlen, bclen, ixrange);
+		
+		//post-processing (sort for sparse appends of multiple column blocks)
+		if( ret.isInSparseFormat() && (ixrange.colStart/bclen != ixrange.colEnd/bclen) )
+			ret.sortSparseRows();
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
 	protected static MatrixBlock getReuseBlock(int brlen, int bclen, boolean sparse) {
 		//note: we allocate the reuse block in CSR because this avoids unnecessary
 		//reallocations in the presence of a mix of sparse and ultra-sparse blocks,
@@ -208,6 +295,112 @@ public class ReaderBinaryBlock extends MatrixReader
 		}
 	}
 	
+	private static void readBinaryBlockRangeWithIndex( BinaryBlockIndex index, JobConf job, MatrixBlock dest, int brlen, int bclen, IndexRange ixrange )
+		throws IOException, DMLRuntimeException
+	{
+		MatrixIndexes key = new MatrixIndexes(); 
+		MatrixBlock value = getReuseBlock(brlen, bclen, dest.isInSparseFormat());
+		
+		//1-based block index range of overlapping blocks
+		long rbl = ixrange.rowStart / brlen + 1, rbu = ixrange.rowEnd / brlen + 1;
+		long cbl = ixrange.colStart / bclen + 1, cbu = ixrange.colEnd / bclen + 1;
+		
+		for( BinaryBlockIndex.FileIndex findex : index.getFileIndexes() ) 
+		{
+			long[] offsets = findex.getOffsets(rbl, rbu, cbl, cbu);
+			if( offsets.length == 0 )
+				continue;
+			
+			//seek to overlapping blocks in order of offsets
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(findex.getFile()));
+			try {
+				for( long off : offsets ) {
+					reader.seek(off);
+					if( !reader.next(key, value) || !copyRangeOfBlock(key, value, dest, brlen, bclen, ixrange) )
+						throw new IOException("Inconsistent block index at offset "+off+" of "+findex.getFile()+".");
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+	
+	private static void readBinaryBlockRangeWithScan( Path path, JobConf job, FileSystem fs, MatrixBlock dest, int brlen, int bclen, IndexRange ixrange )
+		throws IOException, DMLRuntimeException
+	{
+		MatrixIndexes key = new MatrixIndexes(); 
+		MatrixBlock value = getReuseBlock(brlen, bclen, dest.isInSparseFormat());
+		
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
+		{
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath));
+			try {
+				//key-only scan, deserialize values of overlapping blocks
+				while( reader.next(key) ) {
+					long row_offset = (key.getRowIndex()-1)*brlen;
+					long col_offset = (key.getColumnIndex()-1)*bclen;
+					if( row_offset > ixrange.rowEnd || row_offset+brlen <= ixrange.rowStart
+						|| col_offset > ixrange.colEnd || col_offset+bclen <= ixrange.colStart )
+						continue;
+					reader.getCurrentValue(value);
+					copyRangeOfBlock(key, value, dest, brlen, bclen, ixrange);
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+		}
+	}
+	
+	/**
+	 * Copies the overlap of the given block and index range into the output.
+	 * 
+	 * @param key block indexes
+	 * @param value matrix block
+	 * @param dest output matrix block of the index range
+	 * @param brlen number of rows in block
+	 * @param bclen number of columns in block
+	 * @param ixrange 0-based index range (inclusive)
+	 * @return true if the block overlaps the index range
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static boolean copyRangeOfBlock( MatrixIndexes key, MatrixBlock value, MatrixBlock dest, int brlen, int bclen, IndexRange ixrange ) 
+		throws DMLRuntimeException
+	{
+		long row_offset = (key.getRowIndex()-1)*brlen;
+		long col_offset = (key.getColumnIndex()-1)*bclen;
+		
+		//determine overlap in global coordinates
+		long rl = Math.max(row_offset, ixrange.rowStart);
+		long ru = Math.min(row_offset+value.getNumRows()-1, ixrange.rowEnd);
+		long cl = Math.max(col_offset, ixrange.colStart);
+		long cu = Math.min(col_offset+value.getNumColumns()-1, ixrange.colEnd);
+		if( rl > ru || cl > cu )
+			return false;
+		if( value.isEmptyBlock(false) )
+			return true;
+		
+		//slice block if not entirely contained in the index range
+		MatrixBlock tmp = value;
+		if( rl > row_offset || ru < row_offset+value.getNumRows()-1 
+			|| cl > col_offset || cu < col_offset+value.getNumColumns()-1 ) {
+			tmp = value.sliceOperations((int)(rl-row_offset), (int)(ru-row_offset),
+				(int)(cl-col_offset), (int)(cu-col_offset), new MatrixBlock());
+		}
+		
+		//copy into output (sparse append requires final sort)
+		int roff = (int)(rl - ixrange.rowStart);
+		int coff = (int)(cl - ixrange.colStart);
+		if( dest.isInSparseFormat() )
+			dest.appendToSparse(tmp, roff, coff);
+		else
+			dest.copy(roff, roff+tmp.getNumRows()-1, coff, coff+tmp.getNumColumns()-1, tmp, false);
+		return true;
+	}
+	
 	private static void readBinaryBlockMatrixBlocksFromHDFS( Path path, JobConf job, FileSystem fs, Collection<IndexedMatrixValue> dest, long rlen, long clen, int brlen, int bclen )
 		throws IOException
 	{
@@ -250,4 +443,127 @@ public class ReaderBinaryBlock extends MatrixReader
 			}
 		}
 	}
+	
+	/**
+	 * Row block stream over binary block files, which returns one block row per
+	 * row block. Blocks are read in order of part files and assembled into their
+	 * block rows, where a block row is returned as soon as all its column blocks
+	 * are available. For inputs ordered by block rows (e.g., written by CP), this
+	 * requires memory for a single block row, while unordered inputs might require
+	 * buffering of multiple incomplete block rows.
+	 */
+	private static class BinaryBlockRowBlockStream extends MatrixRowBlockStream
+	{
+		private final JobConf _job;
+		private final Path[] _files;
+		private final int _bclen;
+		private final boolean _sparse;
+		private final long _ncblks;
+		private final MatrixIndexes _key = new MatrixIndexes();
+		private final MatrixBlock _value;
+		
+		//incomplete block rows and number of received column blocks
+		private final HashMap<Long, MatrixBlock> _blkrows = new HashMap<>();
+		private final HashMap<Long, Integer> _counts = new HashMap<>();
+		private long _nextRix = 1;
+		private int _fpos = 0;
+		private SequenceFile.Reader _reader = null;
+		
+		public BinaryBlockRowBlockStream(JobConf job, Path[] files, long rlen, long clen, int brlen, int bclen, long estnnz) {
+			super(rlen, clen, brlen);
+			_job = job;
+			_files = files;
+			_bclen = bclen;
+			_sparse = MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz);
+			_ncblks = (long)Math.ceil((double)clen/bclen);
+			_value = getReuseBlock(brlen, bclen, _sparse);
+		}
+		
+		@Override
+		protected MatrixBlock readNextRowBlock() 
+			throws IOException, DMLRuntimeException 
+		{
+			long rl = (_nextRix-1)*_blen;
+			if( rl >= _rlen )
+				return null;
+			
+			//read blocks until the next block row is complete or all blocks are consumed
+			while( !isComplete(_nextRix) ) {
+				if( !readNextBlock() )
+					break;
+			}
+			
+			//obtain block row (empty if no non-empty blocks)
+			MatrixBlock ret = _blkrows.remove(_nextRix);
+			_counts.remove(_nextRix);
+			if( ret == null )
+				ret = new MatrixBlock((int)Math.min(_blen, _rlen-rl), (int)_clen, true);
+			if( _sparse && _ncblks > 1 )
+				ret.sortSparseRows();
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			_nextRix++;
+			return ret;
+		}
+		
+		private boolean isComplete(long rix) {
+			Integer cnt = _counts.get(rix);
+			return cnt != null && cnt == _ncblks;
+		}
+		
+		private boolean readNextBlock() 
+			throws IOException, DMLRuntimeException 
+		{
+			//advance to next block across part files
+			while( true ) {
+				if( _reader == null ) {
+					if( _fpos >= _files.length )
+						return false;
+					_reader = new SequenceFile.Reader(_job, SequenceFile.Reader.file(_files[_fpos++]));
+				}
+				if( _reader.next(_key, _value) )
+					break;
+				IOUtilFunctions.closeSilently(_reader);
+				_reader = null;
+			}
+			
+			long rix = _key.getRowIndex();
+			long row_offset = (rix-1)*_blen;
+			long col_offset = (_key.getColumnIndex()-1)*_bclen;
+			int rows = _value.getNumRows();
+			int cols = _value.getNumColumns();
+			
+			//bound check per block (incl blocks of already returned block rows)
+			if( rix < _nextRix || row_offset + rows > _rlen || col_offset < 0 || col_offset + cols > _clen ) {
+				throw new IOException("Matrix block ["+(row_offset+1)+":"+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+					"out of overall matrix range [1:"+_rlen+",1:"+_clen+"] or already streamed.");
+			}
+			
+			//copy non-empty block into its block row
+			MatrixBlock blkrow = _blkrows.get(rix);
+			if( blkrow == null ) {
+				blkrow = new MatrixBlock((int)Math.min(_blen, _rlen-row_offset), (int)_clen, _sparse);
+				_blkrows.put(rix, blkrow);
+			}
+			if( !_value.isEmptyBlock(false) ) {
+				if( _sparse ) //note: append requires final sort
+					blkrow.appendToSparse(_value, 0, (int)col_offset);
+				else
+					blkrow.copy(0, rows-1, (int)col_offset, (int)col_offset+cols-1, _value, false);
+			}
+			Integer cnt = _counts.get(rix);
+			_counts.put(rix, (cnt != null) ? cnt + 1 : 1);
+			
+			return true;
+		}
+		
+		@Override
+		public void close() {
+			IOUtilFunctions.closeSilently(_reader);
+			_reader = null;
+			_fpos = _files.length;
+			_blkrows.clear();
+			_counts.clear();
+		}
+	}
 }
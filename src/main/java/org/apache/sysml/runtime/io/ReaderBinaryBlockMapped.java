@@ -0,0 +1,433 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.WritableUtils;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock.BlockType;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+
+/**
+ * Multi-threaded binary block reader for local file systems, which memory-maps
+ * the part files and deserializes the dense, sparse, and ultra-sparse blocks
+ * directly from the mapped pages into the preallocated output. In contrast to
+ * the {@link ReaderBinaryBlockParallel}, this avoids the per-block deserialization
+ * into reuse blocks and the SequenceFile record handling. Since the record
+ * boundaries are indexed upfront, the degree of parallelism is independent of
+ * the number of part files.
+ *
+ * Non-local file systems and compressed or otherwise unsupported sequence files
+ * fall back to the {@link ReaderBinaryBlockParallel}.
+ */
+public class ReaderBinaryBlockMapped extends ReaderBinaryBlockParallel
+{
+	//max size of a mapped region of a part file (records are never split across regions)
+	private static final long MAX_WINDOW_SIZE = 1L << 30;
+
+	//sequence file constants (see org.apache.hadoop.io.SequenceFile)
+	private static final byte SEQ_VERSION = 6;
+	private static final int SYNC_ESCAPE = -1;
+	private static final int SYNC_HASH_SIZE = 16;
+	private static final int KEY_SIZE = 16; //serialized matrix indexes
+
+	public ReaderBinaryBlockMapped( boolean localFS ) {
+		super(localFS);
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//fall back to default parallel read for non-local file systems
+		if( !(fs instanceof LocalFileSystem) )
+			return super.readMatrixFromHDFS(fname, rlen, clen, brlen, bclen, estnnz);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		//map part files and index block records (fall back for unsupported files)
+		ArrayList<BlockRecord> records = new ArrayList<>();
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+			if( !indexBlockRecords(((LocalFileSystem)fs).pathToFile(lpath), records) )
+				return super.readMatrixFromHDFS(fname, rlen, clen, brlen, bclen, estnnz);
+
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, brlen, bclen, estnnz, true, true);
+
+		//core read
+		readMappedBlockRecords(records, ret, rlen, clen, brlen, bclen);
+
+		//finally check if change of sparse/dense block representation required
+		if( !AGGREGATE_BLOCK_NNZ )
+			ret.recomputeNonZeros();
+		ret.examSparsity();
+
+		return ret;
+	}
+
+	private static void readMappedBlockRecords(List<BlockRecord> records, MatrixBlock dest, long rlen, long clen, int brlen, int bclen)
+		throws IOException
+	{
+		int numThreads = Math.max(Math.min(
+			OptimizerUtils.getParallelBinaryReadParallelism(), records.size()), 1);
+		boolean sparse = dest.isInSparseFormat();
+
+		//create read tasks over disjoint records, where for sparse outputs with
+		//multiple column blocks, block rows are assigned to exactly one task in
+		//order to append to sparse rows without synchronization
+		ArrayList<ReadRecordsTask> tasks = new ArrayList<>();
+		if( sparse && clen > bclen ) {
+			ArrayList<ArrayList<BlockRecord>> parts = new ArrayList<>();
+			for( int i=0; i<numThreads; i++ )
+				parts.add(new ArrayList<BlockRecord>());
+			for( BlockRecord rec : records )
+				parts.get((int)((rec.rix-1) % numThreads)).add(rec);
+			for( ArrayList<BlockRecord> part : parts )
+				tasks.add(new ReadRecordsTask(part, dest, rlen, clen, brlen, bclen));
+		}
+		else {
+			int blklen = (int)Math.ceil((double)records.size()/numThreads);
+			for( int i=0; i<numThreads & i*blklen<records.size(); i++ )
+				tasks.add(new ReadRecordsTask(records.subList(i*blklen,
+					Math.min((i+1)*blklen, records.size())), dest, rlen, clen, brlen, bclen));
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+		try
+		{
+			//wait until all tasks have been executed
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+
+			//check for exceptions and aggregate nnz
+			long lnnz = 0;
+			for( Future<Long> task : rt )
+				lnnz += task.get();
+
+			//post-processing
+			dest.setNonZeros( lnnz );
+			if( sparse && clen>bclen )
+				sortSparseRowsParallel(dest, rlen, numThreads, pool);
+		}
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of memory-mapped binary block input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Maps the given sequence file and appends the positions of all block records.
+	 *
+	 * @param file local part file
+	 * @param records list of block records
+	 * @return false if the file is not an uncompressed binary block sequence file
+	 * @throws IOException if IOException occurs
+	 */
+	private static boolean indexBlockRecords(File file, List<BlockRecord> records)
+		throws IOException
+	{
+		try( RandomAccessFile raf = new RandomAccessFile(file, "r");
+			FileChannel channel = raf.getChannel() )
+		{
+			//note: mapped regions remain valid after the channel is closed
+			long len = channel.size();
+			long wstart = 0;
+			MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY,
+				wstart, Math.min(len, MAX_WINDOW_SIZE));
+			int pos = readHeader(window);
+			if( pos < 0 )
+				return false;
+
+			while( wstart + pos < len ) {
+				//remap if the record header exceeds the current region
+				if( pos + 8 > window.limit() ) {
+					wstart += pos; pos = 0;
+					window = channel.map(FileChannel.MapMode.READ_ONLY,
+						wstart, Math.min(len-wstart, MAX_WINDOW_SIZE));
+				}
+				//skip sync markers
+				int reclen = window.getInt(pos);
+				if( reclen == SYNC_ESCAPE ) {
+					pos += 4 + SYNC_HASH_SIZE;
+					continue;
+				}
+				int keylen = window.getInt(pos+4);
+				if( keylen != KEY_SIZE || reclen < KEY_SIZE + 9 || wstart + pos + 8 + reclen > len )
+					throw new IOException("Invalid binary block record at offset "+(wstart+pos)+" of "+file+".");
+				//remap if the record exceeds the current region
+				if( pos + 8 + reclen > window.limit() ) {
+					wstart += pos; pos = 0;
+					window = channel.map(FileChannel.MapMode.READ_ONLY, wstart,
+						Math.min(len-wstart, Math.max(MAX_WINDOW_SIZE, 8L + reclen)));
+				}
+				records.add(new BlockRecord(window, pos + 8 + KEY_SIZE,
+					window.getLong(pos + 8), window.getLong(pos + 16)));
+				pos += 8 + reclen;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Parses the sequence file header and returns the position of the first
+	 * record, or -1 if the file is not an uncompressed sequence file with
+	 * matrix indexes keys and matrix block values.
+	 *
+	 * @param window first mapped region of the sequence file
+	 * @return position of the first record or -1
+	 */
+	private static int readHeader(ByteBuffer window) {
+		try {
+			ByteBuffer buff = window.duplicate();
+			if( buff.get() != 'S' || buff.get() != 'E' || buff.get() != 'Q' || buff.get() != SEQ_VERSION )
+				return -1;
+			String keyClass = readText(buff);
+			String valueClass = readText(buff);
+			boolean compressed = buff.get() != 0;
+			boolean blockCompressed = buff.get() != 0;
+			if( compressed || blockCompressed
+				|| !MatrixIndexes.class.getName().equals(keyClass)
+				|| !MatrixBlock.class.getName().equals(valueClass) )
+				return -1;
+			//skip meta data and sync marker
+			int nmeta = buff.getInt();
+			for( int i=0; i<2*nmeta; i++ )
+				readText(buff);
+			buff.position(buff.position() + SYNC_HASH_SIZE);
+			return buff.position();
+		}
+		catch(BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException ex) {
+			return -1;
+		}
+	}
+
+	private static String readText(ByteBuffer buff) {
+		//vint length and utf-8 bytes (see org.apache.hadoop.io.Text)
+		byte first = buff.get();
+		int size = WritableUtils.decodeVIntSize(first);
+		long len = first;
+		if( size > 1 ) {
+			len = 0;
+			for( int i=0; i<size-1; i++ )
+				len = (len << 8) | (buff.get() & 0xFF);
+			if( WritableUtils.isNegativeVInt(first) )
+				len = ~len;
+		}
+		byte[] bytes = new byte[(int)len];
+		buff.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Deserializes a single block record into the output matrix. All accesses
+	 * to the shared mapped region use absolute positions.
+	 *
+	 * @param rec block record
+	 * @param dest output matrix block
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param brlen number of rows in block
+	 * @param bclen number of columns in block
+	 * @return number of non-zeros of the block
+	 * @throws IOException if IOException occurs
+	 */
+	private static long readBlockRecord(BlockRecord rec, MatrixBlock dest, long rlen, long clen, int brlen, int bclen)
+		throws IOException
+	{
+		ByteBuffer buff = rec.buff;
+		int pos = rec.pos;
+
+		//read basic header (int rlen, int clen, byte type)
+		int rows = buff.getInt(pos);
+		int cols = buff.getInt(pos+4);
+		byte bformat = buff.get(pos+8);
+		pos += 9;
+		if( bformat<0 || bformat>=BlockType.values().length )
+			throw new IOException("invalid format: '"+bformat+"' (need to be 0-"+BlockType.values().length+").");
+		BlockType format = BlockType.values()[bformat];
+		if( format == BlockType.EMPTY_BLOCK )
+			return 0;
+
+		int row_offset = (int)(rec.rix-1)*brlen;
+		int col_offset = (int)(rec.cix-1)*bclen;
+
+		//bound check per block
+		if( row_offset + rows < 0 || row_offset + rows > rlen
+			|| col_offset + cols<0 || col_offset + cols > clen ) {
+			throw new IOException("Matrix block ["+(row_offset+1)+":"
+				+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+				"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		int n = (int)clen;
+		boolean sparse = dest.isInSparseFormat();
+		SparseBlock c = sparse ? dest.getSparseBlock() : null;
+		double[] d = sparse ? null : dest.getDenseBlock();
+		long lnnz = 0;
+
+		switch( format ) {
+			case DENSE_BLOCK: {
+				if( !sparse ) {
+					//bulk copy from mapped pages into dense output
+					//(single copy for row-aligned blocks, otherwise per row)
+					ByteBuffer tmp = buff.duplicate();
+					tmp.position(pos);
+					DoubleBuffer dbuff = tmp.slice().asDoubleBuffer();
+					if( cols == n )
+						dbuff.get(d, row_offset*n, rows*cols);
+					else
+						for( int i=0; i<rows; i++ )
+							dbuff.get(d, (row_offset+i)*n+col_offset, cols);
+					for( int i=0, ix=row_offset*n+col_offset; i<rows; i++, ix+=n )
+						for( int j=0; j<cols; j++ )
+							lnnz += (d[ix+j] != 0) ? 1 : 0;
+				}
+				else {
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++, pos+=8 ) {
+							double val = buff.getDouble(pos);
+							if( val != 0 ) {
+								c.append(row_offset+i, col_offset+j, val);
+								lnnz++;
+							}
+						}
+				}
+				break;
+			}
+			case SPARSE_BLOCK: {
+				//skip nnz info (long if required, see MatrixBlock.writeNnzInfo)
+				pos += ((long)rows*cols > Integer.MAX_VALUE) ? 8 : 4;
+				for( int i=0; i<rows; i++ ) {
+					int rnnz = buff.getInt(pos);
+					pos += 4;
+					if( rnnz > 0 && sparse )
+						c.allocate(row_offset+i, rnnz, n);
+					for( int k=0; k<rnnz; k++, pos+=12 ) {
+						int j = buff.getInt(pos);
+						double val = buff.getDouble(pos+4);
+						if( sparse )
+							c.append(row_offset+i, col_offset+j, val);
+						else
+							d[(row_offset+i)*n+col_offset+j] = val;
+					}
+					lnnz += rnnz;
+				}
+				break;
+			}
+			case ULTRA_SPARSE_BLOCK: {
+				//ijv-triples for blocks, iv-pairs for columns
+				int nnz = buff.getInt(pos);
+				pos += 4;
+				for( int k=0; k<nnz; k++ ) {
+					int i = buff.getInt(pos);
+					int j = (cols > 1) ? buff.getInt(pos+4) : 0;
+					pos += (cols > 1) ? 8 : 4;
+					double val = buff.getDouble(pos);
+					pos += 8;
+					if( sparse )
+						c.append(row_offset+i, col_offset+j, val);
+					else
+						d[(row_offset+i)*n+col_offset+j] = val;
+				}
+				lnnz = nnz;
+				break;
+			}
+			default:
+				break;
+		}
+
+		return lnnz;
+	}
+
+	/**
+	 * Position of a serialized matrix block in a mapped region of a part file.
+	 */
+	private static class BlockRecord
+	{
+		private final ByteBuffer buff;
+		private final int pos;
+		private final long rix;
+		private final long cix;
+
+		public BlockRecord(ByteBuffer buff, int pos, long rix, long cix) {
+			this.buff = buff;
+			this.pos = pos;
+			this.rix = rix;
+			this.cix = cix;
+		}
+	}
+
+	private static class ReadRecordsTask implements Callable<Long>
+	{
+		private final List<BlockRecord> _records;
+		private final MatrixBlock _dest;
+		private final long _rlen;
+		private final long _clen;
+		private final int _brlen;
+		private final int _bclen;
+
+		public ReadRecordsTask(List<BlockRecord> records, MatrixBlock dest, long rlen, long clen, int brlen, int bclen) {
+			_records = records;
+			_dest = dest;
+			_rlen = rlen;
+			_clen = clen;
+			_brlen = brlen;
+			_bclen = bclen;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			long lnnz = 0;
+			for( BlockRecord rec : _records )
+				lnnz += readBlockRecord(rec, _dest, _rlen, _clen, _brlen, _bclen);
+			return lnnz;
+		}
+	}
+}
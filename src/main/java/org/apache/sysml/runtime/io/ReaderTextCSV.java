@@ -23,20 +23,17 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.mutable.MutableInt;
-import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
-import org.apache.sysml.runtime.matrix.CSVReblockMR;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -95,20 +92,32 @@ public class ReaderTextCSV extends MatrixReader
 		return ret;
 	}
 	
-	@SuppressWarnings("unchecked")
+	@Override
+	public MatrixRowBlockStream openRowBlockStream(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//determine number of columns from first line if required
+		Path[] files = IOUtilFunctions.getSortedTextFilePaths(fs, path);
+		if( clen <= 0 )
+			clen = computeCSVNumColumns(fs, files[0], _props.hasHeader(), _props.getDelim());
+		
+		return new CSVRowBlockStream(fs, files, rlen, clen, brlen, estnnz, _props);
+	}
+	
 	private static MatrixBlock readCSVMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, 
 			long rlen, long clen, int brlen, int bclen, boolean hasHeader, String delim, boolean fill, double fillValue )
 		throws IOException, DMLRuntimeException
 	{
 		//prepare file paths in alphanumeric order
-		ArrayList<Path> files=new ArrayList<>();
-		if(fs.isDirectory(path)) {
-			for(FileStatus stat: fs.listStatus(path, CSVReblockMR.hiddenFileFilter))
-				files.add(stat.getPath());
-			Collections.sort(files);
-		}
-		else
-			files.add(path);
+		List<Path> files = Arrays.asList(IOUtilFunctions.getSortedTextFilePaths(fs, path));
 		
 		//determine matrix size via additional pass if required
 		if ( dest == null ) {
@@ -221,6 +230,23 @@ public class ReaderTextCSV extends MatrixReader
 		return lnnz;
 	}
 
+	private static long computeCSVNumColumns( FileSystem fs, Path file, boolean hasHeader, String delim ) 
+		throws IOException 
+	{
+		BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(file)));
+		try {
+			if( hasHeader )
+				br.readLine(); //ignore header
+			String value = br.readLine();
+			if( value == null )
+				throw new IOException("Failed to determine number of columns of empty csv file "+file+".");
+			return StringUtils.countMatches(value.trim(), delim) + 1;
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+	}
+	
 	private static MatrixBlock computeCSVSize( List<Path> files, JobConf job, FileSystem fs, boolean hasHeader, String delim, boolean fill, double fillValue) 
 		throws IOException, DMLRuntimeException 
 	{		
@@ -259,4 +285,111 @@ public class ReaderTextCSV extends MatrixReader
 		return createOutputMatrixBlock(nrow, ncol, 
 			nrow, ncol, (long)nrow*ncol, true, false);
 	}
+	
+	/**
+	 * Row block stream over csv files, which reads the lines of all files in
+	 * alphanumeric order and parses them block-at-a-time into dense or sparse
+	 * row blocks (according to the estimated sparsity).
+	 */
+	private static class CSVRowBlockStream extends MatrixRowBlockStream
+	{
+		private final FileSystem _fs;
+		private final Path[] _files;
+		private final CSVFileFormatProperties _props;
+		private final boolean _sparse;
+		private int _fpos = 0;
+		private BufferedReader _br = null;
+		private String _srcInfo = null;
+		
+		public CSVRowBlockStream(FileSystem fs, Path[] files, long rlen, long clen, int blen, long estnnz, CSVFileFormatProperties props) {
+			super(rlen, clen, blen);
+			_fs = fs;
+			_files = files;
+			_props = props;
+			_sparse = (rlen > 0 && estnnz >= 0) ?
+				MatrixBlock.evalSparseFormatInMemory(rlen, clen, estnnz) : false;
+		}
+		
+		@Override
+		protected MatrixBlock readNextRowBlock() 
+			throws IOException, DMLRuntimeException 
+		{
+			int ncol = (int)_clen;
+			String delim = _props.getDelim();
+			boolean fill = _props.isFill();
+			double fillValue = _props.getFillValue();
+			MatrixBlock ret = new MatrixBlock(_blen, ncol, _sparse);
+			if( !_sparse )
+				ret.allocateDenseBlock();
+			
+			//read up to blen lines (across files)
+			int row = 0;
+			long lnnz = 0;
+			String value = null;
+			while( row < _blen && (value = readLine()) != null ) {
+				String cellStr = value.trim();
+				boolean emptyValuesFound = false;
+				String[] parts = IOUtilFunctions.split(cellStr, delim);
+				int col = 0;
+				for( String part : parts ) { //foreach cell
+					part = part.trim();
+					double cellValue = 0;
+					if ( part.isEmpty() ) {
+						emptyValuesFound = true;
+						cellValue = fillValue;
+					}
+					else {
+						cellValue = UtilFunctions.parseToDouble(part);
+					}
+					if( cellValue != 0 && col < ncol ) {
+						if( _sparse )
+							ret.appendValue(row, col, cellValue);
+						else
+							ret.setValueDenseUnsafe(row, col, cellValue);
+						lnnz++;
+					}
+					col++;
+				}
+				
+				//sanity checks for empty values and number of columns
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_srcInfo, cellStr, parts, _clen);
+				row++;
+			}
+			if( row == 0 )
+				return null;
+			
+			//finalize row block (trim last block, examine sparsity)
+			ret.setNonZeros(lnnz);
+			if( row < _blen )
+				ret = ret.sliceOperations(0, row-1, 0, ncol-1, new MatrixBlock());
+			ret.examSparsity();
+			return ret;
+		}
+		
+		private String readLine() throws IOException {
+			while( true ) {
+				if( _br == null ) {
+					if( _fpos >= _files.length )
+						return null;
+					_br = new BufferedReader(new InputStreamReader(_fs.open(_files[_fpos])));
+					_srcInfo = _files[_fpos].toString();
+					if( _fpos++ == 0 && _props.hasHeader() )
+						_br.readLine(); //ignore header
+				}
+				String value = _br.readLine();
+				if( value != null )
+					return value;
+				IOUtilFunctions.closeSilently(_br);
+				_br = null;
+			}
+		}
+		
+		@Override
+		public void close() {
+			IOUtilFunctions.closeSilently(_br);
+			_br = null;
+			_fpos = _files.length;
+		}
+	}
 }
@@ -17,21 +17,29 @@
  * under the License.
  */
 
+
 package org.apache.sysml.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.FileSplit;
 import org.apache.hadoop.mapred.InputSplit;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.RecordReader;
@@ -43,27 +51,39 @@ import org.apache.sysml.hops.OptimizerUtils;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseRow;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
 
 /**
- * Parallel version of ReaderTextCSV.java. To summarize, we do two passes in
- * order to compute row offsets and the actual read. We accordingly create count
- * and read tasks and use fixed-size thread pools to execute these tasks. If the
- * target matrix is dense, the inserts are done lock-free. In contrast to
- * textcell parallel read, we also do lock-free inserts. If the matrix is
- * sparse, because splits contain row partitioned lines and hence there is no
- * danger of lost updates. Note, there is also no sorting of sparse rows
- * required because data comes in sorted order per row.
+ * Parallel version of ReaderTextCSV.java. In contrast to the sequential reader,
+ * we read the input in a single pass, where every split is parsed by a separate
+ * task directly from the raw bytes of the underlying input stream (w/o per-line
+ * or per-field string objects, and with a custom double parser). Since the row
+ * offsets of the splits are unknown until all splits have been read, every task
+ * appends its rows into split-local dense chunks or sparse rows, which are 
+ * stitched together (again in parallel) into the output matrix block at the end.
+ * Splits follow the semantics of TextInputFormat, i.e., every split skips its
+ * first (partial) line except for the first split, and reads the line crossing
+ * its end. Compressed inputs are read with the sequential reader.
  * 
  */
 public class ReaderTextCSVParallel extends MatrixReader 
 {
+	//buffer size for reading raw bytes per split (grown for long lines)
+	private static final int BUFFER_SIZE = 64 * 1024;
+	//number of cells per split-local dense chunk
+	private static final int CHUNK_SIZE = 1024 * 1024;
+	
 	private CSVFileFormatProperties _props = null;
 	private int _numThreads = 1;
 
-	private SplitOffsetInfos _offsets = null;
-
 	public ReaderTextCSVParallel(CSVFileFormatProperties props) {
-		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+		this(props, OptimizerUtils.getParallelTextReadParallelism());
+	}
+	
+	public ReaderTextCSVParallel(CSVFileFormatProperties props, int numThreads) {
+		_numThreads = numThreads;
 		_props = props;
 	}
 
@@ -86,18 +106,23 @@ public class ReaderTextCSVParallel extends MatrixReader
 
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
-
-		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits,
-				path, job, _props.hasHeader(), _props.getDelim(), estnnz);
-		rlen = ret.getNumRows();
-		clen = ret.getNumColumns();
-
-		// Second Read Pass (read, parse strings, append to matrix block)
-		readCSVMatrixFromHDFS(splits, path, job, ret, rlen, clen, brlen, bclen,
-				_props.hasHeader(), _props.getDelim(), _props.isFill(),
-				_props.getFillValue());
+		
+		// fall back to sequential read for compressed (non-splittable) inputs
+		CompressionCodecFactory codecs = new CompressionCodecFactory(job);
+		for( InputSplit split : splits )
+			if( codecs.getCodec(((FileSplit)split).getPath()) != null )
+				return new ReaderTextCSV(_props).readMatrixFromHDFS(fname, rlen, clen, brlen, bclen, estnnz);
+		
+		// determine number of columns and target representation
+		int ncol = computeNumColumns(splits[0], informat, job, _props.getDelim());
+		boolean sparse = rlen > 0 && estnnz >= 0 
+			&& MatrixBlock.evalSparseFormatInMemory(rlen, ncol, estnnz);
+		
+		// single read pass (read, parse bytes, append to split-local rows)
+		List<SplitRows> rows = readCSVSplitsFromHDFS(splits, fs, ncol, sparse);
+		
+		// stitch split-local rows into the output matrix block
+		MatrixBlock ret = stitchSplitRows(rows, ncol, sparse);
 		
 		//post-processing (representation-specific, change of sparse/dense block representation)
 		// - no sorting required for CSV because it is read in sorted order per row
@@ -112,6 +137,14 @@ public class ReaderTextCSVParallel extends MatrixReader
 		return ret;
 	}
 
+	@Override
+	public MatrixRowBlockStream openRowBlockStream(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//sequential streaming read (incremental by definition)
+		return new ReaderTextCSV(_props).openRowBlockStream(fname, rlen, clen, brlen, bclen, estnnz);
+	}
+
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz) 
 		throws IOException, DMLRuntimeException 
@@ -121,61 +154,81 @@ public class ReaderTextCSVParallel extends MatrixReader
 			.readMatrixFromInputStream(is, rlen, clen, brlen, bclen, estnnz);
 	}
 	
-	private void readCSVMatrixFromHDFS(InputSplit[] splits, Path path, JobConf job, 
-			MatrixBlock dest, long rlen, long clen, int brlen, int bclen, 
-			boolean hasHeader, String delim, boolean fill, double fillValue) 
+	private List<SplitRows> readCSVSplitsFromHDFS(InputSplit[] splits, FileSystem fs, int ncol, boolean sparse) 
 		throws IOException 
 	{
-		FileInputFormat.addInputPath(job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
-
+		byte[] delim = _props.getDelim().getBytes(StandardCharsets.UTF_8);
 		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
-
-		try 
-		{
-			// create read tasks for all splits
+		try {
+			// create and execute read tasks for all splits
 			ArrayList<CSVReadTask> tasks = new ArrayList<>();
-			int splitCount = 0;
-			for (InputSplit split : splits) {
-				tasks.add( new CSVReadTask(split, _offsets, informat, job, dest, 
-					rlen, clen, hasHeader, delim, fill, fillValue, splitCount++) );
+			for( int i=0; i<splits.length; i++ ) {
+				tasks.add(new CSVReadTask((FileSplit)splits[i], fs, ncol, sparse,
+					i==0 && _props.hasHeader(), delim, _props.isFill(), _props.getFillValue()));
 			}
-			pool.invokeAll(tasks);
-			pool.shutdown();
-
-			// check return codes and aggregate nnz
-			long lnnz = 0;
-			for (CSVReadTask rt : tasks) {
-				lnnz += rt.getPartialNnz();
-				if (!rt.getReturnCode()) {
-					Exception err = rt.getException();
-					throw new IOException("Read task for csv input failed: "+ err.toString(), err);
-				}
-			}
-			dest.setNonZeros(lnnz);
+			List<SplitRows> ret = new ArrayList<>();
+			for( Future<SplitRows> task : pool.invokeAll(tasks) )
+				ret.add(task.get());
+			return ret;
 		} 
 		catch (Exception e) {
-			throw new IOException("Threadpool issue, while parallel read.", e);
+			throw new IOException("Failed parallel read of text csv input.", e);
+		}
+		finally {
+			pool.shutdown();
 		}
 	}
-
-	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(
-			InputSplit[] splits, Path path, JobConf job, boolean hasHeader,
-			String delim, long estnnz) throws IOException, DMLRuntimeException 
+	
+	private MatrixBlock stitchSplitRows(List<SplitRows> rows, int ncol, boolean sparse) 
+		throws IOException, DMLRuntimeException
 	{
-		int nrow = 0;
-		int ncol = 0;
+		// compute row offsets and nnz of all splits
+		long nrow = 0, lnnz = 0;
+		int[] offsets = new int[rows.size()];
+		for( int i=0; i<rows.size(); i++ ) {
+			offsets[i] = (int) nrow;
+			nrow += rows.get(i)._nrows;
+			lnnz += rows.get(i)._nnz;
+		}
+		if( !OptimizerUtils.isValidCPDimensions(nrow, ncol) )
+			throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: "+nrow+" x "+ncol);
 		
-		FileInputFormat.addInputPath(job, path);
-		TextInputFormat informat = new TextInputFormat();
-		informat.configure(job);
+		// allocate output in the representation used for split-local rows
+		MatrixBlock ret = new MatrixBlock((int)nrow, ncol, sparse, lnnz);
+		if( sparse )
+			ret.allocateSparseRowsBlock();
+		else
+			ret.allocateDenseBlockUnsafe((int)nrow, ncol);
+		ret.setNonZeros(lnnz);
+		
+		// copy split-local rows into disjoint row ranges (lock-free)
+		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+		try {
+			ArrayList<StitchTask> tasks = new ArrayList<>();
+			for( int i=0; i<rows.size(); i++ )
+				tasks.add(new StitchTask(rows.get(i), ret, offsets[i]));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of text csv input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		
+		return ret;
+	}
 
+	private static int computeNumColumns(InputSplit split, TextInputFormat informat, JobConf job, String delim) 
+		throws IOException
+	{
 		// count no of entities in the first non-header row
+		int ncol = 0;
 		LongWritable key = new LongWritable();
 		Text oneLine = new Text();
 		RecordReader<LongWritable, Text> reader = informat
-				.getRecordReader(splits[0], job, Reporter.NULL);
+				.getRecordReader(split, job, Reporter.NULL);
 		try {
 			if (reader.next(key, oneLine)) {
 				String cellStr = oneLine.toString().trim();
@@ -185,305 +238,290 @@ public class ReaderTextCSVParallel extends MatrixReader
 		finally {
 			IOUtilFunctions.closeSilently(reader);
 		}
-
-		// count rows in parallel per split
-		try 
-		{
-			ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
-			ArrayList<CountRowsTask> tasks = new ArrayList<>();
-			for (InputSplit split : splits) {
-				tasks.add(new CountRowsTask(split, informat, job, hasHeader));
-				hasHeader = false;
-			}
-			pool.invokeAll(tasks);
-			pool.shutdown();
-
-			// collect row counts for offset computation
-			// early error notify in case not all tasks successful
-			_offsets = new SplitOffsetInfos(tasks.size());
-			for (CountRowsTask rt : tasks) {
-				if (!rt.getReturnCode())
-					throw new IOException("Count task for csv input failed: "+ rt.getErrMsg());
-				_offsets.setOffsetPerSplit(tasks.indexOf(rt), nrow);
-				_offsets.setLenghtPerSplit(tasks.indexOf(rt), rt.getRowCount());
-				nrow = nrow + rt.getRowCount();
-			}
-		} 
-		catch (Exception e) {
-			throw new IOException("Threadpool Error " + e.getMessage(), e);
-		}
-		
-		// allocate target matrix block based on given size; 
-		// need to allocate sparse as well since lock-free insert into target
-		long estnnz2 = (estnnz < 0) ? (long)nrow * ncol : estnnz;
-		return createOutputMatrixBlock(nrow, ncol, nrow, ncol, estnnz2, true, true);
+		return ncol;
 	}
-
-	private static class SplitOffsetInfos {
-		// offset & length info per split
-		private int[] offsetPerSplit = null;
-		private int[] lenghtPerSplit = null;
-
-		public SplitOffsetInfos(int numSplits) {
-			lenghtPerSplit = new int[numSplits];
-			offsetPerSplit = new int[numSplits];
-		}
-
-		public int getLenghtPerSplit(int split) {
-			return lenghtPerSplit[split];
-		}
-
-		public void setLenghtPerSplit(int split, int r) {
-			lenghtPerSplit[split] = r;
+	
+	/**
+	 * Split-local rows, either in dense chunks of row-major cells or as
+	 * individual sparse rows (null for empty rows).
+	 */
+	private static class SplitRows 
+	{
+		private final int _chunkRows;
+		private final ArrayList<double[]> _chunks;
+		private final ArrayList<SparseRow> _rows;
+		private int _nrows = 0;
+		private long _nnz = 0;
+		
+		public SplitRows(int ncol, boolean sparse) {
+			_chunkRows = Math.max(CHUNK_SIZE / Math.max(ncol, 1), 1);
+			_chunks = sparse ? null : new ArrayList<>();
+			_rows = sparse ? new ArrayList<>() : null;
 		}
-
-		public int getOffsetPerSplit(int split) {
-			return offsetPerSplit[split];
+		
+		public double[] getDenseRow(int ncol) {
+			if( _nrows % _chunkRows == 0 )
+				_chunks.add(new double[_chunkRows * ncol]);
+			return _chunks.get(_chunks.size()-1);
 		}
-
-		public void setOffsetPerSplit(int split, int o) {
-			offsetPerSplit[split] = o;
+		
+		public int getDenseRowOffset(int ncol) {
+			return (_nrows % _chunkRows) * ncol;
 		}
 	}
-
-	private static class CountRowsTask implements Callable<Object> 
+	
+	/**
+	 * Minimal buffered line reader over raw bytes, which exposes every line
+	 * (w/o line terminators) as a range of the internal buffer. Lines are 
+	 * terminated by LF, CR, or CRLF, consistent with the hadoop line reader.
+	 */
+	private static class ByteLineReader 
 	{
-		private InputSplit _split = null;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
-		private boolean _rc = true;
-		private String _errMsg = null;
-		private int _nrows = -1;
-		private boolean _hasHeader = false;
-
-		public CountRowsTask(InputSplit split, TextInputFormat informat,
-				JobConf job, boolean hasHeader) {
-			_split = split;
-			_informat = informat;
-			_job = job;
-			_nrows = 0;
-			_hasHeader = hasHeader;
-		}
-
-		public boolean getReturnCode() {
-			return _rc;
-		}
-
-		public int getRowCount() {
-			return _nrows;
+		private final InputStream _in;
+		private byte[] _buf = new byte[BUFFER_SIZE];
+		private long _bufOffset; //file offset of buffer start
+		private int _len = 0;    //number of valid bytes
+		private int _pos = 0;    //start of next line
+		private int _lstart = 0; //start of current line
+		private int _lend = 0;   //end of current line (exclusive)
+		private boolean _eof = false;
+		
+		public ByteLineReader(InputStream in, long offset) {
+			_in = in;
+			_bufOffset = offset;
 		}
 		
-		public String getErrMsg() {
-			return _errMsg;
+		public long getPosition() {
+			return _bufOffset + _pos;
 		}
-
-		@Override
-		public Object call() 
-			throws Exception 
-		{
-			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
-			LongWritable key = new LongWritable();
-			Text oneLine = new Text();
-
-			try {
-				// count rows from the first non-header row
-				if (_hasHeader) {
-					reader.next(key, oneLine);
+		
+		public boolean nextLine() throws IOException {
+			int i = _pos;
+			while( true ) {
+				for( ; i < _len; i++ ) {
+					byte b = _buf[i];
+					if( b == '\n' || (b == '\r' && (i+1 < _len || _eof)) ) {
+						_lstart = _pos;
+						_lend = i;
+						_pos = (b == '\r' && i+1 < _len && _buf[i+1] == '\n') ? i+2 : i+1;
+						return true;
+					}
+					else if( b == '\r' )
+						break; //lookahead for CRLF required
 				}
-				while (reader.next(key, oneLine)) {
-					_nrows++;
+				if( _eof ) {
+					if( _pos >= _len )
+						return false;
+					_lstart = _pos;
+					_lend = _pos = _len;
+					return true;
 				}
-			} 
-			catch (Exception e) {
-				_rc = false;
-				_errMsg = "RecordReader error CSV format. split: "+ _split.toString() + e.getMessage();
-				throw new IOException(_errMsg);
-			} 
-			finally {
-				IOUtilFunctions.closeSilently(reader);
+				//compact and grow buffer, and read next bytes
+				i -= _pos;
+				if( _pos > 0 ) {
+					System.arraycopy(_buf, _pos, _buf, 0, _len - _pos);
+					_bufOffset += _pos;
+					_len -= _pos;
+					_pos = 0;
+				}
+				if( _len == _buf.length )
+					_buf = Arrays.copyOf(_buf, 2 * _buf.length);
+				int n = _in.read(_buf, _len, _buf.length - _len);
+				if( n < 0 )
+					_eof = true;
+				else
+					_len += n;
 			}
-
-			return null;
 		}
 	}
 
-	private static class CSVReadTask implements Callable<Object> 
+	private static class CSVReadTask implements Callable<SplitRows> 
 	{
-		private InputSplit _split = null;
-		private SplitOffsetInfos _splitoffsets = null;
-		private boolean _sparse = false;
-		private TextInputFormat _informat = null;
-		private JobConf _job = null;
-		private MatrixBlock _dest = null;
-		private long _rlen = -1;
-		private long _clen = -1;
-		private boolean _isFirstSplit = false;
-		private boolean _hasHeader = false;
-		private boolean _fill = false;
-		private double _fillValue = 0;
-		private String _delim = null;
-		private int _splitCount = 0;
+		private final FileSplit _split;
+		private final FileSystem _fs;
+		private final int _ncol;
+		private final boolean _sparse;
+		private final boolean _hasHeader;
+		private final byte[] _delim;
+		private final boolean _fill;
+		private final double _fillValue;
 		
-		private boolean _rc = true;
-		private Exception _exception = null;
-		private long _nnz;
-		
-		public CSVReadTask(InputSplit split, SplitOffsetInfos offsets,
-				TextInputFormat informat, JobConf job, MatrixBlock dest,
-				long rlen, long clen, boolean hasHeader, String delim,
-				boolean fill, double fillValue, int splitCount) 
+		public CSVReadTask(FileSplit split, FileSystem fs, int ncol, boolean sparse, 
+			boolean hasHeader, byte[] delim, boolean fill, double fillValue) 
 		{
 			_split = split;
-			_splitoffsets = offsets; // new SplitOffsetInfos(offsets);
-			_sparse = dest.isInSparseFormat();
-			_informat = informat;
-			_job = job;
-			_dest = dest;
-			_rlen = rlen;
-			_clen = clen;
-			_isFirstSplit = (splitCount == 0);
+			_fs = fs;
+			_ncol = ncol;
+			_sparse = sparse;
 			_hasHeader = hasHeader;
+			_delim = delim;
 			_fill = fill;
 			_fillValue = fillValue;
-			_delim = delim;
-			_rc = true;
-			_splitCount = splitCount;
-		}
-
-		public boolean getReturnCode() {
-			return _rc;
-		}
-
-		public Exception getException() {
-			return _exception;
-		}
-		
-		public long getPartialNnz() {
-			return _nnz;
 		}
 
 		@Override
-		public Object call() 
+		public SplitRows call() 
 			throws Exception 
 		{
-			int row = 0;
-			int col = 0;
-			double cellValue = 0;
-			long lnnz = 0;
+			SplitRows ret = new SplitRows(_ncol, _sparse);
+			int[] cix = _sparse ? new int[_ncol] : null;
+			double[] vals = _sparse ? new double[_ncol] : null;
+			long start = _split.getStart();
+			long end = start + _split.getLength();
 			
-			try 
-			{
-				RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
-				LongWritable key = new LongWritable();
-				Text value = new Text();
+			FSDataInputStream in = _fs.open(_split.getPath());
+			try {
+				in.seek(start);
+				ByteLineReader reader = new ByteLineReader(in, start);
 				
-				// skip the header line
-				if (_isFirstSplit && _hasHeader) {
-					reader.next(key, value);
-				}
-
-				boolean noFillEmpty = false;
-				row = _splitoffsets.getOffsetPerSplit(_splitCount);
-
-				try {
-					if (_sparse) // SPARSE<-value
+				// skip the first (partial) line, except for the first split,
+				// and the header line of the first split
+				if( start != 0 || _hasHeader )
+					reader.nextLine();
+				
+				// read all lines starting before the split end
+				while( reader.getPosition() <= end && reader.nextLine() ) 
+				{
+					byte[] buf = reader._buf;
+					int lstart = reader._lstart;
+					int lend = reader._lend;
+					
+					// trim line (consistent w/ string trim)
+					while( lstart < lend && (buf[lstart] & 0xff) <= ' ' )
+						lstart++;
+					while( lend > lstart && (buf[lend-1] & 0xff) <= ' ' )
+						lend--;
+					
+					double[] dense = _sparse ? null : ret.getDenseRow(_ncol);
+					int doff = _sparse ? 0 : ret.getDenseRowOffset(_ncol);
+					int col = 0, rnnz = 0;
+					boolean noFillEmpty = false;
+					int fstart = lstart;
+					boolean more = lstart < lend; //no cells for empty lines
+					while( more ) //foreach cell
 					{
-						while (reader.next(key, value)) // foreach line
-						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-
-								if( cellValue != 0 ) {
-									_dest.appendValue(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
-							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
+						int fend = indexOf(buf, fstart, lend, _delim);
+						if( col >= _ncol ) {
+							col = countCells(buf, reader._lstart, reader._lend, _delim);
+							break;
 						}
-					} 
-					else // DENSE<-value
-					{
-						while (reader.next(key, value)) // foreach line
-						{
-							String cellStr = value.toString().trim();
-							String[] parts = IOUtilFunctions.split(cellStr, _delim);
-							col = 0;
-
-							for (String part : parts) // foreach cell
-							{
-								part = part.trim();
-								if (part.isEmpty()) {
-									noFillEmpty |= !_fill;
-									cellValue = _fillValue;
-								} 
-								else {
-									cellValue = IOUtilFunctions.parseDoubleParallel(part);
-								}
-								if( cellValue != 0 ) {
-									_dest.setValueDenseUnsafe(row, col, cellValue);
-									lnnz++;
-								}
-								col++;
+						
+						// trim and parse cell
+						int cstart = fstart, cend = fend;
+						while( cstart < cend && (buf[cstart] & 0xff) <= ' ' )
+							cstart++;
+						while( cend > cstart && (buf[cend-1] & 0xff) <= ' ' )
+							cend--;
+						double cellValue;
+						if( cstart == cend ) {
+							noFillEmpty |= !_fill;
+							cellValue = _fillValue;
+						}
+						else {
+							cellValue = IOUtilFunctions.parseDouble(buf, cstart, cend);
+						}
+						
+						if( cellValue != 0 ) {
+							if( _sparse ) {
+								cix[rnnz] = col;
+								vals[rnnz] = cellValue;
 							}
-
-							// sanity checks (number of columns, fill values)
-							IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _fill, noFillEmpty);
-							IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _clen);
-							
-							row++;
+							else
+								dense[doff + col] = cellValue;
+							rnnz++;
 						}
+						col++;
+						
+						more = fend < lend;
+						fstart = fend + _delim.length;
 					}
-
-					// sanity checks (number of rows)
-					if (row != (_splitoffsets.getOffsetPerSplit(_splitCount) + _splitoffsets.getLenghtPerSplit(_splitCount)) ) 
-					{
-						throw new IOException("Incorrect number of rows ("+ row+ ") found in delimited file ("
-										+ (_splitoffsets.getOffsetPerSplit(_splitCount) 
-										+ _splitoffsets.getLenghtPerSplit(_splitCount))+ "): " + value);
+					
+					// sanity checks (number of columns, fill values)
+					if( noFillEmpty || col != _ncol ) {
+						String line = new String(buf, reader._lstart, 
+							reader._lend - reader._lstart, StandardCharsets.UTF_8).trim();
+						IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(line, _fill, noFillEmpty);
+						throw new IOException("Invalid number of columns (" + col + ", expected=" + _ncol + ") "
+							+ "found in delimited file (" + _split.toString() + ") for line: " + line);
 					}
-				} 
-				finally {
-					IOUtilFunctions.closeSilently(reader);
-				}
-			} 
-			catch (Exception ex) {
-				// central error handling (return code, message)
-				_rc = false;
-				_exception = ex;
-
-				// post-mortem error handling and bounds checking
-				if (row < 0 || row + 1 > _rlen || col < 0 || col + 1 > _clen) {
-					String errMsg = "CSV cell [" + (row + 1) + "," + (col + 1)+ "] " + 
-							"out of overall matrix range [1:" + _rlen+ ",1:" + _clen + "]. " + ex.getMessage();
-					throw new IOException(errMsg, _exception);
-				} 
-				else {
-					String errMsg = "Unable to read matrix in text CSV format. "+ ex.getMessage();
-					throw new IOException(errMsg, _exception);
+					
+					// append sparse row (dense rows written in place)
+					if( _sparse ) {
+						SparseRowVector row = null;
+						if( rnnz > 0 ) {
+							row = new SparseRowVector(rnnz);
+							for( int j=0; j<rnnz; j++ )
+								row.append(cix[j], vals[j]);
+						}
+						ret._rows.add(row);
+					}
+					ret._nnz += rnnz;
+					ret._nrows++;
 				}
 			}
-
-			//post processing
-			_nnz = lnnz;
+			finally {
+				IOUtilFunctions.closeSilently(in);
+			}
 			
+			return ret;
+		}
+		
+		private static int indexOf(byte[] buf, int from, int to, byte[] delim) {
+			byte d0 = delim[0];
+			for( int i=from; i<=to-delim.length; i++ )
+				if( buf[i] == d0 && (delim.length == 1 || matches(buf, i, delim)) )
+					return i;
+			return to;
+		}
+		
+		private static boolean matches(byte[] buf, int pos, byte[] delim) {
+			for( int j=1; j<delim.length; j++ )
+				if( buf[pos+j] != delim[j] )
+					return false;
+			return true;
+		}
+		
+		private static int countCells(byte[] buf, int from, int to, byte[] delim) {
+			int count = 1;
+			for( int pos = indexOf(buf, from, to, delim); pos < to; 
+				pos = indexOf(buf, pos + delim.length, to, delim) )
+				count++;
+			return count;
+		}
+	}
+	
+	private static class StitchTask implements Callable<Object> 
+	{
+		private final SplitRows _rows;
+		private final MatrixBlock _dest;
+		private final int _offset;
+		
+		public StitchTask(SplitRows rows, MatrixBlock dest, int offset) {
+			_rows = rows;
+			_dest = dest;
+			_offset = offset;
+		}
+		
+		@Override
+		public Object call() {
+			int ncol = _dest.getNumColumns();
+			if( _dest.isInSparseFormat() ) {
+				//shallow copy of sparse rows (MCSR)
+				SparseBlock sblock = _dest.getSparseBlock();
+				for( int i=0; i<_rows._nrows; i++ )
+					if( _rows._rows.get(i) != null )
+						sblock.set(_offset+i, _rows._rows.get(i), false);
+			}
+			else {
+				//copy and release dense chunks
+				double[] dense = _dest.getDenseBlock();
+				for( int c=0; c<_rows._chunks.size(); c++ ) {
+					int rl = c * _rows._chunkRows;
+					int nrows = Math.min(_rows._chunkRows, _rows._nrows - rl);
+					System.arraycopy(_rows._chunks.get(c), 0, dense, (_offset+rl)*ncol, nrows*ncol);
+					_rows._chunks.set(c, null);
+				}
+			}
 			return null;
 		}
 	}
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.hadoop.util.LineReader;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseRowVector;
+
+/**
+ * Reader for matrices in libsvm format, where every line holds a label
+ * followed by the non-zero features as pairs of 1-based feature indexes
+ * and values. The label of every row is stored in the last column of the
+ * output matrix, i.e., a libsvm file with n features is read into a matrix
+ * with n+1 columns. If the number of columns is unknown, it is inferred
+ * from the maximum feature index of non-zero features.
+ *
+ * All lines are parsed directly from the bytes of the input lines into
+ * growable CSR arrays, which are finally assigned as a CSR sparse block
+ * (w/o intermediate text cells or sparse row objects).
+ */
+public class ReaderTextLIBSVM extends MatrixReader
+{
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, 1);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+
+		//core read (all splits into a single row buffer)
+		LibsvmRows rows = new LibsvmRows();
+		for( InputSplit split : splits )
+			readLibsvmSplit(informat, split, job, rows);
+
+		//create output block and check consistency w/ meta data
+		List<LibsvmRows> list = Collections.singletonList(rows);
+		MatrixBlock ret = allocateOutputMatrixBlock(list, rlen, clen);
+		rows.copyToCSR(ret, 0);
+
+		//finally check if change of sparse/dense block representation required
+		//(nnz explicitly maintained during read)
+		ret.examSparsity();
+
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//core read
+		LibsvmRows rows = new LibsvmRows();
+		try {
+			LineReader reader = new LineReader(is);
+			Text value = new Text();
+			while( reader.readLine(value) > 0 )
+				rows.appendLine(value);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(is);
+		}
+
+		//create output block and check consistency w/ meta data
+		MatrixBlock ret = allocateOutputMatrixBlock(Collections.singletonList(rows), rlen, clen);
+		rows.copyToCSR(ret, 0);
+
+		//finally check if change of sparse/dense block representation required
+		ret.examSparsity();
+
+		return ret;
+	}
+
+	@Override
+	public MatrixRowBlockStream openRowBlockStream(String fname, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//fall back to full read if the number of columns needs to be inferred
+		if( clen <= 0 )
+			return super.openRowBlockStream(fname, rlen, clen, brlen, bclen, estnnz);
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		return new LibsvmRowBlockStream(fs,
+			IOUtilFunctions.getSortedTextFilePaths(fs, path), rlen, clen, brlen);
+	}
+
+	protected static void readLibsvmSplit(TextInputFormat informat, InputSplit split, JobConf job, LibsvmRows dest)
+		throws IOException
+	{
+		LongWritable key = new LongWritable();
+		Text value = new Text();
+		RecordReader<LongWritable,Text> reader = informat.getRecordReader(split, job, Reporter.NULL);
+		try {
+			while( reader.next(key, value) )
+				dest.appendLine(value);
+		}
+		catch(IOException ex) {
+			throw new IOException("Failed to read libsvm input split "+split.toString()+".", ex);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+
+	/**
+	 * Allocates the CSR output matrix block for the given split-local row
+	 * buffers, including row pointers, and checks the read dimensions against
+	 * the given meta data (rlen, clen, if known).
+	 *
+	 * @param rows split-local row buffers, in order of splits
+	 * @param rlen number of rows, or -1 if unknown
+	 * @param clen number of columns (features and label), or -1 if unknown
+	 * @return output matrix block with allocated CSR arrays and row pointers
+	 * @throws IOException if the read rows are inconsistent with the meta data
+	 * @throws DMLRuntimeException if the dimensions are invalid for CP
+	 */
+	protected static MatrixBlock allocateOutputMatrixBlock(List<LibsvmRows> rows, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		//determine dimensions and nnz
+		long nrow = 0, lnnz = 0;
+		int maxCol = -1;
+		for( LibsvmRows r : rows ) {
+			nrow += r._nrows;
+			lnnz += r._nnz;
+			maxCol = Math.max(maxCol, r._maxCol);
+		}
+		long ncol = (clen > 0) ? clen : maxCol + 2;
+
+		//check consistency with meta data
+		if( rlen > 0 && rlen != nrow )
+			throw new IOException("Read matrix inconsistent with given meta data: "
+				+ "expected nrow="+ rlen + ", real nrow=" + nrow);
+		if( maxCol >= ncol-1 )
+			throw new IOException("Read matrix inconsistent with given meta data: "
+				+ "expected ncol="+ ncol + " (incl label), but found feature index " + (maxCol+1));
+		if( !OptimizerUtils.isValidCPDimensions(nrow, ncol) )
+			throw new DMLRuntimeException("Matrix dimensions too large for CP runtime: "+nrow+" x "+ncol);
+		if( lnnz > Integer.MAX_VALUE )
+			throw new DMLRuntimeException("Number of non-zeros too large for CSR sparse block: "+lnnz);
+
+		//allocate csr arrays and compute row pointers
+		int[] rptr = new int[(int)nrow+1];
+		int pos = 0;
+		for( LibsvmRows r : rows )
+			for( int i=0; i<r._nrows; i++, pos++ )
+				rptr[pos+1] = rptr[pos] + r._rlens[i] + (r._labels[i] != 0 ? 1 : 0);
+		SparseBlockCSR sblock = new SparseBlockCSR(rptr,
+			new int[(int)lnnz], new double[(int)lnnz], (int)lnnz);
+
+		return new MatrixBlock((int)nrow, (int)ncol, lnnz, sblock);
+	}
+
+	/**
+	 * Growable, split-local buffer of parsed libsvm rows in CSR layout,
+	 * where labels are kept separately as the number of columns might be
+	 * unknown until all splits have been read.
+	 */
+	protected static class LibsvmRows
+	{
+		private final SparseRowVector _vect = new SparseRowVector(64);
+		private int _nrows = 0;
+		private long _nnz = 0;   //incl non-zero labels
+		private int _maxCol = -1; //max 0-based feature index
+		private int[] _rlens = new int[1024];
+		private double[] _labels = new double[1024];
+		private int[] _cix = new int[4096];
+		private double[] _vals = new double[4096];
+		private int _size = 0;   //number of features
+
+		public int getNumRows() {
+			return _nrows;
+		}
+
+		public void appendLine(Text line)
+			throws IOException
+		{
+			//skip empty lines (e.g., trailing new lines)
+			byte[] buf = line.getBytes();
+			int end = line.getLength();
+			int start = 0;
+			while( start < end && (buf[start] & 0xff) <= ' ' )
+				start++;
+			if( start == end )
+				return;
+
+			//parse line into reused sparse row
+			double label = IOUtilFunctions.parseLibsvmRow(buf, start, end, _vect);
+			int len = _vect.size();
+
+			//grow buffers if required
+			if( _nrows == _rlens.length ) {
+				_rlens = Arrays.copyOf(_rlens, 2 * _rlens.length);
+				_labels = Arrays.copyOf(_labels, 2 * _labels.length);
+			}
+			if( _size + len > _cix.length ) {
+				int newCap = (int)Math.min(Math.max(2L * _cix.length,
+					(long)_size + len), Integer.MAX_VALUE - 8);
+				_cix = Arrays.copyOf(_cix, newCap);
+				_vals = Arrays.copyOf(_vals, newCap);
+			}
+
+			//append row (features in sorted order)
+			System.arraycopy(_vect.indexes(), 0, _cix, _size, len);
+			System.arraycopy(_vect.values(), 0, _vals, _size, len);
+			if( len > 0 )
+				_maxCol = Math.max(_maxCol, _cix[_size+len-1]);
+			_size += len;
+			_rlens[_nrows] = len;
+			_labels[_nrows] = label;
+			_nrows++;
+			_nnz += len + (label != 0 ? 1 : 0);
+		}
+
+		/**
+		 * Copies the buffered rows into the allocated CSR sparse block of the
+		 * given output, starting at the given row, where the labels are
+		 * appended as the last column. Disjoint row ranges can be copied
+		 * concurrently.
+		 *
+		 * @param dest output matrix block w/ allocated CSR sparse block
+		 * @param rowOffset row offset in the output
+		 */
+		public void copyToCSR(MatrixBlock dest, int rowOffset) {
+			SparseBlockCSR sblock = (SparseBlockCSR) dest.getSparseBlock();
+			int[] cix = sblock.indexes();
+			double[] vals = sblock.values();
+			int lastCol = dest.getNumColumns() - 1;
+			for( int i=0, spos=0; i<_nrows; i++ ) {
+				int dpos = sblock.pos(rowOffset + i);
+				int len = _rlens[i];
+				System.arraycopy(_cix, spos, cix, dpos, len);
+				System.arraycopy(_vals, spos, vals, dpos, len);
+				if( _labels[i] != 0 ) {
+					cix[dpos+len] = lastCol;
+					vals[dpos+len] = _labels[i];
+				}
+				spos += len;
+			}
+		}
+	}
+
+	/**
+	 * Row block stream over libsvm files, which reads the lines of all files
+	 * in alphanumeric order into a row buffer per row block.
+	 */
+	private static class LibsvmRowBlockStream extends MatrixRowBlockStream
+	{
+		private final FileSystem _fs;
+		private final Path[] _files;
+		private final Text _value = new Text();
+		private int _fpos = 0;
+		private InputStream _in = null;
+		private LineReader _reader = null;
+
+		public LibsvmRowBlockStream(FileSystem fs, Path[] files, long rlen, long clen, int blen) {
+			super(rlen, clen, blen);
+			_fs = fs;
+			_files = files;
+		}
+
+		@Override
+		protected MatrixBlock readNextRowBlock()
+			throws IOException, DMLRuntimeException
+		{
+			//read up to blen non-empty lines (across files)
+			LibsvmRows rows = new LibsvmRows();
+			while( rows.getNumRows() < _blen ) {
+				if( _reader == null ) {
+					if( _fpos >= _files.length )
+						break;
+					_in = _fs.open(_files[_fpos++]);
+					_reader = new LineReader(_in);
+				}
+				if( _reader.readLine(_value) > 0 )
+					rows.appendLine(_value);
+				else
+					closeReader();
+			}
+			if( rows.getNumRows() == 0 )
+				return null;
+
+			//create row block (incl consistency check w/ number of columns)
+			MatrixBlock ret = allocateOutputMatrixBlock(Collections.singletonList(rows), -1, _clen);
+			rows.copyToCSR(ret, 0);
+			ret.examSparsity();
+			return ret;
+		}
+
+		private void closeReader() {
+			IOUtilFunctions.closeSilently(_reader);
+			IOUtilFunctions.closeSilently(_in);
+			_reader = null;
+			_in = null;
+		}
+
+		@Override
+		public void close() {
+			closeReader();
+			_fpos = _files.length;
+		}
+	}
+}
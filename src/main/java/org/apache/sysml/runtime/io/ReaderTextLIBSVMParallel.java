@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.TextInputFormat;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Parallel version of ReaderTextLIBSVM.java. We read the input in a single
+ * pass, where every split is parsed by a separate task into split-local CSR
+ * buffers. Since the row offsets of the splits (and potentially the number of
+ * columns) are unknown until all splits have been read, the split-local rows
+ * are copied (again in parallel) into disjoint row ranges of the CSR output
+ * at the end.
+ */
+public class ReaderTextLIBSVMParallel extends ReaderTextLIBSVM
+{
+	private int _numThreads = 1;
+
+	public ReaderTextLIBSVMParallel() {
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		FileInputFormat.addInputPath(job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, _numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+
+		ExecutorService pool = Executors.newFixedThreadPool(_numThreads);
+		try {
+			//read and parse all splits into split-local rows
+			ArrayList<ReadTask> rtasks = new ArrayList<>();
+			for( InputSplit split : splits )
+				rtasks.add(new ReadTask(informat, split, job));
+			List<LibsvmRows> rows = new ArrayList<>();
+			for( Future<LibsvmRows> task : pool.invokeAll(rtasks) )
+				rows.add(task.get());
+
+			//create output block and check consistency w/ meta data
+			MatrixBlock ret = allocateOutputMatrixBlock(rows, rlen, clen);
+
+			//copy split-local rows into disjoint row ranges (lock-free)
+			ArrayList<CopyTask> ctasks = new ArrayList<>();
+			for( int i=0, off=0; i<rows.size(); off+=rows.get(i).getNumRows(), i++ )
+				ctasks.add(new CopyTask(rows.get(i), ret, off));
+			for( Future<Object> task : pool.invokeAll(ctasks) )
+				task.get();
+
+			//finally check if change of sparse/dense block representation required
+			//(nnz explicitly maintained during read)
+			ret.examSparsity();
+
+			return ret;
+		}
+		catch(IOException | DMLRuntimeException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of text libsvm input.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int brlen, int bclen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//not implemented yet, fallback to sequential reader
+		return super.readMatrixFromInputStream(is, rlen, clen, brlen, bclen, estnnz);
+	}
+
+	private static class ReadTask implements Callable<LibsvmRows>
+	{
+		private final TextInputFormat _informat;
+		private final InputSplit _split;
+		private final JobConf _job;
+
+		public ReadTask(TextInputFormat informat, InputSplit split, JobConf job) {
+			_informat = informat;
+			_split = split;
+			_job = job;
+		}
+
+		@Override
+		public LibsvmRows call() throws Exception {
+			LibsvmRows ret = new LibsvmRows();
+			readLibsvmSplit(_informat, _split, _job, ret);
+			return ret;
+		}
+	}
+
+	private static class CopyTask implements Callable<Object>
+	{
+		private final LibsvmRows _rows;
+		private final MatrixBlock _dest;
+		private final int _offset;
+
+		public CopyTask(LibsvmRows rows, MatrixBlock dest, int offset) {
+			_rows = rows;
+			_dest = dest;
+			_offset = offset;
+		}
+
+		@Override
+		public Object call() {
+			_rows.copyToCSR(_dest, _offset);
+			return null;
+		}
+	}
+}
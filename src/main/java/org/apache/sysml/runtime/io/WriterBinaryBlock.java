@@ -21,12 +21,16 @@ package org.apache.sysml.runtime.io;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map.Entry;
+import java.util.UUID;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -35,6 +39,8 @@ import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
 import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.mapred.MRJobConfiguration;
 import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.OrderedJSONObject;
 
 public class WriterBinaryBlock extends MatrixWriter
 {
@@ -53,20 +59,28 @@ public class WriterBinaryBlock extends MatrixWriter
 		Path path = new Path( fname );
 		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
 		
-		//if the file already exists on HDFS, remove it.
+		//if the file already exists on HDFS, remove it (incl block index).
 		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		BinaryBlockIndex.delete(fs, path);
 
 		//set up preferred custom serialization framework for binary block format
 		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
 			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
 		
 		//core write sequential/parallel
+		BinaryBlockIndex index = ConfigurationManager.isBinaryBlockIndexEnabled() ?
+			new BinaryBlockIndex() : null;
 		if( src.isDiag() )
-			writeDiagBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen);
+			writeDiagBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen,
+				(index != null) ? index.createFileIndex(path) : null);
 		else
-			writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen);
+			writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen, 0, index);
 
 		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+		
+		//write optional block index for range reads
+		if( index != null )
+			index.write(fs, path);
 	}
 
 	@Override
@@ -77,6 +91,7 @@ public class WriterBinaryBlock extends MatrixWriter
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
 		Path path = new Path( fname );
 		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		BinaryBlockIndex.delete(fs, path);
 		
 		SequenceFile.Writer writer = null;
 		try {
@@ -95,15 +110,178 @@ public class WriterBinaryBlock extends MatrixWriter
 		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
 	}
 
-	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen )
+	/**
+	 * Appends the rows of the given matrix block to an existing binary block
+	 * matrix (incl. its metadata file), without rewriting the existing part files. 
+	 * The new row blocks are written as additional part files into the existing
+	 * directory, which are transparently picked up by all binary block readers.
+	 * If the number of existing rows is not a multiple of the row block size, the
+	 * trailing partial row blocks are merged with the new rows, which requires to
+	 * rewrite only the part files that contain these partial blocks.
+	 * 
+	 * All data is first written to hidden staging files. The new part files are 
+	 * published via renames, then the rewritten part files replace the original 
+	 * files via rename-over (delete and rename if not supported by the file system), 
+	 * and finally the metadata (dimensions, nnz) is replaced atomically. Until the 
+	 * metadata is replaced, the published blocks are out of range of the existing 
+	 * metadata, so concurrent readers fail instead of reading partially appended 
+	 * data. However, if the append itself fails after publishing the new part files, 
+	 * the matrix remains unreadable with the old metadata (out of range blocks) 
+	 * and requires a manual cleanup of the new part files. With the delete and 
+	 * rename fallback, a failure between both steps also loses the original blocks 
+	 * of the rewritten part file.
+	 * 
+	 * @param src matrix block of rows to append
+	 * @param fname file name of existing binary block matrix
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public final void appendMatrixToHDFS(MatrixBlock src, String fname) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//read and validate existing metadata
+		String mtdfile = fname + ".mtd";
+		OrderedJSONObject mtd = MapReduceTool.readMetaDataFile(mtdfile);
+		long rlen, clen, nnz;
+		int brlen, bclen;
+		try {
+			if( !DataExpression.FORMAT_TYPE_VALUE_BINARY.equals(mtd.getString(DataExpression.FORMAT_TYPE)) )
+				throw new DMLRuntimeException("Append is only supported for binary block matrices: "+fname);
+			rlen = mtd.getLong(DataExpression.READROWPARAM);
+			clen = mtd.getLong(DataExpression.READCOLPARAM);
+			brlen = mtd.getInt(DataExpression.ROWBLOCKCOUNTPARAM);
+			bclen = mtd.getInt(DataExpression.COLUMNBLOCKCOUNTPARAM);
+			nnz = mtd.optLong(DataExpression.READNUMNONZEROPARAM, -1);
+		}
+		catch(JSONException ex) {
+			throw new DMLRuntimeException("Invalid metadata file for append: "+mtdfile, ex);
+		}
+		if( src.getNumColumns() != clen ) {
+			throw new DMLRuntimeException("Number of columns mismatch on append to "
+				+ fname + ": "+src.getNumColumns()+" vs "+clen+".");
+		}
+		if( src.getNumRows() == 0 )
+			return;
+		
+		//remove the block index, which becomes stale by the append
+		BinaryBlockIndex.delete(fs, path);
+		
+		//set up preferred custom serialization framework for binary block format
+		if( MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION )
+			MRJobConfiguration.addBinaryBlockSerializationFramework( job );
+		
+		//convert a single file into a directory of part files
+		String id = UUID.randomUUID().toString();
+		if( fs.isFile(path) ) {
+			Path tmp = new Path(path.getParent(), "_" + path.getName() + "." + id);
+			if( !fs.rename(path, tmp) || !fs.mkdirs(path)
+				|| !fs.rename(tmp, new Path(path, IOUtilFunctions.getPartFileName(0))) )
+				throw new IOException("Failed to convert "+fname+" into a directory of part files.");
+		}
+		
+		//extract the trailing partial row blocks and stage rewrites of the
+		//part files that contain them (w/o these blocks), key-only scan otherwise
+		long brix = rlen / brlen; //0-based row block index of first new block
+		MatrixBlock delta = src;
+		HashMap<Path, Path> rewrites = new HashMap<>();
+		if( rlen % brlen != 0 ) {
+			MatrixBlock tail = new MatrixBlock((int)(rlen % brlen), (int)clen, false);
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixBlock value = new MatrixBlock();
+			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) {
+				boolean contained = false;
+				SequenceFile.Reader reader = new SequenceFile.Reader(fs, lpath, job);
+				try {
+					while( !contained && reader.next(key) )
+						contained = (key.getRowIndex() == brix+1);
+				}
+				finally {
+					IOUtilFunctions.closeSilently(reader);
+				}
+				if( !contained )
+					continue;
+				
+				Path staged = new Path(path, "_" + id + "-" + lpath.getName());
+				long count = 0;
+				reader = new SequenceFile.Reader(fs, lpath, job);
+				SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, staged, MatrixIndexes.class, MatrixBlock.class);
+				try {
+					while( reader.next(key, value) ) {
+						if( key.getRowIndex() == brix+1 ) {
+							int cix = (int)(key.getColumnIndex()-1)*bclen;
+							tail.copy(0, value.getNumRows()-1, cix, cix+value.getNumColumns()-1, value, false);
+						}
+						else {
+							writer.append(key, value);
+							count++;
+						}
+					}
+				}
+				finally {
+					IOUtilFunctions.closeSilently(reader);
+					IOUtilFunctions.closeSilently(writer);
+				}
+				if( count == 0 ) //no remaining blocks
+					fs.delete(staged, false);
+				rewrites.put(lpath, (count > 0) ? staged : null);
+			}
+			tail.recomputeNonZeros();
+			delta = tail.appendOperations(src, new MatrixBlock(), false);
+		}
+		
+		//write new row blocks into hidden staging file(s)
+		Path stage = new Path(path, "_" + id);
+		writeBinaryBlockMatrixToHDFS(stage, job, fs, delta, delta.getNumRows(), clen, brlen, bclen, brix, null);
+		
+		//publish new part files first (incl merged partial blocks, which
+		//are out of range for the old metadata until the rewrites are published)
+		Path[] parts = IOUtilFunctions.getSequenceFilePaths(fs, stage);
+		for( int i=0; i<parts.length; i++ ) {
+			Path part = new Path(path, String.format("%s-m-%05d", id, i));
+			if( !fs.rename(parts[i], part) )
+				throw new IOException("Failed to publish appended part file "+part);
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, part);
+		}
+		if( fs.exists(stage) )
+			fs.delete(stage, true);
+		
+		//publish rewritten part files via rename-over (or delete if empty)
+		for( Entry<Path, Path> e : rewrites.entrySet() ) {
+			if( e.getValue() != null )
+				MapReduceTool.renameFileOverwrite(fs, job, e.getValue(), e.getKey());
+			else
+				fs.delete(e.getKey(), false);
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, e.getKey());
+		}
+		
+		//atomically replace the metadata with new dimensions and nnz
+		try {
+			mtd.put(DataExpression.READROWPARAM, rlen + src.getNumRows());
+			mtd.put(DataExpression.READNUMNONZEROPARAM, (nnz >= 0 && src.getNonZeros() >= 0) ?
+				nnz + src.getNonZeros() : -1);
+		}
+		catch(JSONException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		MapReduceTool.replaceMetaDataFile(mtdfile, mtd);
+	}
+
+	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen, long brix, BinaryBlockIndex index )
 		throws IOException, DMLRuntimeException
 	{
 		//sequential write 
-		writeBinaryBlockMatrixToSequenceFile(path, job, fs, src, brlen, bclen, 0, (int)rlen);
+		writeBinaryBlockMatrixToSequenceFile(path, job, fs, src, brlen, bclen, 0, (int)rlen, brix,
+			(index != null) ? index.createFileIndex(path) : null);
 	}
 
 	@SuppressWarnings("deprecation")
-	protected final void writeBinaryBlockMatrixToSequenceFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int brlen, int bclen, int rl, int ru ) 
+	protected final void writeBinaryBlockMatrixToSequenceFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int brlen, int bclen, int rl, int ru, long brix, BinaryBlockIndex.FileIndex findex ) 
 		throws DMLRuntimeException, IOException
 	{
 		boolean sparse = src.isInSparseFormat();
@@ -139,8 +317,8 @@ public class WriterBinaryBlock extends MatrixWriter
 			if( rlen <= brlen && clen <= bclen && rl == 0 ) //opt for single block
 			{
 				//directly write single block
-				indexes.setIndexes(1, 1);
-				writer.append(indexes, src);
+				indexes.setIndexes(brix+1, 1);
+				appendBlock(writer, indexes, src, findex);
 			}
 			else //general case
 			{
@@ -165,8 +343,8 @@ public class WriterBinaryBlock extends MatrixWriter
 								             col_offset, col_offset+maxCol-1, block );
 						
 						//append block to sequence file
-						indexes.setIndexes(blockRow+1, blockCol+1);
-						writer.append(indexes, block);
+						indexes.setIndexes(brix+blockRow+1, blockCol+1);
+						appendBlock(writer, indexes, block, findex);
 							
 						//reset block for later reuse
 						block.reset();
@@ -179,7 +357,7 @@ public class WriterBinaryBlock extends MatrixWriter
 	}
 
 	@SuppressWarnings("deprecation")
-	protected final void writeDiagBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen ) 
+	protected final void writeDiagBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen, BinaryBlockIndex.FileIndex findex ) 
 		throws IOException, DMLRuntimeException
 	{
 		boolean sparse = src.isInSparseFormat();
@@ -214,7 +392,7 @@ public class WriterBinaryBlock extends MatrixWriter
 			{
 				//directly write single block
 				indexes.setIndexes(1, 1);
-				writer.append(indexes, src);
+				appendBlock(writer, indexes, src, findex);
 			}
 			else //general case
 			{
@@ -250,7 +428,7 @@ public class WriterBinaryBlock extends MatrixWriter
 						
 						//append block to sequence file
 						indexes.setIndexes(blockRow+1, blockCol+1);
-						writer.append(indexes, block);
+						appendBlock(writer, indexes, block, findex);
 						
 						//reset block for later reuse
 						if( blockRow!=blockCol )
@@ -263,6 +441,16 @@ public class WriterBinaryBlock extends MatrixWriter
 		}
 	}
 
+	private static void appendBlock( SequenceFile.Writer writer, MatrixIndexes indexes, MatrixBlock block, BinaryBlockIndex.FileIndex findex )
+		throws IOException
+	{
+		//note: the offset might point to a sync marker, which is
+		//transparently skipped by the reader after seek 
+		if( findex != null )
+			findex.add(indexes.getRowIndex(), indexes.getColumnIndex(), writer.getLength());
+		writer.append(indexes, block);
+	}
+
 	@SuppressWarnings("deprecation")
 	public static final void writePartitionedBinaryBlockMatrixToHDFS( Path path, JobConf job, MatrixBlock src, long rlen, long clen, int brlen, int bclen, PDataPartitionFormat pformat )
 			throws IOException, DMLRuntimeException
@@ -45,7 +45,7 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 	}
 	
 	@Override
-	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen )
+	protected void writeBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int brlen, int bclen, long brix, BinaryBlockIndex index )
 		throws IOException, DMLRuntimeException
 	{
 		//estimate output size and number of output blocks (min 1)
@@ -59,7 +59,7 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 		
 		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
 		if( numThreads <= 1 ) {
-			super.writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen);
+			super.writeBinaryBlockMatrixToHDFS(path, job, fs, src, rlen, clen, brlen, bclen, brix, index);
 			return;
 		}
 
@@ -74,7 +74,8 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 			int blklen = (int)Math.ceil((double)rlen / brlen / numThreads) * brlen;
 			for(int i=0; i<numThreads & i*blklen<rlen; i++) {
 				Path newPath = new Path(path, IOUtilFunctions.getPartFileName(i));
-				tasks.add(new WriteFileTask(newPath, job, fs, src, i*blklen, Math.min((i+1)*blklen, rlen), brlen, bclen));
+				tasks.add(new WriteFileTask(newPath, job, fs, src, i*blklen, Math.min((i+1)*blklen, rlen), brlen, bclen, brix,
+					(index != null) ? index.createFileIndex(newPath) : null));
 			}
 
 			//wait until all tasks have been executed
@@ -107,8 +108,10 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 		private long _ru = -1;
 		private int _brlen = -1;
 		private int _bclen = -1;
+		private long _brix = -1;
+		private BinaryBlockIndex.FileIndex _findex = null;
 		
-		public WriteFileTask(Path path, JobConf job, FileSystem fs, MatrixBlock src, long rl, long ru, int brlen, int bclen) {
+		public WriteFileTask(Path path, JobConf job, FileSystem fs, MatrixBlock src, long rl, long ru, int brlen, int bclen, long brix, BinaryBlockIndex.FileIndex findex) {
 			_path = path;
 			_fs = fs;
 			_job = job;
@@ -117,13 +120,15 @@ public class WriterBinaryBlockParallel extends WriterBinaryBlock
 			_ru = ru;
 			_brlen = brlen;
 			_bclen = bclen;
+			_brix = brix;
+			_findex = findex;
 		}
 	
 		@Override
 		public Object call() 
 			throws Exception 
 		{
-			writeBinaryBlockMatrixToSequenceFile(_path, _job, _fs, _src, _brlen, _bclen, (int)_rl, (int)_ru);
+			writeBinaryBlockMatrixToSequenceFile(_path, _job, _fs, _src, _brlen, _bclen, (int)_rl, (int)_ru, _brix, _findex);
 			return null;
 		}
 	}
@@ -19,12 +19,9 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
-import java.util.Iterator;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataOutputStream;
@@ -35,8 +32,8 @@ import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
-import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class WriterMatrixMarket extends MatrixWriter
@@ -92,77 +89,32 @@ public class WriterMatrixMarket extends MatrixWriter
 	protected static void writeMatrixMarketMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
-		int rlen = src.getNumRows();
-		int clen = src.getNumColumns();
-		long nnz = src.getNonZeros();
-		
-		BufferedWriter br=new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
-
-		try
+		try( OutputStream out = fs.create(path,true) )
 		{
 			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
+			FastTextBuffer buff = IOUtilFunctions.createTextBuffer(FastTextBuffer.FLUSH_SIZE);
 			
 			if( rl == 0 ) {
 				// First output MM header
-				sb.append ("%%MatrixMarket matrix coordinate real general\n");
-			
-				// output number of rows, number of columns and number of nnz
-				sb.append (rlen + " " + clen + " " + nnz + "\n");
-				br.write( sb.toString());
-				sb.setLength(0);
-			}
-			 
-            // output matrix cell
-			if( sparse ) //SPARSE
-			{			   
-				Iterator<IJV> iter = src.getSparseBlockIterator(rl, ru);
-				while( iter.hasNext() )
-				{
-					IJV cell = iter.next();
-
-					sb.append(cell.getI()+1);
-					sb.append(' ');
-					sb.append(cell.getJ()+1);
-					sb.append(' ');
-					sb.append(cell.getV());
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
-				}
-			}
-			else //DENSE
-			{
-				for( int i=rl; i<ru; i++ )
-				{
-					String rowIndex = Integer.toString(i+1);					
-					for( int j=0; j<clen; j++ )
-					{
-						double lvalue = src.getValueDenseUnsafe(i, j);
-						if( lvalue != 0 ) //for nnz
-						{
-							sb.append(rowIndex);
-							sb.append(' ');
-							sb.append(j+1);
-							sb.append(' ');
-							sb.append(lvalue);
-							sb.append('\n');
-							br.write( sb.toString() ); //same as append
-							sb.setLength(0); 
-						}
-					}
-				}
+				appendMatrixMarketHeader(buff, src.getNumRows(), src.getNumColumns(), src.getNonZeros());
 			}
+			
+			// output matrix cell
+			WriterTextCell.appendTextCells(src, rl, ru, buff, out);
 	
 			//handle empty result
 			if ( src.isEmptyBlock(false) && rl==0 ) {
-				br.write("1 1 0\n");
+				buff.append("1 1 0\n");
 			}
+			buff.writeTo(out);
 		}
-		finally {
-			IOUtilFunctions.closeSilently(br);
-		}
+	}
+
+	protected static void appendMatrixMarketHeader( FastTextBuffer buff, long rlen, long clen, long nnz ) {
+		buff.append("%%MatrixMarket matrix coordinate real general\n");
+		
+		// output number of rows, number of columns and number of nnz
+		buff.append(rlen).append(' ').append(clen).append(' ').append(nnz).append('\n');
 	}
 
 	public static void mergeTextcellToMatrixMarket( String srcFileName, String fileName, long rlen, long clen, long nnz )
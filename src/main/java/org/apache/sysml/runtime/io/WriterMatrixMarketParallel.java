@@ -19,7 +19,10 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Callable;
@@ -27,96 +30,209 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
-import org.apache.sysml.conf.DMLConfig;
 import org.apache.sysml.hops.OptimizerUtils;
-import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
-import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 
+/**
+ * Parallel matrix market writer that preserves the single-file output. The
+ * exact number of non-zeros is computed up front for the header, and row
+ * ranges are formatted in parallel into per-thread byte buffers. The
+ * buffers of a wave of row ranges are then written at their prefix-sum
+ * offsets, via concurrent positional writes on the local file system and
+ * in order of row ranges on other file systems.
+ *
+ */
 public class WriterMatrixMarketParallel extends WriterMatrixMarket
 {
+	//default target size of formatted row ranges, bounding the buffer memory per thread
+	private static final long CHUNK_SIZE = 16L*1024*1024;
+	
+	private final long _chunkSize;
+	
+	public WriterMatrixMarketParallel() {
+		this(CHUNK_SIZE);
+	}
+	
+	public WriterMatrixMarketParallel(long chunkSize) {
+		_chunkSize = chunkSize;
+	}
+	
 	@Override
 	protected void writeMatrixMarketMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src )
 		throws IOException
 	{
 		int rlen = src.getNumRows();
 		
-		//estimate output size and number of output blocks (min 1)
-		int numPartFiles = (int)(OptimizerUtils.estimateSizeTextOutput(src.getNumRows(), src.getNumColumns(), 
-				src.getNonZeros(), OutputInfo.MatrixMarketOutputInfo)  / InfrastructureAnalyzer.getHDFSBlockSize());
-		numPartFiles = Math.max(numPartFiles, 1);
+		//estimate output size and number of row ranges (min 1)
+		long size = OptimizerUtils.estimateSizeTextOutput(src.getNumRows(), src.getNumColumns(), 
+				src.getNonZeros(), OutputInfo.MatrixMarketOutputInfo);
+		int numChunks = (int)Math.min(Math.max(size / _chunkSize, 1), rlen);
 		
 		//determine degree of parallelism
 		int numThreads = OptimizerUtils.getParallelTextWriteParallelism();
-		numThreads = Math.min(numThreads, numPartFiles);
+		numThreads = Math.min(numThreads, numChunks);
 		
-		//fall back to sequential write if dop is 1 (e.g., <128MB) in order to create single file
-		if( numThreads <= 1 ) {
+		//fall back to sequential write if dop is 1 (e.g., <2 chunks) or empty
+		if( numThreads <= 1 || src.isEmptyBlock(false) ) {
 			super.writeMatrixMarketMatrixToHDFS(path, job, fs, src);
 			return;
 		}
 		
-		//create directory for concurrent tasks
-		MapReduceTool.createDirIfNotExistOnHDFS(path, DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
-
-		//create and execute tasks
+		ExecutorService pool = Executors.newFixedThreadPool(numThreads);
 		try 
 		{
-			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
-			ArrayList<WriteMMTask> tasks = new ArrayList<>();
+			//compute exact number of non-zeros for the header
 			int blklen = (int)Math.ceil((double)rlen / numThreads);
-			for(int i=0; i<numThreads & i*blklen<rlen; i++) {
-				Path newPath = new Path(path, IOUtilFunctions.getPartFileName(i));
-				tasks.add(new WriteMMTask(newPath, job, fs, src, i*blklen, (int)Math.min((i+1)*blklen, rlen)));
-			}
-
-			//wait until all tasks have been executed
-			List<Future<Object>> rt = pool.invokeAll(tasks);	
-			pool.shutdown();
+			ArrayList<CountNnzTask> ctasks = new ArrayList<>();
+			for( int i=0; i<numThreads & i*blklen<rlen; i++ )
+				ctasks.add(new CountNnzTask(src, i*blklen, Math.min((i+1)*blklen, rlen)));
+			long nnz = 0;
+			for( Future<Long> task : pool.invokeAll(ctasks) )
+				nnz += task.get();
 			
-			//check for exceptions 
-			for( Future<Object> task : rt )
-				task.get();
+			//prepare row ranges and per-thread buffers
+			numChunks = Math.max(numChunks, numThreads);
+			blklen = (int)Math.ceil((double)rlen / numChunks);
+			FastTextBuffer[] buffs = new FastTextBuffer[numThreads];
+			for( int k=0; k<numThreads; k++ )
+				buffs[k] = IOUtilFunctions.createTextBuffer((int)Math.min(2*size/numChunks+1024, _chunkSize*2));
+			FastTextBuffer header = IOUtilFunctions.createTextBuffer(128);
+			appendMatrixMarketHeader(header, rlen, src.getNumColumns(), nnz);
 			
-			// delete crc files if written to local file system
-			if (fs instanceof LocalFileSystem) {
-				for(int i=0; i<numThreads & i*blklen<rlen; i++) 
-					IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs,
-						new Path(path, IOUtilFunctions.getPartFileName(i)));
+			if( fs instanceof LocalFileSystem ) {
+				//concurrent positional writes into single local file
+				File file = ((LocalFileSystem)fs).pathToFile(path);
+				if( file.getParentFile() != null )
+					file.getParentFile().mkdirs();
+				try( FileChannel channel = FileChannel.open(file.toPath(),
+					StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING) )
+				{
+					header.writeTo(channel, 0);
+					long offset = header.length();
+					for( int rl=0; rl<rlen; rl+=numThreads*blklen ) {
+						formatWave(pool, src, rl, blklen, buffs);
+						ArrayList<WriteTask> wtasks = new ArrayList<>();
+						for( FastTextBuffer buff : buffs ) {
+							wtasks.add(new WriteTask(buff, channel, offset));
+							offset += buff.length();
+						}
+						for( Future<Object> task : pool.invokeAll(wtasks) )
+							task.get();
+					}
+				}
+			}
+			else {
+				//ordered sequential writes into single file
+				try( FSDataOutputStream out = fs.create(path, true) ) {
+					header.writeTo(out);
+					for( int rl=0; rl<rlen; rl+=numThreads*blklen ) {
+						formatWave(pool, src, rl, blklen, buffs);
+						for( FastTextBuffer buff : buffs )
+							buff.writeTo(out);
+					}
+				}
 			}
 		} 
 		catch (Exception e) {
 			throw new IOException("Failed parallel write of text output.", e);
 		}
+		finally {
+			pool.shutdown();
+		}
 	}
 
-	private class WriteMMTask implements Callable<Object> 
+	private static void formatWave( ExecutorService pool, MatrixBlock src, int rl, int blklen, FastTextBuffer[] buffs ) 
+		throws Exception
 	{
-		private JobConf _job = null;
-		private FileSystem _fs = null;
-		private MatrixBlock _src = null;
-		private Path _path =null;
-		private int _rl = -1;
-		private int _ru = -1;
+		int rlen = src.getNumRows();
+		ArrayList<FormatTask> tasks = new ArrayList<>();
+		for( int k=0; k<buffs.length; k++ ) {
+			int lrl = (int)Math.min(rl + (long)k*blklen, rlen);
+			tasks.add(new FormatTask(src, lrl, Math.min(lrl+blklen, rlen), buffs[k]));
+		}
+		List<Future<Object>> rt = pool.invokeAll(tasks);
+		for( Future<Object> task : rt )
+			task.get();
+	}
+
+	private static class CountNnzTask implements Callable<Long> 
+	{
+		private final MatrixBlock _src;
+		private final int _rl;
+		private final int _ru;
 
-		public WriteMMTask(Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru) {
-			_path = path;
-			_job = job;
-			_fs = fs;
+		public CountNnzTask(MatrixBlock src, int rl, int ru) {
 			_src = src;
 			_rl = rl;
 			_ru = ru;
 		}
 
 		@Override
-		public Object call() throws Exception 
-		{
-			writeMatrixMarketMatrixToFile(_path, _job, _fs, _src, _rl, _ru);
+		public Long call() throws Exception {
+			if( !_src.isInSparseFormat() )
+				return _src.recomputeNonZeros(_rl, _ru-1);
+			
+			//sparse: exclude explicitly stored zeros, consistent with written cells
+			SparseBlock a = _src.getSparseBlock();
+			long nnz = 0;
+			for( int i=_rl; i<_ru; i++ ) {
+				if( a.isEmpty(i) )
+					continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				double[] avals = a.values(i);
+				for( int k=apos; k<apos+alen; k++ )
+					nnz += (avals[k] != 0) ? 1 : 0;
+			}
+			return nnz;
+		}
+	}
+
+	private static class FormatTask implements Callable<Object> 
+	{
+		private final MatrixBlock _src;
+		private final int _rl;
+		private final int _ru;
+		private final FastTextBuffer _buff;
+
+		public FormatTask(MatrixBlock src, int rl, int ru, FastTextBuffer buff) {
+			_src = src;
+			_rl = rl;
+			_ru = ru;
+			_buff = buff;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			_buff.reset();
+			WriterTextCell.appendTextCells(_src, _rl, _ru, _buff, null);
+			return null;
+		}
+	}
+
+	private static class WriteTask implements Callable<Object> 
+	{
+		private final FastTextBuffer _buff;
+		private final FileChannel _channel;
+		private final long _pos;
+
+		public WriteTask(FastTextBuffer buff, FileChannel channel, long pos) {
+			_buff = buff;
+			_channel = channel;
+			_pos = pos;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			_buff.writeTo(_channel, _pos);
 			return null;
 		}
 	}
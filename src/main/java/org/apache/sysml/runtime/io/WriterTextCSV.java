@@ -19,11 +19,9 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.util.ArrayList;
 import java.util.Collections;
 
@@ -39,14 +37,11 @@ import org.apache.sysml.runtime.matrix.CSVReblockMR;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class WriterTextCSV extends MatrixWriter
 {
-	//blocksize for string concatenation in order to prevent write OOM 
-	//(can be set to very large value to disable blocking)
-	public static final int BLOCKSIZE_J = 32; //32 cells (typically ~512B, should be less than write buffer of 1KB)
-	
 	protected CSVFileFormatProperties _props = null;
 	
 	public WriterTextCSV( CSVFileFormatProperties props ) {
@@ -103,13 +98,11 @@ public class WriterTextCSV extends MatrixWriter
 		boolean sparse = src.isInSparseFormat();
 		int clen = src.getNumColumns();
 		
-		//create buffered writer
-		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
-		
-		try
+		try( OutputStream out = fs.create(path,true) )
 		{
 			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
+			//(buffer flushed in chunks to prevent OOM on large number of columns)
+			FastTextBuffer buff = IOUtilFunctions.createTextBuffer(FastTextBuffer.FLUSH_SIZE);
 			
 			props = (props==null)? new CSVFileFormatProperties() : props;
 			String delim = props.getDelim();
@@ -118,21 +111,13 @@ public class WriterTextCSV extends MatrixWriter
 			// Write header line, if needed
 			if( props.hasHeader() && rl==0 ) 
 			{
-				//write row chunk-wise to prevent OOM on large number of columns
-				for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
-				{
-					for( int j=bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) 
-					{
-						sb.append("C"+ (j+1));
-						if ( j < clen-1 )
-							sb.append(delim);
-					}
-					br.write( sb.toString() );
-		            sb.setLength(0);	
+				for( int j=0; j<clen; j++ ) {
+					buff.append('C').append(j+1);
+					if ( j < clen-1 )
+						buff.append(delim);
+					buff.flushTo(out);
 				}
-				sb.append('\n');
-				br.write( sb.toString() );
-	            sb.setLength(0);
+				buff.append('\n');
 			}
 			
 			// Write data lines
@@ -140,8 +125,7 @@ public class WriterTextCSV extends MatrixWriter
 			{	
 				SparseBlock sblock = src.getSparseBlock();
 				for(int i=rl; i < ru; i++) 
-	            {
-					//write row chunk-wise to prevent OOM on large number of columns
+				{
 					int prev_jix = -1;
 					if(    sblock!=null && i<sblock.numRows() 
 						&& !sblock.isEmpty(i) )
@@ -156,84 +140,55 @@ public class WriterTextCSV extends MatrixWriter
 							int jix = aix[j];
 							
 							// output empty fields, if needed
-							for( int j2=prev_jix; j2<jix-1; j2++ ) {
-								if( !csvsparse )
-									sb.append('0');
-								sb.append(delim);
-							
-								//flush buffered string
-					            if( j2%BLOCKSIZE_J==0 ){
-									br.write( sb.toString() );
-						            sb.setLength(0);
-					            }
-							}
+							appendEmptyFields(buff, prev_jix+1, jix, clen, delim, csvsparse);
 							
 							// output the value (non-zero)
-							sb.append( avals[j] );
+							buff.append( avals[j] );
 							if( jix < clen-1)
-								sb.append(delim);
-							br.write( sb.toString() );
-				            sb.setLength(0);
-				            
-				            //flush buffered string
-				            if( jix%BLOCKSIZE_J==0 ){
-								br.write( sb.toString() );
-					            sb.setLength(0);
-				            }
-				            
+								buff.append(delim);
+							buff.flushTo(out);
 							prev_jix = jix;
 						}
 					}
 					
 					// Output empty fields at the end of the row.
 					// In case of an empty row, output (clen-1) empty fields
-					for( int bj=prev_jix+1; bj<clen; bj+=BLOCKSIZE_J )
-					{
-						for( int j = bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) {
-							if( !csvsparse )
-								sb.append('0');
-							if( j < clen-1 )
-								sb.append(delim);
-						}
-						br.write( sb.toString() );
-			            sb.setLength(0);	
-					}
-
-					sb.append('\n');
-					br.write( sb.toString() ); 
-					sb.setLength(0); 
+					appendEmptyFields(buff, prev_jix+1, clen, clen, delim, csvsparse);
+					buff.append('\n');
+					buff.flushTo(out);
 				}
 			}
 			else //DENSE
 			{
-				for( int i=rl; i<ru; i++ ) 
+				double[] a = src.getDenseBlock();
+				for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen ) 
 				{
-					//write row chunk-wise to prevent OOM on large number of columns
-					for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
+					for( int j=0; j<clen; j++ )
 					{
-						for( int j=bj; j<Math.min(clen,bj+BLOCKSIZE_J); j++ )
-						{
-							double lvalue = src.getValueDenseUnsafe(i, j);
-							if( lvalue != 0 ) //for nnz
-								sb.append(lvalue);
-							else if( !csvsparse ) 
-								sb.append('0');
-							
-							if( j != clen-1 )
-								sb.append(delim);
-						}
-						br.write( sb.toString() );
-			            sb.setLength(0);
+						double lvalue = (a!=null) ? a[ix+j] : 0;
+						if( lvalue != 0 ) //for nnz
+							buff.append(lvalue);
+						else if( !csvsparse ) 
+							buff.append('0');
+						
+						if( j != clen-1 )
+							buff.append(delim);
+						buff.flushTo(out);
 					}
-					
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
+					buff.append('\n');
 				}
 			}
+			
+			buff.writeTo(out);
 		}
-		finally {
-			IOUtilFunctions.closeSilently(br);
+	}
+
+	private static void appendEmptyFields( FastTextBuffer buff, int cl, int cu, int clen, String delim, boolean csvsparse ) {
+		for( int j=cl; j<cu; j++ ) {
+			if( !csvsparse )
+				buff.append('0');
+			if( j < clen-1 )
+				buff.append(delim);
 		}
 	}
 
@@ -19,10 +19,8 @@
 
 package org.apache.sysml.runtime.io;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
-import java.util.Iterator;
+import java.io.OutputStream;
 
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
@@ -30,8 +28,9 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
-import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.FastTextBuffer;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class WriterTextCell extends MatrixWriter
@@ -82,59 +81,67 @@ public class WriterTextCell extends MatrixWriter
 	protected static void writeTextCellMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
-		int clen = src.getNumColumns();
-
-		try( BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true))) )
+		try( OutputStream out = fs.create(path,true) )
 		{
 			//for obj reuse and preventing repeated buffer re-allocations
-			StringBuilder sb = new StringBuilder();
-			
-			if( sparse ) //SPARSE
-			{			   
-				Iterator<IJV> iter = src.getSparseBlockIterator(rl, ru);
-				while( iter.hasNext() )
-				{
-					IJV cell = iter.next();
-
-					sb.append(cell.getI()+1);
-					sb.append(' ');
-					sb.append(cell.getJ()+1);
-					sb.append(' ');
-					sb.append(cell.getV());
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
-				}
-			}
-			else //DENSE
-			{
-				for( int i=rl; i<ru; i++ )
-				{
-					String rowIndex = Integer.toString(i+1);					
-					for( int j=0; j<clen; j++ )
-					{
-						double lvalue = src.getValueDenseUnsafe(i, j);
-						if( lvalue != 0 ) //for nnz
-						{
-							sb.append(rowIndex);
-							sb.append(' ');
-							sb.append( j+1 );
-							sb.append(' ');
-							sb.append( lvalue );
-							sb.append('\n');
-							br.write( sb.toString() ); //same as append
-							sb.setLength(0); 
-						}
-						
-					}
-				}
-			}
+			FastTextBuffer buff = IOUtilFunctions.createTextBuffer(FastTextBuffer.FLUSH_SIZE);
+			appendTextCells(src, rl, ru, buff, out);
 	
 			//handle empty result
 			if ( src.isEmptyBlock(false) && rl==0 ) {
-				br.write("1 1 0\n");
+				buff.append("1 1 0\n");
+			}
+			buff.writeTo(out);
+		}
+	}
+
+	/**
+	 * Appends the non-zero cells of rows [rl,ru) as text cells (IJV) to the given
+	 * buffer. If an output stream is given, the buffer is flushed whenever it
+	 * exceeds the flush size; otherwise, all cells are retained in the buffer
+	 * (see {@link FastTextBuffer#flushTo}).
+	 * 
+	 * @param src matrix block
+	 * @param rl row lower index, 0-based, inclusive
+	 * @param ru row upper index, 0-based, exclusive
+	 * @param buff text buffer
+	 * @param out output stream, or null
+	 * @throws IOException if IOException occurs
+	 */
+	protected static void appendTextCells( MatrixBlock src, int rl, int ru, FastTextBuffer buff, OutputStream out )
+		throws IOException
+	{
+		if( src.isEmptyBlock(false) )
+			return;
+		
+		int clen = src.getNumColumns();
+		if( src.isInSparseFormat() ) //SPARSE
+		{
+			SparseBlock a = src.getSparseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) )
+					continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int k=apos; k<apos+alen; k++ ) {
+					if( avals[k] == 0 ) //for nnz
+						continue;
+					buff.appendCell(i+1, aix[k]+1, avals[k]);
+					buff.flushTo(out);
+				}
 			}
 		}
+		else //DENSE
+		{
+			double[] a = src.getDenseBlock();
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
+				for( int j=0; j<clen; j++ )
+					if( a[ix+j] != 0 ) { //for nnz
+						buff.appendCell(i+1, j+1, a[ix+j]);
+						buff.flushTo(out);
+					}
+		}
 	}
 }
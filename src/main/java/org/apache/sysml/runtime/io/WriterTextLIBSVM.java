@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.util.FastTextBuffer;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for matrices in libsvm format, where the last column is written
+ * as the label of every row, followed by the non-zero values of all other
+ * columns as pairs of 1-based feature indexes and values. Sparse inputs are
+ * written directly from the sparse block (w/o iterating over zero cells).
+ */
+public class WriterTextLIBSVM extends MatrixWriter
+{
+	@Override
+	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz)
+		throws IOException, DMLRuntimeException
+	{
+		//validity check matrix dimensions
+		if( src.getNumRows() != rlen || src.getNumColumns() != clen ) {
+			throw new IOException("Matrix dimensions mismatch with metadata: "+src.getNumRows()+"x"+src.getNumColumns()+" vs "+rlen+"x"+clen+".");
+		}
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+
+		//core write
+		writeLIBSVMMatrixToHDFS(path, job, fs, src);
+
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+	}
+
+	@Override
+	public final void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen)
+		throws IOException, DMLRuntimeException
+	{
+		//write empty rows with zero labels
+		MatrixBlock src = new MatrixBlock((int)Math.max(rlen,1), (int)Math.max(clen,1), true);
+		writeMatrixToHDFS(src, fname, src.getNumRows(), src.getNumColumns(), brlen, bclen, 0);
+	}
+
+	protected void writeLIBSVMMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src )
+		throws IOException
+	{
+		//sequential write libsvm file
+		writeLIBSVMMatrixToFile(path, job, fs, src, 0, src.getNumRows());
+	}
+
+	protected static void writeLIBSVMMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
+		throws IOException
+	{
+		try( OutputStream out = fs.create(path,true) )
+		{
+			//for obj reuse and preventing repeated buffer re-allocations
+			FastTextBuffer buff = IOUtilFunctions.createTextBuffer(FastTextBuffer.FLUSH_SIZE);
+			for( int i=rl; i<ru; i++ ) {
+				appendLibsvmRow(src, i, buff);
+				buff.append('\n');
+				buff.flushTo(out);
+			}
+			buff.writeTo(out);
+		}
+	}
+
+	/**
+	 * Appends the given row in libsvm format (w/o line terminator) to the given
+	 * text buffer, where the last column is written as the label.
+	 *
+	 * @param src matrix block
+	 * @param i row index
+	 * @param buff text buffer
+	 */
+	public static void appendLibsvmRow( MatrixBlock src, int i, FastTextBuffer buff )
+	{
+		int lastCol = src.getNumColumns() - 1;
+
+		if( src.isInSparseFormat() ) //SPARSE
+		{
+			SparseBlock sblock = src.getSparseBlock();
+			if( sblock == null || sblock.isEmpty(i) ) {
+				buff.append(0d); //empty row, zero label
+				return;
+			}
+			int apos = sblock.pos(i);
+			int alen = sblock.size(i);
+			int[] aix = sblock.indexes(i);
+			double[] avals = sblock.values(i);
+			//label as last column (sorted column indexes)
+			boolean label = aix[apos+alen-1] == lastCol;
+			buff.append(label ? avals[apos+alen-1] : 0d);
+			for( int k=apos; k<apos+alen-(label?1:0); k++ ) {
+				buff.append(' ');
+				buff.append(aix[k]+1);
+				buff.append(':');
+				buff.append(avals[k]);
+			}
+		}
+		else //DENSE
+		{
+			buff.append(src.getValueDenseUnsafe(i, lastCol));
+			for( int j=0; j<lastCol; j++ ) {
+				double lvalue = src.getValueDenseUnsafe(i, j);
+				if( lvalue != 0 ) { //for nnz
+					buff.append(' ');
+					buff.append(j+1);
+					buff.append(':');
+					buff.append(lvalue);
+				}
+			}
+		}
+	}
+}
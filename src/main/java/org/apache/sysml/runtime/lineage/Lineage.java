@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.parser.Expression.DataType;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction.CPType;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+
+/**
+ * Lineage tracing of runtime instructions. The lineage of all matrix and frame
+ * objects bound to variables of a LocalVariableMap is maintained by object identity
+ * (with weak references), which makes it robust against variable renaming (cpvar,
+ * mvvar), function parameter binding, and cleanup (rmvar) without any changes to
+ * the symbol table. Scalars are traced by value, i.e., as part of the signature of
+ * consuming instructions.
+ *
+ * Only deterministic CP instructions whose inputs are fully described by their
+ * instruction string are traced; the outputs of all other instructions obtain new
+ * leaf lineage items on first use, which are only equivalent to themselves.
+ */
+public class Lineage
+{
+	//deterministic instruction types with all data inputs as operands
+	private static final Set<CPType> TRACED_TYPES = Collections.unmodifiableSet(EnumSet.of(
+		CPType.AggregateUnary, CPType.AggregateBinary, CPType.AggregateTernary,
+		CPType.ArithmeticBinary, CPType.Ternary, CPType.Quaternary, CPType.BooleanBinary,
+		CPType.BooleanUnary, CPType.BuiltinBinary, CPType.BuiltinUnary, CPType.Builtin,
+		CPType.Reorg, CPType.RelationalBinary, CPType.Append, CPType.QSort, CPType.QPick,
+		CPType.MatrixIndexing, CPType.MMTSJ, CPType.MMChain, CPType.MatrixReshape,
+		CPType.SpoofFused, CPType.CentralMoment, CPType.Covariance, CPType.UaggOuterChain));
+
+	private static final String INPUT_PLACEHOLDER = "#";
+	private static final String OUTPUT_PLACEHOLDER = "_";
+
+	//lineage of cacheable data objects (by identity, weak keys)
+	private static final Map<Data, LineageItem> _lineage =
+		Collections.synchronizedMap(new WeakHashMap<Data, LineageItem>());
+
+	private Lineage() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Obtains the lineage of the given variable. Matrices and frames of unknown
+	 * origin are assigned a new leaf lineage item.
+	 *
+	 * @param ec execution context
+	 * @param varname variable name
+	 * @return lineage item or null if the variable is not a matrix or frame
+	 */
+	public static LineageItem getLineage(ExecutionContext ec, String varname) {
+		return getLineage(ec.getVariable(varname));
+	}
+
+	private static LineageItem getLineage(Data dat) {
+		if( !(dat instanceof CacheableData) )
+			return null;
+		synchronized( _lineage ) {
+			LineageItem li = _lineage.get(dat);
+			if( li == null ) {
+				li = new LineageItem();
+				_lineage.put(dat, li);
+			}
+			return li;
+		}
+	}
+
+	/**
+	 * Indicates if the given instruction is traced, i.e., if equivalent
+	 * lineage items imply equivalent outputs.
+	 *
+	 * @param inst instruction
+	 * @return true if the instruction is traced
+	 */
+	public static boolean isTraced(Instruction inst) {
+		return inst instanceof ComputationCPInstruction
+			&& TRACED_TYPES.contains(((CPInstruction)inst).getCPInstructionType());
+	}
+
+	/**
+	 * Creates the lineage item of the output of the given instruction from its
+	 * opcode, signature, and input lineage. This method is called before instruction
+	 * execution, which allows for a reuse of previously computed outputs.
+	 *
+	 * @param inst instruction
+	 * @param ec execution context
+	 * @return lineage item of the output, or null if the instruction is not traced
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static LineageItem createItem(Instruction inst, ExecutionContext ec)
+		throws DMLRuntimeException
+	{
+		if( !isTraced(inst) )
+			return null;
+
+		//construct signature w/o variable names, but with scalar values and
+		//placeholders of matrix/frame inputs (positional) and the output
+		String outName = ((ComputationCPInstruction)inst).output.getName();
+		String[] parts = inst.toString().split(Lop.OPERAND_DELIMITOR);
+		int outPos = -1;
+		for( int i=parts.length-1; i>=0 && outPos<0; i-- )
+			if( outName.equals(getVariableName(parts[i])) )
+				outPos = i;
+
+		StringBuilder sb = new StringBuilder();
+		ArrayList<LineageItem> inputs = new ArrayList<>();
+		for( int i=0; i<parts.length; i++ ) {
+			if( i > 0 )
+				sb.append(Lop.OPERAND_DELIMITOR);
+			String name = getVariableName(parts[i]);
+			if( name == null ) //literal or other parameter
+				sb.append(parts[i]);
+			else if( i == outPos )
+				sb.append(OUTPUT_PLACEHOLDER);
+			else {
+				Data dat = ec.getVariable(name);
+				if( dat instanceof ScalarObject ) {
+					ScalarObject so = (ScalarObject) dat;
+					sb.append(so.getValueType().toString());
+					sb.append(Lop.VALUETYPE_PREFIX);
+					sb.append(so.getStringValue());
+				}
+				else if( dat instanceof CacheableData ) {
+					sb.append(INPUT_PLACEHOLDER);
+					sb.append(inputs.size());
+					inputs.add(getLineage(dat));
+				}
+				else //e.g., unbound variables
+					return null;
+			}
+		}
+
+		return new LineageItem(((CPInstruction)inst).getOpcode(),
+			sb.toString(), inputs.toArray(new LineageItem[0]));
+	}
+
+	/**
+	 * Sets the lineage of the output of the given, executed instruction.
+	 *
+	 * @param inst instruction
+	 * @param li lineage item of the output (or null if not traced)
+	 * @param ec execution context
+	 */
+	public static void setItem(Instruction inst, LineageItem li, ExecutionContext ec) {
+		if( !(inst instanceof ComputationCPInstruction) )
+			return;
+		Data dat = ec.getVariable(((ComputationCPInstruction)inst).output.getName());
+		if( !(dat instanceof CacheableData) )
+			return;
+		//outputs of untraced instructions (e.g., with update in-place)
+		//lose their lineage and are treated as new leafs on first use
+		if( li != null )
+			_lineage.put(dat, li);
+		else
+			_lineage.remove(dat);
+	}
+
+	/**
+	 * Creates a textual representation of the lineage DAG of the given lineage item,
+	 * one line per distinct item in depth-first order (inputs before consumers).
+	 *
+	 * @param li lineage item
+	 * @return explain string
+	 */
+	public static String explain(LineageItem li) {
+		StringBuilder sb = new StringBuilder();
+		rExplain(li, new HashSet<Long>(), sb);
+		return sb.toString();
+	}
+
+	private static void rExplain(LineageItem li, Set<Long> memo, StringBuilder sb) {
+		if( !memo.add(li.getId()) )
+			return;
+		for( LineageItem in : li.getInputs() )
+			rExplain(in, memo, sb);
+		sb.append(li.toString());
+		sb.append("\n");
+	}
+
+	/**
+	 * Resets the lineage of all objects.
+	 */
+	public static void resetLineage() {
+		_lineage.clear();
+	}
+
+	private static String getVariableName(String part) {
+		//variable operands of the form name·datatype·valuetype[·false]
+		String[] opr = part.split(Lop.VALUETYPE_PREFIX);
+		if( opr.length < 3 || (opr.length == 4 && Boolean.parseBoolean(opr[3])) )
+			return null;
+		try {
+			DataType.valueOf(opr[1]);
+			ValueType.valueOf(opr[2]);
+		}
+		catch(IllegalArgumentException ex) {
+			return null;
+		}
+		return opr[0];
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.Data;
+import org.apache.sysml.runtime.instructions.cp.MMTSJCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.ScalarObject;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Cache of intermediates of expensive CP instructions, keyed by the lineage items
+ * of their outputs. Before executing a cacheable instruction, the cache is probed
+ * for (1) a full reuse of an equivalent output, and (2) a partial reuse, where the
+ * output is assembled from a cached intermediate and an incremental computation.
+ * The currently supported partial reuse rewrite is tsmm(cbind(X,Y)), which reuses
+ * a cached tsmm(X) and only computes t(Y) %*% cbind(X,Y), e.g., for the repeated
+ * normal equations of feature selection loops.
+ *
+ * The cache is bounded by a fraction of the local memory budget and uses cost-aware
+ * eviction, i.e., entries with the lowest compute time per byte are evicted first.
+ * Cached matrix blocks are deep copies in order to prevent side effects of update
+ * in-place on either the cached block or the variable it is served to.
+ */
+public class LineageCache
+{
+	//fraction of the local memory budget used for cached intermediates
+	private static final double CACHE_FRACTION = 0.05;
+
+	//opcodes whose compute costs exceed the costs of copying their outputs
+	private static final Set<String> REUSE_OPCODES = new HashSet<>(Arrays.asList(
+		"ba+*", "tsmm", "mmchain", "r'", "solve", "inverse", "cholesky",
+		"uak+", "uark+", "uack+", "uamean", "uarmean", "uacmean"));
+
+	private static final HashMap<LineageItem, CacheEntry> _cache = new HashMap<>();
+	private static long _cacheSize = 0;
+
+	private LineageCache() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the output of the given instruction is cached and reused.
+	 *
+	 * @param inst instruction
+	 * @return true if the instruction output is reusable
+	 */
+	public static boolean isReusable(Instruction inst) {
+		return inst instanceof ComputationCPInstruction
+			&& REUSE_OPCODES.contains(((CPInstruction)inst).getOpcode());
+	}
+
+	/**
+	 * Probes the cache for a full or partial reuse of the output of the given
+	 * instruction, and (on a hit) sets the output variable.
+	 *
+	 * @param inst instruction
+	 * @param li lineage item of the instruction output
+	 * @param ec execution context
+	 * @return true if the output has been set, i.e., the instruction must not be executed
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static boolean reuse(Instruction inst, LineageItem li, ExecutionContext ec)
+		throws DMLRuntimeException
+	{
+		if( li == null || !isReusable(inst) )
+			return false;
+		String outName = ((ComputationCPInstruction)inst).output.getName();
+
+		//full reuse of equivalent intermediate
+		CacheEntry e = get(li);
+		if( e != null ) {
+			if( e.isMatrix() )
+				ec.setMatrixOutput(outName, new MatrixBlock(e.getMBValue()));
+			else
+				ec.setScalarOutput(outName, e.getSOValue());
+			Statistics.incrementLineageCacheHitsFull();
+			Statistics.incrementLineageCacheSavedTime(e._computeTime);
+			return true;
+		}
+
+		//partial reuse by incremental computation
+		long t0 = System.nanoTime();
+		MatrixBlock out = computePartial(inst, li, ec);
+		if( out != null ) {
+			ec.setMatrixOutput(outName, out);
+			Statistics.incrementLineageCacheHitsPartial();
+			put(li, new MatrixBlock(out), System.nanoTime()-t0);
+			return true;
+		}
+
+		Statistics.incrementLineageCacheMisses();
+		return false;
+	}
+
+	/**
+	 * Puts the output of the given, executed instruction into the cache.
+	 *
+	 * @param inst instruction
+	 * @param li lineage item of the instruction output
+	 * @param ec execution context
+	 * @param computeTime compute time of the instruction in nano seconds
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void put(Instruction inst, LineageItem li, ExecutionContext ec, long computeTime)
+		throws DMLRuntimeException
+	{
+		if( li == null || !isReusable(inst) )
+			return;
+		String outName = ((ComputationCPInstruction)inst).output.getName();
+		Data dat = ec.getVariable(outName);
+		if( dat instanceof ScalarObject )
+			put(li, dat, computeTime);
+		else if( ec.isMatrixObject(outName) ) {
+			MatrixBlock mb = ec.getMatrixInput(outName);
+			//deep copy if the output fits into the cache at all
+			if( mb.getInMemorySize() < getCacheLimit() )
+				put(li, new MatrixBlock(mb), computeTime);
+			ec.releaseMatrixInput(outName);
+		}
+	}
+
+	/**
+	 * Removes all cached intermediates.
+	 */
+	public static synchronized void resetCache() {
+		_cache.clear();
+		_cacheSize = 0;
+	}
+
+	private static synchronized CacheEntry get(LineageItem li) {
+		return _cache.get(li);
+	}
+
+	private static synchronized void put(LineageItem li, Object value, long computeTime) {
+		if( _cache.containsKey(li) )
+			return;
+		CacheEntry e = new CacheEntry(value, computeTime);
+		long limit = getCacheLimit();
+		if( e._size > limit )
+			return;
+
+		//cost-aware eviction (lowest compute time per byte first),
+		//but only if the new entry is more valuable than the evicted ones
+		while( _cacheSize + e._size > limit ) {
+			Entry<LineageItem, CacheEntry> min = null;
+			for( Entry<LineageItem, CacheEntry> tmp : _cache.entrySet() )
+				if( min == null || tmp.getValue().getScore() < min.getValue().getScore() )
+					min = tmp;
+			if( min.getValue().getScore() > e.getScore() )
+				return;
+			_cache.remove(min.getKey());
+			_cacheSize -= min.getValue()._size;
+			Statistics.incrementLineageCacheEvictions();
+		}
+
+		_cache.put(li, e);
+		_cacheSize += e._size;
+	}
+
+	private static MatrixBlock computePartial(Instruction inst, LineageItem li, ExecutionContext ec)
+		throws DMLRuntimeException
+	{
+		//tsmm(cbind(X,Y)) -> [tsmm(X), t(R[,1:m]); R] with R = t(Y) %*% cbind(X,Y)
+		if( !(inst instanceof MMTSJCPInstruction)
+			|| ((MMTSJCPInstruction)inst).getMMTSJType() != MMTSJType.LEFT )
+			return null;
+		LineageItem in = li.getInputs()[0];
+		if( !in.getOpcode().equals("append") || in.getInputs().length != 2
+			|| !in.getData().endsWith(Lop.OPERAND_DELIMITOR + "true") )
+			return null;
+		CacheEntry e = get(new LineageItem(li.getOpcode(),
+			li.getData(), new LineageItem[]{in.getInputs()[0]}));
+		if( e == null || !e.isMatrix() )
+			return null;
+
+		MMTSJCPInstruction tsmm = (MMTSJCPInstruction) inst;
+		MatrixBlock XtX = e.getMBValue();
+		MatrixBlock Z = ec.getMatrixInput(tsmm.input1.getName());
+		MatrixBlock out = null;
+		try {
+			int n = Z.getNumRows();
+			int m = XtX.getNumColumns();
+			int p = Z.getNumColumns() - m;
+			if( p <= 0 || XtX.getNumRows() != m )
+				return null;
+			int k = tsmm.getNumThreads();
+
+			//R = t(Y) %*% Z, with Y = Z[,m+1:m+p]
+			MatrixBlock Y = Z.sliceOperations(0, n-1, m, m+p-1, new MatrixBlock());
+			MatrixBlock tY = LibMatrixReorg.transpose(Y, new MatrixBlock(p, n, false), k);
+			MatrixBlock R = new MatrixBlock(p, m+p, false);
+			LibMatrixMult.matrixMult(tY, Z, R, k);
+			MatrixBlock tR = LibMatrixReorg.transpose(
+				R.sliceOperations(0, p-1, 0, m-1, new MatrixBlock()),
+				new MatrixBlock(m, p, false), k);
+
+			//assemble output from cached and incrementally computed blocks
+			out = new MatrixBlock(m+p, m+p, false);
+			out.allocateDenseBlock();
+			out.copy(0, m-1, 0, m-1, XtX, false);
+			out.copy(0, m-1, m, m+p-1, tR, false);
+			out.copy(m, m+p-1, 0, m+p-1, R, false);
+			out.recomputeNonZeros();
+			out.examSparsity();
+		}
+		finally {
+			ec.releaseMatrixInput(tsmm.input1.getName());
+		}
+		return out;
+	}
+
+	private static long getCacheLimit() {
+		return (long)(CACHE_FRACTION * OptimizerUtils.getLocalMemBudget());
+	}
+
+	private static class CacheEntry {
+		private final Object _value;
+		private final long _size;
+		private final long _computeTime;
+
+		public CacheEntry(Object value, long computeTime) {
+			_value = value;
+			_size = (value instanceof MatrixBlock) ?
+				((MatrixBlock)value).getInMemorySize() : 16;
+			_computeTime = computeTime;
+		}
+
+		public boolean isMatrix() {
+			return _value instanceof MatrixBlock;
+		}
+
+		public MatrixBlock getMBValue() {
+			return (MatrixBlock) _value;
+		}
+
+		public ScalarObject getSOValue() {
+			return (ScalarObject) _value;
+		}
+
+		public double getScore() {
+			return (double)_computeTime / Math.max(_size, 1);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.lineage;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lineage item is an immutable node of a lineage DAG, which describes how an
+ * intermediate was computed: the opcode and signature (instruction string without
+ * variable names, but with values of scalar inputs) of the producing instruction
+ * plus the lineage items of all matrix or frame inputs. Leaf items represent data
+ * of unknown origin (e.g., persistent reads or outputs of untraced instructions)
+ * and are only equivalent to themselves.
+ *
+ * Equivalence of lineage items is structural, which allows using them as keys of
+ * the lineage cache. The hash is computed once on construction, and the structural
+ * comparison is iterative (with memoization of already compared pairs) to handle
+ * deep lineage DAGs of long-running loops.
+ */
+public class LineageItem
+{
+	public static final String LEAF_OPCODE = "leaf";
+
+	private static final AtomicLong _idSeq = new AtomicLong(0);
+
+	private final long _id;
+	private final String _opcode;
+	private final String _data;
+	private final LineageItem[] _inputs;
+	private final int _hash;
+
+	/**
+	 * Creates a new leaf lineage item.
+	 */
+	public LineageItem() {
+		this(LEAF_OPCODE, "", new LineageItem[0]);
+	}
+
+	public LineageItem(String opcode, String data, LineageItem[] inputs) {
+		_id = _idSeq.incrementAndGet();
+		_opcode = opcode;
+		_data = data;
+		_inputs = inputs;
+		_hash = isLeaf() ? Long.hashCode(_id) : computeHash();
+	}
+
+	public long getId() {
+		return _id;
+	}
+
+	public String getOpcode() {
+		return _opcode;
+	}
+
+	public String getData() {
+		return _data;
+	}
+
+	public LineageItem[] getInputs() {
+		return _inputs;
+	}
+
+	public boolean isLeaf() {
+		return LEAF_OPCODE.equals(_opcode);
+	}
+
+	private int computeHash() {
+		int h = 31 * _opcode.hashCode() + _data.hashCode();
+		for( LineageItem in : _inputs )
+			h = 31 * h + in._hash;
+		return h;
+	}
+
+	@Override
+	public int hashCode() {
+		return _hash;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if( !(o instanceof LineageItem) )
+			return false;
+		LineageItem that = (LineageItem) o;
+		if( this == that )
+			return true;
+		if( _hash != that._hash || isLeaf() || that.isLeaf() )
+			return false;
+
+		//iterative structural comparison w/ memoization of compared pairs
+		Deque<LineageItem[]> stack = new ArrayDeque<>();
+		Set<ItemPair> visited = new HashSet<>();
+		stack.push(new LineageItem[]{this, that});
+		while( !stack.isEmpty() ) {
+			LineageItem[] pair = stack.pop();
+			LineageItem a = pair[0], b = pair[1];
+			if( a == b || !visited.add(new ItemPair(a._id, b._id)) )
+				continue;
+			if( a._hash != b._hash || a.isLeaf() || b.isLeaf()
+				|| !a._opcode.equals(b._opcode) || !a._data.equals(b._data)
+				|| a._inputs.length != b._inputs.length )
+				return false;
+			for( int i=0; i<a._inputs.length; i++ )
+				stack.push(new LineageItem[]{a._inputs[i], b._inputs[i]});
+		}
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("(");
+		sb.append(_id);
+		sb.append(") ");
+		sb.append(_opcode);
+		if( !_data.isEmpty() ) {
+			sb.append(" ");
+			sb.append(_data);
+		}
+		if( _inputs.length > 0 ) {
+			long[] ids = new long[_inputs.length];
+			for( int i=0; i<_inputs.length; i++ )
+				ids[i] = _inputs[i]._id;
+			sb.append(" ");
+			sb.append(Arrays.toString(ids));
+		}
+		return sb.toString();
+	}
+
+	private static class ItemPair {
+		private final long _a, _b;
+
+		public ItemPair(long a, long b) {
+			_a = a;
+			_b = b;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(_a * 31 + _b);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			return o instanceof ItemPair
+				&& _a == ((ItemPair)o)._a && _b == ((ItemPair)o)._b;
+		}
+	}
+}
@@ -341,6 +341,20 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		_coldata[c].set(r, UtilFunctions.objectToObject(_schema[c], val));
 	}
 
+	/**
+	 * Sets the value in position (r,c), where the input is a string
+	 * that is parsed according to the schema definition. In contrast to
+	 * set, the value is parsed directly into the typed column without
+	 * boxed intermediates.
+	 * 
+	 * @param r row index
+	 * @param c column index
+	 * @param val string value to parse and set at specified position
+	 */
+	public void parseAndSet(int r, int c, String val) {
+		_coldata[c].parseAndSet(r, val);
+	}
+
 	public void reset(int nrow, boolean clearMeta) {
 		if( clearMeta ) {
 			_schema = null;
@@ -1294,6 +1308,7 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 		}
 		public abstract T get(int index);
 		public abstract void set(int index, T value);
+		public abstract void parseAndSet(int index, String value);
 		public abstract void set(int rl, int ru, Array value);
 		public abstract void set(int rl, int ru, Array value, int rlSrc);
 		public abstract void setNz(int rl, int ru, Array value);
@@ -1321,6 +1336,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			_data[index] = value;
 		}
 		@Override
+		public void parseAndSet(int index, String value) {
+			_data[index] = value;
+		}
+		@Override
 		public void set(int rl, int ru, Array value) {
 			set(rl, ru, value, 0);
 		}
@@ -1384,6 +1403,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			_data[index] = (value!=null) ? value : false;
 		}
 		@Override
+		public void parseAndSet(int index, String value) {
+			_data[index] = (value!=null) && Boolean.parseBoolean(value);
+		}
+		@Override
 		public void set(int rl, int ru, Array value) {
 			set(rl, ru, value, 0);
 		}
@@ -1449,6 +1472,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			_data[index] = (value!=null) ? value : 0L;
 		}
 		@Override
+		public void parseAndSet(int index, String value) {
+			_data[index] = (value!=null) ? Long.parseLong(value) : 0L;
+		}
+		@Override
 		public void set(int rl, int ru, Array value) {
 			set(rl, ru, value, 0);
 		}
@@ -1514,6 +1541,10 @@ public class FrameBlock implements Writable, CacheBlock, Externalizable
 			_data[index] = (value!=null) ? value : 0d;
 		}
 		@Override
+		public void parseAndSet(int index, String value) {
+			_data[index] = (value!=null) ? Double.parseDouble(value) : 0d;
+		}
+		@Override
 		public void set(int rl, int ru, Array value) {
 			set(rl,ru, value, 0);
 		}
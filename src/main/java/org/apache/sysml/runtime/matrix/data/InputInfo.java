@@ -28,6 +28,7 @@ import org.apache.hadoop.io.IntWritable;
 import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.mapred.FileInputFormat;
 import org.apache.hadoop.mapred.InputFormat;
 import org.apache.hadoop.mapred.SequenceFileInputFormat;
 import org.apache.hadoop.mapred.TextInputFormat;
@@ -83,6 +84,13 @@ public class InputInfo implements Serializable
 	public static final InputInfo CSVInputInfo=new InputInfo(TextInputFormat.class, 
 			 LongWritable.class, Text.class);
 	
+	public static final InputInfo LIBSVMInputInfo=new InputInfo(TextInputFormat.class, 
+			 LongWritable.class, Text.class);
+	
+	// Columnar frame format (CP only, no hadoop input format)
+	public static final InputInfo ColumnarFrameInputInfo=new InputInfo(FileInputFormat.class, 
+			 LongWritable.class, FrameBlock.class);
+	
 	public static OutputInfo getMatchingOutputInfo(InputInfo ii) throws DMLRuntimeException {
 		if ( ii == InputInfo.BinaryBlockInputInfo )
 			return OutputInfo.BinaryBlockOutputInfo;
@@ -100,6 +108,10 @@ public class InputInfo implements Serializable
 			return OutputInfo.WeightedPairOutputInfo;
 		else if ( ii == InputInfo.CSVInputInfo)
 			return OutputInfo.CSVOutputInfo;
+		else if ( ii == InputInfo.LIBSVMInputInfo)
+			return OutputInfo.LIBSVMOutputInfo;
+		else if ( ii == InputInfo.ColumnarFrameInputInfo)
+			return OutputInfo.ColumnarFrameOutputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + ii);
 	}
@@ -125,6 +137,10 @@ public class InputInfo implements Serializable
 			return WeightedPairInputInfo;
 		else if ( str.equalsIgnoreCase("csv"))
 			return CSVInputInfo;
+		else if ( str.equalsIgnoreCase("libsvm"))
+			return LIBSVMInputInfo;
+		else if ( str.equalsIgnoreCase("columnar"))
+			return ColumnarFrameInputInfo;
 		return null;
 	}
 
@@ -135,6 +151,10 @@ public class InputInfo implements Serializable
 			return InputInfo.MatrixMarketInputInfo;
 		else if( DataExpression.FORMAT_TYPE_VALUE_CSV.equals(str) )
 			return InputInfo.CSVInputInfo; 
+		else if( DataExpression.FORMAT_TYPE_VALUE_LIBSVM.equals(str) )
+			return InputInfo.LIBSVMInputInfo; 
+		else if( DataExpression.FORMAT_TYPE_VALUE_COLUMNAR.equals(str) )
+			return InputInfo.ColumnarFrameInputInfo; 
 		else if( DataExpression.FORMAT_TYPE_VALUE_BINARY.equals(str) )
 			return InputInfo.BinaryBlockInputInfo; 		
 		return null;
@@ -159,6 +179,10 @@ public class InputInfo implements Serializable
 			return "matrixmarket";
 		else if ( ii == CSVInputInfo )
 			return "csv";
+		else if ( ii == LIBSVMInputInfo )
+			return "libsvm";
+		else if ( ii == ColumnarFrameInputInfo )
+			return "columnar";
 		else
 			throw new DMLRuntimeException("Unrecognized inputInfo: " + ii);
 	}
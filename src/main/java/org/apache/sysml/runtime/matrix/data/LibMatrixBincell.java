@@ -1062,6 +1062,13 @@ public class LibMatrixBincell
 			if(m2.sparseBlock!=null)
 				m2.allocateSparseRowsBlock(false);
 			
+			//convert deserialized CSR targets to MCSR for efficient row updates
+			if( m1ret.sparseBlock!=null && !SparseBlockFactory
+				.isSparseBlockType(m1ret.sparseBlock, SparseBlock.Type.MCSR) ) {
+				m1ret.sparseBlock = SparseBlockFactory.copySparseBlock(
+					SparseBlock.Type.MCSR, m1ret.sparseBlock, false);
+			}
+			
 			SparseBlock c = m1ret.sparseBlock;
 			SparseBlock b = m2.sparseBlock;
 			
@@ -59,6 +59,9 @@ public class LibMatrixMult
 	private static final long PAR_MINFLOP_THRESHOLD = 2L*1024*1024; //MIN 2 MFLOP
 	private static final int L2_CACHESIZE = 256 *1024; //256KB (common size)
 	
+	//optional SIMD primitives (null if the Java Vector API is unavailable)
+	private static final VectorPrimitives VECT_PRIMS = VectorPrimitives.getInstance();
+	
 	private LibMatrixMult() {
 		//prevent instantiation via private constructor
 	}
@@ -2955,6 +2958,9 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static double dotProduct( double[] a, double[] b, int ai, int bi, final int len )
 	{
+		if( VECT_PRIMS != null && len >= VectorPrimitives.MIN_VECTOR_LENGTH )
+			return VECT_PRIMS.dotProduct(a, b, ai, bi, len);
+		
 		double val = 0;
 		final int bn = len%8;
 				
@@ -2984,6 +2990,9 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static double dotProduct( double[] a, double[] b, int[] aix, int ai, final int bi, final int len )
 	{
+		if( VECT_PRIMS != null && len >= VectorPrimitives.MIN_VECTOR_LENGTH )
+			return VECT_PRIMS.dotProduct(a, b, aix, ai, bi, len);
+		
 		double val = 0;
 		final int bn = len%8;
 				
@@ -3014,6 +3023,11 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyAdd( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
+		if( VECT_PRIMS != null && len >= VectorPrimitives.MIN_VECTOR_LENGTH ) {
+			VECT_PRIMS.vectMultiplyAdd(aval, b, c, bi, ci, len);
+			return;
+		}
+		
 		final int bn = len%8;
 		
 		//rest, not aligned to 8-blocks
@@ -3142,6 +3156,11 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyAdd( final double aval, double[] b, double[] c, int[] bix, final int bi, final int ci, final int len )
 	{
+		if( VECT_PRIMS != null && len >= VectorPrimitives.MIN_VECTOR_LENGTH ) {
+			VECT_PRIMS.vectMultiplyAdd(aval, b, c, bix, bi, ci, len);
+			return;
+		}
+		
 		final int bn = len%8;
 		
 		//rest, not aligned to 8-blocks
@@ -3169,6 +3188,11 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyWrite( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
+		if( VECT_PRIMS != null && len >= VectorPrimitives.MIN_VECTOR_LENGTH ) {
+			VECT_PRIMS.vectMultiplyWrite(aval, b, c, bi, ci, len);
+			return;
+		}
+		
 		final int bn = len%8;
 		
 		//rest, not aligned to 8-blocks
@@ -3195,6 +3219,11 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyWrite( double[] a, double[] b, double[] c, int ai, int bi, int ci, final int len )
 	{
+		if( VECT_PRIMS != null && len >= VectorPrimitives.MIN_VECTOR_LENGTH ) {
+			VECT_PRIMS.vectMultiplyWrite(a, b, c, ai, bi, ci, len);
+			return;
+		}
+		
 		final int bn = len%8;
 		
 		//rest, not aligned to 8-blocks
@@ -3265,6 +3294,11 @@ public class LibMatrixMult
 	//note: public for use by codegen for consistency
 	public static void vectAdd( double[] a, double[] c, int ai, int ci, final int len )
 	{
+		if( VECT_PRIMS != null && len >= VectorPrimitives.MIN_VECTOR_LENGTH ) {
+			VECT_PRIMS.vectAdd(a, c, ai, ci, len);
+			return;
+		}
+		
 		final int bn = len%8;
 		
 		//rest, not aligned to 8-blocks
@@ -3289,6 +3323,10 @@ public class LibMatrixMult
 	}
 
 	public static void vectAdd( double[] a, double[] c, int[] aix, int ai, int ci, final int alen ) {
+		if( VECT_PRIMS != null && alen >= VectorPrimitives.MIN_VECTOR_LENGTH ) {
+			VECT_PRIMS.vectAdd(a, c, aix, ai, ci, alen);
+			return;
+		}
 		final int bn = alen%8;
 		//rest, not aligned to 8-blocks
 		for( int j = ai; j < ai+bn; j++ )
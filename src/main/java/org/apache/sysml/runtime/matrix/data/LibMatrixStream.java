@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysml.lops.PartialAggregate.CorrectionLocationType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.ReduceCol;
+import org.apache.sysml.runtime.functionobjects.ReduceDiag;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.io.MatrixRowBlockStream;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+
+/**
+ * Library for single-pass operations over row block streams (see
+ * {@link MatrixRowBlockStream}), which allows processing matrices that
+ * do not fit into the driver memory block by block. Full and column
+ * aggregates are incrementally aggregated with corrections (as for
+ * single-block aggregates in Spark), while row-wise results are
+ * concatenated in order of row blocks.
+ */
+public class LibMatrixStream
+{
+	private LibMatrixStream() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Computes a unary aggregate (e.g., uak+, uacmean, uacmax, uarmin) over all row
+	 * blocks of the given stream. Full and column aggregates require memory for
+	 * a single row block and the aggregate, while row aggregates additionally
+	 * require memory for the output vector.
+	 *
+	 * @param in row block stream
+	 * @param opcode unary aggregate opcode
+	 * @return aggregate result, without correction
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock aggregateUnary(MatrixRowBlockStream in, String opcode)
+		throws IOException, DMLRuntimeException
+	{
+		//create aggregate operators (see AggregateUnarySPInstruction)
+		AggregateUnaryOperator auop = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		String aopcode = InstructionUtils.deriveAggregateOperatorOpcode(opcode);
+		if( auop == null || aopcode == null || auop.indexFn instanceof ReduceDiag )
+			throw new DMLRuntimeException("Unsupported streaming aggregate: "+opcode);
+		CorrectionLocationType corrLoc = InstructionUtils.deriveAggregateOperatorCorrectionLocation(opcode);
+		AggregateOperator aop = InstructionUtils.parseAggregateOperator(aopcode,
+			String.valueOf(corrLoc != CorrectionLocationType.NONE), corrLoc.toString());
+
+		//row aggregates: independent aggregates per row block
+		if( auop.indexFn instanceof ReduceCol ) {
+			ArrayList<MatrixBlock> blocks = new ArrayList<>();
+			MatrixBlock blk = null;
+			while( (blk = in.next()) != null ) {
+				MatrixBlock tmp = aggregateRowBlock(blk, auop, in);
+				tmp.dropLastRowsOrColumns(aop.correctionLocation);
+				blocks.add(tmp);
+			}
+			return rbind(blocks);
+		}
+
+		//full and column aggregates: incremental aggregation w/ correction
+		MatrixBlock ret = null;
+		MatrixBlock corr = null;
+		MatrixBlock blk = null;
+		while( (blk = in.next()) != null ) {
+			MatrixBlock tmp = aggregateRowBlock(blk, auop, in);
+			if( ret == null ) {
+				ret = tmp;
+				continue;
+			}
+			if( aop.correctionExists && corr == null )
+				corr = new MatrixBlock(ret.getNumRows(), ret.getNumColumns(), false);
+			OperationsOnMatrixValues.incrementalAggregation(
+				ret, aop.correctionExists ? corr : null, tmp, aop, true);
+		}
+		if( ret == null )
+			throw new DMLRuntimeException("Unsupported streaming aggregate over empty input: "+opcode);
+
+		//drop correction after aggregation
+		ret.dropLastRowsOrColumns(aop.correctionLocation);
+		return ret;
+	}
+
+	/**
+	 * Concatenates the given row-wise results in order of row blocks.
+	 *
+	 * @param blocks list of row-wise results with equal number of columns
+	 * @return concatenated matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock rbind(List<MatrixBlock> blocks)
+		throws DMLRuntimeException
+	{
+		if( blocks.isEmpty() )
+			return new MatrixBlock(0, 0, true);
+		if( blocks.size() == 1 )
+			return blocks.get(0);
+		MatrixBlock[] tail = blocks.subList(1, blocks.size()).toArray(new MatrixBlock[0]);
+		return blocks.get(0).appendOperations(tail, new MatrixBlock(), false);
+	}
+
+	private static MatrixBlock aggregateRowBlock(MatrixBlock blk, AggregateUnaryOperator auop, MatrixRowBlockStream in)
+		throws DMLRuntimeException
+	{
+		//note: row block index w.r.t. row block size (all columns in one block)
+		long rix = (in.getRowPosition() - blk.getNumRows()) / in.getRowBlockSize() + 1;
+		return (MatrixBlock) blk.aggregateUnaryOperations(auop, new MatrixBlock(),
+			in.getRowBlockSize(), (int)in.getNumColumns(), new MatrixIndexes(rix, 1));
+	}
+}
@@ -1801,6 +1801,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		if( that.sparse ) //SPARSE <- SPARSE
 		{
+			//convert deserialized CSR targets to MCSR for efficient row updates
+			if( !SparseBlockFactory.isSparseBlockType(sparseBlock, SparseBlock.Type.MCSR) )
+				sparseBlock = SparseBlockFactory.copySparseBlock(SparseBlock.Type.MCSR, sparseBlock, false);
+			
 			SparseBlock a = sparseBlock;
 			SparseBlock b = that.sparseBlock;
 			int m = rlen;
@@ -1862,6 +1866,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	@Override
 	public void readFields(DataInput in) 
 		throws IOException 
+	{
+		readFields(in, DEFAULT_SPARSEBLOCK);
+	}
+	
+	private void readFields(DataInput in, SparseBlock.Type stype) 
+		throws IOException 
 	{
 		//read basic header (int rlen, int clen, byte type)
 		rlen = in.readInt();
@@ -1891,7 +1901,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					sparse = evalSparseFormatInMemory(rlen, clen, nonZeros);
 					cleanupBlock(sparse, !sparse); 
 					if( sparse )
-						readSparseBlock(in);
+						readSparseBlock(in, stype);
 					else
 						readSparseToDense(in);
 					break;
@@ -1951,11 +1961,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 	}
 	
-	private void readSparseBlock(DataInput in) 
+	private void readSparseBlock(DataInput in, SparseBlock.Type stype) 
 		throws IOException 
-	{			
-		allocateSparseRowsBlock(false);
-		resetSparse();
+	{
+		if( stype == SparseBlock.Type.CSR ) {
+			//allocate CSR block to read contiguous rows w/o per-row allocation
+			allocateAndResetSparseRowsBlock(false, SparseBlock.Type.CSR);
+		}
+		else {
+			allocateSparseRowsBlock(false);
+			resetSparse();
+		}
 		
 		if( in instanceof MatrixBlockDataInput ) { //fast deserialize
 			MatrixBlockDataInput mbin = (MatrixBlockDataInput)in;
@@ -2346,10 +2362,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		if( is instanceof ObjectInputStream )
 		{
-			//fast deserialize of dense/sparse blocks
+			//fast deserialize of dense/sparse blocks, where sparse blocks
+			//(e.g., of shuffles and broadcasts) are read directly into CSR
 			ObjectInputStream ois = (ObjectInputStream)is;
 			FastBufferedDataInputStream fis = new FastBufferedDataInputStream(ois);
-			readFields(fis);
+			readFields(fis, SparseBlock.Type.CSR);
 		}
 		else {
 			//default deserialize (general case)
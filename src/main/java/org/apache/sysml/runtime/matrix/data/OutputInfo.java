@@ -29,6 +29,7 @@ import org.apache.hadoop.io.LongWritable;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.mapred.FileOutputFormat;
 import org.apache.hadoop.mapred.OutputFormat;
 import org.apache.hadoop.mapred.SequenceFileOutputFormat;
 import org.apache.hadoop.mapred.TextOutputFormat;
@@ -70,6 +71,11 @@ public class OutputInfo implements Serializable
 			MatrixIndexes.class, WeightedPair.class);
 	public static final OutputInfo CSVOutputInfo=new OutputInfo(UnPaddedOutputFormat.class, 
 			NullWritable.class, RowBlockForTextOutput.class);
+	public static final OutputInfo LIBSVMOutputInfo=new OutputInfo(TextOutputFormat.class, 
+			NullWritable.class, Text.class);
+	//columnar frame format (CP only, no hadoop output format)
+	public static final OutputInfo ColumnarFrameOutputInfo=new OutputInfo(FileOutputFormat.class, 
+			LongWritable.class, FrameBlock.class);
 
 	public static InputInfo getMatchingInputInfo(OutputInfo oi) throws DMLRuntimeException {
 		if ( oi == OutputInfo.BinaryBlockOutputInfo )
@@ -88,6 +94,10 @@ public class OutputInfo implements Serializable
 			return InputInfo.WeightedPairInputInfo;
 		else if ( oi == OutputInfo.CSVOutputInfo)
 			return InputInfo.CSVInputInfo;
+		else if ( oi == OutputInfo.LIBSVMOutputInfo)
+			return InputInfo.LIBSVMInputInfo;
+		else if ( oi == OutputInfo.ColumnarFrameOutputInfo)
+			return InputInfo.ColumnarFrameInputInfo;
 		else 
 			throw new DMLRuntimeException("Unrecognized output info: " + oi);
 	}
@@ -113,6 +123,10 @@ public class OutputInfo implements Serializable
 			return WeightedPairOutputInfo;
 		else if ( str.equalsIgnoreCase("csv") )
 			return CSVOutputInfo;
+		else if ( str.equalsIgnoreCase("libsvm") )
+			return LIBSVMOutputInfo;
+		else if ( str.equalsIgnoreCase("columnar") )
+			return ColumnarFrameOutputInfo;
 		return null;
 	}
 	
@@ -135,6 +149,10 @@ public class OutputInfo implements Serializable
 			return "weightedpair";
 		else if ( oi == CSVOutputInfo )
 			return "csv";
+		else if ( oi == LIBSVMOutputInfo )
+			return "libsvm";
+		else if ( oi == ColumnarFrameOutputInfo )
+			return "columnar";
 		else
 			throw new DMLRuntimeException("Unrecognized outputInfo: " + oi);
 	}
@@ -147,6 +165,10 @@ public class OutputInfo implements Serializable
 			return DataExpression.FORMAT_TYPE_VALUE_MATRIXMARKET;
 		else if( oinfo == OutputInfo.CSVOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_CSV;
+		else if( oinfo == OutputInfo.LIBSVMOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_LIBSVM;
+		else if( oinfo == OutputInfo.ColumnarFrameOutputInfo )
+			return DataExpression.FORMAT_TYPE_VALUE_COLUMNAR;
 		else if( oinfo == OutputInfo.BinaryBlockOutputInfo 
 				|| oinfo == OutputInfo.BinaryCellOutputInfo )
 			return DataExpression.FORMAT_TYPE_VALUE_BINARY;
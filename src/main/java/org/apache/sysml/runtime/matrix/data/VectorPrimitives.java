@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.matrix.data;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+/**
+ * Optional, explicitly vectorized implementation of the basic vector primitives
+ * of LibMatrixMult and LibSpoofPrimitives. The SIMD implementation is based on the
+ * incubator Java Vector API (jdk.incubator.vector), which is only available on
+ * JDK 17+ with the module explicitly added (--add-modules jdk.incubator.vector).
+ * Hence, the implementation is compiled separately (see the vector-api profile) and
+ * loaded via reflection at class initialization. If it is not available or disabled
+ * via -Dsysml.vector.api=false, {@link #getInstance()} returns null and all callers
+ * fall back to the existing unrolled scalar primitives.
+ *
+ * The semantics of all primitives are identical to their scalar counterparts,
+ * except for the order of additions in dot products.
+ */
+public abstract class VectorPrimitives
+{
+	private static final Log LOG = LogFactory.getLog(VectorPrimitives.class.getName());
+
+	public static final String VECTOR_API_PROPERTY = "sysml.vector.api";
+	private static final String VECTOR_API_CLASS = "jdk.incubator.vector.DoubleVector";
+	private static final String SIMD_IMPL_CLASS = "org.apache.sysml.runtime.matrix.data.VectorPrimitivesSIMD";
+
+	//minimum vector length for using the SIMD primitives, below which
+	//the overhead of vector setup and tail processing does not amortize
+	public static final int MIN_VECTOR_LENGTH = 16;
+
+	private static final VectorPrimitives _instance = loadInstance();
+
+	/**
+	 * Obtains the SIMD vector primitives if available and enabled.
+	 *
+	 * @return vector primitives or null if not available
+	 */
+	public static VectorPrimitives getInstance() {
+		return _instance;
+	}
+
+	public static boolean isAvailable() {
+		return _instance != null;
+	}
+
+	private static VectorPrimitives loadInstance() {
+		if( !Boolean.parseBoolean(System.getProperty(VECTOR_API_PROPERTY, "true")) )
+			return null;
+		try {
+			//probe for the incubator module before loading the implementation
+			Class.forName(VECTOR_API_CLASS);
+			VectorPrimitives ret = (VectorPrimitives) Class
+				.forName(SIMD_IMPL_CLASS).newInstance();
+			LOG.info("Using Java Vector API primitives ("+ret.getVectorLength()+" doubles per vector).");
+			return ret;
+		}
+		catch(Throwable ex) {
+			//ClassNotFoundException, UnsupportedClassVersionError, or
+			//missing module in the module graph: fall back to scalar primitives
+			LOG.debug("Java Vector API primitives not available: "+ex.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Gets the number of double values per SIMD register of the
+	 * preferred vector species on the current hardware.
+	 *
+	 * @return vector length
+	 */
+	public abstract int getVectorLength();
+
+	// dot products
+
+	public abstract double dotProduct(double[] a, double[] b, int ai, int bi, int len);
+
+	public abstract double dotProduct(double[] a, double[] b, int[] aix, int ai, int bi, int len);
+
+	// axpy: c += aval * b
+
+	public abstract void vectMultiplyAdd(double aval, double[] b, double[] c, int bi, int ci, int len);
+
+	public abstract void vectMultiplyAdd(double aval, double[] b, double[] c, int[] bix, int bi, int ci, int len);
+
+	// c = aval * b, c = a * b
+
+	public abstract void vectMultiplyWrite(double aval, double[] b, double[] c, int bi, int ci, int len);
+
+	public abstract void vectMultiplyWrite(double[] a, double[] b, double[] c, int ai, int bi, int ci, int len);
+
+	// c[aix] = a * b[aix] (sparse-dense gather)
+
+	public abstract void vectMultiplyWrite(double[] a, double[] b, double[] c, int[] aix, int ai, int bi, int alen);
+
+	// c = a / bval, c = bval / a, c = a / b
+
+	public abstract void vectDivWrite(double[] a, double bval, double[] c, int ai, int len);
+
+	public abstract void vectDivWrite(double bval, double[] a, double[] c, int ai, int len);
+
+	public abstract void vectDivWrite(double[] a, double[] b, double[] c, int ai, int bi, int len);
+
+	// c = a + bval, c = a + b, c += a, c[aix] += a
+
+	public abstract void vectPlusWrite(double[] a, double bval, double[] c, int ai, int len);
+
+	public abstract void vectPlusWrite(double[] a, double[] b, double[] c, int ai, int bi, int len);
+
+	public abstract void vectAdd(double[] a, double[] c, int ai, int ci, int len);
+
+	public abstract void vectAdd(double[] a, double[] c, int[] aix, int ai, int ci, int alen);
+
+	// c = a - bval, c = bval - a, c = a - b
+
+	public abstract void vectMinusWrite(double[] a, double bval, double[] c, int ai, int len);
+
+	public abstract void vectMinusWrite(double bval, double[] a, double[] c, int ai, int len);
+
+	public abstract void vectMinusWrite(double[] a, double[] b, double[] c, int ai, int bi, int len);
+}
@@ -34,9 +34,11 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.io.MatrixReader;
 import org.apache.sysml.runtime.io.MatrixReaderFactory;
+import org.apache.sysml.runtime.io.MatrixRowBlockStream;
 import org.apache.sysml.runtime.io.MatrixWriter;
 import org.apache.sysml.runtime.io.MatrixWriterFactory;
 import org.apache.sysml.runtime.io.ReadProperties;
+import org.apache.sysml.runtime.io.WriterBinaryBlock;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
 import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
@@ -82,6 +84,28 @@ public class DataConverter
 		}
 	}
 
+	/**
+	 * Appends the rows of the given matrix block to an existing binary block
+	 * matrix on HDFS, without rewriting the existing data (see 
+	 * {@link WriterBinaryBlock#appendMatrixToHDFS(MatrixBlock, String)}).
+	 * 
+	 * @param mat matrix block of rows to append
+	 * @param dir file name of existing binary block matrix
+	 * @throws IOException if IOException occurs
+	 */
+	public static void appendMatrixToHDFS(MatrixBlock mat, String dir)
+		throws IOException
+	{
+		try {
+			WriterBinaryBlock writer = (WriterBinaryBlock) MatrixWriterFactory
+				.createMatrixWriter(OutputInfo.BinaryBlockOutputInfo);
+			writer.appendMatrixToHDFS(mat, dir);
+		}
+		catch(Exception e) {
+			throw new IOException(e);
+		}
+	}
+
 	public static MatrixBlock readMatrixFromHDFS(String dir, InputInfo inputinfo, long rlen, long clen, int brlen, int bclen, boolean localFS) 
 		throws IOException
 	{	
@@ -213,6 +237,30 @@ public class DataConverter
 		return ret;
 	}
 
+	/**
+	 * Opens a sequential stream over the row blocks of the given matrix in any
+	 * supported format, which allows single-pass processing of matrices that do
+	 * not fit into memory (see {@link MatrixRowBlockStream}).
+	 * 
+	 * @param prop read properties
+	 * @return row block stream, which needs to be closed by the caller
+	 * @throws IOException if IOException occurs
+	 */
+	public static MatrixRowBlockStream openMatrixRowBlockStream(ReadProperties prop) 
+		throws IOException
+	{
+		long estnnz = (prop.expectedSparsity <= 0 || prop.rlen <= 0 || prop.clen <= 0) ? 
+			-1 : (long)(prop.expectedSparsity*prop.rlen*prop.clen);
+		
+		try {
+			MatrixReader reader = MatrixReaderFactory.createMatrixReader(prop);
+			return reader.openRowBlockStream(prop.path, prop.rlen, prop.clen, prop.brlen, prop.bclen, estnnz);
+		}
+		catch(DMLRuntimeException rex) {
+			throw new IOException(rex);
+		}
+	}
+
 	
 	//////////////
 	// Utils for CREATING and COPYING matrix blocks 
@@ -0,0 +1,354 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.math.BigInteger;
+
+/**
+ * Allocation-free formatting of doubles into byte arrays, used by the text
+ * writers in order to avoid String.valueOf and intermediate char arrays per
+ * cell. The digits are generated via Grisu2 (Loitsch, PLDI 2010), which
+ * always produces a representation that parses back to the identical double
+ * and in the vast majority of cases the shortest such representation.
+ * Optionally, the digits are rounded to a fixed number of significant digits.
+ * The output layout follows Double.toString, i.e., plain notation for
+ * magnitudes in [1e-3, 1e7) and computerized scientific notation otherwise.
+ *
+ */
+public class FastDoubleFormat
+{
+	/** Maximum number of bytes written per formatted double (incl scratch space). */
+	public static final int MAX_LENGTH = 32;
+
+	//offset of scratch space for digit generation, relative to the output position
+	private static final int SCRATCH_OFFSET = 8;
+
+	private static final long[] POW10 = new long[] {1L, 10L, 100L, 1000L, 10000L,
+		100000L, 1000000L, 10000000L, 100000000L, 1000000000L, 10000000000L};
+
+	//cached normalized powers of ten 10^(-348+8i) with 64bit significands
+	private static final int NUM_CACHED_POWERS = 87;
+	private static final long[] CACHED_POWERS_F = new long[NUM_CACHED_POWERS];
+	private static final int[] CACHED_POWERS_E = new int[NUM_CACHED_POWERS];
+
+	static {
+		for( int i=0; i<NUM_CACHED_POWERS; i++ ) {
+			int k = -348 + 8 * i;
+			BigInteger f = null;
+			int e = 0;
+			if( k >= 0 ) {
+				f = BigInteger.TEN.pow(k);
+			}
+			else {
+				//scaled reciprocal with at least 66 significant bits
+				BigInteger div = BigInteger.TEN.pow(-k);
+				e = -(div.bitLength() + 66);
+				f = BigInteger.ONE.shiftLeft(-e).divide(div);
+			}
+			int shift = f.bitLength() - 64;
+			if( shift > 0 ) {
+				boolean roundUp = f.testBit(shift-1);
+				f = f.shiftRight(shift);
+				e += shift;
+				if( roundUp )
+					f = f.add(BigInteger.ONE);
+				if( f.bitLength() > 64 ) {
+					f = f.shiftRight(1);
+					e++;
+				}
+			}
+			else {
+				f = f.shiftLeft(-shift);
+				e += shift;
+			}
+			CACHED_POWERS_F[i] = f.longValue();
+			CACHED_POWERS_E[i] = e;
+		}
+	}
+
+	private FastDoubleFormat() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Writes the decimal representation of the given double into the given
+	 * byte array, which requires at least MAX_LENGTH bytes after pos.
+	 *
+	 * @param value double value
+	 * @param buff output byte array
+	 * @param pos start position in the output byte array
+	 * @return end position (exclusive) of the written representation
+	 */
+	public static int format(double value, byte[] buff, int pos) {
+		return format(value, -1, buff, pos);
+	}
+
+	/**
+	 * Writes the decimal representation of the given double with at most the
+	 * given number of significant digits into the given byte array, which
+	 * requires at least MAX_LENGTH bytes after pos. The digits are rounded
+	 * half-up from the shortest roundtrip representation, and trailing zeros
+	 * are removed.
+	 *
+	 * @param value double value
+	 * @param precision number of significant digits, or &lt;=0 for the shortest roundtrip representation
+	 * @param buff output byte array
+	 * @param pos start position in the output byte array
+	 * @return end position (exclusive) of the written representation
+	 */
+	public static int format(double value, int precision, byte[] buff, int pos)
+	{
+		//special values
+		if( Double.isNaN(value) )
+			return writeAscii("NaN", buff, pos);
+		if( Double.isInfinite(value) )
+			return writeAscii(value > 0 ? "Infinity" : "-Infinity", buff, pos);
+
+		int p = pos;
+		if( value < 0 || (value == 0 && 1/value < 0) ) {
+			buff[p++] = '-';
+			value = -value;
+		}
+
+		//fast path for zero and small integers (common in ML data)
+		if( value < 1e7 && value == (long)value
+			&& (precision <= 0 || precision >= 7 || value < POW10[precision]) ) {
+			p = formatLong((long)value, buff, p);
+			buff[p++] = '.';
+			buff[p++] = '0';
+			return p;
+		}
+
+		//generate shortest digits into the scratch space and lay them out
+		int dpos = p + SCRATCH_OFFSET;
+		long ret = grisu2(value, buff, dpos);
+		int len = (int) ret;
+		int dp = len + (int)(ret >> 32); //position of decimal point
+
+		//round to fixed precision, if necessary
+		if( precision > 0 && len > precision ) {
+			boolean carry = buff[dpos+precision] >= '5';
+			len = precision;
+			for( int i=dpos+len-1; carry && i>=dpos; i-- ) {
+				carry = (buff[i] == '9');
+				buff[i] = carry ? (byte)'0' : (byte)(buff[i] + 1);
+			}
+			if( carry ) { //all nines
+				buff[dpos] = '1';
+				dp++;
+			}
+			while( len > 1 && buff[dpos+len-1] == '0' )
+				len--;
+		}
+
+		if( dp > -3 && dp <= 0 ) { //0.00ddd
+			System.arraycopy(buff, dpos, buff, p + 2 - dp, len);
+			buff[p++] = '0';
+			buff[p++] = '.';
+			for( int i=0; i<-dp; i++ )
+				buff[p++] = '0';
+			p += len;
+		}
+		else if( dp > 0 && dp < len && dp <= 7 ) { //dd.ddd
+			System.arraycopy(buff, dpos, buff, p, dp);
+			System.arraycopy(buff, dpos+dp, buff, p+dp+1, len-dp);
+			buff[p+dp] = '.';
+			p += len + 1;
+		}
+		else if( dp >= len && dp <= 7 ) { //ddd00.0
+			System.arraycopy(buff, dpos, buff, p, len);
+			p += len;
+			for( int i=len; i<dp; i++ )
+				buff[p++] = '0';
+			buff[p++] = '.';
+			buff[p++] = '0';
+		}
+		else { //d.dddEx
+			buff[p] = buff[dpos];
+			buff[p+1] = '.';
+			if( len > 1 ) {
+				System.arraycopy(buff, dpos+1, buff, p+2, len-1);
+				p += len + 1;
+			}
+			else {
+				buff[p+2] = '0';
+				p += 3;
+			}
+			buff[p++] = 'E';
+			p = formatLong(dp-1, buff, p);
+		}
+		return p;
+	}
+
+	/**
+	 * Writes the decimal representation of the given long into the given
+	 * byte array, which requires at least 20 bytes after pos.
+	 *
+	 * @param value long value
+	 * @param buff output byte array
+	 * @param pos start position in the output byte array
+	 * @return end position (exclusive) of the written representation
+	 */
+	public static int formatLong(long value, byte[] buff, int pos)
+	{
+		if( value == Long.MIN_VALUE )
+			return writeAscii(Long.toString(value), buff, pos);
+		int p = pos;
+		if( value < 0 ) {
+			buff[p++] = '-';
+			value = -value;
+		}
+
+		//determine number of digits and fill backwards
+		int len = 1;
+		for( long tmp = value; tmp >= 10; tmp /= 10 )
+			len++;
+		int end = p + len;
+		for( int i=end-1; i>=p; i-- ) {
+			buff[i] = (byte)('0' + (value % 10));
+			value /= 10;
+		}
+		return end;
+	}
+
+	private static int writeAscii(String str, byte[] buff, int pos) {
+		for( int i=0; i<str.length(); i++ )
+			buff[pos+i] = (byte)str.charAt(i);
+		return pos + str.length();
+	}
+
+	/**
+	 * Generates the digits of a positive, finite, non-zero double into
+	 * buff[pos,pos+len) such that value ~ digits * 10^K.
+	 *
+	 * @param value positive double value
+	 * @param buff output byte array
+	 * @param pos start position of the digits
+	 * @return K in the upper and the number of digits in the lower 32 bits
+	 */
+	private static long grisu2(double value, byte[] buff, int pos)
+	{
+		//decompose double into significand and binary exponent
+		long bits = Double.doubleToRawLongBits(value);
+		int biasedE = (int)((bits >>> 52) & 0x7FF);
+		long vf = bits & 0xFFFFFFFFFFFFFL;
+		int ve = -1074;
+		if( biasedE != 0 ) {
+			vf += 1L << 52;
+			ve = biasedE - 1075;
+		}
+
+		//normalized boundaries m+ and m- (with equal exponent)
+		long plf = (vf << 1) + 1;
+		int ple = ve - 1;
+		int shift = Long.numberOfLeadingZeros(plf);
+		plf <<= shift;
+		ple -= shift;
+		boolean lowerCloser = (vf == 1L << 52) && biasedE > 1;
+		long mif = lowerCloser ? (vf << 2) - 1 : (vf << 1) - 1;
+		int mie = lowerCloser ? ve - 2 : ve - 1;
+		mif <<= mie - ple;
+
+		//normalized value (same exponent as m+)
+		shift = Long.numberOfLeadingZeros(vf);
+		long wf = vf << shift;
+
+		//scale by cached power of ten such that the exponent is in [-60,-32]
+		double dk = (-61 - ple) * 0.30102999566398114 + 347;
+		int k = (int) dk;
+		if( dk - k > 0.0 )
+			k++;
+		int index = (k >> 3) + 1;
+		int K = -(-348 + (index << 3));
+		long cf = CACHED_POWERS_F[index];
+		int ce = CACHED_POWERS_E[index];
+
+		long Wf = multiplyHigh(wf, cf);
+		long Wpf = multiplyHigh(plf, cf) - 1;
+		long Wmf = multiplyHigh(mif, cf) + 1;
+		int e = ple + ce + 64;
+
+		return digitGen(Wf, Wpf, e, Wpf - Wmf, K, buff, pos);
+	}
+
+	private static long digitGen(long Wf, long Mpf, int e, long delta, int K, byte[] buff, int pos)
+	{
+		final int oneE = -e;
+		final long oneF = 1L << oneE;
+		final long wpw = Mpf - Wf;
+		long p1 = Mpf >>> oneE; //uint32
+		long p2 = Mpf & (oneF - 1);
+
+		//integral part
+		int kappa = 1;
+		while( kappa < 10 && p1 >= POW10[kappa] )
+			kappa++;
+		int len = 0;
+		while( kappa > 0 ) {
+			long d = p1 / POW10[kappa-1];
+			p1 %= POW10[kappa-1];
+			if( d != 0 || len != 0 )
+				buff[pos + len++] = (byte)('0' + d);
+			kappa--;
+			long tmp = (p1 << oneE) + p2;
+			if( Long.compareUnsigned(tmp, delta) <= 0 ) {
+				grisuRound(buff, pos + len - 1, delta, tmp, POW10[kappa] << oneE, wpw);
+				return ((long)(K + kappa) << 32) | len;
+			}
+		}
+
+		//fractional part
+		while( true ) {
+			p2 *= 10;
+			delta *= 10;
+			long d = p2 >>> oneE;
+			if( d != 0 || len != 0 )
+				buff[pos + len++] = (byte)('0' + d);
+			p2 &= oneF - 1;
+			kappa--;
+			if( Long.compareUnsigned(p2, delta) < 0 ) {
+				grisuRound(buff, pos + len - 1, delta, p2, oneF, wpw * (-kappa < 10 ? POW10[-kappa] : 0));
+				return ((long)(K + kappa) << 32) | len;
+			}
+		}
+	}
+
+	private static void grisuRound(byte[] buff, int last, long delta, long rest, long tenKappa, long wpw) {
+		//move the last digit towards w while staying within the boundaries (unsigned arithmetic)
+		while( Long.compareUnsigned(rest, wpw) < 0
+			&& Long.compareUnsigned(delta - rest, tenKappa) >= 0
+			&& (Long.compareUnsigned(rest + tenKappa, wpw) < 0
+				|| Long.compareUnsigned(wpw - rest, rest + tenKappa - wpw) > 0) )
+		{
+			buff[last]--;
+			rest += tenKappa;
+		}
+	}
+
+	private static long multiplyHigh(long a, long b) {
+		//upper 64 bits of the unsigned 128bit product, rounded
+		final long M32 = 0xFFFFFFFFL;
+		long ah = a >>> 32, al = a & M32;
+		long bh = b >>> 32, bl = b & M32;
+		long hh = ah * bh, lh = al * bh, hl = ah * bl, ll = al * bl;
+		long tmp = (ll >>> 32) + (hl & M32) + (lh & M32) + (1L << 31);
+		return hh + (hl >>> 32) + (lh >>> 32) + (tmp >>> 32);
+	}
+}
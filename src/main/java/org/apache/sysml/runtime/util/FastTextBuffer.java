@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.runtime.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for UTF-8 text output, which is reused across rows
+ * or cells of the text writers. In contrast to StringBuilder and Writer,
+ * numbers are formatted directly into the byte buffer (see
+ * {@link FastDoubleFormat}) without intermediate objects or char-to-byte
+ * encoding. Doubles are written in shortest roundtrip representation or
+ * with a fixed number of significant digits.
+ *
+ */
+public class FastTextBuffer
+{
+	/** Default buffer size before flushing the buffer to an output stream. */
+	public static final int FLUSH_SIZE = 64*1024;
+
+	private byte[] _buff;
+	private int _len;
+
+	//number of significant digits of doubles (<=0 for shortest roundtrip)
+	private final int _precision;
+
+	public FastTextBuffer() {
+		this(8192, -1);
+	}
+
+	public FastTextBuffer(int size, int precision) {
+		_buff = new byte[Math.max(size, 2*FastDoubleFormat.MAX_LENGTH)];
+		_len = 0;
+		_precision = precision;
+	}
+
+	public int length() {
+		return _len;
+	}
+
+	public void reset() {
+		_len = 0;
+	}
+
+	public void setLength(int len) {
+		_len = len;
+	}
+
+	public FastTextBuffer append(char c) {
+		ensureCapacity(1);
+		_buff[_len++] = (byte) c;
+		return this;
+	}
+
+	public FastTextBuffer append(String str) {
+		int len = str.length();
+		ensureCapacity(len);
+		for( int i=0; i<len; i++ ) {
+			char c = str.charAt(i);
+			if( c >= 0x80 ) //non-ascii
+				return appendUTF8(str, i);
+			_buff[_len++] = (byte) c;
+		}
+		return this;
+	}
+
+	public FastTextBuffer append(long value) {
+		ensureCapacity(FastDoubleFormat.MAX_LENGTH);
+		_len = FastDoubleFormat.formatLong(value, _buff, _len);
+		return this;
+	}
+
+	public FastTextBuffer append(double value) {
+		ensureCapacity(FastDoubleFormat.MAX_LENGTH);
+		_len = FastDoubleFormat.format(value, _precision, _buff, _len);
+		return this;
+	}
+
+	/**
+	 * Appends the text cell (IJV) representation "i j v\n" of the given cell,
+	 * where i and j are 1-based row and column indexes.
+	 *
+	 * @param i 1-based row index
+	 * @param j 1-based column index
+	 * @param v value
+	 * @return this buffer
+	 */
+	public FastTextBuffer appendCell(long i, long j, double v) {
+		ensureCapacity(3*FastDoubleFormat.MAX_LENGTH);
+		_len = FastDoubleFormat.formatLong(i, _buff, _len);
+		_buff[_len++] = ' ';
+		_len = FastDoubleFormat.formatLong(j, _buff, _len);
+		_buff[_len++] = ' ';
+		_len = FastDoubleFormat.format(v, _precision, _buff, _len);
+		_buff[_len++] = '\n';
+		return this;
+	}
+
+	public void writeTo(OutputStream out)
+		throws IOException
+	{
+		out.write(_buff, 0, _len);
+	}
+
+	/**
+	 * Writes the buffer content to the given output stream and resets the
+	 * buffer, if the output stream is given and the buffer exceeds the
+	 * flush size; otherwise, the content is retained in the buffer.
+	 *
+	 * @param out output stream, or null
+	 * @throws IOException if IOException occurs
+	 */
+	public void flushTo(OutputStream out)
+		throws IOException
+	{
+		if( out != null && _len >= FLUSH_SIZE ) {
+			writeTo(out);
+			reset();
+		}
+	}
+
+	/**
+	 * Writes the buffer content at the given absolute position of the file
+	 * channel, which allows concurrent positional writes of disjoint ranges.
+	 *
+	 * @param channel file channel
+	 * @param pos absolute file position
+	 * @throws IOException if IOException occurs
+	 */
+	public void writeTo(FileChannel channel, long pos)
+		throws IOException
+	{
+		ByteBuffer bb = ByteBuffer.wrap(_buff, 0, _len);
+		while( bb.hasRemaining() )
+			pos += channel.write(bb, pos);
+	}
+
+	@Override
+	public String toString() {
+		return new String(_buff, 0, _len, StandardCharsets.UTF_8);
+	}
+
+	private FastTextBuffer appendUTF8(String str, int off) {
+		for( int i=off; i<str.length(); i++ ) {
+			int c = str.codePointAt(i);
+			if( Character.isSupplementaryCodePoint(c) )
+				i++;
+			ensureCapacity(4);
+			if( c < 0x80 )
+				_buff[_len++] = (byte) c;
+			else if( c < 0x800 ) {
+				_buff[_len++] = (byte) (0xC0 | (c >> 6));
+				_buff[_len++] = (byte) (0x80 | (c & 0x3F));
+			}
+			else if( c < 0x10000 ) {
+				_buff[_len++] = (byte) (0xE0 | (c >> 12));
+				_buff[_len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				_buff[_len++] = (byte) (0x80 | (c & 0x3F));
+			}
+			else {
+				_buff[_len++] = (byte) (0xF0 | (c >> 18));
+				_buff[_len++] = (byte) (0x80 | ((c >> 12) & 0x3F));
+				_buff[_len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				_buff[_len++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		return this;
+	}
+
+	private void ensureCapacity(int len) {
+		if( _len + len > _buff.length )
+			_buff = Arrays.copyOf(_buff, Math.max(2*_buff.length, _len+len));
+	}
+}
@@ -27,17 +27,22 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.UUID;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.StringEscapeUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileContext;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.Options;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.UnsupportedFileSystemException;
 import org.apache.hadoop.fs.permission.FsPermission;
 import org.apache.hadoop.io.DoubleWritable;
 import org.apache.hadoop.io.IntWritable;
@@ -60,6 +65,7 @@ import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
 import org.apache.sysml.runtime.matrix.sort.ReadWithZeros;
 import org.apache.wink.json4j.JSONException;
+import org.apache.wink.json4j.JSONObject;
 import org.apache.wink.json4j.OrderedJSONObject;
 
 
@@ -428,6 +434,82 @@ public class MapReduceTool
 		}
 	}
 
+	/**
+	 * Reads the given metadata file, while preserving the order of entries
+	 * (e.g., for in-place updates of dimensions and number of non-zeros).
+	 * 
+	 * @param mtdfile metadata file name
+	 * @return metadata JSON object
+	 * @throws IOException if IOException occurs
+	 */
+	public static OrderedJSONObject readMetaDataFile(String mtdfile) 
+		throws IOException 
+	{
+		Path path = new Path(mtdfile);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		try( BufferedReader br = new BufferedReader(new InputStreamReader(fs.open(path))) ) {
+			return new OrderedJSONObject(br);
+		}
+		catch (JSONException e) {
+			throw new IOException("Error reading and parsing metadata JSON file "+mtdfile, e);
+		}
+	}
+	
+	/**
+	 * Replaces the given metadata file atomically, i.e., readers either see the
+	 * old or new metadata but never a partially written or missing file. We write
+	 * a temporary (hidden) file and rename it with overwrite, where file systems 
+	 * without support for atomic renames (e.g., object stores) fall back to a 
+	 * delete and rename.
+	 * 
+	 * @param mtdfile metadata file name
+	 * @param mtd metadata JSON object
+	 * @throws IOException if IOException occurs
+	 */
+	public static void replaceMetaDataFile(String mtdfile, JSONObject mtd) 
+		throws IOException 
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(mtdfile);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		path = fs.makeQualified(path);
+		Path tmp = new Path(path.getParent(), "_" + path.getName() + "." + UUID.randomUUID());
+		try( BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(tmp,true))) ) {
+			br.write(mtd.toString(4));
+		} 
+		catch (JSONException e) {
+			throw new IOException("Error creating and writing metadata JSON file", e);
+		}
+		
+		renameFileOverwrite(fs, job, tmp, path);
+	}
+	
+	/**
+	 * Renames the given source file to the target file, which atomically replaces
+	 * an existing target file if supported by the file system, and otherwise falls 
+	 * back to a delete of the target file and a subsequent rename.
+	 * 
+	 * @param fs file system
+	 * @param conf configuration
+	 * @param src source file
+	 * @param dst target file
+	 * @throws IOException if IOException occurs
+	 */
+	public static void renameFileOverwrite(FileSystem fs, Configuration conf, Path src, Path dst) 
+		throws IOException
+	{
+		try {
+			FileContext.getFileContext(dst.toUri(), conf)
+				.rename(src, dst, Options.Rename.OVERWRITE);
+		}
+		catch(UnsupportedFileSystemException ex) {
+			fs.delete(dst, false);
+			if( !fs.rename(src, dst) )
+				throw new IOException("Failed to replace file "+dst);
+		}
+		IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, dst);
+	}
+
 	public static void writeScalarMetaDataFile(String mtdfile, ValueType vt) 
 		throws IOException 
 	{
@@ -0,0 +1,342 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.utils;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.instructions.Instruction;
+import org.apache.sysml.runtime.instructions.Instruction.IType;
+import org.apache.sysml.runtime.instructions.cp.FunctionCallCPInstruction;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+
+/**
+ * Instruction-level runtime profiler (enabled via -profile), which attributes
+ * execution time, process CPU time, allocated bytes, and buffer pool evictions and
+ * restores to (script file, line, function call stack, opcode). Measurements are
+ * aggregated over all executions of an instruction (e.g., over loop iterations),
+ * and exported in collapsed stack format (for flame graphs) and as a JSON report.
+ *
+ * Function call instructions are not recorded themselves because their time is
+ * already covered by the instructions of the function body, which are recorded
+ * with the function name on the call stack. Allocated bytes are measured for the
+ * executing thread only, while the process CPU time also covers multi-threaded
+ * operations. Under concurrent execution (e.g., parfor), the process CPU time of
+ * concurrently executed instructions overlaps, and parfor workers start with an
+ * empty function call stack.
+ */
+public class InstructionProfiler
+{
+	private static final Log LOG = LogFactory.getLog(InstructionProfiler.class.getName());
+
+	public static final String DEFAULT_OUTPUT_PREFIX = "systemml_profile";
+	private static final String ROOT_FRAME = "main";
+
+	private static final java.lang.management.ThreadMXBean THREAD_MX = ManagementFactory.getThreadMXBean();
+	private static final java.lang.management.OperatingSystemMXBean OS_MX = ManagementFactory.getOperatingSystemMXBean();
+	private static final boolean ALLOC_SUPPORTED = THREAD_MX instanceof com.sun.management.ThreadMXBean
+		&& ((com.sun.management.ThreadMXBean)THREAD_MX).isThreadAllocatedMemorySupported();
+	private static final boolean CPU_SUPPORTED = OS_MX instanceof com.sun.management.OperatingSystemMXBean;
+
+	//aggregated profile entries by (file, line, stack, opcode)
+	private static final ConcurrentHashMap<String, ProfileEntry> _entries = new ConcurrentHashMap<>();
+
+	//thread-local function call stack and buffer pool counters
+	private static final ThreadLocal<ThreadState> _state = new ThreadLocal<ThreadState>() {
+		@Override
+		protected ThreadState initialValue() {
+			return new ThreadState();
+		}
+	};
+
+	private InstructionProfiler() {
+		//prevent instantiation via private constructor
+	}
+
+	/**
+	 * Obtains the start measurements before instruction execution.
+	 *
+	 * @return start measurements
+	 */
+	public static long[] start() {
+		ThreadState state = _state.get();
+		return new long[] {System.nanoTime(), getProcessCpuTime(),
+			getAllocatedBytes(), state._evictions, state._restores};
+	}
+
+	/**
+	 * Records the measurements of an executed instruction.
+	 *
+	 * @param inst instruction
+	 * @param start start measurements obtained via {@link #start()}
+	 */
+	public static void stop(Instruction inst, long[] start) {
+		if( inst instanceof FunctionCallCPInstruction )
+			return;
+		long time = System.nanoTime() - start[0];
+		long cpu = getProcessCpuTime() - start[1];
+		long alloc = getAllocatedBytes() - start[2];
+		ThreadState state = _state.get();
+
+		String stack = state.getStack();
+		String fname = (inst.getFilename() != null) ? inst.getFilename() :
+			(DMLScript.DML_FILE_PATH_ANTLR_PARSER != null) ? DMLScript.DML_FILE_PATH_ANTLR_PARSER : "";
+		String opcode = (inst.getType() == IType.SPARK) ? Instruction.SP_INST_PREFIX + inst.getOpcode() :
+			(inst.getType() == IType.GPU) ? Instruction.GPU_INST_PREFIX + inst.getOpcode() : inst.getOpcode();
+		String key = fname + "\u0000" + inst.getBeginLine() + "\u0000" + stack + "\u0000" + opcode;
+
+		ProfileEntry e = _entries.get(key);
+		if( e == null ) {
+			e = new ProfileEntry(fname, inst.getBeginLine(), stack, opcode);
+			ProfileEntry tmp = _entries.putIfAbsent(key, e);
+			e = (tmp != null) ? tmp : e;
+		}
+		e._count.increment();
+		e._time.add(time);
+		e._cpuTime.add(Math.max(cpu, 0));
+		e._allocBytes.add(Math.max(alloc, 0));
+		e._evictions.add(state._evictions - start[3]);
+		e._restores.add(state._restores - start[4]);
+	}
+
+	public static void pushFunction(String fkey) {
+		_state.get()._stack.addLast(fkey);
+	}
+
+	public static void popFunction() {
+		_state.get()._stack.pollLast();
+	}
+
+	public static void incrementEvictions() {
+		_state.get()._evictions++;
+	}
+
+	public static void incrementRestores() {
+		_state.get()._restores++;
+	}
+
+	public static void reset() {
+		_entries.clear();
+	}
+
+	/**
+	 * Creates the profile in collapsed stack format, i.e., one line per
+	 * profile entry with ';'-separated frames and the time in microseconds.
+	 *
+	 * @return collapsed stacks
+	 */
+	public static String getCollapsedStacks() {
+		StringBuilder sb = new StringBuilder();
+		for( ProfileEntry e : getSortedEntries() ) {
+			long us = e._time.longValue() / 1000;
+			if( us <= 0 )
+				continue;
+			sb.append(ROOT_FRAME);
+			if( !e._stack.isEmpty() ) {
+				sb.append(';');
+				sb.append(e._stack);
+			}
+			sb.append(';');
+			sb.append(toFrame(e._opcode + " [" + new File(e._file).getName() + ":" + e._line + "]"));
+			sb.append(' ');
+			sb.append(us);
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Creates the profile as JSON report, with profile entries in descending
+	 * order of their execution time.
+	 *
+	 * @return JSON report
+	 */
+	public static String getJSONReport() {
+		int numCores = InfrastructureAnalyzer.getLocalParallelism();
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\n  \"cores\": ").append(numCores).append(",\n  \"entries\": [");
+		List<ProfileEntry> entries = getSortedEntries();
+		for( int i=0; i<entries.size(); i++ ) {
+			ProfileEntry e = entries.get(i);
+			long time = e._time.longValue();
+			double util = (time > 0) ? (double)e._cpuTime.longValue() / time / numCores : 0;
+			sb.append(i > 0 ? ",\n    {" : "\n    {");
+			sb.append("\"file\": ").append(toJSONString(e._file));
+			sb.append(", \"line\": ").append(e._line);
+			sb.append(", \"stack\": ").append(toJSONString(
+				e._stack.isEmpty() ? ROOT_FRAME : ROOT_FRAME + ";" + e._stack));
+			sb.append(", \"opcode\": ").append(toJSONString(e._opcode));
+			sb.append(", \"count\": ").append(e._count.longValue());
+			sb.append(", \"timeNs\": ").append(time);
+			sb.append(", \"cpuTimeNs\": ").append(e._cpuTime.longValue());
+			sb.append(", \"threadUtilization\": ").append(String.format(Locale.US, "%.4f", util));
+			sb.append(", \"allocatedBytes\": ").append(e._allocBytes.longValue());
+			sb.append(", \"evictions\": ").append(e._evictions.longValue());
+			sb.append(", \"restores\": ").append(e._restores.longValue());
+			sb.append("}");
+		}
+		sb.append("\n  ]\n}\n");
+		return sb.toString();
+	}
+
+	/**
+	 * Creates a summary of the top profile entries by execution time.
+	 *
+	 * @param maxEntries maximum number of entries
+	 * @return summary
+	 */
+	public static String display(int maxEntries) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Instruction profile (top "+maxEntries+"):\n");
+		sb.append(String.format("  %-40s %-24s %10s %12s %12s %8s%n",
+			"Location", "Opcode", "Count", "Time(s)", "Alloc(MB)", "Evict"));
+		List<ProfileEntry> entries = getSortedEntries();
+		for( int i=0; i<Math.min(maxEntries, entries.size()); i++ ) {
+			ProfileEntry e = entries.get(i);
+			String loc = new File(e._file).getName() + ":" + e._line
+				+ (e._stack.isEmpty() ? "" : " (" + e._stack.substring(e._stack.lastIndexOf(';')+1) + ")");
+			sb.append(String.format("  %-40s %-24s %10d %12.3f %12.3f %8d%n", loc, e._opcode,
+				e._count.longValue(), e._time.longValue()*1e-9,
+				e._allocBytes.longValue()/(1024d*1024d), e._evictions.longValue()));
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes the collapsed stacks and JSON report to the local files
+	 * prefix.collapsed and prefix.json.
+	 *
+	 * @param prefix output file prefix
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeReports(String prefix)
+		throws IOException
+	{
+		writeFile(prefix + ".collapsed", getCollapsedStacks());
+		writeFile(prefix + ".json", getJSONReport());
+		LOG.info("Wrote instruction profile to "+prefix+".collapsed and "+prefix+".json");
+	}
+
+	private static void writeFile(String fname, String content)
+		throws IOException
+	{
+		Writer writer = null;
+		try {
+			writer = new BufferedWriter(new OutputStreamWriter(
+				new FileOutputStream(fname), StandardCharsets.UTF_8));
+			writer.write(content);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+
+	private static List<ProfileEntry> getSortedEntries() {
+		List<ProfileEntry> ret = new ArrayList<>(_entries.values());
+		Collections.sort(ret, (a, b) -> Long.compare(b._time.longValue(), a._time.longValue()));
+		return ret;
+	}
+
+	private static String toJSONString(String str) {
+		StringBuilder sb = new StringBuilder(str.length()+2);
+		sb.append('"');
+		for( int i=0; i<str.length(); i++ ) {
+			char c = str.charAt(i);
+			if( c == '"' || c == '\\' )
+				sb.append('\\').append(c);
+			else if( c < 0x20 )
+				sb.append(String.format("\\u%04x", (int)c));
+			else
+				sb.append(c);
+		}
+		sb.append('"');
+		return sb.toString();
+	}
+
+	private static String toFrame(String name) {
+		//frames must not contain the frame separator
+		return name.replace(';', '_');
+	}
+
+	private static long getProcessCpuTime() {
+		return CPU_SUPPORTED ? ((com.sun.management.OperatingSystemMXBean)OS_MX).getProcessCpuTime() : 0;
+	}
+
+	private static long getAllocatedBytes() {
+		return ALLOC_SUPPORTED ? ((com.sun.management.ThreadMXBean)THREAD_MX)
+			.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+	}
+
+	private static class ThreadState {
+		private final Deque<String> _stack = new ArrayDeque<>();
+		private long _evictions = 0;
+		private long _restores = 0;
+
+		public String getStack() {
+			if( _stack.isEmpty() )
+				return "";
+			StringBuilder sb = new StringBuilder();
+			for( String fkey : _stack ) {
+				if( sb.length() > 0 )
+					sb.append(';');
+				sb.append(toFrame(fkey));
+			}
+			return sb.toString();
+		}
+	}
+
+	private static class ProfileEntry {
+		private final String _file;
+		private final int _line;
+		private final String _stack;
+		private final String _opcode;
+		private final LongAdder _count = new LongAdder();
+		private final LongAdder _time = new LongAdder();
+		private final LongAdder _cpuTime = new LongAdder();
+		private final LongAdder _allocBytes = new LongAdder();
+		private final LongAdder _evictions = new LongAdder();
+		private final LongAdder _restores = new LongAdder();
+
+		public ProfileEntry(String file, int line, String stack, String opcode) {
+			_file = file;
+			_line = line;
+			_stack = stack;
+			_opcode = opcode;
+		}
+	}
+}
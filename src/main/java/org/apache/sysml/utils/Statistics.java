@@ -89,6 +89,13 @@ public class Statistics
 	private static final LongAdder funRecompileTime = new LongAdder(); //in nano sec
 	private static final LongAdder funRecompiles = new LongAdder(); //count
 	
+	//Lineage cache stats
+	private static final LongAdder lineageCacheHitsFull = new LongAdder(); //count
+	private static final LongAdder lineageCacheHitsPartial = new LongAdder(); //count
+	private static final LongAdder lineageCacheMisses = new LongAdder(); //count
+	private static final LongAdder lineageCacheEvictions = new LongAdder(); //count
+	private static final LongAdder lineageCacheSavedTime = new LongAdder(); //in nano sec
+	
 	//Spark-specific stats
 	private static long sparkCtxCreateTime = 0; 
 	private static final LongAdder sparkParallelize = new LongAdder();
@@ -97,6 +104,8 @@ public class Statistics
 	private static final LongAdder sparkCollectCount = new LongAdder();
 	private static final LongAdder sparkBroadcast = new LongAdder();
 	private static final LongAdder sparkBroadcastCount = new LongAdder();
+	private static final LongAdder sparkBroadcastCacheHits = new LongAdder();
+	private static final LongAdder sparkAsyncCollectCount = new LongAdder();
 
 	//PARFOR optimization stats (low frequency updates)
 	private static long parforOptTime = 0; //in milli sec
@@ -342,6 +351,38 @@ public class Statistics
 		funRecompiles.increment();
 	}
 	
+	public static void incrementLineageCacheHitsFull() {
+		lineageCacheHitsFull.increment();
+	}
+	
+	public static void incrementLineageCacheHitsPartial() {
+		lineageCacheHitsPartial.increment();
+	}
+	
+	public static void incrementLineageCacheMisses() {
+		lineageCacheMisses.increment();
+	}
+	
+	public static void incrementLineageCacheEvictions() {
+		lineageCacheEvictions.increment();
+	}
+	
+	public static void incrementLineageCacheSavedTime(long delta) {
+		lineageCacheSavedTime.add(delta);
+	}
+	
+	public static long getLineageCacheHitsFull() {
+		return lineageCacheHitsFull.longValue();
+	}
+	
+	public static long getLineageCacheHitsPartial() {
+		return lineageCacheHitsPartial.longValue();
+	}
+	
+	public static long getLineageCacheMisses() {
+		return lineageCacheMisses.longValue();
+	}
+	
 	public static synchronized void incrementParForOptimCount(){
 		parforOptCount ++;
 	}
@@ -406,6 +447,15 @@ public class Statistics
 		funRecompiles.reset();
 		funRecompileTime.reset();
 		
+		lineageCacheHitsFull.reset();
+		lineageCacheHitsPartial.reset();
+		lineageCacheMisses.reset();
+		lineageCacheEvictions.reset();
+		lineageCacheSavedTime.reset();
+		
+		sparkBroadcastCacheHits.reset();
+		sparkAsyncCollectCount.reset();
+		
 		codegenHopCompile.reset();
 		codegenCPlanCompile.reset();
 		codegenClassCompile.reset();
@@ -495,6 +545,22 @@ public class Statistics
 		sparkBroadcastCount.add(c);
 	}
 	
+	public static void incSparkBroadcastCacheHits() {
+		sparkBroadcastCacheHits.increment();
+	}
+	
+	public static long getSparkBroadcastCacheHits() {
+		return sparkBroadcastCacheHits.longValue();
+	}
+	
+	public static void incSparkAsyncCollectCount() {
+		sparkAsyncCollectCount.increment();
+	}
+	
+	public static long getSparkAsyncCollectCount() {
+		return sparkAsyncCollectCount.longValue();
+	}
+	
 	
 	public static String getCPHeavyHitterCode( Instruction inst )
 	{
@@ -800,6 +866,12 @@ public class Statistics
 				sb.append("Functions recompiled:\t\t" + getFunRecompiles() + ".\n");
 				sb.append("Functions recompile time:\t" + String.format("%.3f", ((double)getFunRecompileTime())/1000000000) + " sec.\n");	
 			}
+			if( DMLScript.LINEAGE_REUSE ) {
+				sb.append("Lineage cache hits (FR/PR/MS):\t" + getLineageCacheHitsFull() + "/"
+						+ getLineageCacheHitsPartial() + "/" + getLineageCacheMisses() + ".\n");
+				sb.append("Lineage cache evictions:\t" + lineageCacheEvictions.longValue() + ".\n");
+				sb.append("Lineage cache saved time:\t" + String.format("%.3f", ((double)lineageCacheSavedTime.longValue())/1000000000) + " sec.\n");
+			}
 			if( ConfigurationManager.isCodegenEnabled() ) {
 				sb.append("Codegen compile (DAG,CP,JC):\t" + getCodegenDAGCompile() + "/"
 						+ getCodegenCPlanCompile() + "/" + getCodegenClassCompile() + ".\n");
@@ -821,6 +893,10 @@ public class Statistics
 								 ((double)sparkParallelize.longValue())*1e-9,
 								 ((double)sparkBroadcast.longValue())*1e-9,
 								 ((double)sparkCollect.longValue())*1e-9));
+				if( sparkBroadcastCacheHits.longValue() > 0 )
+					sb.append("Spark broadcast cache hits:\t" + sparkBroadcastCacheHits.longValue() + ".\n");
+				if( sparkAsyncCollectCount.longValue() > 0 )
+					sb.append("Spark async collects:\t" + sparkAsyncCollectCount.longValue() + ".\n");
 			}
 			if( parforOptCount>0 ){
 				sb.append("ParFor loops optimized:\t\t" + getParforOptCount() + ".\n");
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of the vector primitives on top of the incubator
+ * Java Vector API, using the preferred (widest) vector species of the
+ * current hardware (e.g., 4 doubles for AVX2, 8 doubles for AVX-512).
+ * 
+ * Note: This class is compiled only with the vector-api profile (JDK 17+)
+ * and loaded via reflection by {@link VectorPrimitives#getInstance()}.
+ */
+public class VectorPrimitivesSIMD extends VectorPrimitives
+{
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	
+	@Override
+	public int getVectorLength() {
+		return SPECIES.length();
+	}
+	
+	@Override
+	public double dotProduct(double[] a, double[] b, int ai, int bi, int len) {
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		final int bn = SPECIES.loopBound(len);
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+i);
+			acc = acc.add(va.mul(vb));
+		}
+		double val = acc.reduceLanes(VectorOperators.ADD);
+		//rest, not aligned to vector length
+		for( ; i < len; i++ )
+			val += a[ai+i] * b[bi+i];
+		return val;
+	}
+	
+	@Override
+	public double dotProduct(double[] a, double[] b, int[] aix, int ai, int bi, int len) {
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		final int bn = SPECIES.loopBound(len);
+		int i = 0;
+		for( ; i < bn; i+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+i);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi, aix, ai+i); //gather
+			acc = acc.add(va.mul(vb));
+		}
+		double val = acc.reduceLanes(VectorOperators.ADD);
+		for( ; i < len; i++ )
+			val += a[ai+i] * b[bi+aix[ai+i]];
+		return val;
+	}
+	
+	@Override
+	public void vectMultiplyAdd(double aval, double[] b, double[] c, int bi, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+j);
+			DoubleVector vc = DoubleVector.fromArray(SPECIES, c, ci+j);
+			vc.add(vb.mul(aval)).intoArray(c, ci+j);
+		}
+		for( ; j < len; j++ )
+			c[ci+j] += aval * b[bi+j];
+	}
+	
+	@Override
+	public void vectMultiplyAdd(double aval, double[] b, double[] c, int[] bix, int bi, int ci, int len) {
+		//note: column indexes of a sparse row are unique, which makes the scatter safe
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+j);
+			DoubleVector vc = DoubleVector.fromArray(SPECIES, c, ci, bix, bi+j); //gather
+			vc.add(vb.mul(aval)).intoArray(c, ci, bix, bi+j); //scatter
+		}
+		for( ; j < len; j++ )
+			c[ci+bix[bi+j]] += aval * b[bi+j];
+	}
+	
+	@Override
+	public void vectMultiplyWrite(double aval, double[] b, double[] c, int bi, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() )
+			DoubleVector.fromArray(SPECIES, b, bi+j).mul(aval).intoArray(c, ci+j);
+		for( ; j < len; j++ )
+			c[ci+j] = aval * b[bi+j];
+	}
+	
+	@Override
+	public void vectMultiplyWrite(double[] a, double[] b, double[] c, int ai, int bi, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+j);
+			va.mul(vb).intoArray(c, ci+j);
+		}
+		for( ; j < len; j++ )
+			c[ci+j] = a[ai+j] * b[bi+j];
+	}
+	
+	@Override
+	public void vectMultiplyWrite(double[] a, double[] b, double[] c, int[] aix, int ai, int bi, int alen) {
+		final int bn = SPECIES.loopBound(alen);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi, aix, ai+j); //gather
+			va.mul(vb).intoArray(c, 0, aix, ai+j); //scatter
+		}
+		for( ; j < alen; j++ )
+			c[aix[ai+j]] = a[ai+j] * b[bi+aix[ai+j]];
+	}
+	
+	@Override
+	public void vectDivWrite(double[] a, double bval, double[] c, int ai, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() )
+			DoubleVector.fromArray(SPECIES, a, ai+j).div(bval).intoArray(c, j);
+		for( ; j < len; j++ )
+			c[j] = a[ai+j] / bval;
+	}
+	
+	@Override
+	public void vectDivWrite(double bval, double[] a, double[] c, int ai, int len) {
+		final DoubleVector vb = DoubleVector.broadcast(SPECIES, bval);
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() )
+			vb.div(DoubleVector.fromArray(SPECIES, a, ai+j)).intoArray(c, j);
+		for( ; j < len; j++ )
+			c[j] = bval / a[ai+j];
+	}
+	
+	@Override
+	public void vectDivWrite(double[] a, double[] b, double[] c, int ai, int bi, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+j);
+			va.div(vb).intoArray(c, j);
+		}
+		for( ; j < len; j++ )
+			c[j] = a[ai+j] / b[bi+j];
+	}
+	
+	@Override
+	public void vectPlusWrite(double[] a, double bval, double[] c, int ai, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() )
+			DoubleVector.fromArray(SPECIES, a, ai+j).add(bval).intoArray(c, j);
+		for( ; j < len; j++ )
+			c[j] = a[ai+j] + bval;
+	}
+	
+	@Override
+	public void vectPlusWrite(double[] a, double[] b, double[] c, int ai, int bi, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+j);
+			va.add(vb).intoArray(c, j);
+		}
+		for( ; j < len; j++ )
+			c[j] = a[ai+j] + b[bi+j];
+	}
+	
+	@Override
+	public void vectAdd(double[] a, double[] c, int ai, int ci, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector vc = DoubleVector.fromArray(SPECIES, c, ci+j);
+			vc.add(va).intoArray(c, ci+j);
+		}
+		for( ; j < len; j++ )
+			c[ci+j] += a[ai+j];
+	}
+	
+	@Override
+	public void vectAdd(double[] a, double[] c, int[] aix, int ai, int ci, int alen) {
+		final int bn = SPECIES.loopBound(alen);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector vc = DoubleVector.fromArray(SPECIES, c, ci, aix, ai+j); //gather
+			vc.add(va).intoArray(c, ci, aix, ai+j); //scatter
+		}
+		for( ; j < alen; j++ )
+			c[ci+aix[ai+j]] += a[ai+j];
+	}
+	
+	@Override
+	public void vectMinusWrite(double[] a, double bval, double[] c, int ai, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() )
+			DoubleVector.fromArray(SPECIES, a, ai+j).sub(bval).intoArray(c, j);
+		for( ; j < len; j++ )
+			c[j] = a[ai+j] - bval;
+	}
+	
+	@Override
+	public void vectMinusWrite(double bval, double[] a, double[] c, int ai, int len) {
+		final DoubleVector vb = DoubleVector.broadcast(SPECIES, bval);
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() )
+			vb.sub(DoubleVector.fromArray(SPECIES, a, ai+j)).intoArray(c, j);
+		for( ; j < len; j++ )
+			c[j] = bval - a[ai+j];
+	}
+	
+	@Override
+	public void vectMinusWrite(double[] a, double[] b, double[] c, int ai, int bi, int len) {
+		final int bn = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < bn; j+=SPECIES.length() ) {
+			DoubleVector va = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector vb = DoubleVector.fromArray(SPECIES, b, bi+j);
+			va.sub(vb).intoArray(c, j);
+		}
+		for( ; j < len; j++ )
+			c[j] = a[ai+j] - b[bi+j];
+	}
+}
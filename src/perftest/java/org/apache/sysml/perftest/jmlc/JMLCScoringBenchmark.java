@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.perftest.jmlc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.api.DMLException;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.api.jmlc.ResultVariables;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end latency benchmark of the JMLC scoring path, i.e., script
+ * preparation and repeated execution of the prepared scoring scripts in
+ * scripts/algorithms over batches of varying size. The sample-time mode
+ * reports latency percentiles (p50, p99) per script and batch size, while
+ * the gc profiler (enabled by default in the jmh profile) reports the
+ * normalized allocation rate.
+ *
+ * The location of the algorithm scripts can be overwritten via the
+ * system property sysml.perftest.scripts (default: scripts/algorithms/).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 2, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xms4g"})
+public class JMLCScoringBenchmark
+{
+	private static final String SCRIPT_DIR = System.getProperty(
+		"sysml.perftest.scripts", "scripts/algorithms/");
+
+	private static final long SEED = 7;
+
+	@Param({"GLM-predict", "Kmeans-predict", "l2-svm-predict", "naive-bayes-predict", "ALS_predict"})
+	public String script;
+
+	@Param({"1", "10", "100", "1000"})
+	public int batchSize;
+
+	@Param({"100"})
+	public int numFeatures;
+
+	private Connection _conn;
+	private ScoringScript _spec;
+	private String _scriptString;
+	private PreparedScript _pscript;
+	private MatrixBlock _X;
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		_conn = new Connection();
+		_spec = ScoringScript.valueOf(script.replace('-', '_').toUpperCase());
+		_scriptString = _conn.readScript(SCRIPT_DIR + script + ".dml");
+		_pscript = prepare();
+		_spec.bindModel(_pscript, numFeatures);
+		_X = _spec.createBatch(batchSize, numFeatures);
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() {
+		if( _conn != null )
+			_conn.close();
+	}
+
+	@Benchmark
+	public PreparedScript prepareScript() throws DMLException {
+		return prepare();
+	}
+
+	@Benchmark
+	public MatrixBlock executeScript() throws DMLException {
+		_pscript.setMatrix(_spec.input, _X, false);
+		ResultVariables rs = _pscript.executeScript();
+		return rs.getMatrixBlock(_spec.output);
+	}
+
+	private PreparedScript prepare() throws DMLException {
+		return _conn.prepareScript(_scriptString, _spec.getArguments(numFeatures),
+			_spec.getInputs(), new String[]{_spec.output}, false);
+	}
+
+	/**
+	 * Specification of the benchmarked scoring scripts, including their
+	 * script arguments, registered inputs and outputs, as well as the
+	 * generation of synthetic models and input batches.
+	 */
+	private enum ScoringScript {
+		GLM_PREDICT("X", "means", "B_full"),
+		KMEANS_PREDICT("X", "prY", "C"),
+		L2_SVM_PREDICT("X", "scores", "w"),
+		NAIVE_BAYES_PREDICT("D", "probs", "prior", "conditionals"),
+		ALS_PREDICT("X", "V_prime", "L", "R");
+
+		private static final int NUM_CLUSTERS = 10;
+		private static final int NUM_CLASSES = 5;
+		private static final int NUM_USERS = 1000;
+		private static final int RANK = 20;
+
+		private final String input;
+		private final String output;
+		private final String[] models;
+
+		private ScoringScript(String input, String output, String... models) {
+			this.input = input;
+			this.output = output;
+			this.models = models;
+		}
+
+		public String[] getInputs() {
+			String[] ret = new String[models.length + 1];
+			ret[0] = input;
+			System.arraycopy(models, 0, ret, 1, models.length);
+			return ret;
+		}
+
+		public Map<String, String> getArguments(int n) {
+			//note: read/write filenames are replaced by transient reads and writes
+			//of the registered inputs and outputs, but have to exist for validation
+			Map<String, String> args = new HashMap<>();
+			switch( this ) {
+				case GLM_PREDICT:
+					args.put("$X", "./tmp/X");
+					args.put("$B", "./tmp/B");
+					args.put("$M", "./tmp/M");
+					break;
+				case KMEANS_PREDICT:
+					args.put("$X", "./tmp/X");
+					args.put("$C", "./tmp/C");
+					args.put("$prY", "./tmp/prY");
+					break;
+				case L2_SVM_PREDICT:
+					args.put("$X", "./tmp/X");
+					args.put("$model", "./tmp/w");
+					args.put("$scores", "./tmp/scores");
+					args.put("$scoring_only", "TRUE");
+					break;
+				case NAIVE_BAYES_PREDICT:
+					args.put("$X", "./tmp/X");
+					args.put("$prior", "./tmp/prior");
+					args.put("$conditionals", "./tmp/conditionals");
+					args.put("$probabilities", "./tmp/probs");
+					break;
+				case ALS_PREDICT:
+					args.put("$X", "./tmp/X");
+					args.put("$L", "./tmp/L");
+					args.put("$R", "./tmp/R");
+					args.put("$Y", "./tmp/Y");
+					args.put("$Vrows", String.valueOf(NUM_USERS));
+					args.put("$Vcols", String.valueOf(n));
+					break;
+			}
+			return args;
+		}
+
+		public void bindModel(PreparedScript pscript, int n) throws DMLException {
+			switch( this ) {
+				case GLM_PREDICT:
+					//gaussian identity model w/ intercept
+					pscript.setMatrix("B_full", rand(n+1, 1, 1, -1, 1), true);
+					break;
+				case KMEANS_PREDICT:
+					pscript.setMatrix("C", rand(NUM_CLUSTERS, n, 1, -1, 1), true);
+					break;
+				case L2_SVM_PREDICT: {
+					//layout: weights, positive label, negative label, intercept flag, #features
+					MatrixBlock w = new MatrixBlock(n+4, 1, false);
+					w.copy(0, n-1, 0, 0, rand(n, 1, 1, -1, 1), false);
+					w.quickSetValue(n, 0, 1);
+					w.quickSetValue(n+1, 0, -1);
+					w.quickSetValue(n+2, 0, 0);
+					w.quickSetValue(n+3, 0, n);
+					pscript.setMatrix("w", w, true);
+					break;
+				}
+				case NAIVE_BAYES_PREDICT: {
+					//layout: class priors, #features
+					MatrixBlock prior = new MatrixBlock(NUM_CLASSES+1, 1, false);
+					for( int i=0; i<NUM_CLASSES; i++ )
+						prior.quickSetValue(i, 0, 1.0/NUM_CLASSES);
+					prior.quickSetValue(NUM_CLASSES, 0, n);
+					pscript.setMatrix("prior", prior, true);
+					pscript.setMatrix("conditionals", rand(NUM_CLASSES, n, 1, 0.001, 1), true);
+					break;
+				}
+				case ALS_PREDICT:
+					pscript.setMatrix("L", rand(NUM_USERS, RANK, 1, 0, 1), true);
+					pscript.setMatrix("R", rand(RANK, n, 1, 0, 1), true);
+					break;
+			}
+		}
+
+		public MatrixBlock createBatch(int rows, int n) {
+			switch( this ) {
+				case NAIVE_BAYES_PREDICT:
+					//count-based, non-negative features
+					return rand(rows, n, 0.3, 0, 10);
+				case ALS_PREDICT: {
+					//pairs of 1-based user and item ids
+					MatrixBlock X = new MatrixBlock(rows, 2, false);
+					MatrixBlock ids = rand(rows, 2, 1, 0, 1);
+					for( int i=0; i<rows; i++ ) {
+						X.quickSetValue(i, 0, 1 + Math.floor(ids.quickGetValue(i, 0) * (NUM_USERS-1)));
+						X.quickSetValue(i, 1, 1 + Math.floor(ids.quickGetValue(i, 1) * (n-1)));
+					}
+					return X;
+				}
+				default:
+					return rand(rows, n, 1, -1, 1);
+			}
+		}
+
+		private static MatrixBlock rand(int rows, int cols, double sparsity, double min, double max) {
+			try {
+				return MatrixBlock.randOperations(rows, cols, sparsity, min, max, "uniform", SEED);
+			}
+			catch(Exception ex) {
+				throw new RuntimeException(ex);
+			}
+		}
+	}
+}
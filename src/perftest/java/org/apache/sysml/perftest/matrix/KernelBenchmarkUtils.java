@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.perftest.matrix;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Shared utilities of the kernel-level benchmarks, i.e., the parsing of
+ * shape parameters and the generation of dense, sparse, and ultra-sparse
+ * inputs in their in-memory representation.
+ */
+public class KernelBenchmarkUtils
+{
+	public static final long SEED = 7;
+
+	/**
+	 * Parses a shape parameter of the form "rowsxcols".
+	 *
+	 * @param shape shape string, e.g., "1000x1000"
+	 * @return array of number of rows and columns
+	 */
+	public static int[] parseShape(String shape) {
+		String[] parts = shape.toLowerCase().split("x");
+		if( parts.length != 2 )
+			throw new IllegalArgumentException("Invalid shape parameter: "+shape);
+		return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+	}
+
+	public static MatrixBlock generate(int rows, int cols, double sparsity) {
+		return generate(rows, cols, sparsity, -1, 1, SEED);
+	}
+
+	public static MatrixBlock generate(int rows, int cols, double sparsity, double min, double max, long seed) {
+		try {
+			MatrixBlock ret = MatrixBlock.randOperations(
+				rows, cols, sparsity, min, max, "uniform", seed);
+			//ensure the in-memory representation that corresponds
+			//to the sparsity (e.g., sparse for sparsity < 0.4)
+			ret.examSparsity();
+			return ret;
+		}
+		catch(DMLRuntimeException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
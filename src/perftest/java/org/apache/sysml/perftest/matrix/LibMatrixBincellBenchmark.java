@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.perftest.matrix;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kernel benchmarks of LibMatrixBincell: matrix-matrix, matrix-vector, 
+ * and matrix-scalar cell-wise operations (selected by opcode).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xms4g"})
+public class LibMatrixBincellBenchmark
+{
+	@Param({"1000x1000", "10000x100", "100000x10"})
+	public String shape;
+
+	@Param({"1.0", "0.1", "0.0001"})
+	public double sparsity;
+
+	@Param({"+", "*", "/", ">"})
+	public String opcode;
+
+	private MatrixBlock _X;
+	private MatrixBlock _Y;
+	private MatrixBlock _v;
+	private BinaryOperator _bop;
+	private ScalarOperator _sop;
+
+	@Setup(Level.Trial)
+	public void setup() throws DMLRuntimeException {
+		int[] dims = KernelBenchmarkUtils.parseShape(shape);
+		_X = KernelBenchmarkUtils.generate(dims[0], dims[1], sparsity);
+		_Y = KernelBenchmarkUtils.generate(dims[0], dims[1], sparsity, -1, 1, KernelBenchmarkUtils.SEED+1);
+		_v = KernelBenchmarkUtils.generate(1, dims[1], 1.0);
+		_bop = InstructionUtils.parseBinaryOperator(opcode);
+		_sop = InstructionUtils.parseScalarBinaryOperator(opcode, false, 2);
+	}
+
+	@Benchmark
+	public MatrixValue matrixMatrix() throws DMLRuntimeException {
+		return _X.binaryOperations(_bop, _Y, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixValue matrixRowVector() throws DMLRuntimeException {
+		return _X.binaryOperations(_bop, _v, new MatrixBlock());
+	}
+
+	@Benchmark
+	public MatrixValue matrixScalar() throws DMLRuntimeException {
+		return _X.scalarOperations(_sop, new MatrixBlock());
+	}
+}
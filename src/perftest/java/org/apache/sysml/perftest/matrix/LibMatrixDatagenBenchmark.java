@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.perftest.matrix;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDatagen;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kernel benchmarks of LibMatrixDatagen: rand with uniform and normal
+ * distributions, as well as seq and sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xms4g"})
+public class LibMatrixDatagenBenchmark
+{
+	@Param({"1000x1000", "10000x100", "100000x10"})
+	public String shape;
+
+	@Param({"1.0", "0.1", "0.0001"})
+	public double sparsity;
+
+	@Param({"1", "4", "16"})
+	public int threads;
+
+	@Param({"uniform", "normal"})
+	public String pdf;
+
+	@Benchmark
+	public MatrixBlock rand() throws DMLRuntimeException {
+		int[] dims = KernelBenchmarkUtils.parseShape(shape);
+		return MatrixBlock.randOperations(dims[0], dims[1], sparsity,
+			-1, 1, pdf, KernelBenchmarkUtils.SEED, threads);
+	}
+
+	@Benchmark
+	public MatrixBlock seq() throws DMLRuntimeException {
+		int[] dims = KernelBenchmarkUtils.parseShape(shape);
+		return MatrixBlock.seqOperations(1, (double)dims[0] * dims[1], 1);
+	}
+
+	@Benchmark
+	public MatrixBlock sample() throws DMLRuntimeException {
+		int[] dims = KernelBenchmarkUtils.parseShape(shape);
+		MatrixBlock out = new MatrixBlock();
+		LibMatrixDatagen.generateSample(out, (long)dims[0] * dims[1], 
+			dims[0], false, KernelBenchmarkUtils.SEED);
+		return out;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.perftest.matrix;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.lops.MapMultChain.ChainType;
+import org.apache.sysml.lops.WeightedDivMM.WDivMMType;
+import org.apache.sysml.lops.WeightedSquaredLoss.WeightsType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kernel benchmarks of LibMatrixMult: matrix multiplications with dense,
+ * sparse, and ultra-sparse left-hand-sides, mmchain, tsmm, as well as the
+ * quaternary wsloss and wdivmm kernels. A thread count of 1 selects the
+ * single-threaded kernels, otherwise the multi-threaded kernels are used.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xms4g"})
+public class LibMatrixMultBenchmark
+{
+	@Param({"1000x1000", "10000x100", "100000x10"})
+	public String shape;
+
+	@Param({"1.0", "0.1", "0.0001"})
+	public double sparsity;
+
+	@Param({"1", "100"})
+	public int rhsCols;
+
+	@Param({"1", "4", "16"})
+	public int threads;
+
+	@Param({"10"})
+	public int rank;
+
+	private MatrixBlock _X;
+	private MatrixBlock _W;
+	private MatrixBlock _v;
+	private MatrixBlock _U;
+	private MatrixBlock _V;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		int[] dims = KernelBenchmarkUtils.parseShape(shape);
+		_X = KernelBenchmarkUtils.generate(dims[0], dims[1], sparsity);
+		_W = KernelBenchmarkUtils.generate(dims[1], rhsCols, 1.0);
+		_v = KernelBenchmarkUtils.generate(dims[1], 1, 1.0);
+		_U = KernelBenchmarkUtils.generate(dims[0], rank, 1.0);
+		_V = KernelBenchmarkUtils.generate(dims[1], rank, 1.0);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMult() throws DMLRuntimeException {
+		MatrixBlock ret = new MatrixBlock(_X.getNumRows(), _W.getNumColumns(), false);
+		if( threads > 1 )
+			LibMatrixMult.matrixMult(_X, _W, ret, threads);
+		else
+			LibMatrixMult.matrixMult(_X, _W, ret);
+		return ret;
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMultChain() throws DMLRuntimeException {
+		return _X.chainMatrixMultOperations(_v, null, new MatrixBlock(), ChainType.XtXv, threads);
+	}
+
+	@Benchmark
+	public MatrixBlock matrixMultTransposeSelf() throws DMLRuntimeException {
+		return _X.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT, threads);
+	}
+
+	@Benchmark
+	public MatrixValue wsloss() throws DMLRuntimeException {
+		//sum(X != 0 * (X - U %*% t(V)) ^ 2)
+		QuaternaryOperator qop = new QuaternaryOperator(WeightsType.POST_NZ);
+		return _X.quaternaryOperations(qop, _U, _V, null, new MatrixBlock(), threads);
+	}
+
+	@Benchmark
+	public MatrixValue wdivmmLeft() throws DMLRuntimeException {
+		//t(t(U) %*% (X / U %*% t(V)))
+		QuaternaryOperator qop = new QuaternaryOperator(WDivMMType.DIV_LEFT);
+		return _X.quaternaryOperations(qop, _U, _V, null, new MatrixBlock(), threads);
+	}
+
+	@Benchmark
+	public MatrixValue wdivmmRight() throws DMLRuntimeException {
+		//(X / U %*% t(V)) %*% V
+		QuaternaryOperator qop = new QuaternaryOperator(WDivMMType.DIV_RIGHT);
+		return _X.quaternaryOperations(qop, _U, _V, null, new MatrixBlock(), threads);
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.perftest.matrix;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.SortIndex;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Kernel benchmarks of LibMatrixReorg: transpose, sort (by first 
+ * column w/ and w/o index return), and removeEmpty on rows and columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 10, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Xms4g"})
+public class LibMatrixReorgBenchmark
+{
+	@Param({"1000x1000", "10000x100", "100000x10"})
+	public String shape;
+
+	@Param({"1.0", "0.1", "0.0001"})
+	public double sparsity;
+
+	@Param({"1", "4", "16"})
+	public int threads;
+
+	private MatrixBlock _X;
+	private ReorgOperator _top;
+	private ReorgOperator _sop;
+	private ReorgOperator _sixop;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		int[] dims = KernelBenchmarkUtils.parseShape(shape);
+		_X = KernelBenchmarkUtils.generate(dims[0], dims[1], sparsity);
+		_top = new ReorgOperator(SwapIndex.getSwapIndexFnObject(), threads);
+		_sop = new ReorgOperator(new SortIndex(1, false, false));
+		_sixop = new ReorgOperator(new SortIndex(1, false, true));
+	}
+
+	@Benchmark
+	public MatrixValue transpose() throws DMLRuntimeException {
+		return _X.reorgOperations(_top, new MatrixBlock(), 0, 0, 0);
+	}
+
+	@Benchmark
+	public MatrixValue sort() throws DMLRuntimeException {
+		return _X.reorgOperations(_sop, new MatrixBlock(), 0, 0, 0);
+	}
+
+	@Benchmark
+	public MatrixValue sortIndexReturn() throws DMLRuntimeException {
+		return _X.reorgOperations(_sixop, new MatrixBlock(), 0, 0, 0);
+	}
+
+	@Benchmark
+	public MatrixBlock removeEmptyRows() throws DMLRuntimeException {
+		return _X.removeEmptyOperations(new MatrixBlock(), true);
+	}
+
+	@Benchmark
+	public MatrixBlock removeEmptyCols() throws DMLRuntimeException {
+		return _X.removeEmptyOperations(new MatrixBlock(), false);
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.perftest.spark;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.spark.sql.SparkSession;
+import org.apache.spark.storage.StorageLevel;
+import org.apache.sysml.api.mlcontext.MLContext;
+import org.apache.sysml.api.mlcontext.MLContext.ExecutionType;
+import org.apache.sysml.api.mlcontext.Matrix;
+import org.apache.sysml.api.mlcontext.MatrixMetadata;
+import org.apache.sysml.api.mlcontext.Script;
+import org.apache.sysml.api.mlcontext.ScriptFactory;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.AggBinaryOp;
+import org.apache.sysml.hops.AggBinaryOp.MMultMethod;
+import org.apache.sysml.perftest.matrix.KernelBenchmarkUtils;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Regression benchmarks of distributed Spark operators (mapmm, cpmm, rmm, zipmm,
+ * tsmm, tsmm2, reblock, csvreblock, ctable, groupedagg) on a local SparkContext.
+ * Every operator is executed via a small DML script with forced Spark execution
+ * (and forced matrix multiplication method) over generated inputs of configurable
+ * size and sparsity, which are persisted once per trial. Besides the end-to-end
+ * time, the aux counters report per-invocation stage metrics collected by a Spark
+ * listener: number of stages, stage and executor time, GC time, and shuffle bytes.
+ *
+ * The Spark master can be overwritten via the master parameter (e.g., via the
+ * jmh option {@code -p master=local[4]}) to evaluate different degrees of parallelism.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 5, timeUnit = TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Xms8g"})
+public class SparkOperatorBenchmark
+{
+	private static final int NUM_GROUPS = 100;
+	private static final int NUM_RHS_COLS = 100;
+
+	@Param({"MAPMM", "CPMM", "RMM", "ZIPMM", "TSMM", "TSMM2",
+		"REBLOCK", "CSV_REBLOCK", "CTABLE", "GROUPEDAGG"})
+	public String operator;
+
+	@Param({"20000"})
+	public int rows;
+
+	@Param({"1000"})
+	public int cols;
+
+	@Param({"1.0", "0.01"})
+	public double sparsity;
+
+	@Param({"local[*]"})
+	public String master;
+
+	private SparkSession _spark;
+	private MLContext _ml;
+	private SparkStageMetricsListener _listener;
+	private Script _script;
+	private String _tmpDir;
+	private List<JavaPairRDD<MatrixIndexes,MatrixBlock>> _rdds = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void setup() throws Exception {
+		_spark = SparkSession.builder()
+			.appName(getClass().getSimpleName()).master(master)
+			.config(SparkExecutionContext.createSystemMLSparkConf())
+			.getOrCreate();
+		_listener = new SparkStageMetricsListener();
+		_spark.sparkContext().addSparkListener(_listener);
+		_ml = new MLContext(_spark);
+		_ml.setExecutionType(ExecutionType.SPARK);
+		_tmpDir = Files.createTempDirectory("sysml-perftest").toString();
+
+		SparkOperator op = SparkOperator.valueOf(operator);
+		AggBinaryOp.FORCED_MMULT_METHOD = op.method;
+		_script = ScriptFactory.dml(op.script).out("s");
+		switch( op ) {
+			case MAPMM:
+				bind("X", KernelBenchmarkUtils.generate(rows, cols, sparsity));
+				bind("Y", KernelBenchmarkUtils.generate(cols, 1, 1.0));
+				break;
+			case CPMM:
+			case RMM:
+				bind("X", KernelBenchmarkUtils.generate(cols, rows, sparsity));
+				bind("Y", KernelBenchmarkUtils.generate(rows, NUM_RHS_COLS, 1.0));
+				break;
+			case ZIPMM:
+				bind("X", KernelBenchmarkUtils.generate(rows, cols, sparsity));
+				bind("Y", KernelBenchmarkUtils.generate(rows, 1, 1.0));
+				break;
+			case TSMM:
+				bind("X", KernelBenchmarkUtils.generate(rows, cols, sparsity));
+				break;
+			case TSMM2: //more columns than the blocksize, but at most two column blocks
+				bind("X", KernelBenchmarkUtils.generate(rows, Math.min(cols*3/2,
+					2*ConfigurationManager.getBlocksize()), sparsity));
+				break;
+			case REBLOCK:
+				write(KernelBenchmarkUtils.generate(rows, cols, sparsity), OutputInfo.TextCellOutputInfo);
+				break;
+			case CSV_REBLOCK:
+				write(KernelBenchmarkUtils.generate(rows, cols, sparsity), OutputInfo.CSVOutputInfo);
+				break;
+			case CTABLE:
+				bind("A", generateGroups(rows, KernelBenchmarkUtils.SEED));
+				bind("B", generateGroups(rows, KernelBenchmarkUtils.SEED+1));
+				break;
+			case GROUPEDAGG:
+				bind("X", KernelBenchmarkUtils.generate(rows, 1, sparsity));
+				bind("G", generateGroups(rows, KernelBenchmarkUtils.SEED));
+				break;
+		}
+		_listener.drain();
+	}
+
+	@TearDown(Level.Trial)
+	public void teardown() throws Exception {
+		AggBinaryOp.FORCED_MMULT_METHOD = null;
+		for( JavaPairRDD<MatrixIndexes,MatrixBlock> rdd : _rdds )
+			rdd.unpersist();
+		_rdds.clear();
+		_ml.close();
+		_spark.stop();
+		MapReduceTool.deleteFileIfExistOnHDFS(_tmpDir);
+	}
+
+	@Benchmark
+	public double execute(StageCounters counters) {
+		double ret = _ml.execute(_script).getDouble("s");
+		counters.add(_listener.drain());
+		return ret;
+	}
+
+	private void bind(String name, MatrixBlock mb) throws Exception {
+		//create and persist the binary block rdd once per trial
+		int blen = ConfigurationManager.getBlocksize();
+		JavaSparkContext jsc = JavaSparkContext.fromSparkContext(_spark.sparkContext());
+		JavaPairRDD<MatrixIndexes,MatrixBlock> rdd = SparkExecutionContext
+			.toMatrixJavaPairRDD(jsc, mb, blen, blen)
+			.persist(StorageLevel.MEMORY_AND_DISK());
+		rdd.count();
+		_rdds.add(rdd);
+		_script.in(name, new Matrix(rdd, new MatrixMetadata((long)mb.getNumRows(),
+			(long)mb.getNumColumns(), mb.getNonZeros(), blen, blen)));
+	}
+
+	private void write(MatrixBlock mb, OutputInfo oinfo) throws Exception {
+		int blen = ConfigurationManager.getBlocksize();
+		String fname = _tmpDir + "/X";
+		DataConverter.writeMatrixToHDFS(mb, fname, oinfo, new MatrixCharacteristics(
+			mb.getNumRows(), mb.getNumColumns(), blen, blen, mb.getNonZeros()));
+		_script.in("$X", fname).in("$m", mb.getNumRows()).in("$n", mb.getNumColumns());
+	}
+
+	private static MatrixBlock generateGroups(int rows, long seed) {
+		//column vector of group ids in [1, NUM_GROUPS]
+		Random rand = new Random(seed);
+		MatrixBlock ret = new MatrixBlock(rows, 1, false);
+		ret.allocateDenseBlock();
+		for( int i=0; i<rows; i++ )
+			ret.quickSetValue(i, 0, 1 + rand.nextInt(NUM_GROUPS));
+		return ret;
+	}
+
+	/**
+	 * Per-invocation Spark stage metrics, reported as aux counters.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	public static class StageCounters {
+		public long stages;
+		public long stageTimeMs;
+		public long executorTimeMs;
+		public long gcTimeMs;
+		public long shuffleReadBytes;
+		public long shuffleWriteBytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			stages = stageTimeMs = executorTimeMs = gcTimeMs = 0;
+			shuffleReadBytes = shuffleWriteBytes = 0;
+		}
+
+		public void add(long[] metrics) {
+			stages += metrics[SparkStageMetricsListener.NUM_STAGES];
+			stageTimeMs += metrics[SparkStageMetricsListener.STAGE_TIME];
+			executorTimeMs += metrics[SparkStageMetricsListener.EXECUTOR_TIME];
+			gcTimeMs += metrics[SparkStageMetricsListener.GC_TIME];
+			shuffleReadBytes += metrics[SparkStageMetricsListener.SHUFFLE_READ];
+			shuffleWriteBytes += metrics[SparkStageMetricsListener.SHUFFLE_WRITE];
+		}
+	}
+
+	/**
+	 * Specification of the benchmarked operators, including the DML script
+	 * (with forced spark execution) and the forced matrix multiplication method.
+	 */
+	private enum SparkOperator {
+		MAPMM("R = X %*% Y;", MMultMethod.MAPMM_R),
+		CPMM("R = X %*% Y;", MMultMethod.CPMM),
+		RMM("R = X %*% Y;", MMultMethod.RMM),
+		ZIPMM("R = t(X) %*% Y;", MMultMethod.ZIPMM),
+		TSMM("R = t(X) %*% X;", MMultMethod.TSMM),
+		TSMM2("R = t(X) %*% X;", MMultMethod.TSMM2),
+		REBLOCK("R = read($X, format=\"text\", rows=$m, cols=$n);", null),
+		CSV_REBLOCK("R = read($X, format=\"csv\", header=FALSE, rows=$m, cols=$n);", null),
+		CTABLE("R = table(A, B);", null),
+		GROUPEDAGG("R = aggregate(target=X, groups=G, fn=\"sum\");", null);
+
+		private final String script;
+		private final MMultMethod method;
+
+		private SparkOperator(String script, MMultMethod method) {
+			//aggregate the output to trigger the lazily evaluated operator
+			this.script = script + "\ns = sum(R);";
+			this.method = method;
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.perftest.spark;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.spark.executor.TaskMetrics;
+import org.apache.spark.scheduler.SparkListener;
+import org.apache.spark.scheduler.SparkListenerStageCompleted;
+import org.apache.spark.scheduler.StageInfo;
+
+/**
+ * Spark listener that aggregates the metrics of all completed stages, i.e.,
+ * the number of stages, stage wall time, executor run time, JVM GC time, and
+ * shuffle read/write bytes. Since listener events are delivered asynchronously,
+ * the metrics of a job might become visible slightly after the job returns,
+ * which is negligible when draining the metrics once per benchmark invocation.
+ */
+public class SparkStageMetricsListener extends SparkListener
+{
+	public static final int NUM_STAGES = 0;
+	public static final int STAGE_TIME = 1;
+	public static final int EXECUTOR_TIME = 2;
+	public static final int GC_TIME = 3;
+	public static final int SHUFFLE_READ = 4;
+	public static final int SHUFFLE_WRITE = 5;
+
+	private final AtomicLongArray _metrics = new AtomicLongArray(6);
+
+	@Override
+	public void onStageCompleted(SparkListenerStageCompleted stageCompleted) {
+		StageInfo si = stageCompleted.stageInfo();
+		_metrics.incrementAndGet(NUM_STAGES);
+		if( si.submissionTime().isDefined() && si.completionTime().isDefined() ) {
+			_metrics.addAndGet(STAGE_TIME, (Long)si.completionTime().get()
+				- (Long)si.submissionTime().get());
+		}
+		TaskMetrics tm = si.taskMetrics();
+		if( tm != null ) {
+			_metrics.addAndGet(EXECUTOR_TIME, tm.executorRunTime());
+			_metrics.addAndGet(GC_TIME, tm.jvmGCTime());
+			_metrics.addAndGet(SHUFFLE_READ, tm.shuffleReadMetrics().totalBytesRead());
+			_metrics.addAndGet(SHUFFLE_WRITE, tm.shuffleWriteMetrics().bytesWritten());
+		}
+	}
+
+	/**
+	 * Obtains and resets the metrics aggregated since the last call.
+	 *
+	 * @return array of metrics, indexed by the metric constants
+	 */
+	public long[] drain() {
+		long[] ret = new long[_metrics.length()];
+		for( int i=0; i<ret.length; i++ )
+			ret[i] = _metrics.getAndSet(i, 0);
+		return ret;
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix_full_other;
+
+import java.io.IOException;
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.AggBinaryOp;
+import org.apache.sysml.hops.AggBinaryOp.MMultMethod;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the skew-aware partitioning of the Spark textcell and binary reblock
+ * as well as cpmm over sparse inputs with a dense row range, by comparing the 
+ * results with and without skew-aware partitioning.
+ */
+public class SkewAwarePartitioningTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "SkewAwarePartitioning";
+	private final static String TEST_DIR = "functions/binary/matrix_full_other/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + SkewAwarePartitioningTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rowsA = 3500;
+	private final static int colsA = 2100;
+	private final static int colsB = 2700;
+	private final static int skew = 150;
+	private final static int blen = 500;
+	
+	private final static double sparsity = 0.01;
+	private final static double sparsitySkew = 0.5;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "C" }));
+	}
+	
+	@Test
+	public void testSkewAwareTextReblockCpmm() {
+		runSkewAwarePartitioningTest(false, MMultMethod.CPMM);
+	}
+	
+	@Test
+	public void testSkewAwareTextReblockMapmm() {
+		runSkewAwarePartitioningTest(false, MMultMethod.MAPMM_R);
+	}
+	
+	@Test
+	public void testSkewAwareBinaryReblockCpmm() {
+		runSkewAwarePartitioningTest(true, MMultMethod.CPMM);
+	}
+	
+	private void runSkewAwarePartitioningTest(boolean binary, MMultMethod method)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		boolean skewOld = SparkExecutionContext.SKEW_AWARE_PARTITIONING;
+		MMultMethod methodOld = AggBinaryOp.FORCED_MMULT_METHOD;
+		rtplatform = RUNTIME_PLATFORM.SPARK;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		AggBinaryOp.FORCED_MMULT_METHOD = method;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			
+			//skewed inputs w/ dense rows of A and dense rows of B (common dimension)
+			//(binary inputs w/ smaller block size, which requires a binary reblock)
+			double[][] A = getSkewedMatrix(rowsA, colsA, 7);
+			double[][] B = getSkewedMatrix(colsA, colsB, 3);
+			if( binary ) {
+				writeInputBinaryMatrixWithMTD("A", A, blen, blen, true,
+					new MatrixCharacteristics(rowsA, colsA, blen, blen, computeNNZ(A)));
+				writeInputBinaryMatrixWithMTD("B", B, blen, blen, true,
+					new MatrixCharacteristics(colsA, colsB, blen, blen, computeNNZ(B)));
+			}
+			else {
+				writeInputMatrixWithMTD("A", A, computeNNZ(A), false);
+				writeInputMatrixWithMTD("B", B, computeNNZ(B), false);
+			}
+			
+			//run w/o skew-aware partitioning
+			SparkExecutionContext.SKEW_AWARE_PARTITIONING = false;
+			programArgs = new String[]{"-args", input("A"), input("B"), output("C") };
+			runTest(true, false, null, -1);
+			
+			//run w/ skew-aware partitioning
+			SparkExecutionContext.SKEW_AWARE_PARTITIONING = true;
+			programArgs = new String[]{"-args", input("A"), input("B"), output("C2") };
+			runTest(true, false, null, -1);
+			
+			//compare matrices 
+			HashMap<CellIndex, Double> ret1 = readDMLMatrixFromHDFS("C");
+			HashMap<CellIndex, Double> ret2 = readDMLMatrixFromHDFS("C2");
+			TestUtils.compareMatrices(ret1, ret2, eps, "NoSkew", "Skew");
+		}
+		catch(IOException ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			SparkExecutionContext.SKEW_AWARE_PARTITIONING = skewOld;
+			AggBinaryOp.FORCED_MMULT_METHOD = methodOld;
+		}
+	}
+	
+	private double[][] getSkewedMatrix(int rows, int cols, long seed) {
+		double[][] ret = getRandomMatrix(rows, cols, 0, 1, sparsity, seed);
+		double[][] dense = getRandomMatrix(skew, cols, 0, 1, sparsitySkew, seed+1);
+		for( int i=0; i<skew; i++ )
+			ret[i] = dense[i];
+		return ret;
+	}
+	
+	private static int computeNNZ(double[][] X) {
+		int nnz = 0;
+		for( double[] row : X )
+			for( double v : row )
+				nnz += (v != 0) ? 1 : 0;
+		return nnz;
+	}
+}
@@ -0,0 +1,247 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.spark.broadcast.Broadcast;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysml.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext.BroadcastCache;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast.PartitionLayout;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MetaDataFormat;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Tests the reuse of partitioned broadcasts via the broadcast cache of the
+ * spark execution context (across variables of the same matrix block and
+ * after cleanup of broadcast handles), the exclusion of matrices with update
+ * in-place, and the reference-counted eviction of cached broadcasts.
+ */
+public class BroadcastCacheTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "BroadcastCacheTest";
+	private final static String TEST_DIR = "functions/caching/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BroadcastCacheTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1500;
+	private final static int cols = 1200;
+	private final static int blen = 1000;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {}));
+	}
+
+	@Test
+	public void testReuseAcrossVariables() {
+		runBroadcastCacheTest(false);
+	}
+
+	@Test
+	public void testNoReuseUpdateInPlace() {
+		runBroadcastCacheTest(true);
+	}
+
+	@Test
+	public void testEvictionReferencedEntry() {
+		RUNTIME_PLATFORM platformOld = DMLScript.rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		DMLScript.rtplatform = RUNTIME_PLATFORM.SPARK;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		SparkExecutionContext sec = null;
+
+		try
+		{
+			sec = (SparkExecutionContext) ExecutionContextFactory.createContext();
+			MatrixBlock mb1 = createMatrix(7);
+			MatrixBlock mb2 = createMatrix(8);
+			MatrixBlock mb3 = createMatrix(9);
+			PartitionedBroadcast<MatrixBlock> bc1 = createBroadcast(sec, mb1);
+			PartitionedBroadcast<MatrixBlock> bc2 = createBroadcast(sec, mb2);
+			PartitionedBroadcast<MatrixBlock> bc3 = createBroadcast(sec, mb3);
+
+			//cache with capacity for two entries of size 10
+			BroadcastCache cache = new BroadcastCache(1) {
+				@Override
+				protected long getMemoryLimit() {
+					return 25;
+				}
+			};
+
+			//bc1 referenced by its creator, bc2 released after creation
+			cache.put(mb1, blen, blen, bc1, 10);
+			cache.put(mb2, blen, blen, bc2, 10);
+			Assert.assertTrue(cache.release(bc2));
+			Assert.assertTrue(isValid(bc2));
+			Assert.assertSame(bc1, cache.get(mb1, blen, blen)); //2 refs
+			Assert.assertTrue(cache.release(bc1));              //1 ref
+
+			//evict unreferenced bc2 (LRU) and then referenced bc1
+			cache.put(mb3, blen, blen, bc3, 10);
+			Assert.assertNull(cache.get(mb2, blen, blen));
+			Assert.assertFalse(isValid(bc2));
+			Assert.assertEquals(2, cache.getNumEntries());
+			cache.put(mb2, blen, blen, createBroadcast(sec, mb2), 20);
+			Assert.assertNull(cache.get(mb1, blen, blen));
+			Assert.assertNull(cache.get(mb3, blen, blen));
+			Assert.assertEquals(1, cache.getNumEntries());
+			Assert.assertEquals(20, cache.getSize());
+
+			//evicted but still referenced bc1 remains valid until its last release,
+			//which hands the destroy over to the caller (i.e., the handle cleanup)
+			Assert.assertTrue(isValid(bc1));
+			Assert.assertFalse(cache.release(bc1));
+			Assert.assertFalse(cache.release(bc1));
+			Assert.assertTrue(isValid(bc3));
+			Assert.assertFalse(cache.release(bc3));
+
+			//no caching of broadcasts larger than the limit
+			cache.put(mb1, blen, blen, createBroadcast(sec, mb1), 30);
+			Assert.assertNull(cache.get(mb1, blen, blen));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			if( sec != null )
+				sec.close();
+			DMLScript.rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+
+	/**
+	 * Obtains broadcasts for multiple variables of the same matrix block,
+	 * before and after cleanup of the first variable, and checks that the
+	 * broadcast is reused via the broadcast cache, except for update in-place.
+	 *
+	 * @param inplace update type in-place for all variables
+	 */
+	private void runBroadcastCacheTest(boolean inplace)
+	{
+		RUNTIME_PLATFORM platformOld = DMLScript.rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		boolean statsOld = DMLScript.STATISTICS;
+		DMLScript.rtplatform = RUNTIME_PLATFORM.SPARK;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		DMLScript.STATISTICS = true;
+		SparkExecutionContext sec = null;
+
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME);
+			sec = (SparkExecutionContext) ExecutionContextFactory.createContext();
+			Statistics.reset();
+
+			MatrixBlock mb = createMatrix(7);
+			MatrixObject mo1 = createMatrixObject(mb, inplace, "X1");
+			MatrixObject mo2 = createMatrixObject(mb, inplace, "X2");
+			sec.setVariable("X1", mo1);
+			sec.setVariable("X2", mo2);
+
+			//broadcast of first variable, and second variable (e.g., re-bound
+			//loop-invariant input in a subsequent instruction)
+			PartitionedBroadcast<MatrixBlock> bc1 = sec.getBroadcastForVariable("X1");
+			PartitionedBroadcast<MatrixBlock> bc2 = sec.getBroadcastForVariable("X2");
+			Assert.assertEquals(!inplace, bc1 == bc2);
+			Assert.assertEquals(inplace ? 0 : 1, Statistics.getSparkBroadcastCacheHits());
+
+			//cleanup of first variable (e.g., rmvar) keeps cached broadcasts alive
+			sec.removeVariable("X1");
+			sec.cleanupCacheableData(mo1);
+			Assert.assertEquals(!inplace, isValid(bc1));
+
+			//in-place update of the matrix block after broadcast creation
+			if( inplace )
+				mb.quickSetValue(0, 0, 1234);
+			MatrixObject mo3 = createMatrixObject(mb, inplace, "X3");
+			sec.setVariable("X3", mo3);
+			PartitionedBroadcast<MatrixBlock> bc3 = sec.getBroadcastForVariable("X3");
+			Assert.assertEquals(!inplace, bc1 == bc3);
+			Assert.assertEquals(inplace ? 0 : 2, Statistics.getSparkBroadcastCacheHits());
+			Assert.assertEquals(mb.quickGetValue(0, 0),
+				bc3.getBlock(1, 1).quickGetValue(0, 0), 0);
+
+			//cleanup of all handles keeps the cached broadcast alive
+			sec.removeVariable("X2");
+			sec.cleanupCacheableData(mo2);
+			sec.removeVariable("X3");
+			sec.cleanupCacheableData(mo3);
+			Assert.assertEquals(!inplace, isValid(bc3));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			if( sec != null )
+				sec.close();
+			DMLScript.rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			DMLScript.STATISTICS = statsOld;
+		}
+	}
+
+	private MatrixBlock createMatrix(int seed) {
+		return DataConverter.convertToMatrixBlock(getRandomMatrix(rows, cols, -1, 1, 0.7, seed));
+	}
+
+	private MatrixObject createMatrixObject(MatrixBlock mb, boolean inplace, String name)
+		throws Exception
+	{
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, blen, mb.getNonZeros());
+		MatrixObject mo = new MatrixObject(ValueType.DOUBLE, output(name),
+			new MetaDataFormat(mc, OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo));
+		mo.acquireModify(mb);
+		mo.release();
+		if( inplace )
+			mo.setUpdateType(UpdateType.INPLACE);
+		return mo;
+	}
+
+	private static PartitionedBroadcast<MatrixBlock> createBroadcast(SparkExecutionContext sec, MatrixBlock mb) {
+		return sec.createPartitionedBroadcast(
+			new PartitionedBlock<>(mb, blen, blen), PartitionLayout.DEFAULT);
+	}
+
+	private static boolean isValid(PartitionedBroadcast<MatrixBlock> pbc) {
+		for( Broadcast<PartitionedBlock<MatrixBlock>> bc : pbc.getBroadcasts() )
+			if( !bc.isValid() )
+				return false;
+		return true;
+	}
+}
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.frame;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameColumnarFormat.ColumnRangePredicate;
+import org.apache.sysml.runtime.io.FrameReaderColumnar;
+import org.apache.sysml.runtime.io.FrameReaderColumnarParallel;
+import org.apache.sysml.runtime.io.FrameWriterColumnar;
+import org.apache.sysml.runtime.io.FrameWriterColumnarParallel;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.util.UtilFunctions;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameColumnarReadTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/frame/";
+	private final static String TEST_NAME = "FrameColumnarRead";
+	private final static String TEST_CLASS_DIR = TEST_DIR + FrameColumnarReadTest.class.getSimpleName() + "/";
+
+	private final static int rows = 9731;
+	private final static int chunkSize = 1000;
+	private final static ValueType[] schema = new ValueType[]{ValueType.STRING,
+		ValueType.STRING, ValueType.INT, ValueType.DOUBLE, ValueType.BOOLEAN};
+
+	private enum ReadType {
+		FULL,
+		PROJECTION,
+		SKIP_INT,
+		SKIP_STRING_ALL,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"A"}));
+	}
+
+	@Test
+	public void testFullRead() {
+		runFrameColumnarReadTest(ReadType.FULL, false);
+	}
+
+	@Test
+	public void testFullReadParallel() {
+		runFrameColumnarReadTest(ReadType.FULL, true);
+	}
+
+	@Test
+	public void testProjectionRead() {
+		runFrameColumnarReadTest(ReadType.PROJECTION, false);
+	}
+
+	@Test
+	public void testProjectionReadParallel() {
+		runFrameColumnarReadTest(ReadType.PROJECTION, true);
+	}
+
+	@Test
+	public void testChunkSkippingIntRead() {
+		runFrameColumnarReadTest(ReadType.SKIP_INT, false);
+	}
+
+	@Test
+	public void testChunkSkippingIntReadParallel() {
+		runFrameColumnarReadTest(ReadType.SKIP_INT, true);
+	}
+
+	@Test
+	public void testChunkSkippingStringRead() {
+		runFrameColumnarReadTest(ReadType.SKIP_STRING_ALL, false);
+	}
+
+	@Test
+	public void testChunkSkippingStringReadParallel() {
+		runFrameColumnarReadTest(ReadType.SKIP_STRING_ALL, true);
+	}
+
+	private void runFrameColumnarReadTest(ReadType type, boolean parallel)
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//create frame w/ low and high cardinality strings (incl nulls)
+			FrameBlock fA = new FrameBlock(schema);
+			Object[] row = new Object[schema.length];
+			for( int i=0; i<rows; i++ ) {
+				row[0] = (i % 7 == 0) ? null : "cat" + (i % 5);
+				row[1] = "id" + i;
+				row[2] = (long) i;
+				row[3] = i * 0.5 - 7;
+				row[4] = (i % 3 == 0);
+				fA.appendRow(row);
+			}
+
+			//write frame with small chunks to obtain multiple chunks
+			FrameWriterColumnar writer = parallel ?
+				new FrameWriterColumnarParallel(chunkSize) : new FrameWriterColumnar(chunkSize);
+			writer.writeFrameToHDFS(fA, output("A"), rows, schema.length);
+
+			//read frame w/ projection and predicates
+			FrameReaderColumnar reader = parallel ?
+				new FrameReaderColumnarParallel() : new FrameReaderColumnar();
+			int[] cols = null;
+			List<ColumnRangePredicate> preds = null;
+			int rl = 0, ru = rows;
+			switch( type ) {
+				case FULL:
+					break;
+				case PROJECTION:
+					cols = new int[]{3, 0};
+					break;
+				case SKIP_INT:
+					//qualifying chunks [2000,3000) and [3000,4000)
+					preds = Arrays.asList(new ColumnRangePredicate(2, 2500d, 3499d));
+					rl = 2000; ru = 4000;
+					break;
+				case SKIP_STRING_ALL:
+					//no qualifying chunks
+					preds = Arrays.asList(new ColumnRangePredicate(0, "cat9", null));
+					rl = 0; ru = 0;
+					break;
+			}
+			FrameBlock fB = reader.readFrameFromHDFS(output("A"),
+				(preds==null) ? rows : -1, schema.length, cols, preds);
+
+			//compare schema, meta data and values
+			int[] lcols = (cols != null) ? cols : new int[]{0, 1, 2, 3, 4};
+			Assert.assertEquals("Wrong number of rows.", ru-rl, fB.getNumRows());
+			Assert.assertEquals("Wrong number of columns.", lcols.length, fB.getNumColumns());
+			for( int j=0; j<lcols.length; j++ ) {
+				Assert.assertEquals("Wrong schema.", schema[lcols[j]], fB.getSchema()[j]);
+				Assert.assertEquals("Wrong column name.",
+					fA.getColumnNames()[lcols[j]], fB.getColumnNames()[j]);
+			}
+			for( int i=rl; i<ru; i++ )
+				for( int j=0; j<lcols.length; j++ ) {
+					if( UtilFunctions.compareTo(schema[lcols[j]], fA.get(i, lcols[j]), fB.get(i-rl, j)) != 0 )
+						Assert.fail("Target value for cell ("+ i + "," + lcols[j] + ") is " + fB.get(i-rl, j) +
+							", is not same as original value " + fA.get(i, lcols[j]));
+				}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -79,6 +79,16 @@ public class FrameMetaReadWriteTest extends AutomatedTestBase
 		runFrameReadWriteTest(OutputInfo.CSVOutputInfo, ExecType.SPARK);
 	}
 	
+	@Test
+	public void testFrameColumnarCP()  {
+		runFrameReadWriteTest(OutputInfo.ColumnarFrameOutputInfo, ExecType.CP);
+	}
+
+	@Test
+	public void testFrameColumnarSpark()  {
+		runFrameReadWriteTest(OutputInfo.ColumnarFrameOutputInfo, ExecType.SPARK);
+	}
+	
 	/**
 	 * 
 	 * @param sparseM1
@@ -149,6 +149,36 @@ public class FrameReadWriteTest extends AutomatedTestBase
 		runFrameReadWriteTest(OutputInfo.CSVOutputInfo, schemaMixed, schemaMixed, true);
 	}
 	
+	@Test
+	public void testFrameStringsStringsColumnar()  {
+		runFrameReadWriteTest(OutputInfo.ColumnarFrameOutputInfo, schemaStrings, schemaStrings, false);
+	}
+	
+	@Test
+	public void testFrameStringsStringsColumnarParallel()  { 
+		runFrameReadWriteTest(OutputInfo.ColumnarFrameOutputInfo, schemaStrings, schemaStrings, true);
+	}
+	
+	@Test
+	public void testFrameMixedStringsColumnar()  {
+		runFrameReadWriteTest(OutputInfo.ColumnarFrameOutputInfo, schemaMixed, schemaStrings, false);
+	}
+	
+	@Test
+	public void testFrameStringsMixedColumnarParallel()  {
+		runFrameReadWriteTest(OutputInfo.ColumnarFrameOutputInfo, schemaStrings, schemaMixed, true);
+	}
+	
+	@Test
+	public void testFrameMixedMixedColumnar()  {
+		runFrameReadWriteTest(OutputInfo.ColumnarFrameOutputInfo, schemaMixed, schemaMixed, false);
+	}
+	
+	@Test
+	public void testFrameMixedMixedColumnarParallel()  {
+		runFrameReadWriteTest(OutputInfo.ColumnarFrameOutputInfo, schemaMixed, schemaMixed, true);
+	}
+	
 	/**
 	 * 
 	 * @param sparseM1
@@ -19,18 +19,26 @@
 
 package org.apache.sysml.test.integration.functions.frame;
 
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
 import java.util.Collections;
 
 import org.apache.sysml.parser.DataExpression;
 import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysml.runtime.io.FrameReader;
 import org.apache.sysml.runtime.io.FrameReaderBinaryBlock;
 import org.apache.sysml.runtime.io.FrameReaderFactory;
+import org.apache.sysml.runtime.io.FrameReaderTextCSV;
+import org.apache.sysml.runtime.io.FrameReaderTextCSVParallel;
 import org.apache.sysml.runtime.io.FrameWriter;
 import org.apache.sysml.runtime.io.FrameWriterFactory;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.MapReduceTool;
 import org.apache.sysml.runtime.util.UtilFunctions;
 import org.apache.sysml.test.integration.AutomatedTestBase;
 import org.apache.sysml.test.integration.TestConfiguration;
@@ -103,6 +111,33 @@ public class FrameSchemaReadTest extends AutomatedTestBase
 		runFrameSchemaReadTest(TEST_NAME2, schemaMixed, false);
 	}
 	
+	@Test
+	public void testFrameStringsSchemaAutoRead()  {
+		runFrameSchemaReadTest(TEST_NAME1, schemaStrings, FrameObject.SCHEMA_AUTO,
+			new ValueType[]{ValueType.DOUBLE, ValueType.DOUBLE, ValueType.DOUBLE});
+	}
+	
+	@Test
+	public void testFrameDoublesSchemaAutoRead()  {
+		runFrameSchemaReadTest(TEST_NAME1, schemaDoubles, FrameObject.SCHEMA_AUTO, schemaDoubles);
+	}
+	
+	@Test
+	public void testFrameMixedSchemaAutoRead()  {
+		runFrameSchemaReadTest(TEST_NAME1, schemaMixed, FrameObject.SCHEMA_AUTO,
+			new ValueType[]{ValueType.DOUBLE, ValueType.DOUBLE, ValueType.INT, ValueType.BOOLEAN});
+	}
+	
+	@Test
+	public void testFrameSchemaInferenceMultiFileSeq()  {
+		runFrameSchemaInferenceTest(false);
+	}
+	
+	@Test
+	public void testFrameSchemaInferenceMultiFileParallel()  {
+		runFrameSchemaInferenceTest(true);
+	}
+	
 
 	
 	/**
@@ -112,6 +147,13 @@ public class FrameSchemaReadTest extends AutomatedTestBase
 	 * @param wildcard
 	 */
 	private void runFrameSchemaReadTest( String testname, ValueType[] schema, boolean wildcard)
+	{
+		ValueType[] schemaExpected = (testname.equals(TEST_NAME2) || wildcard) ?
+			Collections.nCopies(schema.length, ValueType.STRING).toArray(new ValueType[0]) : schema;
+		runFrameSchemaReadTest(testname, schema, getSchemaString(schema, wildcard), schemaExpected);
+	}
+	
+	private void runFrameSchemaReadTest( String testname, ValueType[] schema, String schemaStr, ValueType[] schemaExpected)
 	{
 		try
 		{
@@ -120,7 +162,7 @@ public class FrameSchemaReadTest extends AutomatedTestBase
 			
 			String HOME = SCRIPT_DIR + TEST_DIR;
 			fullDMLScriptName = HOME + testname + ".dml";
-			programArgs = new String[]{"-explain","-args", input("A"), getSchemaString(schema, wildcard), 
+			programArgs = new String[]{"-explain","-args", input("A"), schemaStr, 
 					Integer.toString(rows), Integer.toString(schema.length), output("B") };
 			
 			//data generation
@@ -142,8 +184,6 @@ public class FrameSchemaReadTest extends AutomatedTestBase
 			FrameBlock frame2 = ((FrameReaderBinaryBlock)reader).readFirstBlock(output("B"));
 			
 			//verify output schema
-			ValueType[] schemaExpected = (testname.equals(TEST_NAME2) || wildcard) ?
-					Collections.nCopies(schema.length, ValueType.STRING).toArray(new ValueType[0]) : schema;					
 			for( int i=0; i<schemaExpected.length; i++ ) {
 				Assert.assertEquals("Wrong result: "+frame2.getSchema()[i]+".", 
 						schemaExpected[i], frame2.getSchema()[i]);
@@ -155,6 +195,55 @@ public class FrameSchemaReadTest extends AutomatedTestBase
 		}
 	}
 	
+	/**
+	 * Reads a directory of csv part files with different value types of the
+	 * same column and a value outside the sample that does not match the
+	 * value type inferred from the sample.
+	 * 
+	 * @param parallel use multi-threaded reader
+	 */
+	private void runFrameSchemaInferenceTest( boolean parallel )
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME1);
+			loadTestConfiguration(config);
+			
+			//write part files (col 2: int/double, col 4: int w/ double in last row)
+			String fname = input("C");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			new File(fname).mkdirs();
+			int nrow = 2*rows;
+			for( int k=0; k<2; k++ )
+				try( BufferedWriter br = new BufferedWriter(new FileWriter(new File(fname, "0-m-0000"+k))) ) {
+					for( int i=k*rows; i<(k+1)*rows; i++ )
+						br.write("s"+i+","+((k==0) ? String.valueOf(i) : String.valueOf(i+0.5))+","
+							+((i%3==0) ? "TRUE" : (i%3==1) ? "false" : "")+","
+							+((i==nrow-1) ? "7.5" : String.valueOf(-i))+"\n");
+				}
+			
+			FrameReaderTextCSV reader = parallel ?
+				new FrameReaderTextCSVParallel(new CSVFileFormatProperties()) :
+				new FrameReaderTextCSV(new CSVFileFormatProperties());
+			FrameBlock fb = reader.readFrameFromHDFS(fname, new ValueType[]{ValueType.UNKNOWN}, -1, -1);
+			
+			//verify inferred schema and values
+			Assert.assertArrayEquals(new ValueType[]{ValueType.STRING, ValueType.DOUBLE,
+				ValueType.BOOLEAN, ValueType.DOUBLE}, fb.getSchema());
+			Assert.assertEquals(nrow, fb.getNumRows());
+			for( int i=0; i<nrow; i++ ) {
+				Assert.assertEquals("s"+i, fb.get(i, 0));
+				Assert.assertEquals((i<rows) ? i : i+0.5, (Double)fb.get(i, 1), 0);
+				Assert.assertEquals(i%3==0, fb.get(i, 2));
+				Assert.assertEquals((i==nrow-1) ? 7.5 : -i, (Double)fb.get(i, 3), 0);
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
 	private static void initFrameData(FrameBlock frame, double[][] data, ValueType[] lschema) {
 		Object[] row1 = new Object[lschema.length];
 		for( int i=0; i<rows; i++ ) {
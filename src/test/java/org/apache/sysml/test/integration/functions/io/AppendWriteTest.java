@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.parser.DataExpression;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.wink.json4j.JSONObject;
+
+public class AppendWriteTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "SeqParReadTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + AppendWriteTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 2500;
+	private final static int cols = 1700;
+	private final static int blen = 1000;
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.01;
+	
+	private final static double eps = 1e-9;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) ); 
+	}
+	
+	@Test
+	public void testAppendAlignedDenseSeq() {
+		runAppendWriteTest(new int[]{1000, 1000, 500}, true, false);
+	}
+	
+	@Test
+	public void testAppendAlignedSparseSeq() {
+		runAppendWriteTest(new int[]{1000, 1000, 500}, false, false);
+	}
+	
+	@Test
+	public void testAppendUnalignedDenseSeq() {
+		runAppendWriteTest(new int[]{1500, 700, 300}, true, false);
+	}
+	
+	@Test
+	public void testAppendUnalignedSparseSeq() {
+		runAppendWriteTest(new int[]{1500, 700, 300}, false, false);
+	}
+	
+	@Test
+	public void testAppendAlignedDensePar() {
+		runAppendWriteTest(new int[]{1000, 1000, 500}, true, true);
+	}
+	
+	@Test
+	public void testAppendUnalignedDensePar() {
+		runAppendWriteTest(new int[]{1500, 700, 300}, true, true);
+	}
+	
+	@Test
+	public void testAppendUnalignedSparsePar() {
+		runAppendWriteTest(new int[]{1500, 700, 300}, false, true);
+	}
+	
+	@Test
+	public void testAppendSmallDeltasSparsePar() {
+		runAppendWriteTest(new int[]{2300, 100, 100}, false, true);
+	}
+	
+	/**
+	 * Writes the first row batch as binary block matrix, appends the remaining
+	 * batches, and compares the combined matrix (read via the sequential or 
+	 * parallel reader and via DML) with the original input.
+	 * 
+	 * @param batches number of rows per batch
+	 * @param dense dense or sparse input
+	 * @param parallel parallel or sequential binary read/write
+	 */
+	private void runAppendWriteTest(int[] batches, boolean dense, boolean parallel) 
+	{
+		boolean oldpar = CompilerConfig.FLAG_PARREADWRITE_BINARY;
+		
+		try
+		{
+			CompilerConfig.FLAG_PARREADWRITE_BINARY = parallel;
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			//generate input and write the first batch
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, dense?sparsity1:sparsity2, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			String fname = input("X");
+			MapReduceTool.deleteFileWithMTDIfExistOnHDFS(fname);
+			MatrixBlock first = mb.sliceOperations(0, batches[0]-1, 0, cols-1, new MatrixBlock());
+			MatrixCharacteristics mc = new MatrixCharacteristics(
+				batches[0], cols, blen, blen, first.getNonZeros());
+			DataConverter.writeMatrixToHDFS(first, fname, OutputInfo.BinaryBlockOutputInfo, mc);
+			MapReduceTool.writeMetaDataFile(fname+".mtd", ValueType.DOUBLE, mc, OutputInfo.BinaryBlockOutputInfo);
+			
+			//append remaining batches
+			int rl = batches[0];
+			for( int i=1; i<batches.length; i++ ) {
+				DataConverter.appendMatrixToHDFS(mb.sliceOperations(
+					rl, rl+batches[i]-1, 0, cols-1, new MatrixBlock()), fname);
+				rl += batches[i];
+			}
+			
+			//check updated metadata
+			JSONObject mtd = MapReduceTool.readMetaDataFile(fname+".mtd");
+			Assert.assertEquals(rows, mtd.getLong(DataExpression.READROWPARAM));
+			Assert.assertEquals(cols, mtd.getLong(DataExpression.READCOLPARAM));
+			Assert.assertEquals(mb.getNonZeros(), mtd.getLong(DataExpression.READNUMNONZEROPARAM));
+			
+			//check combined matrix via direct read
+			MatrixBlock ret = DataConverter.readMatrixFromHDFS(fname, 
+				InputInfo.BinaryBlockInputInfo, rows, cols, blen, blen);
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, eps);
+			
+			//check combined matrix via dml read with updated metadata
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", fname, output("R")};
+			runTest(true, false, null, -1);
+			TestUtils.compareScalars(TestUtils.readDMLScalar(output("R")), mb.sum(), 1e-6);
+		} 
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+		finally {
+			CompilerConfig.FLAG_PARREADWRITE_BINARY = oldpar;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import java.io.File;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.controlprogram.caching.AsyncWriteBuffer;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class AsyncWriteTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "AsyncWriteTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + AsyncWriteTest.class.getSimpleName() + "/";
+	private final static String TEST_CONF = "SystemML-config-asyncwrite.xml";
+	private final static File   TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_CONF);
+
+	private final static int rows = 1500;
+	private final static int cols = 1100;
+	private final static int iters = 5;
+
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.01;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testAsyncWriteBinaryDense() {
+		runAsyncWriteTest("binary", sparsity1);
+	}
+
+	@Test
+	public void testAsyncWriteBinarySparse() {
+		runAsyncWriteTest("binary", sparsity2);
+	}
+
+	@Test
+	public void testAsyncWriteTextDense() {
+		runAsyncWriteTest("text", sparsity1);
+	}
+
+	@Test
+	public void testAsyncWriteTextSparse() {
+		runAsyncWriteTest("text", sparsity2);
+	}
+
+	/**
+	 * Writes a checkpoint of a matrix after each row update in a loop and
+	 * compares all written checkpoints with the expected intermediates.
+	 *
+	 * @param format output format
+	 * @param sparsity sparsity of the input
+	 */
+	private void runAsyncWriteTest(String format, double sparsity)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", input("X"),
+				String.valueOf(iters), output("R"), format};
+
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			writeInputMatrixWithMTD("X", A, false);
+
+			runTest(true, false, null, -1);
+			Assert.assertEquals("Pending writes after program end.", 0, AsyncWriteBuffer.getNumPending());
+
+			//compare checkpoints with expected intermediates
+			InputInfo iinfo = format.equals("binary") ?
+				InputInfo.BinaryBlockInputInfo : InputInfo.TextCellInputInfo;
+			for( int i=1; i<=iters; i++ ) {
+				for( int j=0; j<cols; j++ )
+					A[i-1][j] += i;
+				MatrixBlock ret = DataConverter.readMatrixFromHDFS(output("R")+i, iinfo,
+					rows, cols, OptimizerUtils.DEFAULT_BLOCKSIZE, OptimizerUtils.DEFAULT_BLOCKSIZE);
+				TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		// Instrumentation in this test's output log to show custom configuration file used for template.
+		System.out.println("This test case overrides default configuration with " + TEST_CONF_FILE.getPath());
+		return TEST_CONF_FILE;
+	}
+}
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import java.util.ArrayList;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.jmlc.Connection;
+import org.apache.sysml.api.jmlc.PreparedScript;
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.apache.sysml.runtime.io.MatrixRowBlockStream;
+import org.apache.sysml.runtime.io.ReadProperties;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.LibMatrixStream;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class StreamReadTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "StreamReadTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + StreamReadTest.class.getSimpleName() + "/";
+
+	private final static int rows = 2345;
+	private final static int cols = 1234;
+	private final static int blen = 500;
+
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.01;
+
+	private final static double eps = 1e-9;
+
+	private final static String SCORE_SCRIPT =
+		"X = read(\"./tmp/X\", rows=-1, cols=-1);\n" +
+		"W = read(\"./tmp/W\", rows=-1, cols=-1);\n" +
+		"Y = X %*% W;\n" +
+		"write(Y, \"./tmp/Y\");";
+
+	private enum StreamOp {
+		READ,
+		COLSUMS,
+		MEAN,
+		ROWMAXS,
+		SCORE,
+	}
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+
+	@Test
+	public void testStreamReadBinaryDense() {
+		runStreamReadTest(OutputInfo.BinaryBlockOutputInfo, true, StreamOp.READ);
+	}
+
+	@Test
+	public void testStreamReadBinarySparse() {
+		runStreamReadTest(OutputInfo.BinaryBlockOutputInfo, false, StreamOp.READ);
+	}
+
+	@Test
+	public void testStreamReadCSVDense() {
+		runStreamReadTest(OutputInfo.CSVOutputInfo, true, StreamOp.READ);
+	}
+
+	@Test
+	public void testStreamReadCSVSparse() {
+		runStreamReadTest(OutputInfo.CSVOutputInfo, false, StreamOp.READ);
+	}
+
+	@Test
+	public void testStreamReadLIBSVMSparse() {
+		runStreamReadTest(OutputInfo.LIBSVMOutputInfo, false, StreamOp.READ);
+	}
+
+	@Test
+	public void testStreamReadTextSparse() {
+		runStreamReadTest(OutputInfo.TextCellOutputInfo, false, StreamOp.READ);
+	}
+
+	@Test
+	public void testStreamColSumsBinaryDense() {
+		runStreamReadTest(OutputInfo.BinaryBlockOutputInfo, true, StreamOp.COLSUMS);
+	}
+
+	@Test
+	public void testStreamColSumsCSVSparse() {
+		runStreamReadTest(OutputInfo.CSVOutputInfo, false, StreamOp.COLSUMS);
+	}
+
+	@Test
+	public void testStreamMeanBinarySparse() {
+		runStreamReadTest(OutputInfo.BinaryBlockOutputInfo, false, StreamOp.MEAN);
+	}
+
+	@Test
+	public void testStreamMeanCSVDense() {
+		runStreamReadTest(OutputInfo.CSVOutputInfo, true, StreamOp.MEAN);
+	}
+
+	@Test
+	public void testStreamRowMaxsBinaryDense() {
+		runStreamReadTest(OutputInfo.BinaryBlockOutputInfo, true, StreamOp.ROWMAXS);
+	}
+
+	@Test
+	public void testStreamRowMaxsLIBSVMSparse() {
+		runStreamReadTest(OutputInfo.LIBSVMOutputInfo, false, StreamOp.ROWMAXS);
+	}
+
+	@Test
+	public void testStreamScoreBinaryDense() {
+		runStreamReadTest(OutputInfo.BinaryBlockOutputInfo, true, StreamOp.SCORE);
+	}
+
+	@Test
+	public void testStreamScoreCSVSparse() {
+		runStreamReadTest(OutputInfo.CSVOutputInfo, false, StreamOp.SCORE);
+	}
+
+	/**
+	 * Writes a matrix in the given format, and compares the results of
+	 * reading, aggregating, or scoring it via a row block stream with
+	 * the results computed over the original input.
+	 *
+	 * @param oinfo output format
+	 * @param dense dense or sparse input
+	 * @param op operation over the row block stream
+	 */
+	private void runStreamReadTest(OutputInfo oinfo, boolean dense, StreamOp op)
+	{
+		MatrixRowBlockStream stream = null;
+
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//generate and write input (multiple column blocks)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, dense?sparsity1:sparsity2, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			String fname = output("X");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, blen, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, fname, oinfo, mc);
+
+			//open row block stream
+			ReadProperties prop = new ReadProperties();
+			prop.path = fname;
+			prop.inputInfo = OutputInfo.getMatchingInputInfo(oinfo);
+			prop.rlen = rows;
+			prop.clen = cols;
+			prop.brlen = blen;
+			prop.bclen = blen;
+			prop.expectedSparsity = dense?sparsity1:sparsity2;
+			stream = DataConverter.openMatrixRowBlockStream(prop);
+
+			switch( op ) {
+				case READ: {
+					ArrayList<MatrixBlock> blocks = new ArrayList<>();
+					MatrixBlock blk = null;
+					while( (blk = stream.next()) != null ) {
+						Assert.assertEquals("Wrong row block size.", Math.min(blen,
+							rows-blocks.size()*blen), blk.getNumRows());
+						blocks.add(blk);
+					}
+					Assert.assertEquals(rows, stream.getRowPosition());
+					MatrixBlock ret = LibMatrixStream.rbind(blocks);
+					Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+					TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, eps);
+					break;
+				}
+				case COLSUMS: {
+					MatrixBlock ret = LibMatrixStream.aggregateUnary(stream, "uack+");
+					double[][] R = new double[1][cols];
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++ )
+							R[0][j] += A[i][j];
+					TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), 1, cols, eps);
+					break;
+				}
+				case MEAN: {
+					MatrixBlock ret = LibMatrixStream.aggregateUnary(stream, "uamean");
+					double sum = 0;
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++ )
+							sum += A[i][j];
+					TestUtils.compareScalars(sum/rows/cols, ret.quickGetValue(0, 0), eps);
+					break;
+				}
+				case ROWMAXS: {
+					MatrixBlock ret = LibMatrixStream.aggregateUnary(stream, "uarmax");
+					double[][] R = new double[rows][1];
+					for( int i=0; i<rows; i++ ) {
+						R[i][0] = -Double.MAX_VALUE;
+						for( int j=0; j<cols; j++ )
+							R[i][0] = Math.max(R[i][0], A[i][j]);
+					}
+					TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), rows, 1, eps);
+					break;
+				}
+				case SCORE: {
+					double[][] W = getRandomMatrix(cols, 3, -1, 1, 1.0, 3);
+					Connection conn = new Connection();
+					try {
+						PreparedScript pstmt = conn.prepareScript(SCORE_SCRIPT,
+							new String[]{"X","W"}, new String[]{"Y"}, false);
+						pstmt.setMatrix("W", W, true);
+						MatrixBlock ret = pstmt.executeScriptOverRowBlocks("X", stream, "Y");
+						double[][] R = new double[rows][3];
+						for( int i=0; i<rows; i++ )
+							for( int k=0; k<3; k++ )
+								for( int j=0; j<cols; j++ )
+									R[i][k] += A[i][j] * W[j][k];
+						TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), rows, 3, eps);
+					}
+					finally {
+						IOUtilFunctions.closeSilently(conn);
+					}
+					break;
+				}
+			}
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(stream);
+		}
+	}
+}
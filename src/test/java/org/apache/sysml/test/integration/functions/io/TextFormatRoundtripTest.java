@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.FrameReaderFactory;
+import org.apache.sysml.runtime.io.FrameWriterFactory;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.FrameBlock;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class TextFormatRoundtripTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "TextFormatRoundtripTest";
+	private final static String TEST_DIR = "functions/io/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TextFormatRoundtripTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1234;
+	private final static int cols = 37;
+
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.1;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+
+	@Test
+	public void testRoundtripCSVDense() {
+		runMatrixRoundtripTest(OutputInfo.CSVOutputInfo, sparsity1);
+	}
+
+	@Test
+	public void testRoundtripCSVSparse() {
+		runMatrixRoundtripTest(OutputInfo.CSVOutputInfo, sparsity2);
+	}
+
+	@Test
+	public void testRoundtripTextCellSparse() {
+		runMatrixRoundtripTest(OutputInfo.TextCellOutputInfo, sparsity2);
+	}
+
+	@Test
+	public void testRoundtripMatrixMarketDense() {
+		runMatrixRoundtripTest(OutputInfo.MatrixMarketOutputInfo, sparsity1);
+	}
+
+	@Test
+	public void testRoundtripLIBSVMSparse() {
+		runMatrixRoundtripTest(OutputInfo.LIBSVMOutputInfo, sparsity2);
+	}
+
+	@Test
+	public void testRoundtripFrameCSV() {
+		runFrameRoundtripTest(OutputInfo.CSVOutputInfo);
+	}
+
+	@Test
+	public void testRoundtripFrameTextCell() {
+		runFrameRoundtripTest(OutputInfo.TextCellOutputInfo);
+	}
+
+	/**
+	 * Writes a matrix with values of different magnitudes in the given text
+	 * format and checks that the read matrix is identical to the input.
+	 *
+	 * @param oinfo output format
+	 * @param sparsity sparsity of the input
+	 */
+	private void runMatrixRoundtripTest(OutputInfo oinfo, double sparsity)
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					A[i][j] = (j%3==0) ? Math.round(A[i][j]*1000) : A[i][j] * Math.pow(10, (i+j)%40-20);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+
+			String fname = output("X");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, -1, mb.getNonZeros());
+			DataConverter.writeMatrixToHDFS(mb, fname, oinfo, mc);
+			MatrixBlock ret = DataConverter.readMatrixFromHDFS(fname,
+				OutputInfo.getMatchingInputInfo(oinfo), rows, cols, -1, -1);
+
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Writes a frame of mixed value types in the given text format and
+	 * checks that the read frame is identical to the input.
+	 *
+	 * @param oinfo output format
+	 */
+	private void runFrameRoundtripTest(OutputInfo oinfo)
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			ValueType[] schema = new ValueType[]{ValueType.DOUBLE,
+				ValueType.INT, ValueType.BOOLEAN, ValueType.STRING};
+			FrameBlock fb = new FrameBlock(schema);
+			Random rand = new Random(7);
+			for( int i=0; i<rows; i++ )
+				fb.appendRow(new Object[]{rand.nextDouble() * Math.pow(10, i%40-20),
+					(long)rand.nextInt(), rand.nextBoolean(), (i%5==0) ? null : "s\u00e9"+i});
+
+			String fname = output("X");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			FrameWriterFactory.createFrameWriter(oinfo).writeFrameToHDFS(fb, fname, rows, schema.length);
+			InputInfo iinfo = OutputInfo.getMatchingInputInfo(oinfo);
+			FrameBlock ret = FrameReaderFactory.createFrameReader(iinfo)
+				.readFrameFromHDFS(fname, schema, rows, schema.length);
+
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<schema.length; j++ ) {
+					Object in = fb.get(i, j);
+					Object out = ret.get(i, j);
+					if( in == null )
+						Assert.assertTrue(out == null || out.toString().isEmpty());
+					else if( schema[j] == ValueType.DOUBLE )
+						Assert.assertEquals((Double)in, Double.parseDouble(String.valueOf(out)), 0);
+					else
+						Assert.assertEquals(in.toString(), String.valueOf(out));
+				}
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockMapped;
+import org.apache.sysml.runtime.io.WriterBinaryBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class MappedReadTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "MappedReadTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + MappedReadTest.class.getSimpleName() + "/";
+
+	private final static int rows = 3210;
+	private final static int cols1 = 1;
+	private final static int cols2 = 730;
+	private final static int cols3 = 2345;
+	private final static int blen = 1000;
+
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double sparsity3 = 0.0001;
+
+	private final static double eps = 1e-14;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X" }) );
+	}
+
+	@Test
+	public void testDenseVector() {
+		runMappedReadTest(cols1, sparsity1);
+	}
+
+	@Test
+	public void testSparseVector() {
+		runMappedReadTest(cols1, sparsity2);
+	}
+
+	@Test
+	public void testDenseSingleColBlock() {
+		runMappedReadTest(cols2, sparsity1);
+	}
+
+	@Test
+	public void testSparseSingleColBlock() {
+		runMappedReadTest(cols2, sparsity2);
+	}
+
+	@Test
+	public void testUltraSparseSingleColBlock() {
+		runMappedReadTest(cols2, sparsity3);
+	}
+
+	@Test
+	public void testDenseMultiColBlock() {
+		runMappedReadTest(cols3, sparsity1);
+	}
+
+	@Test
+	public void testSparseMultiColBlock() {
+		runMappedReadTest(cols3, sparsity2);
+	}
+
+	@Test
+	public void testUltraSparseMultiColBlock() {
+		runMappedReadTest(cols3, sparsity3);
+	}
+
+	@Test
+	public void testEmptyMultiColBlock() {
+		runMappedReadTest(cols3, 0.0);
+	}
+
+	/**
+	 * Writes a binary block matrix and compares the output of the
+	 * memory-mapped reader with the sequential reader and the input.
+	 *
+	 * @param cols number of columns
+	 * @param sparsity sparsity of the input
+	 */
+	private void runMappedReadTest( int cols, double sparsity )
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//generate and write input matrix
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			String fname = output("X");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			new WriterBinaryBlock(-1).writeMatrixToHDFS(mb, fname, rows, cols, blen, blen, mb.getNonZeros());
+
+			//read via memory-mapped and sequential reader
+			MatrixBlock ret1 = new ReaderBinaryBlockMapped(false)
+				.readMatrixFromHDFS(fname, rows, cols, blen, blen, mb.getNonZeros());
+			MatrixBlock ret2 = new ReaderBinaryBlock(false)
+				.readMatrixFromHDFS(fname, rows, cols, blen, blen, mb.getNonZeros());
+
+			//compare meta data and values
+			Assert.assertEquals("Wrong number of non-zeros.", mb.getNonZeros(), ret1.getNonZeros());
+			Assert.assertEquals("Wrong sparse/dense representation.", ret2.isInSparseFormat(), ret1.isInSparseFormat());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret1), rows, cols, eps);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret2),
+				DataConverter.convertToDoubleMatrix(ret1), rows, cols, eps);
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.binary;
+
+import java.io.File;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.io.BinaryBlockIndex;
+import org.apache.sysml.runtime.io.ReaderBinaryBlock;
+import org.apache.sysml.runtime.io.WriterBinaryBlock;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.IndexRange;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class RangeReadTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "RangeReadTest";
+	private final static String TEST_DIR = "functions/io/binary/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + RangeReadTest.class.getSimpleName() + "/";
+
+	private final static int rows = 3210;
+	private final static int cols = 1234;
+	private final static int blen = 1000;
+
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.01;
+
+	private final static double eps = 1e-14;
+
+	//0-based index ranges: aligned, unaligned over multiple blocks, last row, single column
+	private final static IndexRange[] ranges = new IndexRange[]{
+		new IndexRange(0, 999, 0, cols-1),
+		new IndexRange(949, 2099, 699, 1099),
+		new IndexRange(rows-1, rows-1, 0, cols-1),
+		new IndexRange(0, rows-1, 1001, 1001)};
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "Y" }) );
+	}
+
+	@Test
+	public void testRangeReadIndexDense() {
+		runRangeReadTest(sparsity1, true);
+	}
+
+	@Test
+	public void testRangeReadIndexSparse() {
+		runRangeReadTest(sparsity2, true);
+	}
+
+	@Test
+	public void testRangeReadScanDense() {
+		runRangeReadTest(sparsity1, false);
+	}
+
+	@Test
+	public void testRangeReadScanSparse() {
+		runRangeReadTest(sparsity2, false);
+	}
+
+	@Test
+	public void testRangeReadStaleIndex() {
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//write with block index, and append rows w/o block index
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			String fname = input("X");
+			writeInput(mb, fname, true);
+			MapReduceTool.writeMetaDataFile(fname+".mtd", ValueType.DOUBLE,
+				new MatrixCharacteristics(rows, cols, blen, blen, mb.getNonZeros()), OutputInfo.BinaryBlockOutputInfo);
+			new WriterBinaryBlock(-1).appendMatrixToHDFS(mb, fname);
+			Assert.assertFalse("Block index not removed on append.", new File(fname+BinaryBlockIndex.FILE_SUFFIX).exists());
+
+			//range read over the original and appended rows
+			IndexRange ixrange = new IndexRange(rows-10, rows+9, 0, cols-1);
+			MatrixBlock ret = new ReaderBinaryBlock(false)
+				.readMatrixRangeFromHDFS(fname, 2*rows, cols, blen, blen, 2*mb.getNonZeros(), ixrange);
+			for( int i=0; i<20; i++ )
+				for( int j=0; j<cols; j++ )
+					Assert.assertEquals(A[(rows-10+i)%rows][j], ret.quickGetValue(i, j), eps);
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+
+	/**
+	 * Writes a binary block matrix with or without block index, and compares the
+	 * results of range reads and of right indexing after a persistent read in
+	 * a script with the corresponding ranges of the input.
+	 *
+	 * @param sparsity sparsity of the input
+	 * @param index write block index
+	 */
+	private void runRangeReadTest( double sparsity, boolean index )
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//generate and write input matrix (multiple row and column blocks)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			String fname = input("X");
+			writeInput(mb, fname, index);
+			Assert.assertEquals(index, new File(fname+BinaryBlockIndex.FILE_SUFFIX).exists());
+			MapReduceTool.writeMetaDataFile(fname+".mtd", ValueType.DOUBLE,
+				new MatrixCharacteristics(rows, cols, blen, blen, mb.getNonZeros()), OutputInfo.BinaryBlockOutputInfo);
+
+			for( IndexRange ixrange : ranges ) {
+				int rl = (int)ixrange.rowStart, ru = (int)ixrange.rowEnd;
+				int cl = (int)ixrange.colStart, cu = (int)ixrange.colEnd;
+				double[][] R = DataConverter.convertToDoubleMatrix(
+					mb.sliceOperations(rl, ru, cl, cu, new MatrixBlock()));
+
+				//range read via reader
+				MatrixBlock ret = new ReaderBinaryBlock(false)
+					.readMatrixRangeFromHDFS(fname, rows, cols, blen, blen, mb.getNonZeros(), ixrange);
+				TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), ru-rl+1, cu-cl+1, eps);
+
+				//range read via right indexing after persistent read
+				fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+				programArgs = new String[]{"-args", fname, String.valueOf(rl+1), String.valueOf(ru+1),
+					String.valueOf(cl+1), String.valueOf(cu+1), output("Y")};
+				runTest(true, false, null, -1);
+				HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("Y");
+				for( int i=0; i<R.length; i++ )
+					for( int j=0; j<R[i].length; j++ ) {
+						Double val = dmlfile.get(new CellIndex(i+1, j+1));
+						Assert.assertEquals(R[i][j], (val != null) ? val : 0, eps);
+					}
+			}
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+
+	private static void writeInput(MatrixBlock mb, String fname, boolean index)
+		throws Exception
+	{
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.BINARY_BLOCK_INDEX, String.valueOf(index));
+		ConfigurationManager.setLocalConfig(conf);
+		try {
+			MapReduceTool.deleteFileIfExistOnHDFS(fname);
+			new WriterBinaryBlock(-1).writeMatrixToHDFS(mb, fname, rows, cols, blen, blen, mb.getNonZeros());
+		}
+		finally {
+			ConfigurationManager.clearLocalConfigs();
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.libsvm;
+
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.CompilerConfig;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ReadWriteLIBSVMTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "ReadWriteLIBSVMTest";
+	private final static String TEST_DIR = "functions/io/libsvm/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ReadWriteLIBSVMTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1200;
+	private final static int cols = 350; //incl label
+
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.02;
+
+	private final static double eps = 1e-9;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R", "C" }) );
+	}
+
+	@Test
+	public void testReadWriteDenseCPSeq() {
+		runReadWriteLIBSVMTest(RUNTIME_PLATFORM.SINGLE_NODE, true, false);
+	}
+
+	@Test
+	public void testReadWriteSparseCPSeq() {
+		runReadWriteLIBSVMTest(RUNTIME_PLATFORM.SINGLE_NODE, false, false);
+	}
+
+	@Test
+	public void testReadWriteDenseCPPar() {
+		runReadWriteLIBSVMTest(RUNTIME_PLATFORM.SINGLE_NODE, true, true);
+	}
+
+	@Test
+	public void testReadWriteSparseCPPar() {
+		runReadWriteLIBSVMTest(RUNTIME_PLATFORM.SINGLE_NODE, false, true);
+	}
+
+	@Test
+	public void testReadWriteDenseSP() {
+		runReadWriteLIBSVMTest(RUNTIME_PLATFORM.SPARK, true, false);
+	}
+
+	@Test
+	public void testReadWriteSparseSP() {
+		runReadWriteLIBSVMTest(RUNTIME_PLATFORM.SPARK, false, false);
+	}
+
+	/**
+	 * Writes a random matrix (last column as label) in libsvm format, reads it
+	 * via DML w/o metadata, writes it again in libsvm format, and compares the
+	 * inferred number of columns, the sum, and the re-read output matrix with
+	 * the original input.
+	 *
+	 * @param platform execution platform
+	 * @param dense dense or sparse input
+	 * @param parallel parallel or sequential text read/write
+	 */
+	private void runReadWriteLIBSVMTest(RUNTIME_PLATFORM platform, boolean dense, boolean parallel)
+	{
+		RUNTIME_PLATFORM oldPlatform = rtplatform;
+		rtplatform = platform;
+
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		if( rtplatform == RUNTIME_PLATFORM.SPARK )
+			DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+
+		boolean oldpar = CompilerConfig.FLAG_PARREADWRITE_TEXT;
+
+		try
+		{
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = parallel;
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//generate input (w/ non-zero last feature for dims inference)
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, dense?sparsity1:sparsity2, 7);
+			A[0][cols-2] = 1;
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			String fname = input("X");
+			MapReduceTool.deleteFileWithMTDIfExistOnHDFS(fname);
+			DataConverter.writeMatrixToHDFS(mb, fname, OutputInfo.LIBSVMOutputInfo,
+				new MatrixCharacteristics(rows, cols, -1, -1, mb.getNonZeros()));
+
+			//read, write, and aggregate via dml
+			fullDMLScriptName = SCRIPT_DIR + TEST_DIR + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", fname, output("X"), output("R"), output("C")};
+			runTest(true, false, null, -1);
+
+			//compare aggregates and written output
+			TestUtils.compareScalars(TestUtils.readDMLScalar(output("R")), mb.sum(), 1e-6);
+			TestUtils.compareScalars(TestUtils.readDMLScalar(output("C")), cols, eps);
+			MatrixBlock ret = DataConverter.readMatrixFromHDFS(output("X"),
+				InputInfo.LIBSVMInputInfo, rows, cols, -1, -1);
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, eps);
+		}
+		catch (Exception e) {
+			throw new RuntimeException(e);
+		}
+		finally {
+			rtplatform = oldPlatform;
+			CompilerConfig.FLAG_PARREADWRITE_TEXT = oldpar;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+		}
+	}
+}
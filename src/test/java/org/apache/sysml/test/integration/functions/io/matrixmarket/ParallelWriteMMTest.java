@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.io.matrixmarket;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.io.ReaderTextCell;
+import org.apache.sysml.runtime.io.WriterMatrixMarket;
+import org.apache.sysml.runtime.io.WriterMatrixMarketParallel;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+public class ParallelWriteMMTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME = "ParallelWriteMMTest";
+	private final static String TEST_DIR = "functions/io/matrixmarket/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParallelWriteMMTest.class.getSimpleName() + "/";
+
+	private final static int rows = 1234;
+	private final static int cols = 567;
+
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.01;
+
+	//small chunk size in order to force many waves of row ranges
+	private final static long chunkSize = 16*1024;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "X", "Y" }) );
+	}
+
+	@Test
+	public void testParallelWriteDense() {
+		runParallelWriteMMTest(rows, cols, sparsity1);
+	}
+
+	@Test
+	public void testParallelWriteSparse() {
+		runParallelWriteMMTest(rows, cols, sparsity2);
+	}
+
+	@Test
+	public void testParallelWriteDenseVector() {
+		runParallelWriteMMTest(rows, 1, sparsity1);
+	}
+
+	@Test
+	public void testParallelWriteEmpty() {
+		runParallelWriteMMTest(rows, cols, 0.0);
+	}
+
+	/**
+	 * Writes a matrix with the parallel and sequential matrix market writers,
+	 * checks that the parallel writer creates a single file identical to the
+	 * output of the sequential writer, and compares the read matrix.
+	 *
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param sparsity sparsity of the input
+	 */
+	private void runParallelWriteMMTest( int rows, int cols, double sparsity )
+	{
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+
+			//generate input with values of different magnitudes
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			for( int i=0; i<rows; i++ )
+				A[i][0] *= Math.pow(10, i%20-10);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+
+			//write via parallel and sequential writer
+			String fname1 = output("X");
+			String fname2 = output("Y");
+			MapReduceTool.deleteFileIfExistOnHDFS(fname1);
+			MapReduceTool.deleteFileIfExistOnHDFS(fname2);
+			new WriterMatrixMarketParallel(chunkSize).writeMatrixToHDFS(mb, fname1, rows, cols, -1, -1, mb.getNonZeros());
+			new WriterMatrixMarket().writeMatrixToHDFS(mb, fname2, rows, cols, -1, -1, mb.getNonZeros());
+
+			//compare single file output
+			File f1 = new File(fname1);
+			Assert.assertTrue("Parallel write did not create a single file.", f1.isFile());
+			Assert.assertArrayEquals(Files.readAllBytes(new File(fname2).toPath()), Files.readAllBytes(f1.toPath()));
+
+			//read and compare matrix
+			MatrixBlock ret = new ReaderTextCell(InputInfo.MatrixMarketInputInfo)
+				.readMatrixFromHDFS(fname1, rows, cols, -1, -1, mb.getNonZeros());
+			Assert.assertEquals("Wrong number of non-zeros.", mb.getNonZeros(), ret.getNonZeros());
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		}
+		catch (Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(e);
+		}
+	}
+}
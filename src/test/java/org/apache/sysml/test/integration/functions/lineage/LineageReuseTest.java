@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.lineage;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Tests the lineage-based reuse of intermediates, i.e., full reuse of repeated
+ * normal equations and partial reuse of tsmm over appended features, by comparing
+ * the results with and without reuse.
+ */
+public class LineageReuseTest extends AutomatedTestBase
+{
+	private final static String TEST_NAME1 = "LineageReuse1";
+	private final static String TEST_NAME2 = "LineageReuse2";
+	private final static String TEST_DIR = "functions/lineage/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + LineageReuseTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-8;
+
+	private final static int rows = 1500;
+	private final static int cols = 20;
+	private final static int cols2 = 5;
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+		addTestConfiguration(TEST_NAME2,
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] { "A", "S" }) );
+	}
+
+	@Test
+	public void testFullReuseDense() {
+		runLineageReuseTest(TEST_NAME1, false);
+	}
+
+	@Test
+	public void testFullReuseSparse() {
+		runLineageReuseTest(TEST_NAME1, true);
+	}
+
+	@Test
+	public void testPartialReuseDense() {
+		runLineageReuseTest(TEST_NAME2, false);
+	}
+
+	@Test
+	public void testPartialReuseSparse() {
+		runLineageReuseTest(TEST_NAME2, true);
+	}
+
+	private void runLineageReuseTest( String testname, boolean sparse )
+	{
+		TestConfiguration config = getTestConfiguration(testname);
+		loadTestConfiguration(config);
+
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + testname + ".dml";
+		String[] outputs = testname.equals(TEST_NAME1) ?
+			new String[]{"R"} : new String[]{"A", "S"};
+
+		double[][] X = getRandomMatrix(rows, cols, 0, 1, sparse ? 0.1 : 0.9, 7);
+		double[][] Y = getRandomMatrix(rows, testname.equals(TEST_NAME1) ? 1 : cols2, 0, 1, 0.9, 3);
+		writeInputMatrixWithMTD("X", X, true);
+		writeInputMatrixWithMTD("Y", Y, true);
+
+		//run w/o lineage tracing and reuse
+		programArgs = createArgs(outputs, "", false);
+		runTest(true, false, null, -1);
+
+		//run w/ lineage tracing and reuse
+		programArgs = createArgs(outputs, "2", true);
+		runTest(true, false, null, -1);
+
+		//compare matrices
+		for( String out : outputs ) {
+			HashMap<CellIndex, Double> ret1 = readDMLMatrixFromHDFS(out);
+			HashMap<CellIndex, Double> ret2 = readDMLMatrixFromHDFS(out+"2");
+			TestUtils.compareMatrices(ret1, ret2, eps, "NoReuse", "Reuse");
+		}
+
+		//check for full or partial cache hits
+		if( testname.equals(TEST_NAME1) )
+			Assert.assertTrue(Statistics.getLineageCacheHitsFull() > 0);
+		else
+			Assert.assertEquals(cols2, Statistics.getLineageCacheHitsPartial());
+	}
+
+	private String[] createArgs(String[] outputs, String suffix, boolean reuse) {
+		String[] ret = new String[(reuse ? 6 : 4) + outputs.length];
+		int pos = 0;
+		if( reuse ) {
+			ret[pos++] = "-lineage";
+			ret[pos++] = "reuse";
+		}
+		ret[pos++] = "-stats";
+		ret[pos++] = "-args";
+		ret[pos++] = input("X");
+		ret[pos++] = input("Y");
+		for( String out : outputs )
+			ret[pos++] = output(out + suffix);
+		return ret;
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * Tests the asynchronous collect of a Spark output, which is consumed by
+ * a CP instruction after independent Spark instructions, by comparing the
+ * results with and without async collect.
+ */
+public class AsyncSparkCollectTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "AsyncSparkCollect";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + AsyncSparkCollectTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1234;
+	private final static int cols = 17;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "S" }));
+	}
+
+	@Test
+	public void testAsyncCollectDense() {
+		runAsyncCollectTest(0.9);
+	}
+	
+	@Test
+	public void testAsyncCollectSparse() {
+		runAsyncCollectTest(0.05);
+	}
+	
+	private void runAsyncCollectTest(double sparsity)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		boolean asyncOld = SparkExecutionContext.ASYNC_SPARK_ACTIONS;
+		rtplatform = RUNTIME_PLATFORM.SPARK;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			writeInputMatrixWithMTD("A", A, true);
+			
+			//run w/o async collect
+			SparkExecutionContext.ASYNC_SPARK_ACTIONS = false;
+			programArgs = new String[]{"-stats", "-args", input("A"), output("S") };
+			runTest(true, false, null, -1);
+			Assert.assertEquals(0, Statistics.getSparkAsyncCollectCount());
+			
+			//run w/ async collect
+			SparkExecutionContext.ASYNC_SPARK_ACTIONS = true;
+			programArgs = new String[]{"-stats", "-args", input("A"), output("S2") };
+			runTest(true, false, null, -1);
+			Assert.assertEquals(1, Statistics.getSparkAsyncCollectCount());
+			Assert.assertEquals(0, SparkExecutionContext.getAsyncCollectSize());
+			
+			//compare string representations of the collected matrix
+			String ret1 = TestUtils.readDMLString(output("S"));
+			String ret2 = TestUtils.readDMLString(output("S2"));
+			Assert.assertEquals(ret1, ret2);
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			SparkExecutionContext.ASYNC_SPARK_ACTIONS = asyncOld;
+		}
+	}
+}
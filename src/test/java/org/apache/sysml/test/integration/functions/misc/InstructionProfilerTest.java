@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.misc;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+
+/**
+ * Tests the instruction-level profiler (-profile), i.e., the attribution of
+ * instructions to functions and the collapsed stack and JSON reports.
+ */
+public class InstructionProfilerTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "InstructionProfiler";
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + InstructionProfilerTest.class.getSimpleName() + "/";
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration( TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testProfileFunctionInLoop() throws IOException {
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		loadTestConfiguration(config);
+		
+		new File(outputDir()).mkdirs();
+		String prefix = output("profile");
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-profile", prefix, "-args", "100", "10", output("R")};
+		
+		runTest(true, false, null, -1); 
+		
+		//check collapsed stacks for tsmm within the function call
+		String collapsed = new String(Files.readAllBytes(
+			Paths.get(prefix + ".collapsed")), StandardCharsets.UTF_8);
+		Assert.assertTrue(collapsed.contains("main;.defaultNS::foo;tsmm ["+TEST_NAME+".dml:"));
+		
+		//check JSON report for aggregation over loop iterations
+		String json = new String(Files.readAllBytes(
+			Paths.get(prefix + ".json")), StandardCharsets.UTF_8);
+		Assert.assertTrue(json.contains("\"opcode\": \"tsmm\", \"count\": 3,"));
+	}
+}
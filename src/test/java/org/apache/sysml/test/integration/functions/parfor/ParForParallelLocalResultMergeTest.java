@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the parallel local in-memory result merge, which partitions the output
+ * into row blocks (many rows) or column blocks (fewer rows than threads), 
+ * with and without compare against the initial state of the result.
+ */
+public class ParForParallelLocalResultMergeTest extends AutomatedTestBase 
+{	
+	private final static String TEST_NAME = "parfor_local_resultmerge";
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForParallelLocalResultMergeTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rows1 = 1100;  
+	private final static int cols1 = 70;  
+	private final static int rows2 = 3;  
+	private final static int cols2 = 25000;  
+	
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.1d;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testRowPartitionedDenseNoCompare() {
+		runParallelLocalResultMerge(rows1, cols1, false, false);
+	}
+	
+	@Test
+	public void testRowPartitionedSparseNoCompare() {
+		runParallelLocalResultMerge(rows1, cols1, true, false);
+	}
+	
+	@Test
+	public void testRowPartitionedDenseCompare() {
+		runParallelLocalResultMerge(rows1, cols1, false, true);
+	}
+	
+	@Test
+	public void testRowPartitionedSparseCompare() {
+		runParallelLocalResultMerge(rows1, cols1, true, true);
+	}
+	
+	@Test
+	public void testColPartitionedDenseNoCompare() {
+		runParallelLocalResultMerge(rows2, cols2, false, false);
+	}
+	
+	@Test
+	public void testColPartitionedDenseCompare() {
+		runParallelLocalResultMerge(rows2, cols2, false, true);
+	}
+	
+	private void runParallelLocalResultMerge( int rows, int cols, boolean sparse, boolean compare )
+	{
+		TestConfiguration config = getTestConfiguration(TEST_NAME);
+		config.addVariable("rows", rows);
+		config.addVariable("cols", cols);
+		loadTestConfiguration(config);
+		
+		String init = compare ? "7" : "0";
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		fullDMLScriptName = HOME + TEST_NAME + ".dml";
+		programArgs = new String[]{"-args", input("V"), 
+			Integer.toString(rows), Integer.toString(cols), init, output("R") };
+		
+		fullRScriptName = HOME + TEST_NAME + ".R";
+		rCmd = "Rscript" + " " + fullRScriptName + " " + inputDir() + " " + init + " " + expectedDir();
+
+		double[][] V = getRandomMatrix(rows, cols, 0, 1, sparse ? sparsity2 : sparsity1, 7);
+		writeInputMatrix("V", V, true);
+
+		runTest(true, false, null, -1);
+		runRScript(true);
+		
+		//compare matrices
+		HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+		HashMap<CellIndex, Double> rfile  = readRMatrixFromFS("Rout");
+		TestUtils.compareMatrices(dmlfile, rfile, eps, "DML", "R");	
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.parfor;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.apache.sysml.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+
+/**
+ * Tests local parfor with skewed iteration costs on the work-stealing task
+ * queue, which splits range and set tasks after the task input is closed.
+ * The execution fails if the executed tasks (including split tasks) do not
+ * match the created tasks.
+ */
+public class ParForWorkStealingTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "parfor_work_stealing";
+	private final static String TEST_DIR = "functions/parfor/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + ParForWorkStealingTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 240;
+	private final static int skewed = 30;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, 
+			new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] { "R" }) );
+	}
+
+	@Test
+	public void testWorkStealingRangeTasks() {
+		runParForWorkStealingTest(40, true);
+	}
+	
+	@Test
+	public void testWorkStealingSetTasks() {
+		runParForWorkStealingTest(3, true);
+	}
+	
+	@Test
+	public void testDefaultQueueRangeTasks() {
+		runParForWorkStealingTest(40, false);
+	}
+	
+	private void runParForWorkStealingTest( int tasksize, boolean workStealing )
+	{
+		boolean flagOld = ParForProgramBlock.USE_WORK_STEALING_TASK_QUEUE;
+		
+		try
+		{
+			ParForProgramBlock.USE_WORK_STEALING_TASK_QUEUE = workStealing;
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", String.valueOf(rows),
+				String.valueOf(tasksize), String.valueOf(skewed), output("R") };
+	
+			runTest(true, false, null, -1);
+			
+			//compare with expected results
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			Assert.assertEquals(2*rows, dmlfile.size());
+			for( int i=1; i<=rows; i++ ) {
+				double expected = (i <= skewed ? 50 : 1) * i * (i+1) / 2d;
+				Assert.assertEquals(expected, dmlfile.get(new CellIndex(i, 1)), 0);
+				Assert.assertEquals(i, dmlfile.get(new CellIndex(i, 2)), 0);
+			}
+		}
+		finally {
+			ParForProgramBlock.USE_WORK_STEALING_TASK_QUEUE = flagOld;
+		}
+	}
+}
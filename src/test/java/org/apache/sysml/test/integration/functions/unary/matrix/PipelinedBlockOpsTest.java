@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import java.util.HashMap;
+
+import org.junit.Test;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * Tests the pipelining of chains of block-local, element-wise Spark operations
+ * (matrix-scalar and unary builtins) by comparing the results with and without
+ * pipelining, including intermediates with multiple consumers.
+ */
+public class PipelinedBlockOpsTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "PipelinedBlockOps";
+	private final static String TEST_DIR = "functions/unary/matrix/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + PipelinedBlockOpsTest.class.getSimpleName() + "/";
+	private final static double eps = 1e-10;
+	
+	private final static int rows = 1108;
+	private final static int cols = 1001;
+	private final static double spSparse = 0.05;
+	private final static double spDense = 0.7;
+	
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[]{"B","D"})); 
+	}
+
+	@Test
+	public void testPipelinedBlockOpsDense() {
+		runPipelinedBlockOpsTest(false);
+	}
+	
+	@Test
+	public void testPipelinedBlockOpsSparse() {
+		runPipelinedBlockOpsTest(true);
+	}
+	
+	private void runPipelinedBlockOpsTest(boolean sparse)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		boolean sparkConfigOld = DMLScript.USE_LOCAL_SPARK_CONFIG;
+		boolean pipelineOld = SparkExecutionContext.PIPELINE_BLOCK_OPERATIONS;
+		rtplatform = RUNTIME_PLATFORM.SPARK;
+		DMLScript.USE_LOCAL_SPARK_CONFIG = true;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparse ? spSparse : spDense, 7); 
+			writeInputMatrixWithMTD("A", A, true);
+			
+			//run w/o pipelining
+			SparkExecutionContext.PIPELINE_BLOCK_OPERATIONS = false;
+			programArgs = new String[]{"-args", input("A"), output("B"), output("D") };
+			runTest(true, false, null, -1); 
+			
+			//run w/ pipelining
+			SparkExecutionContext.PIPELINE_BLOCK_OPERATIONS = true;
+			programArgs = new String[]{"-args", input("A"), output("B2"), output("D2") };
+			runTest(true, false, null, -1); 
+			
+			//compare matrices 
+			for( String out : new String[]{"B","D"} ) {
+				HashMap<CellIndex, Double> ret1 = readDMLMatrixFromHDFS(out);
+				HashMap<CellIndex, Double> ret2 = readDMLMatrixFromHDFS(out+"2");
+				TestUtils.compareMatrices(ret1, ret2, eps, "NoPipeline", "Pipeline");
+			}
+		}
+		finally {
+			rtplatform = platformOld;
+			DMLScript.USE_LOCAL_SPARK_CONFIG = sparkConfigOld;
+			SparkExecutionContext.PIPELINE_BLOCK_OPERATIONS = pipelineOld;
+		}
+	}
+}
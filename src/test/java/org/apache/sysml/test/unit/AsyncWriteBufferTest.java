@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysml.runtime.controlprogram.caching.AsyncWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheException;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AsyncWriteBufferTest {
+
+  @Test
+  public void testConcurrentSubmitSameFile() throws Exception {
+    //concurrent writers of the same file (e.g., parfor workers), whose
+    //writes must neither overlap nor get lost, in per-writer order
+    final int numWriters = 8;
+    final int numWrites = 50;
+    AtomicInteger active = new AtomicInteger(0);
+    AtomicBoolean overlap = new AtomicBoolean(false);
+    List<int[]> writes = Collections.synchronizedList(new ArrayList<>());
+
+    ExecutorService pool = Executors.newFixedThreadPool(numWriters);
+    try {
+      List<Future<Void>> rets = new ArrayList<>();
+      for( int k = 0; k < numWriters; k++ ) {
+        final int ix = k;
+        rets.add(pool.submit(() -> {
+          for( int i = 0; i < numWrites; i++ ) {
+            final int[] write = { ix, i };
+            AsyncWriteBuffer.submit("concurrent", () -> {
+              if( active.incrementAndGet() > 1 )
+                overlap.set(true);
+              Thread.sleep(0, 100000);
+              writes.add(write);
+              active.decrementAndGet();
+              return null;
+            });
+          }
+          return null;
+        }));
+      }
+      for( Future<Void> ret : rets )
+        ret.get(60, TimeUnit.SECONDS);
+      AsyncWriteBuffer.joinAll();
+    }
+    finally {
+      pool.shutdownNow();
+    }
+
+    Assert.assertFalse(overlap.get());
+    Assert.assertEquals(numWriters * numWrites, writes.size());
+    Assert.assertEquals(0, AsyncWriteBuffer.getNumPending());
+    int[] last = new int[numWriters];
+    for( int[] write : writes )
+      Assert.assertEquals(last[write[0]]++, write[1]);
+  }
+
+  @Test
+  public void testFailureOfChainedWrite() throws Exception {
+    //failure of a write followed by another write of the same file
+    //is raised by the join, and the later (stale-free) write skipped
+    AtomicBoolean written = new AtomicBoolean(false);
+    AsyncWriteBuffer.submit("failure", () -> {
+      Thread.sleep(50);
+      throw new RuntimeException("failed write");
+    });
+    AsyncWriteBuffer.submit("failure", () -> {
+      written.set(true);
+      return null;
+    });
+    try {
+      AsyncWriteBuffer.join("failure");
+      Assert.fail("Failed write not raised.");
+    }
+    catch( CacheException ex ) {
+      //expected
+    }
+    Assert.assertFalse(written.get());
+    Assert.assertEquals(0, AsyncWriteBuffer.getNumPending());
+
+    //subsequent writes after the join are executed again
+    AsyncWriteBuffer.submit("failure", () -> {
+      written.set(true);
+      return null;
+    });
+    AsyncWriteBuffer.joinAll();
+    Assert.assertTrue(written.get());
+  }
+}
@@ -28,6 +28,7 @@ import org.apache.commons.cli.ParseException;
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.api.mlcontext.ScriptType;
 import org.apache.sysml.utils.Explain;
+import org.apache.sysml.utils.InstructionProfiler;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -154,6 +155,54 @@ public class CLIOptionsParserTest {
     DMLScript.parseCLArguments(args, options);
   }
 
+  @Test
+  public void testLineage() throws Exception {
+    String cl = "systemml -f test.dml -lineage";
+    String[] args = cl.split(" ");
+    Options options = DMLScript.createCLIOptions();
+    DMLScript.DMLOptions o = DMLScript.parseCLArguments(args, options);
+    Assert.assertEquals(true, o.lineage);
+    Assert.assertEquals(false, o.lineageReuse);
+  }
+
+  @Test
+  public void testLineageReuse() throws Exception {
+    String cl = "systemml -f test.dml -lineage reuse";
+    String[] args = cl.split(" ");
+    Options options = DMLScript.createCLIOptions();
+    DMLScript.DMLOptions o = DMLScript.parseCLArguments(args, options);
+    Assert.assertEquals(true, o.lineage);
+    Assert.assertEquals(true, o.lineageReuse);
+  }
+
+  @Test(expected = ParseException.class)
+  public void testBadLineageOption() throws Exception {
+    String cl = "systemml -f test.dml -lineage r2euse";
+    String[] args = cl.split(" ");
+    Options options = DMLScript.createCLIOptions();
+    DMLScript.parseCLArguments(args, options);
+  }
+
+  @Test
+  public void testProfile() throws Exception {
+    String cl = "systemml -f test.dml -profile";
+    String[] args = cl.split(" ");
+    Options options = DMLScript.createCLIOptions();
+    DMLScript.DMLOptions o = DMLScript.parseCLArguments(args, options);
+    Assert.assertEquals(true, o.profile);
+    Assert.assertEquals(InstructionProfiler.DEFAULT_OUTPUT_PREFIX, o.profileOutput);
+  }
+
+  @Test
+  public void testProfileOutput() throws Exception {
+    String cl = "systemml -f test.dml -profile /tmp/prof";
+    String[] args = cl.split(" ");
+    Options options = DMLScript.createCLIOptions();
+    DMLScript.DMLOptions o = DMLScript.parseCLArguments(args, options);
+    Assert.assertEquals(true, o.profile);
+    Assert.assertEquals("/tmp/prof", o.profileOutput);
+  }
+
   @Test
   public void testPython() throws Exception {
     String cl = "systemml -f test.dml -python";
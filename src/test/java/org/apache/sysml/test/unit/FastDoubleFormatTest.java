@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.Random;
+
+import org.apache.sysml.runtime.util.FastDoubleFormat;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FastDoubleFormatTest {
+
+  @Test
+  public void testShortestFormat() {
+    double[] vals = { 0.1, 0.3, 1.0, -17.25, 1e7, 9999999.0, 0.001, 9.99e-4, 1e22, 5e-324, Double.MAX_VALUE };
+    String[] expected = { "0.1", "0.3", "1.0", "-17.25", "1.0E7", "9999999.0", "0.001", "9.99E-4",
+      "1.0E22", "5.0E-324", "1.7976931348623157E308" };
+    for( int i = 0; i < vals.length; i++ )
+      Assert.assertEquals(expected[i], format(vals[i], -1));
+
+    //exact roundtrip of random doubles of all magnitudes
+    Random rand = new Random(7);
+    for( int i = 0; i < 100000; i++ ) {
+      double val = Double.longBitsToDouble(rand.nextLong());
+      if( Double.isNaN(val) || Double.isInfinite(val) )
+        continue;
+      Assert.assertEquals(val, Double.parseDouble(format(val, -1)), 0);
+    }
+  }
+
+  @Test
+  public void testFixedPrecisionFormat() {
+    Assert.assertEquals("0.123", format(0.123456789, 3));
+    Assert.assertEquals("100.0", format(99.96, 3));
+    Assert.assertEquals("123000.0", format(123456.0, 3));
+    Assert.assertEquals("12.0", format(12.0, 3));
+    Assert.assertEquals("10.0", format(9.99999999, 6));
+    Assert.assertEquals("1234.57", format(1234.5678, 6));
+    Assert.assertEquals("-0.00444", format(-0.0044449, 3));
+    Assert.assertEquals("3.14E-10", format(3.14159e-10, 3));
+    Assert.assertEquals("2.5E30", format(2.5e30, 3));
+  }
+
+  private static String format(double val, int precision) {
+    byte[] buff = new byte[FastDoubleFormat.MAX_LENGTH];
+    return new String(buff, 0, FastDoubleFormat.format(val, precision, buff, 0));
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysml.runtime.controlprogram.parfor.LocalTaskQueueWorkStealing;
+import org.apache.sysml.runtime.controlprogram.parfor.Task;
+import org.apache.sysml.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysml.runtime.instructions.cp.IntObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTaskQueueWorkStealingTest {
+
+  @Test
+  public void testNoMoreTasksAfterClose() throws Exception {
+    LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(4);
+    queue.closeInput();
+    for( int i = 0; i < 4; i++ )
+      Assert.assertSame(LocalTaskQueue.NO_MORE_TASKS, queue.dequeueTask(i));
+  }
+
+  @Test
+  public void testBlockedWorkersTerminateOnClose() throws Exception {
+    LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(4);
+    ExecutorService pool = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Task>> rets = new ArrayList<>();
+      for( int i = 0; i < 4; i++ ) {
+        final int ix = i;
+        rets.add(pool.submit(() -> queue.dequeueTask(ix)));
+      }
+      Thread.sleep(20);
+      queue.closeInput();
+      for( Future<Task> ret : rets )
+        Assert.assertSame(LocalTaskQueue.NO_MORE_TASKS, ret.get(10, TimeUnit.SECONDS));
+    }
+    finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSplitRangeUnitIncrement() throws Exception {
+    runSplitTest(createRangeTask(1, 100, 1), 100);
+  }
+
+  @Test
+  public void testSplitRangeNonUnitIncrement() throws Exception {
+    runSplitTest(createRangeTask(3, 98, 5), 20);
+  }
+
+  @Test
+  public void testSplitRangeNegativeIncrement() throws Exception {
+    runSplitTest(createRangeTask(50, -13, -3), 22);
+  }
+
+  @Test
+  public void testSplitSet() throws Exception {
+    Task t = new Task("i", TaskType.SET);
+    for( int i = 0; i < 37; i++ )
+      t.addIteration(new IntObject(7 * i - 11));
+    runSplitTest(t, 37);
+  }
+
+  @Test
+  public void testNoSplitBeforeClose() throws Exception {
+    LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(4);
+    queue.enqueueTask(createRangeTask(1, 100, 1));
+    Task t = queue.dequeueTask(0);
+    Assert.assertEquals(100, getIterations(t).size());
+    Assert.assertEquals(0, queue.getNumSplitTasks());
+  }
+
+  @Test
+  public void testConcurrentWorkers() throws Exception {
+    //skewed range tasks consumed by concurrent workers, while the
+    //producer is still enqueueing, with splits after the close
+    final int numWorkers = 8;
+    final int numTasks = 64;
+    final int taskSize = 50;
+    LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(numWorkers);
+    ConcurrentHashMap<Long, Long> iters = new ConcurrentHashMap<>();
+    AtomicLong numExecuted = new AtomicLong(0);
+
+    ExecutorService pool = Executors.newFixedThreadPool(numWorkers);
+    try {
+      List<Future<Void>> rets = new ArrayList<>();
+      for( int k = 0; k < numWorkers; k++ ) {
+        final int ix = k;
+        rets.add(pool.submit(() -> {
+          Task t = null;
+          while( (t = queue.dequeueTask(ix)) != LocalTaskQueue.NO_MORE_TASKS ) {
+            for( long i : getIterations(t) ) {
+              Assert.assertNull(iters.put(i, i));
+              if( i <= taskSize ) //skew: expensive first task
+                Thread.sleep(1);
+            }
+            numExecuted.incrementAndGet();
+          }
+          return null;
+        }));
+      }
+      for( int i = 0; i < numTasks; i++ )
+        queue.enqueueTask(createRangeTask(i * taskSize + 1, (i + 1) * taskSize, 1));
+      queue.closeInput();
+      for( Future<Void> ret : rets )
+        ret.get(60, TimeUnit.SECONDS);
+    }
+    finally {
+      pool.shutdownNow();
+    }
+
+    Assert.assertEquals(numTasks * taskSize, iters.size());
+    for( long i = 1; i <= numTasks * taskSize; i++ )
+      Assert.assertTrue(iters.containsKey(i));
+    //consistency check of parfor: executed tasks = created + split tasks
+    Assert.assertEquals(numTasks + queue.getNumSplitTasks(), numExecuted.get());
+  }
+
+  /**
+   * Dequeues a single task after closing the input, which splits the task
+   * repeatedly, and checks that all iterations are executed exactly once
+   * in their original order and that the number of dequeued tasks matches
+   * the number of split tasks.
+   *
+   * @param t multi-iteration task
+   * @param numIters expected number of iterations
+   * @throws Exception if the dequeue fails
+   */
+  private static void runSplitTest(Task t, int numIters) throws Exception {
+    List<Long> expected = getIterations(t);
+    Assert.assertEquals(numIters, expected.size());
+
+    LocalTaskQueueWorkStealing queue = new LocalTaskQueueWorkStealing(4);
+    queue.enqueueTask(t);
+    queue.closeInput();
+
+    List<Long> actual = new ArrayList<>();
+    int numTasks = 0;
+    Task tmp = null;
+    while( (tmp = queue.dequeueTask(0)) != LocalTaskQueue.NO_MORE_TASKS ) {
+      Assert.assertEquals(t.getType(), tmp.getType());
+      Assert.assertEquals(t.getVarName(), tmp.getVarName());
+      List<Long> titers = getIterations(tmp);
+      Assert.assertFalse(titers.isEmpty());
+      actual.addAll(titers);
+      numTasks++;
+    }
+
+    Assert.assertEquals(expected, actual);
+    Assert.assertTrue(queue.getNumSplitTasks() > 0);
+    Assert.assertEquals(1 + queue.getNumSplitTasks(), numTasks);
+  }
+
+  private static Task createRangeTask(long from, long to, long incr) {
+    Task t = new Task("i", TaskType.RANGE);
+    t.addIteration(new IntObject(from));
+    t.addIteration(new IntObject(to));
+    t.addIteration(new IntObject(incr));
+    return t;
+  }
+
+  private static List<Long> getIterations(Task t) {
+    List<Long> ret = new ArrayList<>();
+    List<IntObject> iters = t.getIterations();
+    if( t.getType() == TaskType.RANGE ) {
+      long from = iters.get(0).getLongValue();
+      long to = iters.get(1).getLongValue();
+      long incr = iters.get(2).getLongValue();
+      for( long i = from; incr > 0 ? i <= to : i >= to; i += incr )
+        ret.add(i);
+    }
+    else {
+      for( IntObject iter : iters )
+        ret.add(iter.getLongValue());
+    }
+    return ret;
+  }
+}
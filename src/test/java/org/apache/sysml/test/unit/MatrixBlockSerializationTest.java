@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatrixBlockSerializationTest {
+
+  private static final int rows = 300;
+  private static final int cols = 200;
+  private static final double sparsity = 0.05;
+  private static final double eps = 1e-10;
+
+  @Test
+  public void testSparseDeserializeToCSR() throws Exception {
+    double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sparsity, 7);
+    MatrixBlock mb = deserialize(serialize(DataConverter.convertToMatrixBlock(A)));
+    Assert.assertTrue(mb.isInSparseFormat());
+    Assert.assertTrue(mb.getSparseBlock() instanceof SparseBlockCSR);
+    Assert.assertEquals(mb.recomputeNonZeros(), mb.getNonZeros());
+    TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb), rows, cols, eps);
+  }
+
+  @Test
+  public void testDenseDeserialize() throws Exception {
+    double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, 0.9, 7);
+    MatrixBlock mb = deserialize(serialize(DataConverter.convertToMatrixBlock(A)));
+    Assert.assertFalse(mb.isInSparseFormat());
+    TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mb), rows, cols, eps);
+  }
+
+  @Test
+  public void testMergeIntoDeserializedCSR() throws Exception {
+    double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sparsity, 7);
+    MatrixBlock[] parts = splitRows(A);
+    MatrixBlock target = deserialize(serialize(parts[0]));
+    target.merge(deserialize(serialize(parts[1])), false);
+    TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(target), rows, cols, eps);
+  }
+
+  @Test
+  public void testPlusInPlaceDeserializedCSR() throws Exception {
+    double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sparsity, 7);
+    MatrixBlock[] parts = splitRows(A);
+    MatrixBlock target = deserialize(serialize(parts[0]));
+    target.binaryOperationsInPlace(new BinaryOperator(Plus.getPlusFnObject()),
+      deserialize(serialize(parts[1])));
+    TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(target), rows, cols, eps);
+  }
+
+  private static MatrixBlock[] splitRows(double[][] A) throws Exception {
+    //disjoint blocks of even and odd rows
+    double[][] A1 = new double[rows][cols];
+    double[][] A2 = new double[rows][cols];
+    for( int i = 0; i < rows; i++ )
+      System.arraycopy(A[i], 0, (i % 2 == 0) ? A1[i] : A2[i], 0, cols);
+    return new MatrixBlock[] {
+      DataConverter.convertToMatrixBlock(A1), DataConverter.convertToMatrixBlock(A2)};
+  }
+
+  private static byte[] serialize(MatrixBlock mb) throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try( ObjectOutputStream oos = new ObjectOutputStream(bos) ) {
+      oos.writeObject(mb);
+    }
+    return bos.toByteArray();
+  }
+
+  private static MatrixBlock deserialize(byte[] buff) throws Exception {
+    try( ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buff)) ) {
+      return (MatrixBlock) ois.readObject();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+import org.apache.sysml.runtime.io.IOUtilFunctions;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParseDoubleTest {
+
+  @Test
+  public void testSpecialCases() {
+    String[] inputs = { "0", "-0", "1.", ".5", "+3", "00012.5000", "1e5", "1E-5",
+      "123456789012345", "1234567890123456789012", "0.000000000000000000001",
+      "1e22", "1e23", "12e30", "9007199254740993", "0.30000000000000004",
+      "4.9e-324", "1.7976931348623157e308", "2.2250738585072014E-308",
+      "1e-400", "1e400", "NaN", "-Infinity" };
+    for( String s : inputs )
+      checkParse(s);
+  }
+
+  @Test
+  public void testRandomNumbers() {
+    Random rand = new Random(7);
+    for( int i = 0; i < 100000; i++ ) {
+      checkParse(Double.toString(rand.nextDouble()));
+      checkParse(Double.toString(rand.nextGaussian() * Math.pow(10, rand.nextInt(40) - 20)));
+      checkParse(String.format(Locale.US, "%." + rand.nextInt(12) + "f", rand.nextDouble() * 1000));
+      checkParse((rand.nextInt(2000000) - 1000000) + "." + rand.nextInt(1000) + "e" + (rand.nextInt(60) - 30));
+    }
+  }
+
+  @Test
+  public void testSubRange() {
+    byte[] buf = "7,-1.25,3e2".getBytes(StandardCharsets.US_ASCII);
+    Assert.assertEquals(-1.25, IOUtilFunctions.parseDouble(buf, 2, 7), 0);
+    Assert.assertEquals(300, IOUtilFunctions.parseDouble(buf, 8, 11), 0);
+  }
+
+  @Test
+  public void testInvalidNumbers() {
+    for( String s : new String[] { "", "-", "e5", "1e", "abc", "1.2.3" } ) {
+      try {
+        byte[] buf = s.getBytes(StandardCharsets.US_ASCII);
+        IOUtilFunctions.parseDouble(buf, 0, buf.length);
+        Assert.fail("Expected NumberFormatException for '" + s + "'");
+      }
+      catch( NumberFormatException ex ) {
+        //expected
+      }
+    }
+  }
+
+  private static void checkParse(String s) {
+    byte[] buf = s.getBytes(StandardCharsets.US_ASCII);
+    Assert.assertEquals(s, Double.doubleToRawLongBits(Double.parseDouble(s)),
+      Double.doubleToRawLongBits(IOUtilFunctions.parseDouble(buf, 0, buf.length)));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBlock;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast;
+import org.apache.sysml.runtime.instructions.spark.data.PartitionedBroadcast.PartitionLayout;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionedBlockTest {
+
+  private static final int rows = 250;
+  private static final int cols = 170;
+  private static final int blen = 40;
+
+  @Test
+  public void testRowMajorPartitions() throws Exception {
+    runPartitionTest(false);
+  }
+
+  @Test
+  public void testColMajorPartitions() throws Exception {
+    runPartitionTest(true);
+  }
+
+  @Test
+  public void testPanelBlocksPerPartition() {
+    //partitions of complete panels
+    int numPerPart = PartitionedBroadcast.computeBlocksPerPartition(
+      100000, 100000, 1000, 1000, PartitionLayout.ROW_PANELS);
+    Assert.assertEquals(0, numPerPart % 100);
+    numPerPart = PartitionedBroadcast.computeBlocksPerPartition(
+      100000, 50000, 1000, 1000, PartitionLayout.COL_PANELS);
+    Assert.assertEquals(0, numPerPart % 100);
+    //small broadcasts in a single partition
+    numPerPart = PartitionedBroadcast.computeBlocksPerPartition(
+      4000, 1000, 1000, 1000, PartitionLayout.ROW_PANELS);
+    Assert.assertTrue(numPerPart >= 4);
+  }
+
+  private void runPartitionTest(boolean colMajor) throws Exception {
+    MatrixBlock mb = DataConverter.convertToMatrixBlock(
+      TestUtils.generateTestMatrix(rows, cols, -1, 1, 0.7, 7));
+    PartitionedBlock<MatrixBlock> pmb = new PartitionedBlock<>(mb, blen, blen);
+    int nrblks = pmb.getNumRowBlocks();
+    int ncblks = pmb.getNumColumnBlocks();
+    int numBlks = nrblks * ncblks;
+
+    //partition with 3 blocks per partition and check all blocks
+    for( int offset = 0; offset < numBlks; offset += 3 ) {
+      int len = Math.min(3, numBlks - offset);
+      PartitionedBlock<MatrixBlock> part = pmb.createPartition(offset, len, colMajor);
+      Assert.assertEquals(colMajor, part.isColumnMajor());
+      for( int ix = offset; ix < offset + len; ix++ ) {
+        int rix = (colMajor ? ix % nrblks : ix / ncblks) + 1;
+        int cix = (colMajor ? ix / nrblks : ix % ncblks) + 1;
+        Assert.assertSame(pmb.getBlock(rix, cix), part.getBlock(rix, cix));
+      }
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Reads CSV directories of multiple part files with many more threads than
+ * lines per file, such that split boundaries fall inside lines, and compares
+ * the result with the written values for dense reads with known and unknown
+ * dims, and the sparse read.
+ */
+public class ReaderTextCSVParallelTest {
+
+  private static final int rows = 317;
+  private static final int cols = 13;
+  private static final int numThreads = 16;
+
+  private File dir;
+
+  @Before
+  public void setUp() throws IOException {
+    dir = Files.createTempDirectory("csvread").toFile();
+  }
+
+  @After
+  public void tearDown() {
+    File[] files = dir.listFiles();
+    if( files != null )
+      for( File f : files )
+        f.delete();
+    dir.delete();
+  }
+
+  @Test
+  public void testDenseKnownDims() throws Exception {
+    double[][] A = createMatrix(0.9, 7);
+    writeCSV(A, 3, true, ",", "\n", false);
+    compare(A, read(true, ",", false, 0, rows, (long) rows * cols));
+  }
+
+  @Test
+  public void testDenseUnknownDims() throws Exception {
+    double[][] A = createMatrix(0.9, 8);
+    writeCSV(A, 3, true, ",", "\n", false);
+    compare(A, read(true, ",", false, 0, -1, -1));
+  }
+
+  @Test
+  public void testSparseKnownDims() throws Exception {
+    double[][] A = createMatrix(0.05, 9);
+    writeCSV(A, 2, false, ",", "\n", false);
+    MatrixBlock mb = read(false, ",", false, 0, rows, (long) (0.05 * rows * cols));
+    Assert.assertTrue(mb.isInSparseFormat());
+    compare(A, mb);
+  }
+
+  @Test
+  public void testCRLFMultiCharDelim() throws Exception {
+    double[][] A = createMatrix(0.9, 10);
+    writeCSV(A, 4, true, "::", "\r\n", false);
+    compare(A, read(true, "::", false, 0, rows, (long) rows * cols));
+    compare(A, read(true, "::", false, 0, -1, -1));
+  }
+
+  @Test
+  public void testFillEmptyValues() throws Exception {
+    double[][] A = createMatrix(0.7, 11);
+    writeCSV(A, 3, true, ",", "\n", true);
+    double[][] B = new double[rows][];
+    for( int i = 0; i < rows; i++ ) {
+      B[i] = A[i].clone();
+      for( int j = 0; j < cols; j++ )
+        if( B[i][j] == 0 )
+          B[i][j] = 7;
+    }
+    compare(B, read(true, ",", true, 7, rows, (long) rows * cols));
+    compare(B, read(true, ",", true, 7, -1, -1));
+  }
+
+  @Test(expected = IOException.class)
+  public void testEmptyValuesNoFill() throws Exception {
+    writeCSV(createMatrix(0.7, 12), 3, true, ",", "\n", true);
+    read(true, ",", false, 0, rows, (long) rows * cols);
+  }
+
+  @Test(expected = DMLRuntimeException.class)
+  public void testInconsistentNumRows() throws Exception {
+    writeCSV(createMatrix(0.9, 13), 3, true, ",", "\n", false);
+    read(true, ",", false, 0, rows + 1, (long) rows * cols);
+  }
+
+  private MatrixBlock read(boolean header, String delim, boolean fill, double fillValue, long rlen, long estnnz)
+    throws Exception
+  {
+    CSVFileFormatProperties props = new CSVFileFormatProperties(header, delim, fill, fillValue, null);
+    return new ReaderTextCSVParallel(props, numThreads)
+      .readMatrixFromHDFS(dir.getAbsolutePath(), rlen, cols, 1000, 1000, estnnz);
+  }
+
+  //writes consecutive row ranges into part files, with a header in the first
+  //file, whitespace around cells, and zeros as empty fields if requested
+  private void writeCSV(double[][] A, int numFiles, boolean header, String delim, String eol, boolean empty)
+    throws IOException
+  {
+    int rowsPerFile = (rows + numFiles - 1) / numFiles;
+    for( int k = 0; k < numFiles; k++ ) {
+      StringBuilder sb = new StringBuilder();
+      if( header && k == 0 ) {
+        for( int j = 0; j < cols; j++ )
+          sb.append(j > 0 ? delim : "").append("C").append(j + 1);
+        sb.append(eol);
+      }
+      for( int i = k * rowsPerFile; i < Math.min((k + 1) * rowsPerFile, rows); i++ ) {
+        for( int j = 0; j < cols; j++ ) {
+          if( j > 0 )
+            sb.append(delim);
+          if( A[i][j] != 0 || !empty )
+            sb.append((j % 3 == 0) ? " " + A[i][j] + " " : String.valueOf(A[i][j]));
+        }
+        sb.append(eol);
+      }
+      Files.write(new File(dir, String.format("part-%05d", k)).toPath(),
+        sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static double[][] createMatrix(double sparsity, long seed) {
+    Random rand = new Random(seed);
+    double[][] ret = new double[rows][cols];
+    for( int i = 0; i < rows; i++ )
+      for( int j = 0; j < cols; j++ )
+        if( rand.nextDouble() < sparsity )
+          ret[i][j] = (rand.nextInt(2000000) - 1000000) / 1000.0;
+    return ret;
+  }
+
+  private static void compare(double[][] expected, MatrixBlock actual) {
+    Assert.assertEquals(rows, actual.getNumRows());
+    Assert.assertEquals(cols, actual.getNumColumns());
+    long nnz = 0;
+    for( int i = 0; i < rows; i++ )
+      for( int j = 0; j < cols; j++ ) {
+        Assert.assertEquals("cell (" + i + "," + j + ")", expected[i][j], actual.quickGetValue(i, j), 0);
+        nnz += (expected[i][j] != 0) ? 1 : 0;
+      }
+    Assert.assertEquals(nnz, actual.getNonZeros());
+  }
+}
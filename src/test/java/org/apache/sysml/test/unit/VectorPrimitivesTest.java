@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.VectorPrimitives;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Compares the SIMD vector primitives and the dispatching kernels of
+ * LibMatrixMult with plain scalar loops, for lengths below and above
+ * {@link VectorPrimitives#MIN_VECTOR_LENGTH}, non-zero offsets, and
+ * tails that are not aligned to the vector length. The SIMD comparison
+ * requires JDK 17+ with --add-modules jdk.incubator.vector (see the
+ * vector-api profile), and is skipped otherwise.
+ */
+public class VectorPrimitivesTest {
+
+  private static final double eps = 1e-10;
+
+  private static final int[] lens = { 0, 1, 3, 7, 8, 15, 16, 17, 31, 33, 64, 67, 1001 };
+  private static final int[] offsets = { 0, 5 };
+
+  private final Random rand = new Random(7);
+
+  @Test
+  public void testFallbackWithoutVectorModule() {
+    boolean module = true;
+    try {
+      Class.forName("jdk.incubator.vector.DoubleVector");
+    }
+    catch( ClassNotFoundException ex ) {
+      module = false;
+    }
+    Assume.assumeFalse(module);
+    Assert.assertFalse(VectorPrimitives.isAvailable());
+    Assert.assertNull(VectorPrimitives.getInstance());
+  }
+
+  @Test
+  public void testDispatchDense() {
+    //either SIMD or scalar fallback, depending on the JVM
+    for( int len : lens )
+      for( int off : offsets ) {
+        double[] a = rand(off + len), b = rand(off + len);
+        Assert.assertEquals(refDot(a, b, off, off, len),
+          LibMatrixMult.dotProduct(a, b, off, off, len), eps * (len + 1));
+
+        double[] c1 = rand(off + len), c2 = c1.clone();
+        refMultAdd(3.7, b, c1, off, off, len);
+        LibMatrixMult.vectMultiplyAdd(3.7, b, c2, off, off, len);
+        compare(c1, c2);
+
+        c1 = rand(off + len); c2 = c1.clone();
+        refAdd(a, c1, off, off, len);
+        LibMatrixMult.vectAdd(a, c2, off, off, len);
+        compare(c1, c2);
+
+        c1 = new double[off + len]; c2 = new double[off + len];
+        refMultWrite(a, b, c1, off, off, off, len);
+        LibMatrixMult.vectMultiplyWrite(a, b, c2, off, off, off, len);
+        compare(c1, c2);
+
+        c1 = new double[off + len]; c2 = new double[off + len];
+        refMultWrite(-2.5, b, c1, off, off, len);
+        LibMatrixMult.vectMultiplyWrite(-2.5, b, c2, off, off, len);
+        compare(c1, c2);
+      }
+  }
+
+  @Test
+  public void testDispatchSparse() {
+    for( int len : lens )
+      for( int off : offsets ) {
+        int n = 3 * len + 11;
+        double[] a = rand(off + len), b = rand(off + n);
+        int[] aix = sparseIndexes(off, len, n);
+        Assert.assertEquals(refDot(a, b, aix, off, off, len),
+          LibMatrixMult.dotProduct(a, b, aix, off, off, len), eps * (len + 1));
+
+        double[] c1 = rand(off + n), c2 = c1.clone();
+        refMultAdd(1.3, a, c1, aix, off, off, len);
+        LibMatrixMult.vectMultiplyAdd(1.3, a, c2, aix, off, off, len);
+        compare(c1, c2);
+
+        c1 = rand(off + n); c2 = c1.clone();
+        refAdd(a, c1, aix, off, off, len);
+        LibMatrixMult.vectAdd(a, c2, aix, off, off, len);
+        compare(c1, c2);
+      }
+  }
+
+  @Test
+  public void testSIMDDense() {
+    VectorPrimitives vp = VectorPrimitives.getInstance();
+    Assume.assumeNotNull(vp);
+    for( int len : lens )
+      for( int off : offsets ) {
+        double[] a = rand(off + len), b = rand(off + len);
+        double bval = rand.nextDouble() + 0.5;
+        Assert.assertEquals(refDot(a, b, off, off, len),
+          vp.dotProduct(a, b, off, off, len), eps * (len + 1));
+
+        double[] c1 = rand(off + len), c2 = c1.clone();
+        refMultAdd(bval, b, c1, off, off, len);
+        vp.vectMultiplyAdd(bval, b, c2, off, off, len);
+        compare(c1, c2);
+
+        c1 = rand(off + len); c2 = c1.clone();
+        refAdd(a, c1, off, off, len);
+        vp.vectAdd(a, c2, off, off, len);
+        compare(c1, c2);
+
+        c1 = new double[off + len]; c2 = new double[off + len];
+        refMultWrite(bval, b, c1, off, off, len);
+        vp.vectMultiplyWrite(bval, b, c2, off, off, len);
+        compare(c1, c2);
+
+        c1 = new double[off + len]; c2 = new double[off + len];
+        refMultWrite(a, b, c1, off, off, off, len);
+        vp.vectMultiplyWrite(a, b, c2, off, off, off, len);
+        compare(c1, c2);
+
+        //write variants with output offset 0
+        double[] c3 = new double[len];
+        for( int j = 0; j < len; j++ ) c3[j] = a[off + j] / bval;
+        vp.vectDivWrite(a, bval, c2 = new double[len], off, len);
+        compare(c3, c2);
+        for( int j = 0; j < len; j++ ) c3[j] = bval / a[off + j];
+        vp.vectDivWrite(bval, a, c2 = new double[len], off, len);
+        compare(c3, c2);
+        for( int j = 0; j < len; j++ ) c3[j] = a[off + j] / b[off + j];
+        vp.vectDivWrite(a, b, c2 = new double[len], off, off, len);
+        compare(c3, c2);
+        for( int j = 0; j < len; j++ ) c3[j] = a[off + j] + bval;
+        vp.vectPlusWrite(a, bval, c2 = new double[len], off, len);
+        compare(c3, c2);
+        for( int j = 0; j < len; j++ ) c3[j] = a[off + j] + b[off + j];
+        vp.vectPlusWrite(a, b, c2 = new double[len], off, off, len);
+        compare(c3, c2);
+        for( int j = 0; j < len; j++ ) c3[j] = a[off + j] - bval;
+        vp.vectMinusWrite(a, bval, c2 = new double[len], off, len);
+        compare(c3, c2);
+        for( int j = 0; j < len; j++ ) c3[j] = bval - a[off + j];
+        vp.vectMinusWrite(bval, a, c2 = new double[len], off, len);
+        compare(c3, c2);
+        for( int j = 0; j < len; j++ ) c3[j] = a[off + j] - b[off + j];
+        vp.vectMinusWrite(a, b, c2 = new double[len], off, off, len);
+        compare(c3, c2);
+      }
+  }
+
+  @Test
+  public void testSIMDSparse() {
+    VectorPrimitives vp = VectorPrimitives.getInstance();
+    Assume.assumeNotNull(vp);
+    for( int len : lens )
+      for( int off : offsets ) {
+        int n = 3 * len + 11;
+        double[] a = rand(off + len), b = rand(off + n);
+        int[] aix = sparseIndexes(off, len, n);
+        Assert.assertEquals(refDot(a, b, aix, off, off, len),
+          vp.dotProduct(a, b, aix, off, off, len), eps * (len + 1));
+
+        double[] c1 = rand(off + n), c2 = c1.clone();
+        refMultAdd(-0.7, a, c1, aix, off, off, len);
+        vp.vectMultiplyAdd(-0.7, a, c2, aix, off, off, len);
+        compare(c1, c2);
+
+        c1 = rand(off + n); c2 = c1.clone();
+        refAdd(a, c1, aix, off, off, len);
+        vp.vectAdd(a, c2, aix, off, off, len);
+        compare(c1, c2);
+
+        //gather-scatter write c[aix] = a * b[bi+aix]
+        c1 = new double[n]; c2 = new double[n];
+        for( int j = off; j < off + len; j++ )
+          c1[aix[j]] = a[j] * b[off + aix[j]];
+        vp.vectMultiplyWrite(a, b, c2, aix, off, off, len);
+        compare(c1, c2);
+      }
+  }
+
+  private double[] rand(int len) {
+    double[] ret = new double[len];
+    for( int i = 0; i < len; i++ )
+      ret[i] = rand.nextDouble() * 2 - 1;
+    return ret;
+  }
+
+  //sorted, unique column indexes in [0, n) at positions [off, off+len)
+  private int[] sparseIndexes(int off, int len, int n) {
+    int[] ret = new int[off + len];
+    int[] perm = new int[n];
+    for( int i = 0; i < n; i++ )
+      perm[i] = i;
+    for( int i = 0; i < len; i++ ) {
+      int k = i + rand.nextInt(n - i);
+      int tmp = perm[i]; perm[i] = perm[k]; perm[k] = tmp;
+    }
+    System.arraycopy(perm, 0, ret, off, len);
+    Arrays.sort(ret, off, off + len);
+    return ret;
+  }
+
+  private static void compare(double[] expected, double[] actual) {
+    Assert.assertEquals(expected.length, actual.length);
+    for( int i = 0; i < expected.length; i++ )
+      Assert.assertEquals("index " + i, expected[i], actual[i], eps);
+  }
+
+  private static double refDot(double[] a, double[] b, int ai, int bi, int len) {
+    double val = 0;
+    for( int i = 0; i < len; i++ )
+      val += a[ai + i] * b[bi + i];
+    return val;
+  }
+
+  private static double refDot(double[] a, double[] b, int[] aix, int ai, int bi, int len) {
+    double val = 0;
+    for( int i = ai; i < ai + len; i++ )
+      val += a[i] * b[bi + aix[i]];
+    return val;
+  }
+
+  private static void refMultAdd(double aval, double[] b, double[] c, int bi, int ci, int len) {
+    for( int j = 0; j < len; j++ )
+      c[ci + j] += aval * b[bi + j];
+  }
+
+  private static void refMultAdd(double aval, double[] b, double[] c, int[] bix, int bi, int ci, int len) {
+    for( int j = bi; j < bi + len; j++ )
+      c[ci + bix[j]] += aval * b[j];
+  }
+
+  private static void refMultWrite(double aval, double[] b, double[] c, int bi, int ci, int len) {
+    for( int j = 0; j < len; j++ )
+      c[ci + j] = aval * b[bi + j];
+  }
+
+  private static void refMultWrite(double[] a, double[] b, double[] c, int ai, int bi, int ci, int len) {
+    for( int j = 0; j < len; j++ )
+      c[ci + j] = a[ai + j] * b[bi + j];
+  }
+
+  private static void refAdd(double[] a, double[] c, int ai, int ci, int len) {
+    for( int j = 0; j < len; j++ )
+      c[ci + j] += a[ai + j];
+  }
+
+  private static void refAdd(double[] a, double[] c, int[] aix, int ai, int ci, int len) {
+    for( int j = ai; j < ai + len; j++ )
+      c[ci + aix[j]] += a[j];
+  }
+}
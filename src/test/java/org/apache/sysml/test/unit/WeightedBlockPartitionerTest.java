@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.unit;
+
+import java.util.Arrays;
+
+import org.apache.sysml.runtime.instructions.spark.data.WeightedBlockPartitioner;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WeightedBlockPartitionerTest {
+
+  private static final int nrblks = 200;
+  private static final int ncblks = 30;
+  private static final int numParts = 16;
+
+  @Test
+  public void testSkewDetection() {
+    double[] uniform = new double[100];
+    Arrays.fill(uniform, 7);
+    Assert.assertFalse(WeightedBlockPartitioner.isSkewed(uniform));
+    Assert.assertTrue(WeightedBlockPartitioner.isSkewed(powerLaw(100)));
+  }
+
+  @Test
+  public void testBalancedMatrixIndexes() {
+    double[] rw = powerLaw(nrblks);
+    double[] cw = powerLaw(ncblks);
+    WeightedBlockPartitioner part = new WeightedBlockPartitioner(rw, cw, numParts);
+    double csum = Arrays.stream(cw).sum();
+    double total = Arrays.stream(rw).sum();
+
+    //check contiguous ranges and partition weights
+    double[] pw = new double[numParts];
+    int last = 0;
+    for( int i = 0; i < nrblks; i++ )
+      for( int j = 0; j < ncblks; j++ ) {
+        int p = part.getPartition(new MatrixIndexes(i + 1, j + 1));
+        Assert.assertTrue(p >= last && p < numParts);
+        pw[p] += rw[i] * cw[j] / csum;
+        last = p;
+      }
+
+    //non-empty partitions, max partition weight bounded by share plus max block weight
+    double maxBlock = rw[0] * cw[0] / csum;
+    for( double w : pw )
+      Assert.assertTrue(w > 0 && w <= total / numParts + maxBlock + 1e-6);
+  }
+
+  @Test
+  public void testBalancedLongKeys() {
+    double[] w = powerLaw(nrblks);
+    WeightedBlockPartitioner part = new WeightedBlockPartitioner(w, numParts);
+    double[] pw = new double[numParts];
+    for( int i = 0; i < nrblks; i++ )
+      pw[part.getPartition((long) i + 1)] += w[i];
+    double total = Arrays.stream(w).sum();
+    for( double v : pw )
+      Assert.assertTrue(v > 0 && v <= total / numParts + w[0] + 1e-6);
+    //heavy first key isolated from the tail
+    Assert.assertNotEquals(part.getPartition(1L), part.getPartition((long) nrblks));
+  }
+
+  @Test
+  public void testEquals() {
+    double[] w = powerLaw(nrblks);
+    Assert.assertEquals(new WeightedBlockPartitioner(w, numParts),
+      new WeightedBlockPartitioner(w, numParts));
+    Assert.assertNotEquals(new WeightedBlockPartitioner(w, numParts),
+      new WeightedBlockPartitioner(w, numParts + 1));
+  }
+
+  private static double[] powerLaw(int n) {
+    double[] ret = new double[n];
+    for( int i = 0; i < n; i++ )
+      ret[i] = 1e6 / Math.pow(i + 1, 1.5) + 1;
+    return ret;
+  }
+}
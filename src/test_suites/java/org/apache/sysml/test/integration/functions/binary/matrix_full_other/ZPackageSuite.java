@@ -38,6 +38,7 @@ import org.junit.runners.Suite;
 	FullLogicalScalarLeftTest.class,
 	FullLogicalScalarRightTest.class,
 	MatrixMultShortLhsTest.class,
+	SkewAwarePartitioningTest.class,
 })
 
 
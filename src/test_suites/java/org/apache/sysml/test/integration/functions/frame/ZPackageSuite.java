@@ -29,6 +29,7 @@ import org.junit.runners.Suite;
 	FrameAppendDistTest.class,
 	FrameAppendTest.class,
 	FrameCastingTest.class,
+	FrameColumnarReadTest.class,
 	FrameConverterTest.class,
 	FrameCopyTest.class,
 	FrameEvictionTest.class,
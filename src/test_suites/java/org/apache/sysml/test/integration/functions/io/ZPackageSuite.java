@@ -26,6 +26,8 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	AppendWriteTest.class,
+	AsyncWriteTest.class,
 	FullDynWriteTest.class,
 	IOTest1.class,
 	IOTest2.class,
@@ -33,7 +35,9 @@ import org.junit.runners.Suite;
 	IOTest4.class,
 	IOTest5.class,
 	ScalarIOTest.class,
-	SeqParReadTest.class
+	SeqParReadTest.class,
+	StreamReadTest.class,
+	TextFormatRoundtripTest.class
 })
 
 
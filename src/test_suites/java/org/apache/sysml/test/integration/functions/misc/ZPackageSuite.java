@@ -26,6 +26,7 @@ import org.junit.runners.Suite;
  *  won't run two of them at once. */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
+	AsyncSparkCollectTest.class,
 	ConditionalValidateTest.class,
 	DataTypeCastingTest.class,
 	DataTypeChangeTest.class,
@@ -43,6 +44,7 @@ import org.junit.runners.Suite;
 	IPAScalarRecursionTest.class,
 	IPAScalarVariablePropagationTest.class,
 	IPAUnknownRecursionTest.class,
+	InstructionProfilerTest.class,
 	LongOverflowTest.class,
 	NegativeLoopIncrementsTest.class,
 	NrowNcolStringTest.class,
@@ -36,12 +36,14 @@ import org.junit.runners.Suite;
 	ParForFunctionSerializationTest.class,
 	ParForMultipleDataPartitioningTest.class,
 	ParForNaNResultMergeTest.class,
+	ParForParallelLocalResultMergeTest.class,
 	ParForParallelRemoteResultMergeTest.class,
 	ParForRepeatedOptimizationTest.class,
 	ParForReplaceThreadIDRecompileTest.class,
 	ParForRowwiseDataPartitioningTest.class,
 	ParForRulebasedOptimizerTest.class,
 	ParForSerialRemoteResultMergeTest.class,
+	ParForWorkStealingTest.class,
 })
 
 
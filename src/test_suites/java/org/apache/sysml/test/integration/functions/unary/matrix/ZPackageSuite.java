@@ -47,6 +47,7 @@ import org.junit.runners.Suite;
 	MinusTest.class,
 	MLUnaryBuiltinTest.class,
 	NegationTest.class,
+	PipelinedBlockOpsTest.class,
 	PrintTest.class,
 	QRSolverTest.class,
 	RemoveEmptySelTest.class,